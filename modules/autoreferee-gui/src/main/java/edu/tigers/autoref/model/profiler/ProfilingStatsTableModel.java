@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.autoref.model.profiler;
+
+import edu.tigers.autoreferee.profiler.ProfilingStats;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Table model that shows one row of {@link ProfilingStats} per profiled section.
+ * Times are shown in microseconds, allocations in bytes.
+ */
+public class ProfilingStatsTableModel extends AbstractTableModel
+{
+	private static final List<String> COLUMNS = List.of(
+			"Section", "Samples", "Mean [us]", "p50 [us]", "p90 [us]", "p99 [us]", "Max [us]", "Mean alloc [B]",
+			"p99 alloc [B]");
+
+	private final List<ProfilingStats> stats = new ArrayList<>();
+
+
+	/**
+	 * Replace all rows. Must be called from the EDT.
+	 *
+	 * @param newStats the new statistics
+	 */
+	public void setStats(final List<ProfilingStats> newStats)
+	{
+		stats.clear();
+		stats.addAll(newStats);
+		fireTableDataChanged();
+	}
+
+
+	@Override
+	public int getRowCount()
+	{
+		return stats.size();
+	}
+
+
+	@Override
+	public int getColumnCount()
+	{
+		return COLUMNS.size();
+	}
+
+
+	@Override
+	public String getColumnName(final int column)
+	{
+		return COLUMNS.get(column);
+	}
+
+
+	@Override
+	public Class<?> getColumnClass(final int columnIndex)
+	{
+		return switch (columnIndex)
+		{
+			case 0 -> String.class;
+			case 1 -> Integer.class;
+			case 7, 8 -> Long.class;
+			default -> Double.class;
+		};
+	}
+
+
+	@Override
+	public Object getValueAt(final int rowIndex, final int columnIndex)
+	{
+		ProfilingStats s = stats.get(rowIndex);
+		return switch (columnIndex)
+		{
+			case 0 -> s.name();
+			case 1 -> s.numSamples();
+			case 2 -> toUs(s.meanTimeNs());
+			case 3 -> toUs(s.p50TimeNs());
+			case 4 -> toUs(s.p90TimeNs());
+			case 5 -> toUs(s.p99TimeNs());
+			case 6 -> toUs(s.maxTimeNs());
+			case 7 -> Math.round(s.meanAllocBytes());
+			case 8 -> s.p99AllocBytes();
+			default -> throw new IllegalArgumentException("Invalid column: " + columnIndex);
+		};
+	}
+
+
+	private static double toUs(final double ns)
+	{
+		return Math.round(ns / 100.0) / 10.0;
+	}
+}
@@ -1,9 +1,10 @@
 /*
- * Copyright (c) 2009 - 2023, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.autoref.presenter;
 
 import edu.tigers.autoref.view.main.AutoRefMainPanel;
+import edu.tigers.autoref.view.main.AutoRefProfilerPanel.IAutoRefProfilerPanelObserver;
 import edu.tigers.autoref.view.main.StartStopPanel.IStartStopPanelObserver;
 import edu.tigers.autoreferee.IAutoRefObserver;
 import edu.tigers.autoreferee.engine.EAutoRefMode;
@@ -14,15 +15,27 @@ import edu.tigers.sumatra.model.SumatraModel;
 import edu.tigers.sumatra.referee.gameevent.IGameEvent;
 import edu.tigers.sumatra.views.ISumatraViewPresenter;
 import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
 
+import javax.swing.Timer;
 import java.awt.EventQueue;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
 
 
+@Log4j2
 public class AutoRefPresenter implements ISumatraViewPresenter, IStartStopPanelObserver, IAutoRefObserver
 {
+	private static final int PROFILER_UPDATE_PERIOD = 1000;
+	private static final String PROFILER_EXPORT_DIR = "data/autoref";
+
 	@Getter
 	private AutoRefMainPanel viewPanel = new AutoRefMainPanel();
 	private final GameEventDetectorObserver gameEventDetectorObserver = new GameEventDetectorObserver();
+	private final ProfilerObserver profilerObserver = new ProfilerObserver();
+	private final Timer profilerTimer = new Timer(PROFILER_UPDATE_PERIOD, e -> updateProfiler());
 
 
 	@Override
@@ -37,6 +50,10 @@ public class AutoRefPresenter implements ISumatraViewPresenter, IStartStopPanelO
 		viewPanel.getStartStopPanel().addObserver(this);
 		viewPanel.getGameEventDetectorPanel().addObserver(gameEventDetectorObserver);
 		viewPanel.getGameEventDetectorPanel().setSelectedBoxes(EGameEventDetectorType.valuesEnabledByDefault());
+		viewPanel.getProfilerPanel().addObserver(profilerObserver);
+		SumatraModel.getInstance().getModuleOpt(AutoRefModule.class).ifPresent(autoRef -> EventQueue.invokeLater(
+				() -> viewPanel.getProfilerPanel().setProfilingEnabled(autoRef.getProfiler().isEnabled())));
+		profilerTimer.start();
 	}
 
 
@@ -47,10 +64,23 @@ public class AutoRefPresenter implements ISumatraViewPresenter, IStartStopPanelO
 		SumatraModel.getInstance().getModuleOpt(AutoRefModule.class).ifPresent(autoRef -> autoRef.removeObserver(this));
 		viewPanel.getStartStopPanel().removeObserver(this);
 		viewPanel.getGameEventDetectorPanel().removeObserver(gameEventDetectorObserver);
+		viewPanel.getProfilerPanel().removeObserver(profilerObserver);
+		profilerTimer.stop();
 		EventQueue.invokeLater(() -> viewPanel.setEnabled(false));
 	}
 
 
+	private void updateProfiler()
+	{
+		SumatraModel.getInstance().getModuleOpt(AutoRefModule.class).ifPresent(autoRef -> {
+			viewPanel.getProfilerPanel().getTableModel().setStats(autoRef.getProfiler().getStats());
+			viewPanel.getProfilerPanel().setLatencies(
+					autoRef.getFrameAgeHistogram().toString(),
+					autoRef.getEngineTimeHistogram().toString());
+		});
+	}
+
+
 	@Override
 	public void onAutoRefModeChanged(EAutoRefMode mode)
 	{
@@ -73,6 +103,46 @@ public class AutoRefPresenter implements ISumatraViewPresenter, IStartStopPanelO
 	}
 
 
+	private static class ProfilerObserver implements IAutoRefProfilerPanelObserver
+	{
+		@Override
+		public void onProfilingEnabled(final boolean enabled)
+		{
+			SumatraModel.getInstance().getModuleOpt(AutoRefModule.class)
+					.ifPresent(autoRef -> autoRef.getProfiler().setEnabled(enabled));
+		}
+
+
+		@Override
+		public void onResetProfiling()
+		{
+			SumatraModel.getInstance().getModuleOpt(AutoRefModule.class).ifPresent(autoRef -> {
+				autoRef.getProfiler().reset();
+				autoRef.getFrameAgeHistogram().reset();
+				autoRef.getEngineTimeHistogram().reset();
+			});
+		}
+
+
+		@Override
+		public void onExportProfiling()
+		{
+			SumatraModel.getInstance().getModuleOpt(AutoRefModule.class).ifPresent(autoRef -> {
+				String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+				Path file = Path.of(PROFILER_EXPORT_DIR, "profile_" + timestamp + ".csv");
+				try
+				{
+					autoRef.getProfiler().writeCsv(file);
+					log.info("Exported autoRef profile to {}", file.toAbsolutePath());
+				} catch (IOException e)
+				{
+					log.error("Could not export autoRef profile to {}", file, e);
+				}
+			});
+		}
+	}
+
+
 	private static class GameEventDetectorObserver implements IEnumPanelObserver<EGameEventDetectorType>
 	{
 		@Override
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.autoref.view.main;
 
@@ -18,6 +18,7 @@ public class AutoRefMainPanel extends JPanel
 {
 	private StartStopPanel startStopPanel = new StartStopPanel();
 	private EnumCheckBoxPanel<EGameEventDetectorType> gameEventDetectorPanel;
+	private AutoRefProfilerPanel profilerPanel = new AutoRefProfilerPanel();
 
 
 	public AutoRefMainPanel()
@@ -36,6 +37,7 @@ public class AutoRefMainPanel extends JPanel
 
 		panel.setLayout(new MigLayout("", "", ""));
 		panel.add(gameEventDetectorPanel, "grow x, top");
+		panel.add(profilerPanel, "grow, top");
 	}
 
 
@@ -51,6 +53,12 @@ public class AutoRefMainPanel extends JPanel
 	}
 
 
+	public AutoRefProfilerPanel getProfilerPanel()
+	{
+		return profilerPanel;
+	}
+
+
 	@Override
 	public void setEnabled(final boolean enabled)
 	{
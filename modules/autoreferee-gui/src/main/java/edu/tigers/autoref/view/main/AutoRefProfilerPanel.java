@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.autoref.view.main;
+
+import edu.tigers.autoref.model.profiler.ProfilingStatsTableModel;
+import edu.tigers.sumatra.components.BasePanel;
+import lombok.Getter;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JLabel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import java.awt.Dimension;
+import java.util.Arrays;
+
+
+/**
+ * Shows the timing and allocation statistics of the autoRef calculators and detectors.
+ */
+public class AutoRefProfilerPanel extends BasePanel<AutoRefProfilerPanel.IAutoRefProfilerPanelObserver>
+{
+	@Getter
+	private final ProfilingStatsTableModel tableModel = new ProfilingStatsTableModel();
+	private final JCheckBox enabled = new JCheckBox("Profiling");
+	private final JLabel frameAge = new JLabel();
+	private final JLabel engineTime = new JLabel();
+
+
+	public AutoRefProfilerPanel()
+	{
+		setLayout(new MigLayout("wrap 3", "[][][grow]", ""));
+
+		enabled.addActionListener(e -> informObserver(o -> o.onProfilingEnabled(enabled.isSelected())));
+		add(enabled);
+
+		JButton reset = new JButton("Reset");
+		reset.addActionListener(e -> informObserver(IAutoRefProfilerPanelObserver::onResetProfiling));
+		add(reset);
+
+		JButton export = new JButton("Export CSV");
+		export.addActionListener(e -> informObserver(IAutoRefProfilerPanelObserver::onExportProfiling));
+		add(export);
+
+		add(new JLabel("Frame age:"));
+		add(frameAge, "span 2");
+		add(new JLabel("Frame time:"));
+		add(engineTime, "span 2");
+
+		JTable table = new JTable(tableModel);
+		table.setAutoCreateRowSorter(true);
+		JScrollPane scrollPane = new JScrollPane(table);
+		scrollPane.setPreferredSize(new Dimension(700, 300));
+		add(scrollPane, "span 3, grow");
+	}
+
+
+	public void setProfilingEnabled(final boolean profilingEnabled)
+	{
+		enabled.setSelected(profilingEnabled);
+	}
+
+
+	public void setLatencies(final String frameAgeText, final String engineTimeText)
+	{
+		frameAge.setText(frameAgeText);
+		engineTime.setText(engineTimeText);
+	}
+
+
+	@Override
+	public void setEnabled(final boolean enabled)
+	{
+		super.setEnabled(enabled);
+		Arrays.asList(getComponents()).forEach(c -> c.setEnabled(enabled));
+	}
+
+
+	public interface IAutoRefProfilerPanelObserver
+	{
+		void onProfilingEnabled(boolean enabled);
+
+
+		void onResetProfiling();
+
+
+		void onExportProfiling();
+	}
+}
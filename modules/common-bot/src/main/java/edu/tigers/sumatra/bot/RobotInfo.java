@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.bot;
@@ -131,6 +131,35 @@ public class RobotInfo implements IMirrorable<RobotInfo>
 	}
 
 
+	/**
+	 * Check if this info only contains the default data of a {@link #stub(BotID, long) stub}.
+	 * The bot parameters are only checked for their default type.
+	 *
+	 * @return true, if this info equals a stub with the same bot id and timestamp
+	 */
+	public boolean isStub()
+	{
+		return type == EBotType.UNKNOWN
+				&& robotMode == ERobotMode.IDLE
+				&& trajectory == null
+				&& botFeatures.isEmpty()
+				&& kickSpeed == 0.0f
+				&& !chip
+				&& !armed
+				&& batteryRelative == 0.0f
+				&& kickerLevelRelative == 0.0f
+				&& dribbleSpeed == 0.0f
+				&& hardwareId == 255
+				&& internalState == null
+				&& !barrierInterrupted
+				&& botParams.getClass() == BotParams.class
+				&& healthy
+				&& dribbleTraction == EDribbleTractionState.OFF
+				&& availableToAi
+				&& ballState == null;
+	}
+
+
 	/**
 	 * @return new deep copy
 	 */
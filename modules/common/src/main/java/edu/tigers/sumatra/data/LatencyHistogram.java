@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.data;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * A histogram of durations in nanoseconds with logarithmic buckets.
+ * <p>
+ * Each power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, so percentiles are accurate to about 12%.
+ * Recording is allocation-free and lock-free, so it can be done on a hot path while other threads read the
+ * statistics.
+ * </p>
+ */
+public class LatencyHistogram
+{
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int NUM_BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+	private final AtomicLong totalCount = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+
+	/**
+	 * Record a new value.
+	 *
+	 * @param valueNs the duration in ns, negative values are recorded as zero
+	 */
+	public void record(final long valueNs)
+	{
+		long value = Math.max(0, valueNs);
+		counts.incrementAndGet(bucketIndex(value));
+		totalCount.incrementAndGet();
+		sum.addAndGet(value);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+
+	/**
+	 * @return number of recorded values
+	 */
+	public long getCount()
+	{
+		return totalCount.get();
+	}
+
+
+	/**
+	 * @return the mean of all recorded values in ns, or 0 if there are none
+	 */
+	public double getMean()
+	{
+		long n = totalCount.get();
+		return n == 0 ? 0 : (double) sum.get() / n;
+	}
+
+
+	/**
+	 * @return the maximum recorded value in ns
+	 */
+	public long getMax()
+	{
+		return max.get();
+	}
+
+
+	/**
+	 * Get an upper bound for the given percentile.
+	 *
+	 * @param percentile the percentile in [0..1]
+	 * @return the upper bound of the bucket that contains the percentile in ns, or 0 if there are no values
+	 */
+	public long getPercentile(final double percentile)
+	{
+		long n = totalCount.get();
+		if (n == 0)
+		{
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile * n));
+		long seen = 0;
+		for (int i = 0; i < NUM_BUCKETS; i++)
+		{
+			seen += counts.get(i);
+			if (seen >= rank)
+			{
+				return Math.min(bucketUpperBound(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+
+	/**
+	 * Remove all recorded values.
+	 */
+	public void reset()
+	{
+		for (int i = 0; i < NUM_BUCKETS; i++)
+		{
+			counts.set(i, 0);
+		}
+		totalCount.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+
+
+	@Override
+	public String toString()
+	{
+		return String.format("n=%d mean=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms",
+				getCount(),
+				getMean() / 1e6,
+				getPercentile(0.5) / 1e6,
+				getPercentile(0.9) / 1e6,
+				getPercentile(0.99) / 1e6,
+				getMax() / 1e6);
+	}
+
+
+	static int bucketIndex(final long value)
+	{
+		if (value < SUB_BUCKETS)
+		{
+			return (int) value;
+		}
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+		return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+	}
+
+
+	static long bucketUpperBound(final int index)
+	{
+		if (index < SUB_BUCKETS)
+		{
+			return index;
+		}
+		int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+		int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+		long lower = (long) (SUB_BUCKETS + subBucket) << shift;
+		return lower + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.data;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+
+
+/**
+ * A sorted multiset that can return the value at a given rank, implemented as a treap with subtree sizes.
+ * <p>
+ * Inserting, removing and looking up by rank take O(log n) on average.
+ * Each value is inserted with a unique sequence number, which orders equal values and identifies the value to
+ * remove.
+ * </p>
+ *
+ * @param <T> the type of the values
+ */
+public class OrderStatisticTree<T>
+{
+	private final Comparator<? super T> comparator;
+	private final SplittableRandom random = new SplittableRandom(42);
+	private Node<T> root;
+
+
+	/**
+	 * @param comparator the order of the values
+	 */
+	public OrderStatisticTree(final Comparator<? super T> comparator)
+	{
+		this.comparator = comparator;
+	}
+
+
+	/**
+	 * @param value    the value to insert
+	 * @param sequence a number that is unique within this tree
+	 */
+	public void insert(final T value, final long sequence)
+	{
+		root = insert(root, new Node<>(value, sequence, random.nextInt()));
+	}
+
+
+	/**
+	 * @param value    the value to remove
+	 * @param sequence the number that the value was inserted with
+	 * @return true, if the value was found
+	 */
+	public boolean remove(final T value, final long sequence)
+	{
+		int sizeBefore = size();
+		root = remove(root, value, sequence);
+		return size() < sizeBefore;
+	}
+
+
+	/**
+	 * @param rank the rank, with 0 being the smallest value
+	 * @return the value at the given rank
+	 */
+	public T get(final int rank)
+	{
+		if (rank < 0 || rank >= size())
+		{
+			throw new IndexOutOfBoundsException("Rank " + rank + " out of bounds for size " + size());
+		}
+		Node<T> node = root;
+		int k = rank;
+		while (true)
+		{
+			int leftSize = size(node.left);
+			if (k < leftSize)
+			{
+				node = node.left;
+			} else if (k == leftSize)
+			{
+				return node.value;
+			} else
+			{
+				k -= leftSize + 1;
+				node = node.right;
+			}
+		}
+	}
+
+
+	public int size()
+	{
+		return size(root);
+	}
+
+
+	public void clear()
+	{
+		root = null;
+	}
+
+
+	private int compare(final T value, final long sequence, final Node<T> node)
+	{
+		int c = comparator.compare(value, node.value);
+		return c != 0 ? c : Long.compare(sequence, node.sequence);
+	}
+
+
+	private Node<T> insert(final Node<T> node, final Node<T> newNode)
+	{
+		if (node == null)
+		{
+			return newNode;
+		}
+		if (compare(newNode.value, newNode.sequence, node) < 0)
+		{
+			node.left = insert(node.left, newNode);
+			update(node);
+			return node.left.priority > node.priority ? rotateRight(node) : node;
+		}
+		node.right = insert(node.right, newNode);
+		update(node);
+		return node.right.priority > node.priority ? rotateLeft(node) : node;
+	}
+
+
+	private Node<T> remove(final Node<T> node, final T value, final long sequence)
+	{
+		if (node == null)
+		{
+			return null;
+		}
+		int c = compare(value, sequence, node);
+		Node<T> result = node;
+		if (c < 0)
+		{
+			node.left = remove(node.left, value, sequence);
+		} else if (c > 0)
+		{
+			node.right = remove(node.right, value, sequence);
+		} else if (node.left == null)
+		{
+			return node.right;
+		} else if (node.right == null)
+		{
+			return node.left;
+		} else if (node.left.priority > node.right.priority)
+		{
+			// rotate the node down until it has at most one child
+			result = rotateRight(node);
+			result.right = remove(node, value, sequence);
+		} else
+		{
+			result = rotateLeft(node);
+			result.left = remove(node, value, sequence);
+		}
+		update(result);
+		return result;
+	}
+
+
+	private Node<T> rotateRight(final Node<T> node)
+	{
+		Node<T> left = node.left;
+		node.left = left.right;
+		left.right = node;
+		update(node);
+		update(left);
+		return left;
+	}
+
+
+	private Node<T> rotateLeft(final Node<T> node)
+	{
+		Node<T> right = node.right;
+		node.right = right.left;
+		right.left = node;
+		update(node);
+		update(right);
+		return right;
+	}
+
+
+	private static int size(final Node<?> node)
+	{
+		return node == null ? 0 : node.size;
+	}
+
+
+	private static void update(final Node<?> node)
+	{
+		node.size = 1 + size(node.left) + size(node.right);
+	}
+
+
+	private static class Node<T>
+	{
+		final T value;
+		final long sequence;
+		final int priority;
+		int size = 1;
+		Node<T> left;
+		Node<T> right;
+
+
+		Node(final T value, final long sequence, final int priority)
+		{
+			this.value = value;
+			this.sequence = sequence;
+			this.priority = priority;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.data;
@@ -10,11 +10,16 @@ import lombok.Value;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 
 /**
  * A time-based buffer that removes the oldest elements based on duration and size.
+ * <p>
+ * Statistics over the buffered values are updated incrementally. They are only tracked after they were requested
+ * for the first time, so buffers of values without an order do not pay for them.
+ * </p>
  *
  * @param <T> the type of the buffered value.
  */
@@ -26,6 +31,11 @@ public class TimeLimitedBuffer<T>
 	@Setter
 	private double maxDuration;
 
+	private long nextSequence = 0;
+	private OrderStatisticTree<T> sortedValues = null;
+	private boolean sumTracked = false;
+	private double sum = 0;
+
 
 	/**
 	 * Add a new entry and reduce the buffer, if required.
@@ -35,7 +45,16 @@ public class TimeLimitedBuffer<T>
 	 */
 	public void add(long timestamp, T value)
 	{
-		data.add(new Entry<>(timestamp, value));
+		Entry<T> entry = new Entry<>(timestamp, value, nextSequence++);
+		data.add(entry);
+		if (sortedValues != null)
+		{
+			sortedValues.insert(value, entry.sequence);
+		}
+		if (sumTracked)
+		{
+			sum += toDouble(value);
+		}
 		reduceBySize();
 		reduceByDuration();
 	}
@@ -61,14 +80,87 @@ public class TimeLimitedBuffer<T>
 		return data.isEmpty() ? Optional.empty() : Optional.of(data.getFirst().value);
 	}
 
+
+	/**
+	 * Get the value at the given percentile with the nearest-rank method. The values must be {@link Comparable}.
+	 *
+	 * @param percentile the percentile in [0, 1]
+	 * @return the value at the percentile
+	 * @throws NoSuchElementException if the buffer is empty
+	 */
 	public T getValuePercentile(double percentile)
 	{
-		return data.stream()
-				.map(Entry::getValue)
-				.sorted()
-				.skip(Math.max(0, Math.round(data.size() * percentile) - 1))
-				.findFirst()
-				.orElseThrow();
+		long rank = Math.max(0, Math.round(data.size() * percentile) - 1);
+		if (rank >= data.size())
+		{
+			throw new NoSuchElementException("No value at percentile " + percentile + " of " + data.size() + " values");
+		}
+		return getSortedValues().get((int) rank);
+	}
+
+
+	/**
+	 * @return the smallest value, the values must be {@link Comparable}
+	 */
+	public Optional<T> getMinValue()
+	{
+		return data.isEmpty() ? Optional.empty() : Optional.of(getSortedValues().get(0));
+	}
+
+
+	/**
+	 * @return the largest value, the values must be {@link Comparable}
+	 */
+	public Optional<T> getMaxValue()
+	{
+		return data.isEmpty() ? Optional.empty() : Optional.of(getSortedValues().get(data.size() - 1));
+	}
+
+
+	/**
+	 * @return the mean of all values, or 0 if there are none. The values must be {@link Number}s.
+	 */
+	public double getMean()
+	{
+		if (!sumTracked)
+		{
+			sum = data.stream().mapToDouble(e -> toDouble(e.value)).sum();
+			sumTracked = true;
+		}
+		return data.isEmpty() ? 0 : sum / data.size();
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private OrderStatisticTree<T> getSortedValues()
+	{
+		if (sortedValues == null)
+		{
+			sortedValues = new OrderStatisticTree<>((a, b) -> ((Comparable<T>) a).compareTo(b));
+			data.forEach(e -> sortedValues.insert(e.value, e.sequence));
+		}
+		return sortedValues;
+	}
+
+
+	private double toDouble(final T value)
+	{
+		return ((Number) value).doubleValue();
+	}
+
+
+	private void removeOldest()
+	{
+		Entry<T> entry = data.removeFirst();
+		if (sortedValues != null)
+		{
+			sortedValues.remove(entry.value, entry.sequence);
+		}
+		if (sumTracked)
+		{
+			// start from zero again to not accumulate rounding errors forever
+			sum = data.isEmpty() ? 0 : sum - toDouble(entry.value);
+		}
 	}
 
 
@@ -81,7 +173,7 @@ public class TimeLimitedBuffer<T>
 		}
 		while (data.size() > maxElements)
 		{
-			data.removeFirst();
+			removeOldest();
 		}
 	}
 
@@ -106,13 +198,18 @@ public class TimeLimitedBuffer<T>
 
 		while (!data.isEmpty() && data.getFirst().timestamp < currentTimestamp - (long) (maxDuration * 1e9))
 		{
-			data.removeFirst();
+			removeOldest();
 		}
 	}
 
 	public void reset()
 	{
 		data.clear();
+		if (sortedValues != null)
+		{
+			sortedValues.clear();
+		}
+		sum = 0;
 	}
 
 	@Value
@@ -120,6 +217,7 @@ public class TimeLimitedBuffer<T>
 	{
 		long timestamp;
 		T value;
+		long sequence;
 
 
 		@Override
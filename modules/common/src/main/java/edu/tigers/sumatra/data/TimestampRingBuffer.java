@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.data;
+
+import lombok.Setter;
+
+import java.util.Optional;
+
+
+/**
+ * A ring buffer of timestamped values, ordered by timestamp.
+ * <p>
+ * The timestamps are stored in a primitive array parallel to the values. Adding a value and removing the oldest
+ * values is O(1), looking up the value at a timestamp is a binary search. Values are accessed by index, with 0
+ * being the oldest value, so that iterating does not allocate.
+ * Without a maximum duration, the capacity is fixed and the oldest value is overwritten when the buffer is full.
+ * With a maximum duration, values are only removed when they are too old: if the buffer is full and the oldest
+ * value is still within the duration, the capacity is doubled. The initial capacity should therefore cover the
+ * duration at the usual frame rate, so that the buffer does not grow in normal operation.
+ * A value that is not newer than the latest value, like after jumping back in a replay, replaces all values that
+ * are not older than itself.
+ * </p>
+ *
+ * @param <T> the type of the buffered value
+ */
+public class TimestampRingBuffer<T>
+{
+	private long[] timestamps;
+	private Object[] values;
+	private int head = 0;
+	private int size = 0;
+	/** the maximum age [s] of the oldest value relative to the latest value, no limit if not positive */
+	@Setter
+	private double maxDuration;
+
+
+	/**
+	 * @param capacity the maximum number of values
+	 */
+	public TimestampRingBuffer(final int capacity)
+	{
+		this(capacity, 0);
+	}
+
+
+	/**
+	 * @param capacity    the initial capacity, or the maximum number of values, if there is no maximum duration
+	 * @param maxDuration the maximum age [s] of the oldest value relative to the latest value
+	 */
+	public TimestampRingBuffer(final int capacity, final double maxDuration)
+	{
+		if (capacity <= 0)
+		{
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+		this.timestamps = new long[capacity];
+		this.values = new Object[capacity];
+		this.maxDuration = maxDuration;
+	}
+
+
+	/**
+	 * Add a new value and remove values that are too old.
+	 *
+	 * @param timestamp the timestamp [ns] of the value
+	 * @param value     the value
+	 */
+	public void add(final long timestamp, final T value)
+	{
+		while (size > 0 && timestamps[physicalIndex(size - 1)] >= timestamp)
+		{
+			size--;
+			values[physicalIndex(size)] = null;
+		}
+		removeOlderThan(timestamp);
+		if (size == timestamps.length)
+		{
+			if (maxDuration > 0)
+			{
+				// all values are still within the duration
+				grow();
+			} else
+			{
+				removeOldest();
+			}
+		}
+		int i = physicalIndex(size);
+		timestamps[i] = timestamp;
+		values[i] = value;
+		size++;
+	}
+
+
+	private void grow()
+	{
+		int capacity = timestamps.length;
+		long[] newTimestamps = new long[capacity * 2];
+		Object[] newValues = new Object[capacity * 2];
+		int numFirst = capacity - head;
+		System.arraycopy(timestamps, head, newTimestamps, 0, numFirst);
+		System.arraycopy(timestamps, 0, newTimestamps, numFirst, head);
+		System.arraycopy(values, head, newValues, 0, numFirst);
+		System.arraycopy(values, 0, newValues, numFirst, head);
+		timestamps = newTimestamps;
+		values = newValues;
+		head = 0;
+	}
+
+
+	/**
+	 * @return the number of values that fit into the buffer without growing it
+	 */
+	public int capacity()
+	{
+		return timestamps.length;
+	}
+
+
+	private void removeOlderThan(final long latestTimestamp)
+	{
+		if (maxDuration <= 0)
+		{
+			return;
+		}
+		while (size > 0 && (latestTimestamp - timestamps[head]) / 1e9 > maxDuration)
+		{
+			removeOldest();
+		}
+	}
+
+
+	private void removeOldest()
+	{
+		values[head] = null;
+		head = (head + 1) % timestamps.length;
+		size--;
+	}
+
+
+	private int physicalIndex(final int i)
+	{
+		int index = head + i;
+		return index < timestamps.length ? index : index - timestamps.length;
+	}
+
+
+	/**
+	 * Remove all values.
+	 */
+	public void clear()
+	{
+		while (size > 0)
+		{
+			removeOldest();
+		}
+		head = 0;
+	}
+
+
+	public int size()
+	{
+		return size;
+	}
+
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+
+	/**
+	 * @param i the index, with 0 being the oldest value
+	 * @return the value
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(final int i)
+	{
+		checkIndex(i);
+		return (T) values[physicalIndex(i)];
+	}
+
+
+	/**
+	 * @param i the index, with 0 being the oldest value
+	 * @return the timestamp [ns] of the value
+	 */
+	public long getTimestamp(final int i)
+	{
+		checkIndex(i);
+		return timestamps[physicalIndex(i)];
+	}
+
+
+	private void checkIndex(final int i)
+	{
+		if (i < 0 || i >= size)
+		{
+			throw new IndexOutOfBoundsException("Index " + i + " out of bounds for size " + size);
+		}
+	}
+
+
+	public Optional<T> getOldest()
+	{
+		return size == 0 ? Optional.empty() : Optional.of(get(0));
+	}
+
+
+	public Optional<T> getLatest()
+	{
+		return size == 0 ? Optional.empty() : Optional.of(get(size - 1));
+	}
+
+
+	/**
+	 * @param timestamp a timestamp [ns]
+	 * @return the index of the latest value with a timestamp at or before the given timestamp, or -1 if there is none
+	 */
+	public int indexAtOrBefore(final long timestamp)
+	{
+		int low = 0;
+		int high = size - 1;
+		while (low <= high)
+		{
+			int mid = (low + high) >>> 1;
+			if (timestamps[physicalIndex(mid)] <= timestamp)
+			{
+				low = mid + 1;
+			} else
+			{
+				high = mid - 1;
+			}
+		}
+		return high;
+	}
+
+
+	/**
+	 * @param timestamp a timestamp [ns]
+	 * @return the latest value with a timestamp at or before the given timestamp
+	 */
+	public Optional<T> getAtOrBefore(final long timestamp)
+	{
+		int i = indexAtOrBefore(timestamp);
+		return i < 0 ? Optional.empty() : Optional.of(get(i));
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.drawable;
@@ -41,7 +41,7 @@ public abstract class ADrawable implements IDrawableShape
 	}
 
 
-	protected Color getColor()
+	public Color getColor()
 	{
 		return color;
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.drawable;
@@ -39,4 +39,13 @@ public abstract class ADrawableWithStroke extends ADrawable
 		this.strokeWidth = (float) strokeWidth;
 		return this;
 	}
+
+
+	/**
+	 * @return the stroke width [mm]
+	 */
+	public float getStrokeWidth()
+	{
+		return strokeWidth;
+	}
 }
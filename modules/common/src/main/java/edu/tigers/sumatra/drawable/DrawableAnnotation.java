@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.drawable;
@@ -208,4 +208,49 @@ public class DrawableAnnotation implements IDrawableShape
 		this.bold = bold;
 		return this;
 	}
+
+
+	public IVector2 getCenter()
+	{
+		return center;
+	}
+
+
+	public String getText()
+	{
+		return text;
+	}
+
+
+	public IVector2 getOffset()
+	{
+		return offset;
+	}
+
+
+	public boolean isCenterHorizontally()
+	{
+		return centerHorizontally;
+	}
+
+
+	public Color getColor()
+	{
+		return color;
+	}
+
+
+	/**
+	 * @return the font height [mm]
+	 */
+	public int getFontHeight()
+	{
+		return fontHeight;
+	}
+
+
+	public boolean isBold()
+	{
+		return bold;
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.drawable;
@@ -101,4 +101,22 @@ public class DrawableCircle extends ADrawableWithStroke
 		this.fill = fill;
 		return this;
 	}
+
+
+	/**
+	 * @return the circle of this drawable
+	 */
+	public ICircle getCircle()
+	{
+		return circle;
+	}
+
+
+	/**
+	 * @return true, if the circle is filled
+	 */
+	public boolean isFill()
+	{
+		return fill;
+	}
 }
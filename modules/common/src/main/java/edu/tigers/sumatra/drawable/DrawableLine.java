@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2020, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.drawable;
@@ -90,4 +90,13 @@ public class DrawableLine extends ADrawableWithStroke
 		final IVector2 lineEnd = tool.transformToGuiCoordinates(line.getPathEnd(), invert);
 		g.drawLine((int) lineStart.x(), (int) lineStart.y(), (int) lineEnd.x(), (int) lineEnd.y());
 	}
+
+
+	/**
+	 * @return the line of this drawable
+	 */
+	public ILineSegment getLine()
+	{
+		return line;
+	}
 }
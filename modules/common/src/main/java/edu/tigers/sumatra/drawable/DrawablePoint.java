@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.drawable;
@@ -86,4 +86,13 @@ public class DrawablePoint extends ADrawable
 	{
 		return point;
 	}
+
+
+	/**
+	 * @return the size of the point [mm]
+	 */
+	public double getPointSize()
+	{
+		return pointSize;
+	}
 }
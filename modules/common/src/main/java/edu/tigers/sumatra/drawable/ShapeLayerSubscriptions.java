@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.drawable;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Registry of consumers of shape layers.
+ * <p>
+ * Producers can check {@link #isConsumed(IShapeLayerIdentifier)} to skip building expensive debug shapes that nobody
+ * is interested in, see {@link ShapeMap#addAllIfConsumed}.
+ * A layer is consumed if it was subscribed explicitly (like by a visualizer showing the layer) or if it is persisted
+ * and a recorder subscribed to all persisted layers.
+ * </p>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ShapeLayerSubscriptions
+{
+	private static final Map<String, AtomicInteger> subscribers = new ConcurrentHashMap<>();
+	private static final AtomicInteger persistenceSubscribers = new AtomicInteger();
+
+
+	/**
+	 * @param layerId the id of the layer to subscribe to
+	 */
+	public static void subscribe(final String layerId)
+	{
+		subscribers.computeIfAbsent(layerId, k -> new AtomicInteger()).incrementAndGet();
+	}
+
+
+	/**
+	 * @param layerId the id of a previously subscribed layer
+	 */
+	public static void unsubscribe(final String layerId)
+	{
+		AtomicInteger counter = subscribers.get(layerId);
+		if (counter != null)
+		{
+			counter.updateAndGet(n -> Math.max(0, n - 1));
+		}
+	}
+
+
+	/**
+	 * Subscribe to all layers that are persisted, like a recorder does.
+	 */
+	public static void subscribePersisted()
+	{
+		persistenceSubscribers.incrementAndGet();
+	}
+
+
+	/**
+	 * Undo {@link #subscribePersisted()}.
+	 */
+	public static void unsubscribePersisted()
+	{
+		persistenceSubscribers.updateAndGet(n -> Math.max(0, n - 1));
+	}
+
+
+	/**
+	 * @param identifier the layer
+	 * @return true, if anyone consumes the given layer
+	 */
+	public static boolean isConsumed(final IShapeLayerIdentifier identifier)
+	{
+		if (persistenceSubscribers.get() > 0 && ShapeMap.isPersisted(identifier))
+		{
+			return true;
+		}
+		AtomicInteger counter = subscribers.get(identifier.getId());
+		return counter != null && counter.get() > 0;
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.drawable;
@@ -11,15 +11,22 @@ import org.apache.commons.lang.builder.ToStringBuilder;
 import org.apache.commons.lang.builder.ToStringStyle;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 
 /**
  * Data structure that contains shapes, organized in layers.
+ * <p>
+ * A shape map is built by a single thread, typically once per frame. The layers use plain lists, so adding shapes is
+ * cheap. Before a shape map is handed to other threads, it must be frozen with {@link #unmodifiableCopy(ShapeMap)},
+ * which copies each layer once into an immutable array.
+ * </p>
  */
 @Persistent
 public class ShapeMap
@@ -53,18 +60,30 @@ public class ShapeMap
 	}
 
 
+	/**
+	 * Create an immutable snapshot of the given shape map that can be safely shared with other threads.
+	 * Shapes added to the given shape map afterward are not visible in the snapshot.
+	 *
+	 * @param s the shape map to freeze
+	 * @return an unmodifiable copy
+	 */
 	public static ShapeMap unmodifiableCopy(ShapeMap s)
 	{
 		Map<String, ShapeLayer> categories = new HashMap<>();
 		for (ShapeLayer sl : s.categories.values())
 		{
-			categories.put(sl.identifier.getId(),
-					new ShapeLayer(sl.identifier, Collections.unmodifiableList(sl.shapes), sl.inverted));
+			categories.put(sl.identifier.getId(), new ShapeLayer(sl.identifier, freeze(sl.shapes), sl.inverted));
 		}
 		return new ShapeMap(Collections.unmodifiableMap(categories));
 	}
 
 
+	private static List<IDrawableShape> freeze(List<IDrawableShape> shapes)
+	{
+		return Collections.unmodifiableList(Arrays.asList(shapes.toArray(new IDrawableShape[0])));
+	}
+
+
 	/**
 	 * @param persistDebugShapes should debug shapes be persisted?
 	 */
@@ -86,16 +105,45 @@ public class ShapeMap
 	}
 
 
+	/**
+	 * Add a layer, replacing an existing layer with the same identifier
+	 *
+	 * @param layer the layer to add
+	 */
+	public void addLayer(final ShapeLayer layer)
+	{
+		categories.put(layer.identifier.getId(), layer);
+	}
+
+
+	/**
+	 * Add shapes to a layer, but only build them, if the layer is consumed by anyone
+	 * (see {@link ShapeLayerSubscriptions}). The layer itself is always created, so that consumers still know about it.
+	 *
+	 * @param identifier the layer
+	 * @param shapes     supplier that builds the shapes
+	 */
+	public void addAllIfConsumed(final IShapeLayerIdentifier identifier,
+			final Supplier<? extends Collection<? extends IDrawableShape>> shapes)
+	{
+		List<IDrawableShape> layer = get(identifier);
+		if (ShapeLayerSubscriptions.isConsumed(identifier))
+		{
+			layer.addAll(shapes.get());
+		}
+	}
+
+
 	/**
 	 * Remove all shapes that should not be persisted
 	 */
 	public void removeNonPersistent()
 	{
-		categories.entrySet().removeIf(en -> !persist(en.getValue().identifier));
+		categories.entrySet().removeIf(en -> !isPersisted(en.getValue().identifier));
 	}
 
 
-	private boolean persist(IShapeLayerIdentifier identifier)
+	static boolean isPersisted(IShapeLayerIdentifier identifier)
 	{
 		return identifier.getPersistenceType() == EShapeLayerPersistenceType.ALWAYS_PERSIST ||
 				(persistDebugShapes && identifier.getPersistenceType() == EShapeLayerPersistenceType.DEBUG_PERSIST);
@@ -170,7 +218,7 @@ public class ShapeMap
 		public ShapeLayer(final IShapeLayerIdentifier identifier)
 		{
 			this.identifier = identifier;
-			shapes = new CopyOnWriteArrayList<>();
+			shapes = new ArrayList<>();
 		}
 
 
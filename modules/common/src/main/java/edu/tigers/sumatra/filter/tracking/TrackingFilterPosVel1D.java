@@ -1,14 +1,12 @@
 /*
- * Copyright (c) 2009 - 2017, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.sumatra.filter.tracking;
 
 import org.apache.commons.lang.Validate;
-import org.apache.commons.math3.linear.MatrixUtils;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.RealVector;
 
-import edu.tigers.sumatra.filter.kf.KalmanFilter;
 import edu.tigers.sumatra.math.SumatraMath;
 
 
@@ -16,11 +14,28 @@ import edu.tigers.sumatra.math.SumatraMath;
  * Simple tracking filter based on a linear Kalman filter.
  * State vector includes position and velocity.
  * Only position can be measured.
+ * <p>
+ * The filter equations are written out for the 2-state model on primitive fields,
+ * so predict and correct do not allocate any memory.
+ * </p>
  * 
  * @author AndreR
  */
-public class TrackingFilterPosVel1D extends KalmanFilter
+public class TrackingFilterPosVel1D
 {
+	/** state: position, velocity */
+	private double	pos;
+	private double	vel;
+	
+	/** error covariance P */
+	private double	p00;
+	private double	p01;
+	private double	p10;
+	private double	p11;
+	
+	private double	innovation;
+	
+	private double	measurementError;
 	private double	modelError;
 	
 	private long	lastTimestamp;
@@ -38,12 +53,9 @@ public class TrackingFilterPosVel1D extends KalmanFilter
 	public TrackingFilterPosVel1D(final double initialPos, final double covariance, final double modelErr,
 			final double measErr, final long timestamp)
 	{
-		super(2, 1, 1);
-		
-		stateEstimation.setEntry(0, initialPos);
-		errorCovariance = MatrixUtils.createRealIdentityMatrix(2).scalarMultiply(covariance);
-		
-		measurementMatrix.setEntry(0, 0, 1);
+		pos = initialPos;
+		p00 = covariance;
+		p11 = covariance;
 		
 		setMeasurementError(measErr);
 		setModelError(modelErr);
@@ -63,14 +75,12 @@ public class TrackingFilterPosVel1D extends KalmanFilter
 	public TrackingFilterPosVel1D(final RealVector initialState, final double covariance, final double modelErr,
 			final double measErr, final long timestamp)
 	{
-		super(2, 1, 1);
-		
 		Validate.isTrue(initialState.getDimension() == 2);
 		
-		stateEstimation = initialState.copy();
-		errorCovariance = MatrixUtils.createRealIdentityMatrix(2).scalarMultiply(covariance);
-		
-		measurementMatrix.setEntry(0, 0, 1);
+		pos = initialState.getEntry(0);
+		vel = initialState.getEntry(1);
+		p00 = covariance;
+		p11 = covariance;
 		
 		setMeasurementError(measErr);
 		setModelError(modelErr);
@@ -90,16 +100,16 @@ public class TrackingFilterPosVel1D extends KalmanFilter
 	public TrackingFilterPosVel1D(final RealVector initialState, final RealMatrix initialCovariance,
 			final double modelErr, final double measErr, final long timestamp)
 	{
-		super(2, 1, 1);
-		
 		Validate.isTrue(initialState.getDimension() == 2, "State vector size must be 2");
 		Validate.isTrue(initialCovariance.isSquare(), "Covariance matrix must be square");
 		Validate.isTrue(initialCovariance.getRowDimension() == 2, "Covariance matrix size must be 2x2");
 		
-		stateEstimation = initialState.copy();
-		errorCovariance = initialCovariance.copy();
-		
-		measurementMatrix.setEntry(0, 0, 1);
+		pos = initialState.getEntry(0);
+		vel = initialState.getEntry(1);
+		p00 = initialCovariance.getEntry(0, 0);
+		p01 = initialCovariance.getEntry(0, 1);
+		p10 = initialCovariance.getEntry(1, 0);
+		p11 = initialCovariance.getEntry(1, 1);
 		
 		setMeasurementError(measErr);
 		setModelError(modelErr);
@@ -115,8 +125,15 @@ public class TrackingFilterPosVel1D extends KalmanFilter
 	 */
 	public TrackingFilterPosVel1D(final TrackingFilterPosVel1D orig, final long timestamp)
 	{
-		super(orig);
+		pos = orig.pos;
+		vel = orig.vel;
+		p00 = orig.p00;
+		p01 = orig.p01;
+		p10 = orig.p10;
+		p11 = orig.p11;
+		innovation = orig.innovation;
 		
+		setMeasurementError(orig.measurementError);
 		setModelError(orig.modelError);
 		lastTimestamp = timestamp;
 	}
@@ -124,7 +141,7 @@ public class TrackingFilterPosVel1D extends KalmanFilter
 	
 	public void setMeasurementError(final double error)
 	{
-		measurementNoiseCovariance.setEntry(0, 0, error);
+		measurementError = error;
 	}
 	
 	
@@ -150,9 +167,22 @@ public class TrackingFilterPosVel1D extends KalmanFilter
 		
 		lastTimestamp = timestamp;
 		
-		updateMatrices(dt);
+		// x = A * x
+		pos += dt * vel;
+		
+		// optimal process noise error if we assume white noise on acceleration with zero mean
+		double sigma = SumatraMath.sqrt((3.0 * modelError) / dt) / dt;
+		double q00 = (1.0 / 3.0) * dt * dt * dt * sigma * sigma;
+		double q01 = (1.0 / 2.0) * dt * dt * sigma * sigma;
+		double q11 = dt * sigma * sigma;
 		
-		predict();
+		// P = A * P * A' + Q
+		double a00 = p00 + (dt * p10);
+		double a01 = p01 + (dt * p11);
+		p00 = a00 + (dt * a01) + q00;
+		p01 = a01 + q01;
+		p10 = p10 + (dt * p11) + q01;
+		p11 = p11 + q11;
 	}
 	
 	
@@ -163,7 +193,25 @@ public class TrackingFilterPosVel1D extends KalmanFilter
 	 */
 	public void correct(final double position)
 	{
-		correct(MatrixUtils.createRealVector(new double[] { position }));
+		// S = H * P * H' + R
+		double s = p00 + measurementError;
+		
+		innovation = position - pos;
+		
+		// K = P * H' * S^-1
+		double k0 = p00 / s;
+		double k1 = p10 / s;
+		
+		pos += k0 * innovation;
+		vel += k1 * innovation;
+		
+		// P = (I - K * H) * P
+		double h0 = p00;
+		double h1 = p01;
+		p00 -= k0 * h0;
+		p01 -= k0 * h1;
+		p10 -= k1 * h0;
+		p11 -= k1 * h1;
 	}
 	
 	
@@ -175,7 +223,7 @@ public class TrackingFilterPosVel1D extends KalmanFilter
 	
 	public double getPositionEstimate()
 	{
-		return stateEstimation.getEntry(0);
+		return pos;
 	}
 	
 	
@@ -188,52 +236,32 @@ public class TrackingFilterPosVel1D extends KalmanFilter
 	 */
 	public double getPositionEstimate(final long timestamp)
 	{
-		double p = getPositionEstimate();
-		double v = getVelocityEstimate();
 		double dt = (timestamp - lastTimestamp) * 1e-9;
 		
-		return p + (dt * v);
+		return pos + (dt * vel);
 	}
 	
 	
 	public double getPositionUncertainty()
 	{
-		return SumatraMath.sqrt(errorCovariance.getEntry(0, 0));
+		return SumatraMath.sqrt(p00);
 	}
 	
 	
 	public double getVelocityUncertainty()
 	{
-		return SumatraMath.sqrt(errorCovariance.getEntry(1, 1));
+		return SumatraMath.sqrt(p11);
 	}
 	
 	
 	public double getPositionInnovation()
 	{
-		return innovation.getEntry(0);
+		return innovation;
 	}
 	
 	
 	public double getVelocityEstimate()
 	{
-		return stateEstimation.getEntry(1);
-	}
-	
-	
-	private void updateMatrices(final double dt)
-	{
-		transitionMatrix.setEntry(0, 0, 1);
-		transitionMatrix.setEntry(0, 1, dt);
-		transitionMatrix.setEntry(1, 0, 0);
-		transitionMatrix.setEntry(1, 1, 1);
-		
-		// optimal process noise error if we assume white noise on acceleration with zero mean
-		double sigma = SumatraMath.sqrt((3.0 * modelError) / dt) / dt;
-		double dt3 = (1.0 / 3.0) * dt * dt * dt * sigma * sigma;
-		double dt2 = (1.0 / 2.0) * dt * dt * sigma * sigma;
-		processNoiseCovariance.setEntry(0, 0, dt3);
-		processNoiseCovariance.setEntry(0, 1, dt2);
-		processNoiseCovariance.setEntry(1, 0, dt2);
-		processNoiseCovariance.setEntry(1, 1, dt * sigma * sigma);
+		return vel;
 	}
 }
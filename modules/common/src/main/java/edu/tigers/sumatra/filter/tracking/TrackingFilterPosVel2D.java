@@ -1,28 +1,45 @@
 /*
- * Copyright (c) 2009 - 2017, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.sumatra.filter.tracking;
 
 import org.apache.commons.lang.Validate;
-import org.apache.commons.math3.linear.MatrixUtils;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.RealVector;
 
-import edu.tigers.sumatra.filter.kf.KalmanFilter;
 import edu.tigers.sumatra.math.SumatraMath;
 import edu.tigers.sumatra.math.vector.IVector2;
 import edu.tigers.sumatra.math.vector.Vector2;
 
+import java.util.Arrays;
+
 
 /**
  * Simple tracking filter based on a linear Kalman filter.
  * State vector includes position and velocity.
  * Only position can be measured.
+ * <p>
+ * The filter equations are written out for the 4-state model [x, y, vx, vy] on primitive arrays,
+ * so predict and correct do not allocate any memory.
+ * </p>
  * 
  * @author AndreR
  */
-public class TrackingFilterPosVel2D extends KalmanFilter
+public class TrackingFilterPosVel2D
 {
+	private static final int N = 4;
+	
+	/** state: x, y, vx, vy */
+	private final double[]	state		= new double[N];
+	/** error covariance P, row-major */
+	private final double[]	cov		= new double[N * N];
+	/** first two rows of P before the correction */
+	private final double[]	covRows	= new double[2 * N];
+	
+	private double	innovationX;
+	private double	innovationY;
+	
+	private double	measurementError;
 	private double	modelError;
 	
 	private long	lastTimestamp;
@@ -40,13 +57,9 @@ public class TrackingFilterPosVel2D extends KalmanFilter
 	public TrackingFilterPosVel2D(final IVector2 initialPos, final double covariance, final double modelErr,
 			final double measErr, final long timestamp)
 	{
-		super(4, 2, 1);
-		
-		stateEstimation.setSubVector(0, initialPos.toRealVector());
-		errorCovariance = MatrixUtils.createRealIdentityMatrix(4).scalarMultiply(covariance);
-		
-		measurementMatrix.setEntry(0, 0, 1);
-		measurementMatrix.setEntry(1, 1, 1);
+		state[0] = initialPos.x();
+		state[1] = initialPos.y();
+		setDiagonalCovariance(covariance, covariance);
 		
 		setMeasurementError(measErr);
 		setModelError(modelErr);
@@ -66,15 +79,13 @@ public class TrackingFilterPosVel2D extends KalmanFilter
 	public TrackingFilterPosVel2D(final RealVector initialState, final double covariance, final double modelErr,
 			final double measErr, final long timestamp)
 	{
-		super(4, 2, 1);
-		
 		Validate.isTrue(initialState.getDimension() == 4);
 		
-		stateEstimation = initialState.copy();
-		errorCovariance = MatrixUtils.createRealIdentityMatrix(4).scalarMultiply(covariance);
-		
-		measurementMatrix.setEntry(0, 0, 1);
-		measurementMatrix.setEntry(1, 1, 1);
+		for (int i = 0; i < N; i++)
+		{
+			state[i] = initialState.getEntry(i);
+		}
+		setDiagonalCovariance(covariance, covariance);
 		
 		setMeasurementError(measErr);
 		setModelError(modelErr);
@@ -94,17 +105,18 @@ public class TrackingFilterPosVel2D extends KalmanFilter
 	public TrackingFilterPosVel2D(final RealVector initialState, final RealMatrix initialCovariance,
 			final double modelErr, final double measErr, final long timestamp)
 	{
-		super(4, 2, 1);
-		
 		Validate.isTrue(initialState.getDimension() == 4, "State vector size must be 4");
 		Validate.isTrue(initialCovariance.isSquare(), "Covariance matrix must be square");
 		Validate.isTrue(initialCovariance.getRowDimension() == 4, "Covariance matrix size must be 4x4");
 		
-		stateEstimation = initialState.copy();
-		errorCovariance = initialCovariance.copy();
-		
-		measurementMatrix.setEntry(0, 0, 1);
-		measurementMatrix.setEntry(1, 1, 1);
+		for (int i = 0; i < N; i++)
+		{
+			state[i] = initialState.getEntry(i);
+			for (int j = 0; j < N; j++)
+			{
+				cov[(i * N) + j] = initialCovariance.getEntry(i, j);
+			}
+		}
 		
 		setMeasurementError(measErr);
 		setModelError(modelErr);
@@ -120,8 +132,12 @@ public class TrackingFilterPosVel2D extends KalmanFilter
 	 */
 	public TrackingFilterPosVel2D(final TrackingFilterPosVel2D orig, final long timestamp)
 	{
-		super(orig);
+		System.arraycopy(orig.state, 0, state, 0, N);
+		System.arraycopy(orig.cov, 0, cov, 0, N * N);
+		innovationX = orig.innovationX;
+		innovationY = orig.innovationY;
 		
+		setMeasurementError(orig.measurementError);
 		setModelError(orig.modelError);
 		lastTimestamp = timestamp;
 	}
@@ -129,8 +145,7 @@ public class TrackingFilterPosVel2D extends KalmanFilter
 	
 	public void setMeasurementError(final double error)
 	{
-		measurementNoiseCovariance.setEntry(0, 0, error);
-		measurementNoiseCovariance.setEntry(1, 1, error);
+		measurementError = error;
 	}
 	
 	
@@ -142,15 +157,15 @@ public class TrackingFilterPosVel2D extends KalmanFilter
 	
 	public void setPosition(final IVector2 pos)
 	{
-		stateEstimation.setEntry(0, pos.x());
-		stateEstimation.setEntry(1, pos.y());
+		state[0] = pos.x();
+		state[1] = pos.y();
 	}
 	
 	
 	public void setVelocity(final IVector2 vel)
 	{
-		stateEstimation.setEntry(2, vel.x());
-		stateEstimation.setEntry(3, vel.y());
+		state[2] = vel.x();
+		state[3] = vel.y();
 	}
 	
 	
@@ -161,9 +176,17 @@ public class TrackingFilterPosVel2D extends KalmanFilter
 	 */
 	public void resetCovariance(final double covariance)
 	{
-		errorCovariance = MatrixUtils.createRealIdentityMatrix(4).scalarMultiply(covariance);
-		errorCovariance.setEntry(2, 2, covariance * covariance);
-		errorCovariance.setEntry(3, 3, covariance * covariance);
+		setDiagonalCovariance(covariance, covariance * covariance);
+	}
+	
+	
+	private void setDiagonalCovariance(final double posCovariance, final double velCovariance)
+	{
+		Arrays.fill(cov, 0);
+		cov[0] = posCovariance;
+		cov[N + 1] = posCovariance;
+		cov[(2 * N) + 2] = velCovariance;
+		cov[(3 * N) + 3] = velCovariance;
 	}
 	
 	
@@ -183,9 +206,36 @@ public class TrackingFilterPosVel2D extends KalmanFilter
 		
 		lastTimestamp = timestamp;
 		
-		updateMatrices(dt);
+		// x = A * x
+		state[0] += dt * state[2];
+		state[1] += dt * state[3];
+		
+		// P = A * P, A only adds dt times the velocity rows to the position rows
+		for (int j = 0; j < N; j++)
+		{
+			cov[j] += dt * cov[(2 * N) + j];
+			cov[N + j] += dt * cov[(3 * N) + j];
+		}
+		// P = P * A', adds dt times the velocity columns to the position columns
+		for (int i = 0; i < N; i++)
+		{
+			cov[i * N] += dt * cov[(i * N) + 2];
+			cov[(i * N) + 1] += dt * cov[(i * N) + 3];
+		}
 		
-		predict();
+		// P = P + Q, optimal process noise error if we assume white noise on acceleration with zero mean
+		double sigma = SumatraMath.sqrt((3.0 * modelError) / dt) / dt;
+		double dt3 = (1.0 / 3.0) * dt * dt * dt * sigma * sigma;
+		double dt2 = (1.0 / 2.0) * dt * dt * sigma * sigma;
+		double dt1 = dt * sigma * sigma;
+		cov[0] += dt3;
+		cov[2] += dt2;
+		cov[N + 1] += dt3;
+		cov[N + 3] += dt2;
+		cov[(2 * N)] += dt2;
+		cov[(2 * N) + 2] += dt1;
+		cov[(3 * N) + 1] += dt2;
+		cov[(3 * N) + 3] += dt1;
 	}
 	
 	
@@ -196,7 +246,42 @@ public class TrackingFilterPosVel2D extends KalmanFilter
 	 */
 	public void correct(final IVector2 position)
 	{
-		correct(position.toRealVector());
+		// S = H * P * H' + R
+		double s00 = cov[0] + measurementError;
+		double s01 = cov[1];
+		double s10 = cov[N];
+		double s11 = cov[N + 1] + measurementError;
+		
+		// S^-1
+		double det = (s00 * s11) - (s01 * s10);
+		double i00 = s11 / det;
+		double i01 = -s01 / det;
+		double i10 = -s10 / det;
+		double i11 = s00 / det;
+		
+		innovationX = position.x() - state[0];
+		innovationY = position.y() - state[1];
+		
+		// H * P are the first two rows of P
+		System.arraycopy(cov, 0, covRows, 0, 2 * N);
+		
+		for (int i = 0; i < N; i++)
+		{
+			// K = P * H' * S^-1, P * H' are the first two columns of P
+			double ph0 = cov[i * N];
+			double ph1 = cov[(i * N) + 1];
+			double k0 = (ph0 * i00) + (ph1 * i10);
+			double k1 = (ph0 * i01) + (ph1 * i11);
+			
+			// x = x + K * inn
+			state[i] += (k0 * innovationX) + (k1 * innovationY);
+			
+			// P = (I - K * H) * P
+			for (int j = 0; j < N; j++)
+			{
+				cov[(i * N) + j] -= (k0 * covRows[j]) + (k1 * covRows[N + j]);
+			}
+		}
 	}
 	
 	
@@ -208,7 +293,7 @@ public class TrackingFilterPosVel2D extends KalmanFilter
 	
 	public IVector2 getPositionEstimate()
 	{
-		return Vector2.fromReal(stateEstimation.getSubVector(0, 2));
+		return Vector2.fromXY(state[0], state[1]);
 	}
 	
 	
@@ -221,11 +306,9 @@ public class TrackingFilterPosVel2D extends KalmanFilter
 	 */
 	public IVector2 getPositionEstimate(final long timestamp)
 	{
-		IVector2 p = getPositionEstimate();
-		IVector2 v = getVelocityEstimate();
 		double dt = (timestamp - lastTimestamp) * 1e-9;
 		
-		return p.addNew(v.multiplyNew(dt));
+		return Vector2.fromXY(state[0] + (dt * state[2]), state[1] + (dt * state[3]));
 	}
 	
 	
@@ -258,42 +341,24 @@ public class TrackingFilterPosVel2D extends KalmanFilter
 	
 	public IVector2 getPositionUncertainty()
 	{
-		return Vector2.fromXY(SumatraMath.sqrt(errorCovariance.getEntry(0, 0)),
-				SumatraMath.sqrt(errorCovariance.getEntry(1, 1)));
+		return Vector2.fromXY(SumatraMath.sqrt(cov[0]), SumatraMath.sqrt(cov[N + 1]));
 	}
 	
 	
 	public IVector2 getPositionInnovation()
 	{
-		return Vector2.fromReal(innovation);
+		return Vector2.fromXY(innovationX, innovationY);
 	}
 	
 	
 	public IVector2 getVelocityEstimate()
 	{
-		return Vector2.fromReal(stateEstimation.getSubVector(2, 2));
-	}
-	
-	
-	private void updateMatrices(final double dt)
-	{
-		transitionMatrix.setEntry(0, 0, 1);
-		transitionMatrix.setEntry(0, 2, dt);
-		
-		transitionMatrix.setEntry(1, 1, 1);
-		transitionMatrix.setEntry(1, 3, dt);
-		
-		transitionMatrix.setEntry(2, 2, 1);
-		
-		transitionMatrix.setEntry(3, 3, 1);
-		
-		getOptimalProcessNoise(processNoiseCovariance, dt, modelError);
+		return Vector2.fromXY(state[2], state[3]);
 	}
 	
 	
 	public IVector2 getVelocityUncertainty()
 	{
-		return Vector2.fromXY(SumatraMath.sqrt(errorCovariance.getEntry(2, 2)),
-				SumatraMath.sqrt(errorCovariance.getEntry(3, 3)));
+		return Vector2.fromXY(SumatraMath.sqrt(cov[(2 * N) + 2]), SumatraMath.sqrt(cov[(3 * N) + 3]));
 	}
 }
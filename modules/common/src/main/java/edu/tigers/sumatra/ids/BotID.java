@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.ids;
@@ -7,10 +7,9 @@ package edu.tigers.sumatra.ids;
 import com.sleepycat.persist.model.Persistent;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -23,18 +22,27 @@ public final class BotID extends AObjectID
 {
 	private final ETeamColor teamColor;
 
+	/** Number of bot ids per team color */
+	public static final int BOTS_PER_COLOR = AObjectID.BOT_ID_MAX + 1;
+	/** Number of distinct {@link #getIndex() indices} of yellow and blue bots */
+	public static final int NUM_INDICES = 2 * BOTS_PER_COLOR;
+
 	private static final BotID NO_BOT_ID = new BotID();
-	private static final Map<Integer, BotID> YELLOW_BOT_IDS = new ConcurrentHashMap<>();
-	private static final Map<Integer, BotID> BLUE_BOT_IDS = new ConcurrentHashMap<>();
-	private static final Map<Integer, BotID> UNKNOWN_BOT_IDS = new ConcurrentHashMap<>();
+	/** all bot ids, indexed by color ordinal and number */
+	private static final BotID[][] BOT_IDS = new BotID[ETeamColor.values().length][BOTS_PER_COLOR];
+	/** uninitialized bot ids, indexed by color ordinal */
+	private static final BotID[] UNINITIALIZED_BOT_IDS = new BotID[ETeamColor.values().length];
 
 
 	static
 	{
-		for (int i = 0; i <= AObjectID.BOT_ID_MAX; i++)
+		for (ETeamColor color : ETeamColor.values())
 		{
-			YELLOW_BOT_IDS.put(i, new BotID(i, ETeamColor.YELLOW));
-			BLUE_BOT_IDS.put(i, new BotID(i, ETeamColor.BLUE));
+			for (int i = 0; i < BOTS_PER_COLOR; i++)
+			{
+				BOT_IDS[color.ordinal()][i] = new BotID(i, color);
+			}
+			UNINITIALIZED_BOT_IDS[color.ordinal()] = new BotID(AObjectID.UNINITIALIZED_ID, color);
 		}
 	}
 
@@ -87,12 +95,32 @@ public final class BotID extends AObjectID
 		{
 			return NO_BOT_ID;
 		}
-		return switch (color)
-				{
-					case BLUE -> createBotId(BLUE_BOT_IDS, number, color);
-					case NEUTRAL -> createBotId(UNKNOWN_BOT_IDS, number, color);
-					case YELLOW -> createBotId(YELLOW_BOT_IDS, number, color);
-				};
+		if ((number >= AObjectID.BOT_ID_MIN) && (number <= AObjectID.BOT_ID_MAX))
+		{
+			return BOT_IDS[color.ordinal()][number];
+		}
+		if (number == AObjectID.UNINITIALIZED_ID)
+		{
+			return UNINITIALIZED_BOT_IDS[color.ordinal()];
+		}
+		// invalid number, throws
+		return new BotID(number, color);
+	}
+
+
+	/**
+	 * Get the bot id for a {@link #getIndex() index}
+	 *
+	 * @param index the index in [0, {@link #NUM_INDICES})
+	 * @return the yellow or blue bot id with this index
+	 */
+	public static BotID fromIndex(final int index)
+	{
+		if (index < BOTS_PER_COLOR)
+		{
+			return BOT_IDS[ETeamColor.YELLOW.ordinal()][index];
+		}
+		return BOT_IDS[ETeamColor.BLUE.ordinal()][index - BOTS_PER_COLOR];
 	}
 
 
@@ -120,12 +148,6 @@ public final class BotID extends AObjectID
 	}
 
 
-	private static BotID createBotId(final Map<Integer, BotID> bots, final int number, final ETeamColor color)
-	{
-		return bots.computeIfAbsent(number, k -> new BotID(number, color));
-	}
-
-
 	// --------------------------------------------------------------------------
 	// --- methods --------------------------------------------------------------
 	// --------------------------------------------------------------------------
@@ -172,6 +194,28 @@ public final class BotID extends AObjectID
 	}
 
 
+	/**
+	 * Get a dense index of yellow and blue bots, which can be used to index arrays.
+	 * Yellow bots come first, so the order of the indices equals the order of {@link #compareTo(AObjectID)}.
+	 *
+	 * @return the index in [0, {@link #NUM_INDICES}) or -1 for bots without team color or a valid number
+	 */
+	public int getIndex()
+	{
+		int number = getNumber();
+		if ((number < AObjectID.BOT_ID_MIN) || (number > AObjectID.BOT_ID_MAX))
+		{
+			return -1;
+		}
+		return switch (teamColor)
+				{
+					case YELLOW -> number;
+					case BLUE -> BOTS_PER_COLOR + number;
+					case NEUTRAL -> -1;
+				};
+	}
+
+
 	/**
 	 * @return the teamColor
 	 */
@@ -236,7 +280,7 @@ public final class BotID extends AObjectID
 	 */
 	public static Collection<BotID> getAllYellow()
 	{
-		return new ArrayList<>(YELLOW_BOT_IDS.values());
+		return new ArrayList<>(Arrays.asList(BOT_IDS[ETeamColor.YELLOW.ordinal()]));
 	}
 
 
@@ -245,7 +289,7 @@ public final class BotID extends AObjectID
 	 */
 	public static Collection<BotID> getAllBlue()
 	{
-		return new ArrayList<>(BLUE_BOT_IDS.values());
+		return new ArrayList<>(Arrays.asList(BOT_IDS[ETeamColor.BLUE.ordinal()]));
 	}
 
 
@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.ids;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+
+/**
+ * A map with {@link BotID} keys of yellow and blue bots, backed by an array that is indexed by {@link BotID#getIndex()}.
+ * <p>
+ * Similar to {@link java.util.EnumMap}, lookups do not hash and box and iteration is in the natural order of the
+ * bot ids (yellow before blue, ascending numbers).
+ * Bot ids without a team color can not be stored.
+ * This map is not thread-safe.
+ * </p>
+ *
+ * @param <V> the value type
+ */
+public class BotIdMap<V> extends AbstractMap<BotID, V>
+{
+	/** marks null values, to distinguish them from absent entries */
+	private static final Object NULL = new Object();
+
+	private final Object[] values = new Object[BotID.NUM_INDICES];
+	private int size = 0;
+	private int modCount = 0;
+	private Set<Entry<BotID, V>> entrySet;
+
+
+	public BotIdMap()
+	{
+		// empty
+	}
+
+
+	/**
+	 * @param map the map to copy
+	 */
+	public BotIdMap(final Map<BotID, ? extends V> map)
+	{
+		putAll(map);
+	}
+
+
+	/**
+	 * Like {@link java.util.stream.Collectors#toMap(Function, Function)}, but collecting into a {@link BotIdMap}.
+	 *
+	 * @param keyMapper   the bot id of an element
+	 * @param valueMapper the value of an element
+	 * @param <T>         the element type
+	 * @param <V>         the value type
+	 * @return a collector that throws an {@link IllegalStateException} on duplicate bot ids
+	 */
+	public static <T, V> Collector<T, ?, BotIdMap<V>> toBotIdMap(
+			final Function<? super T, BotID> keyMapper,
+			final Function<? super T, ? extends V> valueMapper)
+	{
+		return Collector.of(
+				BotIdMap::new,
+				(map, element) -> putUnique(map, keyMapper.apply(element), valueMapper.apply(element)),
+				(map1, map2) -> {
+					map2.forEach((key, value) -> putUnique(map1, key, value));
+					return map1;
+				});
+	}
+
+
+	private static <V> void putUnique(final BotIdMap<V> map, final BotID key, final V value)
+	{
+		if (map.containsKey(key))
+		{
+			throw new IllegalStateException("Duplicate key " + key);
+		}
+		map.put(key, Objects.requireNonNull(value));
+	}
+
+
+	private static int index(final Object key)
+	{
+		if (key instanceof BotID botID)
+		{
+			return botID.getIndex();
+		}
+		return -1;
+	}
+
+
+	private static Object maskNull(final Object value)
+	{
+		return value == null ? NULL : value;
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private static <V> V unmaskNull(final Object value)
+	{
+		return value == NULL ? null : (V) value;
+	}
+
+
+	@Override
+	public int size()
+	{
+		return size;
+	}
+
+
+	@Override
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+
+	@Override
+	public boolean containsKey(final Object key)
+	{
+		int index = index(key);
+		return index >= 0 && values[index] != null;
+	}
+
+
+	@Override
+	public boolean containsValue(final Object value)
+	{
+		Object masked = maskNull(value);
+		for (Object v : values)
+		{
+			if (v != null && Objects.equals(masked, v))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	@Override
+	public V get(final Object key)
+	{
+		int index = index(key);
+		return index < 0 ? null : unmaskNull(values[index]);
+	}
+
+
+	@Override
+	public V put(final BotID key, final V value)
+	{
+		int index = key.getIndex();
+		if (index < 0)
+		{
+			throw new IllegalArgumentException("Only yellow and blue bots can be stored: " + key);
+		}
+		Object old = values[index];
+		values[index] = maskNull(value);
+		if (old == null)
+		{
+			size++;
+			modCount++;
+		}
+		return unmaskNull(old);
+	}
+
+
+	@Override
+	public V remove(final Object key)
+	{
+		int index = index(key);
+		if (index < 0 || values[index] == null)
+		{
+			return null;
+		}
+		return removeIndex(index);
+	}
+
+
+	private V removeIndex(final int index)
+	{
+		Object old = values[index];
+		values[index] = null;
+		size--;
+		modCount++;
+		return unmaskNull(old);
+	}
+
+
+	@Override
+	public void putAll(final Map<? extends BotID, ? extends V> map)
+	{
+		if (map instanceof BotIdMap<?> other)
+		{
+			for (int i = 0; i < BotID.NUM_INDICES; i++)
+			{
+				if (other.values[i] != null)
+				{
+					if (values[i] == null)
+					{
+						size++;
+					}
+					values[i] = other.values[i];
+				}
+			}
+			modCount++;
+		} else
+		{
+			super.putAll(map);
+		}
+	}
+
+
+	@Override
+	public void clear()
+	{
+		Arrays.fill(values, null);
+		size = 0;
+		modCount++;
+	}
+
+
+	@Override
+	public Set<Entry<BotID, V>> entrySet()
+	{
+		if (entrySet == null)
+		{
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+
+	private class EntrySet extends AbstractSet<Entry<BotID, V>>
+	{
+		@Override
+		public Iterator<Entry<BotID, V>> iterator()
+		{
+			return new EntryIterator();
+		}
+
+
+		@Override
+		public int size()
+		{
+			return size;
+		}
+
+
+		@Override
+		public boolean contains(final Object o)
+		{
+			if (o instanceof Entry<?, ?> entry)
+			{
+				int index = index(entry.getKey());
+				return index >= 0 && values[index] != null
+						&& Objects.equals(unmaskNull(values[index]), entry.getValue());
+			}
+			return false;
+		}
+
+
+		@Override
+		public boolean remove(final Object o)
+		{
+			if (contains(o))
+			{
+				removeIndex(index(((Entry<?, ?>) o).getKey()));
+				return true;
+			}
+			return false;
+		}
+
+
+		@Override
+		public void clear()
+		{
+			BotIdMap.this.clear();
+		}
+	}
+
+	private class EntryIterator implements Iterator<Entry<BotID, V>>
+	{
+		private int next = 0;
+		private int last = -1;
+		private int expectedModCount = modCount;
+
+
+		@Override
+		public boolean hasNext()
+		{
+			while (next < BotID.NUM_INDICES && values[next] == null)
+			{
+				next++;
+			}
+			return next < BotID.NUM_INDICES;
+		}
+
+
+		@Override
+		public Entry<BotID, V> next()
+		{
+			if (!hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+			checkForModification();
+			last = next++;
+			return new BotIdEntry(last);
+		}
+
+
+		@Override
+		public void remove()
+		{
+			if (last < 0)
+			{
+				throw new IllegalStateException();
+			}
+			checkForModification();
+			if (values[last] != null)
+			{
+				removeIndex(last);
+			}
+			last = -1;
+			expectedModCount = modCount;
+		}
+
+
+		private void checkForModification()
+		{
+			if (modCount != expectedModCount)
+			{
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	private class BotIdEntry implements Entry<BotID, V>
+	{
+		private final int index;
+
+
+		BotIdEntry(final int index)
+		{
+			this.index = index;
+		}
+
+
+		@Override
+		public BotID getKey()
+		{
+			return BotID.fromIndex(index);
+		}
+
+
+		@Override
+		public V getValue()
+		{
+			return unmaskNull(values[index]);
+		}
+
+
+		@Override
+		public V setValue(final V value)
+		{
+			if (values[index] == null)
+			{
+				throw new IllegalStateException("Entry was removed");
+			}
+			V old = unmaskNull(values[index]);
+			values[index] = maskNull(value);
+			return old;
+		}
+
+
+		@Override
+		public boolean equals(final Object o)
+		{
+			if (o instanceof Entry<?, ?> entry)
+			{
+				return getKey().equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+			}
+			return false;
+		}
+
+
+		@Override
+		public int hashCode()
+		{
+			return getKey().hashCode() ^ Objects.hashCode(getValue());
+		}
+
+
+		@Override
+		public String toString()
+		{
+			return getKey() + "=" + getValue();
+		}
+	}
+}
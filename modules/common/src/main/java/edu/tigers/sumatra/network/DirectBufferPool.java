@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.network;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+
+/**
+ * A pool of direct {@link ByteBuffer}s with the same capacity.
+ * <p>
+ * Direct buffers are expensive to allocate, but the network stack can write into them without an additional copy.
+ * Buffers are allocated on demand and kept after they were released, so the pool grows to the maximum number of
+ * buffers that were in use at the same time.
+ * </p>
+ */
+public class DirectBufferPool
+{
+	private final int bufferCapacity;
+	private final Deque<ByteBuffer> freeBuffers = new ArrayDeque<>();
+	private int numAllocated = 0;
+
+
+	/**
+	 * @param bufferCapacity the capacity of each buffer in bytes
+	 */
+	public DirectBufferPool(final int bufferCapacity)
+	{
+		this.bufferCapacity = bufferCapacity;
+	}
+
+
+	/**
+	 * @return a cleared buffer, that must be passed to {@link #release(ByteBuffer)} after use
+	 */
+	public synchronized ByteBuffer acquire()
+	{
+		ByteBuffer buffer = freeBuffers.pollFirst();
+		if (buffer == null)
+		{
+			numAllocated++;
+			return ByteBuffer.allocateDirect(bufferCapacity);
+		}
+		return buffer.clear();
+	}
+
+
+	/**
+	 * @param buffer a buffer from {@link #acquire()} that is not used anymore
+	 */
+	public synchronized void release(final ByteBuffer buffer)
+	{
+		freeBuffers.offerFirst(buffer);
+	}
+
+
+	/**
+	 * @return the number of buffers allocated by this pool
+	 */
+	public synchronized int getNumAllocated()
+	{
+		return numAllocated;
+	}
+
+
+	public int getBufferCapacity()
+	{
+		return bufferCapacity;
+	}
+}
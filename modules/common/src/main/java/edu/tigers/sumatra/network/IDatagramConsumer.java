@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.network;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+
+/**
+ * Consumer of received datagrams.
+ */
+@FunctionalInterface
+public interface IDatagramConsumer
+{
+	/**
+	 * A datagram was received.
+	 * The buffer is reused for further datagrams after this method returned, so it must not be kept.
+	 *
+	 * @param data   the datagram, from the position of the buffer to its limit
+	 * @param sender the address of the sender
+	 */
+	void onDatagram(ByteBuffer data, InetSocketAddress sender);
+}
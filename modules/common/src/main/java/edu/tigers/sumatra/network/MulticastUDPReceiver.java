@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.network;
@@ -7,34 +7,52 @@ package edu.tigers.sumatra.network;
 
 import lombok.extern.log4j.Log4j2;
 
-import java.io.EOFException;
 import java.io.IOException;
-import java.net.DatagramPacket;
+import java.io.InterruptedIOException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.net.MulticastSocket;
 import java.net.NetworkInterface;
 import java.net.SocketException;
-import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 
 /**
- * Connect to a multicast group on all reasonable network interfaces, and receive {@link DatagramPacket}s on it.
+ * Connect to a multicast group on all reasonable network interfaces, and receive datagrams on it.
+ * <p>
+ * Datagrams are received with a non-blocking {@link DatagramChannel} into pooled direct buffers.
+ * On each wakeup, all datagrams that are waiting in the socket are drained, before they are passed on.
+ * </p>
  */
 @Log4j2
 public class MulticastUDPReceiver implements AutoCloseable
 {
 	private static final int SO_TIMEOUT = 500;
+	/** the maximum payload of an UDP datagram */
+	private static final int MAX_DATAGRAM_SIZE = 65507;
+	private static final int MAX_BURST_SIZE = 16;
 	private static final String[] USELESS_PREFIXES = { "tap", "tun", "ham", "WAN" };
 	private final List<IReceiverObserver> observers = new CopyOnWriteArrayList<>();
-	private MulticastSocket currentSocket;
+	private final DirectBufferPool bufferPool = new DirectBufferPool(MAX_DATAGRAM_SIZE);
+	private final ByteBuffer[] burstBuffers = new ByteBuffer[MAX_BURST_SIZE];
+	private final InetSocketAddress[] burstSenders = new InetSocketAddress[MAX_BURST_SIZE];
+	private volatile DatagramChannel currentChannel;
+	private Selector selector;
+	private long timeoutMs = 0;
 
 
 	public MulticastUDPReceiver(String host, int port)
 	{
-		currentSocket = connect(port);
+		connect(host, port);
 		addAllNetworkInterfaces(host, port);
 	}
 
@@ -48,7 +66,7 @@ public class MulticastUDPReceiver implements AutoCloseable
 	 */
 	public MulticastUDPReceiver(final String host, final int port, final NetworkInterface iface)
 	{
-		currentSocket = connect(port);
+		connect(host, port);
 		joinOnInterface(port, host, iface);
 	}
 
@@ -79,16 +97,24 @@ public class MulticastUDPReceiver implements AutoCloseable
 	}
 
 
-	private MulticastSocket connect(int port)
+	private void connect(String host, int port)
 	{
 		try
 		{
-			return new MulticastSocket(new InetSocketAddress(port));
+			var family = InetAddress.getByName(host) instanceof Inet6Address
+					? StandardProtocolFamily.INET6
+					: StandardProtocolFamily.INET;
+			var channel = DatagramChannel.open(family);
+			channel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+			channel.bind(new InetSocketAddress(port));
+			channel.configureBlocking(false);
+			selector = Selector.open();
+			channel.register(selector, SelectionKey.OP_READ);
+			currentChannel = channel;
 		} catch (IOException err)
 		{
-			log.error("Could not create new multicast socket", err);
+			log.error("Could not create new multicast channel", err);
 		}
-		return null;
 	}
 
 
@@ -136,7 +162,11 @@ public class MulticastUDPReceiver implements AutoCloseable
 		try
 		{
 			log.debug("Using network interface '{}' with MTU {}", iface.getDisplayName(), iface.getMTU());
-			currentSocket.joinGroup(new InetSocketAddress(groupStr, port), iface);
+			if (currentChannel == null)
+			{
+				return;
+			}
+			currentChannel.join(InetAddress.getByName(groupStr), iface);
 			log.debug("Multicast group {}:{} joined on nif {}", groupStr, port, iface.getDisplayName());
 		} catch (IOException err)
 		{
@@ -145,40 +175,115 @@ public class MulticastUDPReceiver implements AutoCloseable
 	}
 
 
-	public void receive(final DatagramPacket store) throws IOException
+	/**
+	 * Wait for datagrams and pass all datagrams that are currently available to the consumer.
+	 * The observers are notified, if no datagram was received for some time.
+	 *
+	 * @param consumer the consumer for the received datagrams
+	 * @return the number of received datagrams, at least one
+	 * @throws IOException if the receiver is or gets closed
+	 */
+	public int receive(final IDatagramConsumer consumer) throws IOException
 	{
-		if (currentSocket == null)
+		while (true)
 		{
-			throw new IOException("Connection is closed");
+			DatagramChannel channel = currentChannel;
+			if (channel == null)
+			{
+				throw new IOException("Connection is closed");
+			}
+			if (Thread.currentThread().isInterrupted())
+			{
+				throw new InterruptedIOException("Interrupted while waiting for data");
+			}
+
+			int numReady;
+			try
+			{
+				// the action variant does not add the key to the selected-key set, which would allocate
+				numReady = selector.select(key -> {
+				}, timeoutMs);
+			} catch (ClosedSelectorException e)
+			{
+				throw new IOException("Connection is closed", e);
+			}
+			if (numReady == 0)
+			{
+				if (timeoutMs > 0 && currentChannel != null && !Thread.currentThread().isInterrupted())
+				{
+					log.debug("No data received for {} ms", SO_TIMEOUT);
+					observers.forEach(IReceiverObserver::onSocketTimedOut);
+					timeoutMs = 0;
+				}
+				continue;
+			}
+
+			int numReceived = drain(channel);
+			if (numReceived > 0)
+			{
+				timeoutMs = SO_TIMEOUT;
+				dispatch(numReceived, consumer);
+				return numReceived;
+			}
 		}
+	}
+
 
-		while (currentSocket != null)
+	private int drain(final DatagramChannel channel) throws IOException
+	{
+		int numReceived = 0;
+		while (numReceived < MAX_BURST_SIZE)
 		{
-			try
+			ByteBuffer buffer = bufferPool.acquire();
+			InetSocketAddress sender = (InetSocketAddress) channel.receive(buffer);
+			if (sender == null)
 			{
-				currentSocket.receive(store);
-				currentSocket.setSoTimeout(SO_TIMEOUT);
-				return;
-			} catch (EOFException eof)
+				bufferPool.release(buffer);
+				break;
+			}
+			burstBuffers[numReceived] = buffer.flip();
+			burstSenders[numReceived] = sender;
+			numReceived++;
+		}
+		return numReceived;
+	}
+
+
+	private void dispatch(final int numReceived, final IDatagramConsumer consumer)
+	{
+		try
+		{
+			for (int i = 0; i < numReceived; i++)
 			{
-				log.error("EOF error, buffer may be too small", eof);
-			} catch (SocketTimeoutException e)
+				consumer.onDatagram(burstBuffers[i], burstSenders[i]);
+			}
+		} finally
+		{
+			for (int i = 0; i < numReceived; i++)
 			{
-				log.debug("No data received for {} ms", SO_TIMEOUT, e);
-				observers.forEach(IReceiverObserver::onSocketTimedOut);
-				currentSocket.setSoTimeout(0);
+				bufferPool.release(burstBuffers[i]);
+				burstBuffers[i] = null;
+				burstSenders[i] = null;
 			}
 		}
-		throw new IOException("No data received");
 	}
 
 
 	@Override
 	public void close()
 	{
-		if (currentSocket != null)
+		DatagramChannel channel = currentChannel;
+		currentChannel = null;
+		if (channel != null)
 		{
-			currentSocket.close();
+			try
+			{
+				channel.close();
+				selector.close();
+			} catch (IOException err)
+			{
+				log.warn("Could not close multicast channel", err);
+			}
 		}
 		observers.clear();
 	}
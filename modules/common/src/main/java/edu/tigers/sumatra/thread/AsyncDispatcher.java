@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.thread;
+
+import edu.tigers.sumatra.util.Safe;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Runs events on an own thread in the order in which they were dispatched.
+ * <p>
+ * This decouples slow observers from the producer thread. There are two kinds of events:
+ * Frame events are sent continuously and only the latest ones are of interest. At most {@link #getCapacity()} of
+ * them are queued, so a slow observer can not use up the memory. What happens when the queue is full is defined by
+ * the {@link EQueueOverflowPolicy}.
+ * Control events, like clearing the state or a new geometry, are sent rarely and must not get lost.
+ * They are never dropped in favor of frames and do not count against the capacity.
+ * </p>
+ */
+@Log4j2
+public class AsyncDispatcher
+{
+	@Getter
+	private final String name;
+	@Getter
+	private final int capacity;
+	@Getter
+	private final EQueueOverflowPolicy overflowPolicy;
+	private final AtomicLong numDropped = new AtomicLong();
+
+	/** guards the fields below, the dispatcher thread waits on it for new events */
+	private final Object lock = new Object();
+	private final Deque<Event> queue = new ArrayDeque<>();
+	private int numQueuedFrames = 0;
+	private Thread thread;
+
+
+	/**
+	 * @param name           the name of the dispatcher thread
+	 * @param capacity       the maximum number of queued frame events
+	 * @param overflowPolicy what to do when the queue is full
+	 */
+	public AsyncDispatcher(final String name, final int capacity, final EQueueOverflowPolicy overflowPolicy)
+	{
+		this.name = name;
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+	}
+
+
+	/**
+	 * Start the dispatcher thread
+	 */
+	public void start()
+	{
+		synchronized (lock)
+		{
+			if (thread == null)
+			{
+				thread = new NamedThreadFactory(name).newThread(this::run);
+				thread.start();
+			}
+		}
+	}
+
+
+	/**
+	 * Stop the dispatcher thread and wait until it has terminated, so no event runs after this method returned.
+	 * Events that are still queued are discarded.
+	 * When called from an event on the dispatcher thread, that event is the last one.
+	 */
+	public void stop()
+	{
+		Thread stoppedThread;
+		synchronized (lock)
+		{
+			stoppedThread = thread;
+			thread = null;
+			queue.clear();
+			numQueuedFrames = 0;
+			lock.notifyAll();
+		}
+		if (stoppedThread == null || stoppedThread == Thread.currentThread())
+		{
+			return;
+		}
+		stoppedThread.interrupt();
+		try
+		{
+			stoppedThread.join();
+		} catch (InterruptedException e)
+		{
+			log.warn("Interrupted while waiting for dispatcher {} to stop", name);
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	/**
+	 * Queue a frame event. If the queue is full, the {@link EQueueOverflowPolicy} applies.
+	 * Events that are dispatched while the dispatcher is not running are dropped.
+	 *
+	 * @param event the event to run on the dispatcher thread
+	 */
+	public void dispatch(final Runnable event)
+	{
+		synchronized (lock)
+		{
+			boolean hasCapacity = overflowPolicy == EQueueOverflowPolicy.DROP_OLDEST
+					? dropOldestFrames()
+					: awaitCapacity();
+			if (hasCapacity)
+			{
+				enqueue(new Event(event, false));
+			} else
+			{
+				numDropped.incrementAndGet();
+			}
+		}
+	}
+
+
+	/**
+	 * Queue a control event. Control events are never dropped because the queue is full.
+	 * Events that are dispatched while the dispatcher is not running are dropped.
+	 *
+	 * @param event the event to run on the dispatcher thread
+	 */
+	public void dispatchControl(final Runnable event)
+	{
+		synchronized (lock)
+		{
+			enqueue(new Event(event, true));
+		}
+	}
+
+
+	private boolean dropOldestFrames()
+	{
+		Iterator<Event> it = queue.iterator();
+		while (numQueuedFrames >= capacity && it.hasNext())
+		{
+			if (!it.next().control())
+			{
+				it.remove();
+				numQueuedFrames--;
+				numDropped.incrementAndGet();
+			}
+		}
+		return numQueuedFrames < capacity;
+	}
+
+
+	private boolean awaitCapacity()
+	{
+		try
+		{
+			while (thread != null && numQueuedFrames >= capacity)
+			{
+				lock.wait();
+			}
+			return true;
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+
+	private void enqueue(final Event event)
+	{
+		if (thread == null)
+		{
+			numDropped.incrementAndGet();
+			return;
+		}
+		queue.addLast(event);
+		if (!event.control())
+		{
+			numQueuedFrames++;
+		}
+		lock.notifyAll();
+	}
+
+
+	private Event take() throws InterruptedException
+	{
+		synchronized (lock)
+		{
+			while (thread == Thread.currentThread() && queue.isEmpty())
+			{
+				lock.wait();
+			}
+			if (thread != Thread.currentThread())
+			{
+				return null;
+			}
+			Event event = queue.removeFirst();
+			if (!event.control())
+			{
+				numQueuedFrames--;
+				// wake up producers that wait for capacity
+				lock.notifyAll();
+			}
+			return event;
+		}
+	}
+
+
+	private void run()
+	{
+		try
+		{
+			Event event;
+			while ((event = take()) != null)
+			{
+				Safe.run(event.action());
+			}
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		log.debug("Dispatcher {} stopped", name);
+	}
+
+
+	/**
+	 * @return the number of currently queued events
+	 */
+	public int getQueueDepth()
+	{
+		synchronized (lock)
+		{
+			return queue.size();
+		}
+	}
+
+
+	/**
+	 * @return the number of events that were dropped, either because the queue was full or the dispatcher was stopped
+	 */
+	public long getNumDropped()
+	{
+		return numDropped.get();
+	}
+
+
+	/**
+	 * @return a snapshot of the queue depth and drop counter
+	 */
+	public DispatchStats getStats()
+	{
+		return new DispatchStats(name, getQueueDepth(), capacity, getNumDropped());
+	}
+
+
+	private record Event(Runnable action, boolean control)
+	{
+	}
+}
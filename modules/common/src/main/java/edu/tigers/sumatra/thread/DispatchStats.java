@@ -0,0 +1,17 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.thread;
+
+/**
+ * A snapshot of the state of an {@link AsyncDispatcher}.
+ *
+ * @param name       the name of the dispatcher
+ * @param queueDepth the number of currently queued events
+ * @param capacity   the capacity of the queue
+ * @param numDropped the number of events that were dropped since the dispatcher was created
+ */
+public record DispatchStats(String name, int queueDepth, int capacity, long numDropped)
+{
+}
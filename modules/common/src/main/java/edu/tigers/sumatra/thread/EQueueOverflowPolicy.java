@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.thread;
+
+/**
+ * What to do when the queue of an {@link AsyncDispatcher} is full.
+ */
+public enum EQueueOverflowPolicy
+{
+	/**
+	 * Drop the oldest queued event to make room for the new one. The producer is never delayed.
+	 */
+	DROP_OLDEST,
+	/**
+	 * Block the producer until there is room in the queue. No event is lost while the dispatcher is running.
+	 */
+	BLOCK
+}
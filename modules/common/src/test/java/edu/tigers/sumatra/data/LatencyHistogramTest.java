@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.data;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+
+public class LatencyHistogramTest
+{
+	@Test
+	public void testBucketsContainValue()
+	{
+		for (long value : new long[] { 0, 1, 7, 8, 9, 15, 16, 1000, 123_456_789L, Long.MAX_VALUE })
+		{
+			int index = LatencyHistogram.bucketIndex(value);
+			assertThat(LatencyHistogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+			if (index > 0)
+			{
+				assertThat(LatencyHistogram.bucketUpperBound(index - 1)).isLessThan(value);
+			}
+		}
+	}
+
+
+	@Test
+	public void testStatistics()
+	{
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertThat(histogram.getPercentile(0.5)).isZero();
+
+		for (int i = 1; i <= 1000; i++)
+		{
+			histogram.record(i * 1000L);
+		}
+
+		assertThat(histogram.getCount()).isEqualTo(1000);
+		assertThat(histogram.getMean()).isCloseTo(500_500, within(1e-6));
+		assertThat(histogram.getMax()).isEqualTo(1_000_000);
+		assertThat(histogram.getPercentile(0.5)).isBetween(500_000L, 570_000L);
+		assertThat(histogram.getPercentile(0.99)).isBetween(990_000L, 1_000_000L);
+		assertThat(histogram.getPercentile(1.0)).isEqualTo(1_000_000);
+
+		histogram.reset();
+		assertThat(histogram.getCount()).isZero();
+		assertThat(histogram.getMax()).isZero();
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * A rolling percentile per sample: add a new value at 1kHz to a buffer of one second and query a percentile.
+ * The incremental statistics of {@link TimeLimitedBuffer} are compared with sorting all buffered values per query,
+ * like the former implementation of {@link TimeLimitedBuffer#getValuePercentile(double)}.
+ * Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3)
+public class TimeLimitedBufferBenchmark
+{
+	private static final long SAMPLE_DT = 1_000_000L;
+
+	@Param({ "0.5", "0.99" })
+	private double percentile;
+
+	private final TimeLimitedBuffer<Double> buffer = createBuffer();
+	private final Random rnd = new Random(42);
+	private long timestamp = 0;
+
+
+	public static void main(String[] args) throws Exception
+	{
+		org.openjdk.jmh.Main.main(args);
+	}
+
+
+	private static TimeLimitedBuffer<Double> createBuffer()
+	{
+		TimeLimitedBuffer<Double> timeLimitedBuffer = new TimeLimitedBuffer<>();
+		timeLimitedBuffer.setMaxDuration(1.0);
+		return timeLimitedBuffer;
+	}
+
+
+	private void addSample()
+	{
+		timestamp += SAMPLE_DT;
+		buffer.add(timestamp, rnd.nextGaussian());
+	}
+
+
+	@Benchmark
+	public double incremental()
+	{
+		addSample();
+		return buffer.getValuePercentile(percentile);
+	}
+
+
+	@Benchmark
+	public double sortPerQuery()
+	{
+		addSample();
+		List<Double> elements = buffer.getElements();
+		return elements.stream()
+				.sorted()
+				.skip(Math.max(0, Math.round(elements.size() * percentile) - 1))
+				.findFirst()
+				.orElseThrow();
+	}
+}
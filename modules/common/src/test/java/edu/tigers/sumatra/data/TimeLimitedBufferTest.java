@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.data;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+
+public class TimeLimitedBufferTest
+{
+	private static final long MILLISECOND = 1_000_000L;
+
+
+	@Test
+	public void testReduceBySize()
+	{
+		TimeLimitedBuffer<Integer> buffer = new TimeLimitedBuffer<>();
+		buffer.setMaxElements(3);
+		for (int i = 0; i < 5; i++)
+		{
+			buffer.add(i, i);
+		}
+		assertThat(buffer.getElements()).containsExactly(2, 3, 4);
+		assertThat(buffer.getOldest()).contains(2);
+		assertThat(buffer.getLatest()).contains(4);
+	}
+
+
+	@Test
+	public void testReduceByDuration()
+	{
+		TimeLimitedBuffer<Integer> buffer = new TimeLimitedBuffer<>();
+		buffer.setMaxDuration(0.01);
+		for (int i = 0; i < 20; i++)
+		{
+			buffer.add(i * MILLISECOND, i);
+		}
+		assertThat(buffer.getElements()).containsExactly(9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19);
+
+		buffer.reduceByAbsoluteDuration(25 * MILLISECOND);
+		assertThat(buffer.getElements()).containsExactly(15, 16, 17, 18, 19);
+	}
+
+
+	@Test
+	public void testStatistics()
+	{
+		TimeLimitedBuffer<Double> buffer = new TimeLimitedBuffer<>();
+		assertThat(buffer.getMinValue()).isEmpty();
+		assertThat(buffer.getMaxValue()).isEmpty();
+		assertThat(buffer.getMean()).isZero();
+		assertThatThrownBy(() -> buffer.getValuePercentile(0.5)).isInstanceOf(NoSuchElementException.class);
+
+		for (double value : List.of(3.0, 1.0, 4.0, 1.0, 5.0))
+		{
+			buffer.add(0, value);
+		}
+		assertThat(buffer.getMinValue()).contains(1.0);
+		assertThat(buffer.getMaxValue()).contains(5.0);
+		assertThat(buffer.getMean()).isCloseTo(2.8, within(1e-9));
+		assertThat(buffer.getValuePercentile(0)).isEqualTo(1.0);
+		assertThat(buffer.getValuePercentile(0.5)).isEqualTo(3.0);
+		assertThat(buffer.getValuePercentile(1)).isEqualTo(5.0);
+
+		buffer.reset();
+		assertThat(buffer.getMaxValue()).isEmpty();
+		assertThat(buffer.getMean()).isZero();
+		buffer.add(0, 7.0);
+		assertThat(buffer.getValuePercentile(0.9)).isEqualTo(7.0);
+		assertThat(buffer.getMean()).isEqualTo(7.0);
+	}
+
+
+	@Test
+	public void testStatisticsMatchSortedWindow()
+	{
+		TimeLimitedBuffer<Double> buffer = new TimeLimitedBuffer<>();
+		buffer.setMaxDuration(0.2);
+		buffer.setMaxElements(150);
+		Random rnd = new Random(42);
+		for (int i = 0; i < 2000; i++)
+		{
+			// few distinct values to also cover duplicates
+			buffer.add(i * MILLISECOND, (double) rnd.nextInt(50));
+			if (i % 100 == 0)
+			{
+				buffer.setMaxElements(100 + rnd.nextInt(200));
+			}
+			if (i % 7 != 0)
+			{
+				continue;
+			}
+
+			List<Double> sorted = buffer.getElements().stream().sorted().toList();
+			for (double percentile : List.of(0.0, 0.1, 0.5, 0.9, 0.99, 1.0))
+			{
+				int rank = (int) Math.max(0, Math.round(sorted.size() * percentile) - 1);
+				assertThat(buffer.getValuePercentile(percentile)).isEqualTo(sorted.get(rank));
+			}
+			assertThat(buffer.getMinValue()).contains(sorted.get(0));
+			assertThat(buffer.getMaxValue()).contains(sorted.get(sorted.size() - 1));
+			double mean = sorted.stream().mapToDouble(Double::doubleValue).average().orElseThrow();
+			assertThat(buffer.getMean()).isCloseTo(mean, within(1e-9));
+		}
+	}
+}
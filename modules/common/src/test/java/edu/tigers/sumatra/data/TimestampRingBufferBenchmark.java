@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * A time history per frame: add the value of the new frame, remove values older than the buffer duration and look up
+ * the value some time before the new frame.
+ * {@link TimestampRingBuffer} is compared with the previous list-based buffers, one evicting with
+ * {@link List#removeIf} like the former TimestampBasedBuffer, one iterating from the newest value like the former
+ * ball position buffer of the BallLeftFieldCalculator.
+ * Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3)
+public class TimestampRingBufferBenchmark
+{
+	private static final double BUFFER_DURATION = 0.55;
+	private static final long LOOKUP_AGE = 300_000_000L;
+
+	@Param({ "100", "1000" })
+	private int frameRate;
+
+	private final TimestampRingBuffer<Entry> ringBuffer = new TimestampRingBuffer<>(1024, BUFFER_DURATION);
+	private final List<Entry> arrayList = new ArrayList<>();
+	private final LinkedList<Entry> linkedList = new LinkedList<>();
+	private long timestamp = 0;
+
+
+	public static void main(String[] args) throws Exception
+	{
+		org.openjdk.jmh.Main.main(args);
+	}
+
+
+	private long nextTimestamp()
+	{
+		timestamp += 1_000_000_000L / frameRate;
+		return timestamp;
+	}
+
+
+	@Benchmark
+	public Entry ringBuffer()
+	{
+		long t = nextTimestamp();
+		ringBuffer.add(t, new Entry(t));
+		return ringBuffer.getAtOrBefore(t - LOOKUP_AGE).orElse(null);
+	}
+
+
+	@Benchmark
+	public Entry arrayListRemoveIf()
+	{
+		long t = nextTimestamp();
+		arrayList.removeIf(e -> (t - e.timestamp) / 1e9 > BUFFER_DURATION);
+		arrayList.add(new Entry(t));
+		for (int i = arrayList.size() - 1; i >= 0; i--)
+		{
+			if (arrayList.get(i).timestamp <= t - LOOKUP_AGE)
+			{
+				return arrayList.get(i);
+			}
+		}
+		return null;
+	}
+
+
+	@Benchmark
+	public Entry linkedList()
+	{
+		long t = nextTimestamp();
+		while (!linkedList.isEmpty() && (t - linkedList.getLast().timestamp) / 1e9 > BUFFER_DURATION)
+		{
+			linkedList.removeLast();
+		}
+		linkedList.offerFirst(new Entry(t));
+		for (Entry entry : linkedList)
+		{
+			if (entry.timestamp <= t - LOOKUP_AGE)
+			{
+				return entry;
+			}
+		}
+		return null;
+	}
+
+
+	/**
+	 * A buffered value, as allocated once per frame by all buffers.
+	 */
+	public record Entry(long timestamp)
+	{
+	}
+}
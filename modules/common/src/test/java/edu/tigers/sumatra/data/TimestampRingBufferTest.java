@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+public class TimestampRingBufferTest
+{
+	private static final long SECOND = 1_000_000_000L;
+
+
+	@Test
+	public void testCapacity()
+	{
+		TimestampRingBuffer<String> buffer = new TimestampRingBuffer<>(3);
+		assertThat(buffer.isEmpty()).isTrue();
+		assertThat(buffer.getLatest()).isEmpty();
+
+		for (int i = 0; i < 5; i++)
+		{
+			buffer.add(i, "v" + i);
+		}
+		assertThat(values(buffer)).containsExactly("v2", "v3", "v4");
+		assertThat(buffer.getTimestamp(0)).isEqualTo(2);
+		assertThat(buffer.getOldest()).contains("v2");
+		assertThat(buffer.getLatest()).contains("v4");
+		assertThatThrownBy(() -> buffer.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+
+	@Test
+	public void testMaxDuration()
+	{
+		TimestampRingBuffer<String> buffer = new TimestampRingBuffer<>(100, 0.5);
+		for (int i = 0; i < 10; i++)
+		{
+			buffer.add(i * SECOND / 10, "v" + i);
+		}
+		// v4 is exactly 0.5s older than v9
+		assertThat(values(buffer)).containsExactly("v4", "v5", "v6", "v7", "v8", "v9");
+
+		buffer.setMaxDuration(0.2);
+		buffer.add(SECOND, "v10");
+		assertThat(values(buffer)).containsExactly("v8", "v9", "v10");
+	}
+
+
+	@Test
+	public void testGrowsWithinMaxDuration()
+	{
+		TimestampRingBuffer<String> buffer = new TimestampRingBuffer<>(4, 0.5);
+		for (int i = 0; i < 30; i++)
+		{
+			// start with a low frame rate, so that the values wrap around the end of the array before it grows
+			long timestamp = i < 6 ? i * SECOND / 5 : 2 * SECOND + i * SECOND / 100;
+			buffer.add(timestamp, "v" + i);
+		}
+		// all values of the last 0.5s are kept, although they do not fit into the initial capacity
+		List<String> expected = new ArrayList<>();
+		for (int i = 6; i < 30; i++)
+		{
+			expected.add("v" + i);
+		}
+		assertThat(values(buffer)).containsExactlyElementsOf(expected);
+		assertThat(buffer.capacity()).isEqualTo(32);
+		assertThat(buffer.getAtOrBefore(2 * SECOND + 10 * SECOND / 100)).contains("v10");
+	}
+
+
+	@Test
+	public void testJumpBack()
+	{
+		TimestampRingBuffer<String> buffer = new TimestampRingBuffer<>(4);
+		for (int i = 0; i < 6; i++)
+		{
+			buffer.add(i * 10L, "v" + i);
+		}
+		buffer.add(30, "w3");
+		assertThat(values(buffer)).containsExactly("v2", "w3");
+		buffer.add(0, "w0");
+		assertThat(values(buffer)).containsExactly("w0");
+
+		buffer.clear();
+		assertThat(buffer.isEmpty()).isTrue();
+		buffer.add(5, "x");
+		assertThat(values(buffer)).containsExactly("x");
+	}
+
+
+	@Test
+	public void testAtOrBefore()
+	{
+		TimestampRingBuffer<String> buffer = new TimestampRingBuffer<>(5);
+		assertThat(buffer.indexAtOrBefore(0)).isEqualTo(-1);
+		for (int i = 0; i < 8; i++)
+		{
+			buffer.add(i * 10L, "v" + i);
+		}
+		// contains v3 to v7 and wraps around the end of the array
+		assertThat(buffer.getAtOrBefore(29)).isEmpty();
+		assertThat(buffer.getAtOrBefore(30)).contains("v3");
+		assertThat(buffer.getAtOrBefore(59)).contains("v5");
+		assertThat(buffer.getAtOrBefore(60)).contains("v6");
+		assertThat(buffer.getAtOrBefore(1000)).contains("v7");
+		assertThat(buffer.indexAtOrBefore(45)).isEqualTo(1);
+	}
+
+
+	private List<String> values(final TimestampRingBuffer<String> buffer)
+	{
+		List<String> values = new ArrayList<>();
+		for (int i = 0; i < buffer.size(); i++)
+		{
+			values.add(buffer.get(i));
+		}
+		return values;
+	}
+}
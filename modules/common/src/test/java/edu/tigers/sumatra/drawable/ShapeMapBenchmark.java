@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.drawable;
+
+import edu.tigers.sumatra.math.vector.IVector2;
+import edu.tigers.sumatra.math.vector.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Construction of a shape map per frame, like in the vision filter, followed by publishing it to observers.
+ * The copy-on-write variant resembles the former layer storage as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3)
+public class ShapeMapBenchmark
+{
+	private static final int NUM_LAYERS = 20;
+
+	@Param({ "10", "50" })
+	private int shapesPerLayer;
+
+	private final List<IShapeLayerIdentifier> layers = new ArrayList<>();
+	private final List<IVector2> points = new ArrayList<>();
+
+
+	public static void main(String[] args) throws Exception
+	{
+		org.openjdk.jmh.Main.main(args);
+	}
+
+
+	@Setup
+	public void setup()
+	{
+		Random rnd = new Random(42);
+		for (int i = 0; i < NUM_LAYERS; i++)
+		{
+			layers.add(ShapeLayerIdentifier.builder()
+					.id("layer" + i)
+					.layerName("layer" + i)
+					.orderId(i)
+					.build());
+		}
+		for (int i = 0; i < shapesPerLayer; i++)
+		{
+			points.add(Vector2.fromXY(rnd.nextDouble() * 12000 - 6000, rnd.nextDouble() * 9000 - 4500));
+		}
+	}
+
+
+	@Benchmark
+	public ShapeMap buildAndPublish()
+	{
+		ShapeMap shapeMap = new ShapeMap();
+		for (IShapeLayerIdentifier layer : layers)
+		{
+			List<IDrawableShape> shapes = shapeMap.get(layer);
+			for (IVector2 point : points)
+			{
+				shapes.add(new DrawableCircle(point, 50, Color.RED));
+			}
+		}
+		return ShapeMap.unmodifiableCopy(shapeMap);
+	}
+
+
+	@Benchmark
+	public Map<String, List<IDrawableShape>> copyOnWriteBaseline()
+	{
+		Map<String, List<IDrawableShape>> shapeMap = new HashMap<>();
+		for (IShapeLayerIdentifier layer : layers)
+		{
+			List<IDrawableShape> shapes = shapeMap.computeIfAbsent(layer.getId(), k -> new CopyOnWriteArrayList<>());
+			for (IVector2 point : points)
+			{
+				shapes.add(new DrawableCircle(point, 50, Color.RED));
+			}
+		}
+		return shapeMap;
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.drawable;
+
+import edu.tigers.sumatra.math.vector.Vector2;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+public class ShapeMapTest
+{
+	private static final IShapeLayerIdentifier LAYER = ShapeLayerIdentifier.builder()
+			.id("test")
+			.layerName("test")
+			.build();
+
+
+	@Test
+	public void testUnmodifiableCopyIsSnapshot()
+	{
+		ShapeMap shapeMap = new ShapeMap();
+		shapeMap.get(LAYER).add(new DrawablePoint(Vector2.fromXY(1, 2)));
+
+		ShapeMap copy = ShapeMap.unmodifiableCopy(shapeMap);
+		shapeMap.get(LAYER).add(new DrawablePoint(Vector2.fromXY(3, 4)));
+
+		assertThat(shapeMap.get(LAYER)).hasSize(2);
+		assertThat(copy.getAllShapeLayers()).hasSize(1);
+		assertThat(copy.getAllShapeLayers().get(0).getShapes()).hasSize(1);
+	}
+
+
+	@Test
+	public void testUnmodifiableCopyCanNotBeModified()
+	{
+		ShapeMap shapeMap = new ShapeMap();
+		shapeMap.get(LAYER).add(new DrawablePoint(Vector2.fromXY(1, 2)));
+
+		ShapeMap copy = ShapeMap.unmodifiableCopy(shapeMap);
+		var shapes = copy.getAllShapeLayers().get(0).getShapes();
+
+		assertThatThrownBy(() -> shapes.add(new DrawablePoint(Vector2.fromXY(3, 4))))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+
+	@Test
+	public void testAddAllIfConsumed()
+	{
+		ShapeMap shapeMap = new ShapeMap();
+		shapeMap.addAllIfConsumed(LAYER, () -> List.of(new DrawablePoint(Vector2.fromXY(1, 2))));
+		assertThat(shapeMap.getAllShapeLayersIdentifiers()).containsExactly(LAYER);
+		assertThat(shapeMap.get(LAYER)).isEmpty();
+
+		ShapeLayerSubscriptions.subscribe(LAYER.getId());
+		try
+		{
+			shapeMap.addAllIfConsumed(LAYER, () -> List.of(new DrawablePoint(Vector2.fromXY(1, 2))));
+			assertThat(shapeMap.get(LAYER)).hasSize(1);
+		} finally
+		{
+			ShapeLayerSubscriptions.unsubscribe(LAYER.getId());
+		}
+	}
+}
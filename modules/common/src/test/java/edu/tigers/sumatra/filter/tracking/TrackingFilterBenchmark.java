@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.filter.tracking;
+
+import edu.tigers.sumatra.math.vector.IVector2;
+import edu.tigers.sumatra.math.vector.Vector2;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compare one predict and correct step of the closed-form tracking filters with the matrix based reference.
+ * Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3)
+public class TrackingFilterBenchmark
+{
+	private static final int NUM_MEASUREMENTS = 1024;
+	private static final long DT = 16_000_000;
+
+	private final IVector2[] measurements2D = new IVector2[NUM_MEASUREMENTS];
+	private final double[] measurements1D = new double[NUM_MEASUREMENTS];
+
+	private TrackingFilterPosVel1D filter1D;
+	private TrackingFilterPosVel2D filter2D;
+	private KalmanTrackingFilterPosVel1D reference1D;
+	private KalmanTrackingFilterPosVel2D reference2D;
+
+	private int index;
+	private long timestamp;
+
+
+	public static void main(String[] args) throws Exception
+	{
+		org.openjdk.jmh.Main.main(args);
+	}
+
+
+	@Setup
+	public void setup()
+	{
+		Random rnd = new Random(42);
+		for (int i = 0; i < NUM_MEASUREMENTS; i++)
+		{
+			measurements2D[i] = Vector2.fromXY(rnd.nextGaussian() * 10, rnd.nextGaussian() * 10);
+			measurements1D[i] = rnd.nextGaussian();
+		}
+		filter1D = new TrackingFilterPosVel1D(0, 1, 0.1, 2, 0);
+		filter2D = new TrackingFilterPosVel2D(Vector2.zero(), 1, 0.1, 2, 0);
+		reference1D = new KalmanTrackingFilterPosVel1D(new ArrayRealVector(2), 1, 0.1, 2, 0);
+		reference2D = new KalmanTrackingFilterPosVel2D(new ArrayRealVector(4), 1, 0.1, 2, 0);
+		index = 0;
+		timestamp = 0;
+	}
+
+
+	private int next()
+	{
+		index = (index + 1) % NUM_MEASUREMENTS;
+		timestamp += DT;
+		return index;
+	}
+
+
+	@Benchmark
+	public double closedForm1D()
+	{
+		int i = next();
+		filter1D.predict(timestamp);
+		filter1D.correct(measurements1D[i]);
+		return filter1D.getPositionEstimate();
+	}
+
+
+	@Benchmark
+	public double matrix1D()
+	{
+		int i = next();
+		reference1D.predict(timestamp);
+		reference1D.correct(measurements1D[i]);
+		return reference1D.getPositionEstimate();
+	}
+
+
+	@Benchmark
+	public void closedForm2D()
+	{
+		int i = next();
+		filter2D.predict(timestamp);
+		filter2D.correct(measurements2D[i]);
+	}
+
+
+	@Benchmark
+	public void matrix2D()
+	{
+		int i = next();
+		reference2D.predict(timestamp);
+		reference2D.correct(measurements2D[i]);
+	}
+}
@@ -123,4 +123,40 @@ public class TrackingFilterPosVel1DTest
 			}
 		}
 	}
+	
+	
+	@Test
+	public void equivalentToMatrixFilterTest()
+	{
+		Random gen = new Random(0);
+		
+		RealVector initialState = new ArrayRealVector(new double[] { 0.5, -1 });
+		RealMatrix initialCovariance = new Array2DRowRealMatrix(new double[][] { { 2, 0.3 }, { 0.1, 4 } });
+		TrackingFilterPosVel1D filter = new TrackingFilterPosVel1D(initialState, initialCovariance, 0.1, 2, 0);
+		KalmanTrackingFilterPosVel1D reference = new KalmanTrackingFilterPosVel1D(initialState, initialCovariance, 0.1,
+				2, 0);
+		
+		long time = 0;
+		for (int i = 1; i < 500; i++)
+		{
+			time += (long) ((0.01 + (gen.nextDouble() * 0.01)) * 1e9);
+			filter.predict(time);
+			reference.predict(time);
+			
+			if ((i % 7) != 0)
+			{
+				double pos = Math.sin(i * 0.05) + gen.nextGaussian();
+				filter.correct(pos);
+				reference.correct(pos);
+				Assert.assertEquals(reference.getPositionInnovation(), filter.getPositionInnovation(), 1e-9);
+			}
+			
+			Assert.assertEquals(reference.getPositionEstimate(), filter.getPositionEstimate(), 1e-9);
+			Assert.assertEquals(reference.getVelocityEstimate(), filter.getVelocityEstimate(), 1e-9);
+			Assert.assertEquals(reference.getPositionUncertainty(), filter.getPositionUncertainty(), 1e-9);
+			Assert.assertEquals(reference.getVelocityUncertainty(), filter.getVelocityUncertainty(), 1e-9);
+			Assert.assertEquals(reference.getPositionEstimate(time + 10_000_000),
+					filter.getPositionEstimate(time + 10_000_000), 1e-9);
+		}
+	}
 }
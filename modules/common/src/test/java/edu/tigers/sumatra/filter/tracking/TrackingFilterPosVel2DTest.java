@@ -139,4 +139,64 @@ public class TrackingFilterPosVel2DTest
 			}
 		}
 	}
+	
+	
+	@Test
+	public void equivalentToMatrixFilterTest()
+	{
+		Random gen = new Random(0);
+		
+		RealVector initialState = new ArrayRealVector(new double[] { 100, -200, 1000, 500 });
+		RealMatrix initialCovariance = new Array2DRowRealMatrix(new double[][] {
+				{ 2, 0.1, 0.3, 0 },
+				{ 0.1, 3, 0, 0.2 },
+				{ 0.3, 0, 10, 0.5 },
+				{ 0, 0.2, 0.5, 20 } });
+		TrackingFilterPosVel2D filter = new TrackingFilterPosVel2D(initialState, initialCovariance, 0.1, 2, 0);
+		KalmanTrackingFilterPosVel2D reference = new KalmanTrackingFilterPosVel2D(initialState, initialCovariance, 0.1,
+				2, 0);
+		
+		long time = 0;
+		for (int i = 1; i < 500; i++)
+		{
+			time += (long) ((0.01 + (gen.nextDouble() * 0.01)) * 1e9);
+			filter.predict(time);
+			reference.predict(time);
+			
+			if (i == 250)
+			{
+				filter.resetCovariance(5);
+				reference.resetCovariance(5);
+				filter.setVelocity(Vector2.fromXY(-300, 100));
+				reference.setVelocity(Vector2.fromXY(-300, 100));
+			}
+			
+			if ((i % 7) != 0)
+			{
+				IVector2 pos = filter.getPositionEstimate().addNew(Vector2.fromXY(gen.nextGaussian(), gen.nextGaussian()));
+				filter.correct(pos);
+				reference.correct(pos);
+				assertEquals(reference.getPositionInnovation(), filter.getPositionInnovation());
+			}
+			
+			assertEquals(reference.getPositionEstimate(), filter.getPositionEstimate());
+			assertEquals(reference.getVelocityEstimate(), filter.getVelocityEstimate());
+			assertEquals(reference.getPositionUncertainty(), filter.getPositionUncertainty());
+			assertEquals(reference.getVelocityUncertainty(), filter.getVelocityUncertainty());
+		}
+		
+		TrackingFilterPosVel2D copy = new TrackingFilterPosVel2D(filter, time);
+		KalmanTrackingFilterPosVel2D referenceCopy = new KalmanTrackingFilterPosVel2D(reference, time);
+		copy.predict(time + 20_000_000);
+		referenceCopy.predict(time + 20_000_000);
+		assertEquals(referenceCopy.getPositionEstimate(), copy.getPositionEstimate());
+		assertEquals(referenceCopy.getPositionUncertainty(), copy.getPositionUncertainty());
+	}
+	
+	
+	private static void assertEquals(final IVector2 expected, final IVector2 actual)
+	{
+		Assert.assertEquals(expected.x(), actual.x(), 1e-9 * Math.max(1, Math.abs(expected.x())));
+		Assert.assertEquals(expected.y(), actual.y(), 1e-9 * Math.max(1, Math.abs(expected.y())));
+	}
 }
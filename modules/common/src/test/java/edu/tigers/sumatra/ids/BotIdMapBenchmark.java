@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.ids;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * A typical use of a bot map per frame: fill it with 11 bots per team, look up every bot a few times and
+ * iterate over it. {@link BotIdMap} is compared with {@link HashMap}.
+ * The BotID lookup is compared with the previous lookup through a {@link ConcurrentHashMap} with boxed keys.
+ * Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3)
+public class BotIdMapBenchmark
+{
+	private static final int BOTS_PER_TEAM = 11;
+	private static final int LOOKUPS_PER_BOT = 4;
+
+	private final List<BotID> botIds = new ArrayList<>();
+	private final Map<Integer, BotID> boxedBotIds = new ConcurrentHashMap<>();
+
+
+	public static void main(String[] args) throws Exception
+	{
+		org.openjdk.jmh.Main.main(args);
+	}
+
+
+	@Setup
+	public void setup()
+	{
+		for (int i = 0; i < BOTS_PER_TEAM; i++)
+		{
+			botIds.add(BotID.createBotId(BOTS_PER_TEAM - 1 - i, ETeamColor.BLUE));
+			botIds.add(BotID.createBotId(i, ETeamColor.YELLOW));
+		}
+		for (int i = 0; i < BotID.BOTS_PER_COLOR; i++)
+		{
+			boxedBotIds.put(i, BotID.createBotId(i, ETeamColor.YELLOW));
+		}
+	}
+
+
+	@Benchmark
+	public void hashMap(Blackhole blackhole)
+	{
+		useMap(new HashMap<>(), blackhole);
+	}
+
+
+	@Benchmark
+	public void botIdMap(Blackhole blackhole)
+	{
+		useMap(new BotIdMap<>(), blackhole);
+	}
+
+
+	private void useMap(Map<BotID, BotID> map, Blackhole blackhole)
+	{
+		for (BotID botID : botIds)
+		{
+			map.put(botID, botID);
+		}
+		for (int i = 0; i < LOOKUPS_PER_BOT; i++)
+		{
+			for (BotID botID : botIds)
+			{
+				blackhole.consume(map.get(botID));
+			}
+		}
+		for (Map.Entry<BotID, BotID> entry : map.entrySet())
+		{
+			blackhole.consume(entry.getValue());
+		}
+	}
+
+
+	@Benchmark
+	public void createBotIdBoxed(Blackhole blackhole)
+	{
+		for (int i = 0; i < BotID.BOTS_PER_COLOR; i++)
+		{
+			blackhole.consume(boxedBotIds.computeIfAbsent(i, k -> BotID.noBot()));
+		}
+	}
+
+
+	@Benchmark
+	public void createBotIdTable(Blackhole blackhole)
+	{
+		for (int i = 0; i < BotID.BOTS_PER_COLOR; i++)
+		{
+			blackhole.consume(BotID.createBotId(i, ETeamColor.YELLOW));
+		}
+	}
+}
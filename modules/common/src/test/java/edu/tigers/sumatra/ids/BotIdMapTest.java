@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.ids;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+public class BotIdMapTest
+{
+	private static final BotID Y0 = BotID.createBotId(0, ETeamColor.YELLOW);
+	private static final BotID Y5 = BotID.createBotId(5, ETeamColor.YELLOW);
+	private static final BotID B3 = BotID.createBotId(3, ETeamColor.BLUE);
+	private static final BotID B15 = BotID.createBotId(15, ETeamColor.BLUE);
+
+
+	@Test
+	public void testIndex()
+	{
+		for (int i = 0; i < BotID.NUM_INDICES; i++)
+		{
+			assertThat(BotID.fromIndex(i).getIndex()).isEqualTo(i);
+		}
+		assertThat(BotID.noBot().getIndex()).isEqualTo(-1);
+		assertThat(BotID.createBotId(1, ETeamColor.NEUTRAL).getIndex()).isEqualTo(-1);
+		assertThat(BotID.createBotId(3, ETeamColor.BLUE)).isSameAs(B3);
+	}
+
+
+	@Test
+	public void testMapOperations()
+	{
+		BotIdMap<String> map = new BotIdMap<>();
+		assertThat(map).isEmpty();
+
+		assertThat(map.put(B3, "b3")).isNull();
+		assertThat(map.put(Y5, "y5")).isNull();
+		assertThat(map.put(B3, "b3'")).isEqualTo("b3");
+		map.put(Y0, null);
+
+		assertThat(map).hasSize(3);
+		assertThat(map.get(B3)).isEqualTo("b3'");
+		assertThat(map.get(B15)).isNull();
+		assertThat(map.get("no bot")).isNull();
+		assertThat(map.containsKey(Y0)).isTrue();
+		assertThat(map.containsKey(B15)).isFalse();
+		assertThat(map.containsValue(null)).isTrue();
+		assertThat(map.containsValue("y5")).isTrue();
+
+		assertThat(map.remove(Y0)).isNull();
+		assertThat(map.remove(Y0)).isNull();
+		assertThat(map).hasSize(2).containsEntry(B3, "b3'").containsEntry(Y5, "y5");
+
+		map.clear();
+		assertThat(map).isEmpty();
+	}
+
+
+	@Test
+	public void testEqualToHashMap()
+	{
+		Map<BotID, Integer> hashMap = new HashMap<>();
+		BotIdMap<Integer> botIdMap = new BotIdMap<>();
+		for (BotID botID : List.of(B15, Y5, B3))
+		{
+			hashMap.put(botID, botID.getNumber());
+			botIdMap.put(botID, botID.getNumber());
+		}
+
+		assertThat(botIdMap).isEqualTo(hashMap);
+		assertThat(hashMap).isEqualTo(botIdMap);
+		assertThat(botIdMap.hashCode()).isEqualTo(hashMap.hashCode());
+		assertThat(new BotIdMap<>(hashMap)).isEqualTo(botIdMap);
+	}
+
+
+	@Test
+	public void testIterationInIdOrder()
+	{
+		BotIdMap<Integer> map = new BotIdMap<>();
+		for (BotID botID : List.of(B15, Y5, B3, Y0))
+		{
+			map.put(botID, botID.getNumber());
+		}
+
+		assertThat(map.keySet()).containsExactly(Y0, Y5, B3, B15);
+		assertThat(new ArrayList<>(map.keySet())).isEqualTo(new ArrayList<>(new TreeMap<>(map).keySet()));
+		assertThat(map.values()).containsExactly(0, 5, 3, 15);
+	}
+
+
+	@Test
+	public void testIteratorModification()
+	{
+		BotIdMap<Integer> map = new BotIdMap<>();
+		map.put(Y5, 5);
+		map.put(B3, 3);
+
+		map.entrySet().forEach(e -> e.setValue(e.getValue() * 2));
+		assertThat(map).containsEntry(Y5, 10).containsEntry(B3, 6);
+
+		map.values().removeIf(v -> v == 10);
+		assertThat(map).containsOnlyKeys(B3);
+
+		Iterator<BotID> iterator = map.keySet().iterator();
+		iterator.next();
+		map.put(Y0, 0);
+		assertThatThrownBy(iterator::remove).isInstanceOf(ConcurrentModificationException.class);
+	}
+
+
+	@Test
+	public void testInvalidKey()
+	{
+		BotIdMap<Integer> map = new BotIdMap<>();
+		BotID noBot = BotID.noBot();
+		assertThatThrownBy(() -> map.put(noBot, 0)).isInstanceOf(IllegalArgumentException.class);
+		assertThat(map.containsKey(noBot)).isFalse();
+		assertThat(map.remove(noBot)).isNull();
+	}
+
+
+	@Test
+	public void testCollector()
+	{
+		BotIdMap<Integer> map = Stream.of(B3, Y5)
+				.collect(BotIdMap.toBotIdMap(b -> b, BotID::getNumber));
+		assertThat(map).containsExactly(Map.entry(Y5, 5), Map.entry(B3, 3));
+
+		Stream<BotID> duplicates = Stream.of(B3, B3);
+		assertThatThrownBy(() -> duplicates.collect(BotIdMap.toBotIdMap(b -> b, BotID::getNumber)))
+				.isInstanceOf(IllegalStateException.class);
+	}
+}
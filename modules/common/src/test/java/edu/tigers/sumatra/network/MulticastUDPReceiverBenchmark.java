@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.network;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Send a burst of datagrams of the size of a vision packet over loopback and receive them with the
+ * {@link MulticastUDPReceiver}, like multiple cameras sending at the same time.
+ * Run with {@code -prof gc} to see the allocation per burst. Sending from a direct buffer does not allocate,
+ * so {@code gc.alloc.rate.norm} is the allocation of the receive path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3)
+public class MulticastUDPReceiverBenchmark
+{
+	private static final String GROUP = "224.5.23.2";
+	private static final int PACKET_SIZE = 1500;
+	private static final int BURST_SIZE = 8;
+
+	private final ByteBuffer payload = ByteBuffer.allocateDirect(PACKET_SIZE);
+	private final IDatagramConsumer consumer = (data, sender) -> numReceivedBytes += data.remaining();
+	private MulticastUDPReceiver receiver;
+	private DatagramChannel sender;
+	private long numReceivedBytes;
+
+
+	public static void main(String[] args) throws Exception
+	{
+		org.openjdk.jmh.Main.main(args);
+	}
+
+
+	@Setup
+	public void setup() throws IOException
+	{
+		int port;
+		try (DatagramSocket socket = new DatagramSocket(0))
+		{
+			port = socket.getLocalPort();
+		}
+		var loopback = NetworkInterface.getByInetAddress(InetAddress.getLoopbackAddress());
+		receiver = new MulticastUDPReceiver(GROUP, port, loopback);
+		sender = DatagramChannel.open();
+		sender.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+	}
+
+
+	@TearDown
+	public void tearDown() throws IOException
+	{
+		sender.close();
+		receiver.close();
+	}
+
+
+	@Benchmark
+	public long receiveBurst() throws IOException
+	{
+		for (int i = 0; i < BURST_SIZE; i++)
+		{
+			sender.write(payload.clear());
+		}
+		int numReceived = 0;
+		while (numReceived < BURST_SIZE)
+		{
+			numReceived += receiver.receive(consumer);
+		}
+		return numReceivedBytes;
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.network;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Loopback load on the {@link MulticastUDPReceiver}.
+ * Datagrams of the size of a vision packet are sent in bursts, like multiple cameras sending at the same time.
+ * All packets must arrive and the received packets per second are logged.
+ * The allocation of the receive path is measured by {@link MulticastUDPReceiverBenchmark}.
+ */
+public class MulticastUDPReceiverLoadIntegrationTest
+{
+	private static final Logger log = LogManager.getLogger(MulticastUDPReceiverLoadIntegrationTest.class);
+
+	private static final String GROUP = "224.5.23.2";
+	private static final int PACKET_SIZE = 1500;
+	private static final int BURST_SIZE = 8;
+	private static final int NUM_WARMUP_PACKETS = 20_000;
+	private static final int NUM_PACKETS = 50_000;
+
+	private final AtomicLong numReceived = new AtomicLong();
+	private final AtomicLong numReceivedBytes = new AtomicLong();
+	private MulticastUDPReceiver receiver;
+	private Thread receiverThread;
+	private int port;
+
+
+	@Before
+	public void setUp() throws IOException
+	{
+		try (DatagramSocket socket = new DatagramSocket(0))
+		{
+			port = socket.getLocalPort();
+		}
+		var loopback = NetworkInterface.getByInetAddress(InetAddress.getLoopbackAddress());
+		receiver = new MulticastUDPReceiver(GROUP, port, loopback);
+		receiverThread = new Thread(this::receive, "MulticastUDPReceiverLoadIntegrationTest");
+		receiverThread.start();
+	}
+
+
+	@After
+	public void tearDown() throws InterruptedException
+	{
+		receiver.close();
+		receiverThread.join(TimeUnit.SECONDS.toMillis(2));
+		assertThat(receiverThread.isAlive()).isFalse();
+	}
+
+
+	private void receive()
+	{
+		IDatagramConsumer consumer = (data, sender) -> {
+			numReceivedBytes.addAndGet(data.remaining());
+			numReceived.incrementAndGet();
+		};
+		try
+		{
+			while (!Thread.currentThread().isInterrupted())
+			{
+				receiver.receive(consumer);
+			}
+		} catch (IOException e)
+		{
+			// receiver was closed
+		}
+	}
+
+
+	@Test
+	public void testLoopbackLoad() throws IOException
+	{
+		try (DatagramChannel sender = DatagramChannel.open())
+		{
+			sender.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+			ByteBuffer payload = ByteBuffer.allocateDirect(PACKET_SIZE);
+
+			send(sender, payload, NUM_WARMUP_PACKETS);
+
+			long received = numReceived.get();
+			long start = System.nanoTime();
+			send(sender, payload, NUM_PACKETS);
+			long duration = System.nanoTime() - start;
+
+			log.info("Received {} packets/s", (long) (NUM_PACKETS / (duration / 1e9)));
+
+			assertThat(numReceived.get() - received).isEqualTo(NUM_PACKETS);
+			assertThat(numReceivedBytes.get()).isEqualTo((long) (NUM_WARMUP_PACKETS + NUM_PACKETS) * PACKET_SIZE);
+		}
+	}
+
+
+	private void send(final DatagramChannel sender, final ByteBuffer payload, final int numPackets)
+			throws IOException
+	{
+		long target = numReceived.get();
+		for (int i = 0; i < numPackets; i += BURST_SIZE)
+		{
+			for (int j = 0; j < BURST_SIZE; j++)
+			{
+				sender.write(payload.clear());
+			}
+			target += BURST_SIZE;
+			// wait for the burst to be received, so that the socket buffer does not overflow
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+			while (numReceived.get() < target && System.nanoTime() < deadline)
+			{
+				Thread.onSpinWait();
+			}
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.thread;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class AsyncDispatcherTest
+{
+	private final List<Integer> received = new CopyOnWriteArrayList<>();
+	private final CountDownLatch release = new CountDownLatch(1);
+	private AsyncDispatcher dispatcher;
+
+
+	@After
+	public void tearDown()
+	{
+		release.countDown();
+		dispatcher.stop();
+	}
+
+
+	@Test
+	public void testEventsAreDeliveredInOrder() throws InterruptedException
+	{
+		dispatcher = new AsyncDispatcher("test", 16, EQueueOverflowPolicy.BLOCK);
+		dispatcher.start();
+
+		for (int i = 0; i < 1000; i++)
+		{
+			int value = i;
+			dispatcher.dispatch(() -> received.add(value));
+		}
+		awaitEmpty();
+
+		assertThat(received).containsExactlyElementsOf(IntStream.range(0, 1000).boxed().toList());
+		assertThat(dispatcher.getNumDropped()).isZero();
+	}
+
+
+	@Test
+	public void testDropOldest() throws InterruptedException
+	{
+		dispatcher = new AsyncDispatcher("test", 4, EQueueOverflowPolicy.DROP_OLDEST);
+		dispatcher.start();
+		CountDownLatch blocked = new CountDownLatch(1);
+		dispatcher.dispatch(() -> {
+			blocked.countDown();
+			awaitRelease();
+		});
+		assertThat(blocked.await(1, TimeUnit.SECONDS)).isTrue();
+
+		for (int i = 0; i < 10; i++)
+		{
+			int value = i;
+			dispatcher.dispatch(() -> received.add(value));
+		}
+		assertThat(dispatcher.getStats()).isEqualTo(new DispatchStats("test", 4, 4, 6));
+
+		release.countDown();
+		awaitEmpty();
+		assertThat(received).containsExactly(6, 7, 8, 9);
+	}
+
+
+	@Test
+	public void testControlEventsAreNotDropped() throws InterruptedException
+	{
+		dispatcher = new AsyncDispatcher("test", 2, EQueueOverflowPolicy.DROP_OLDEST);
+		dispatcher.start();
+		CountDownLatch blocked = new CountDownLatch(1);
+		dispatcher.dispatch(() -> {
+			blocked.countDown();
+			awaitRelease();
+		});
+		assertThat(blocked.await(1, TimeUnit.SECONDS)).isTrue();
+
+		dispatcher.dispatchControl(() -> received.add(-1));
+		for (int i = 0; i < 10; i++)
+		{
+			int value = i;
+			dispatcher.dispatch(() -> received.add(value));
+		}
+		dispatcher.dispatchControl(() -> received.add(-2));
+		dispatcher.dispatch(() -> received.add(10));
+		assertThat(dispatcher.getNumDropped()).isEqualTo(9);
+
+		release.countDown();
+		awaitEmpty();
+		assertThat(received).containsExactly(-1, 9, -2, 10);
+	}
+
+
+	@Test
+	public void testStopWaitsForRunningEvent() throws InterruptedException
+	{
+		dispatcher = new AsyncDispatcher("test", 4, EQueueOverflowPolicy.BLOCK);
+		dispatcher.start();
+		CountDownLatch blocked = new CountDownLatch(1);
+		dispatcher.dispatch(() -> {
+			blocked.countDown();
+			awaitRelease();
+			received.add(1);
+		});
+		dispatcher.dispatch(() -> received.add(2));
+		assertThat(blocked.await(1, TimeUnit.SECONDS)).isTrue();
+
+		// stop interrupts the running event, so it finishes right away
+		dispatcher.stop();
+
+		assertThat(received).containsExactly(1);
+		dispatcher.dispatchControl(() -> received.add(3));
+		assertThat(received).containsExactly(1);
+	}
+
+
+	@Test
+	public void testEventsAreDroppedWhenStopped()
+	{
+		dispatcher = new AsyncDispatcher("test", 4, EQueueOverflowPolicy.BLOCK);
+		dispatcher.dispatch(() -> received.add(1));
+
+		assertThat(dispatcher.getNumDropped()).isEqualTo(1);
+		assertThat(dispatcher.getQueueDepth()).isZero();
+	}
+
+
+	private void awaitRelease()
+	{
+		try
+		{
+			release.await();
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	private void awaitEmpty() throws InterruptedException
+	{
+		CountDownLatch done = new CountDownLatch(1);
+		dispatcher.dispatch(done::countDown);
+		assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2023, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.autoreferee;
@@ -24,9 +24,11 @@ import edu.tigers.sumatra.persistence.log.BerkeleyLogRecorder;
 import edu.tigers.sumatra.referee.gameevent.GameEventFactory;
 import edu.tigers.sumatra.referee.gameevent.IGameEvent;
 import edu.tigers.sumatra.referee.gameevent.SimilarityChecker;
+import edu.tigers.sumatra.wp.BerkeleyEncodedShapeMapFrame;
 import edu.tigers.sumatra.wp.BerkeleyShapeMapFrame;
 import edu.tigers.sumatra.wp.ShapeMapBerkeleyRecorder;
 import edu.tigers.sumatra.wp.WfwBerkeleyRecorder;
+import edu.tigers.sumatra.wp.data.BerkeleyEncodedWorldFrame;
 import edu.tigers.sumatra.wp.data.WorldFrameWrapper;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
@@ -109,8 +111,8 @@ public class AutoRefIntegrationTest
 		BerkeleyDb db = BerkeleyDb.withCustomLocation(Paths.get("../../" + BerkeleyDb.getDefaultBasePath(),
 				BerkeleyDb.getDefaultName("FRIENDLY", "NORMAL_FIRST_HALF","yellow", "blue") + "_" + name));
 		db.add(BerkeleyLogEvent.class, new BerkeleyAccessor<>(BerkeleyLogEvent.class, false));
-		db.add(BerkeleyShapeMapFrame.class, new BerkeleyAccessor<>(BerkeleyShapeMapFrame.class, true));
-		db.add(WorldFrameWrapper.class, new BerkeleyAccessor<>(WorldFrameWrapper.class, true));
+		db.add(BerkeleyShapeMapFrame.class, BerkeleyEncodedShapeMapFrame.createAccessor());
+		db.add(WorldFrameWrapper.class, BerkeleyEncodedWorldFrame.createAccessor());
 
 		recorder = new BerkeleyAsyncRecorder(db);
 		recorder.add(new BerkeleyLogRecorder(db));
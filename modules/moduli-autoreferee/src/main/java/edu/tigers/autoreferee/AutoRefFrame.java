@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.autoreferee;
 
@@ -12,6 +12,7 @@ import edu.tigers.sumatra.model.SumatraModel;
 import edu.tigers.sumatra.referee.data.GameState;
 import edu.tigers.sumatra.referee.data.RefereeMsg;
 import edu.tigers.sumatra.wp.data.BallLeftFieldPosition;
+import edu.tigers.sumatra.wp.data.BotSpatialGrid;
 import edu.tigers.sumatra.wp.data.SimpleWorldFrame;
 import edu.tigers.sumatra.wp.data.WorldFrameWrapper;
 
@@ -29,6 +30,7 @@ public class AutoRefFrame implements IAutoRefFrame
 	private final ShapeMap shapes = new ShapeMap();
 	private final WorldFrameWrapper worldFrameWrapper;
 	private AutoRefFrame previousFrame;
+	private BotSpatialGrid botGrid;
 
 	private List<BotPosition> botsLastTouchedBall = Collections.emptyList();
 	private List<BotPosition> botsTouchingBall = Collections.emptyList();
@@ -64,6 +66,19 @@ public class AutoRefFrame implements IAutoRefFrame
 	}
 
 
+	@Override
+	public BotSpatialGrid getBotGrid()
+	{
+		return botGrid;
+	}
+
+
+	public void setBotGrid(final BotSpatialGrid botGrid)
+	{
+		this.botGrid = botGrid;
+	}
+
+
 	@Override
 	public List<BotPosition> getBotsLastTouchedBall()
 	{
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.autoreferee;
 
@@ -9,6 +9,9 @@ import edu.tigers.autoreferee.engine.calc.BotBallContactAutoRefCalc;
 import edu.tigers.autoreferee.engine.calc.GameStateHistoryAutoRefCalc;
 import edu.tigers.autoreferee.engine.calc.IAutoRefereeCalc;
 import edu.tigers.autoreferee.engine.calc.PassDetectionAutoRefCalc;
+import edu.tigers.autoreferee.profiler.AutoRefProfiler;
+import edu.tigers.autoreferee.profiler.ProfiledSection;
+import edu.tigers.sumatra.wp.data.BotSpatialGrid;
 import edu.tigers.sumatra.wp.data.WorldFrameWrapper;
 
 import java.util.ArrayList;
@@ -21,16 +24,29 @@ import java.util.List;
 public class AutoRefFramePreprocessor
 {
 	private List<IAutoRefereeCalc> calculators = new ArrayList<>();
+	private List<ProfiledSection> calculatorSections = new ArrayList<>();
+	private final ProfiledSection botGridSection;
 	private AutoRefFrame lastFrame;
 	
 	
 	public AutoRefFramePreprocessor()
+	{
+		this(new AutoRefProfiler());
+	}
+	
+	
+	/**
+	 * @param profiler the profiler to measure the calculators with
+	 */
+	public AutoRefFramePreprocessor(final AutoRefProfiler profiler)
 	{
 		calculators.add(new BallLeftFieldAutoRefCalc());
 		calculators.add(new BotBallContactAutoRefCalc());
 		calculators.add(new GameStateHistoryAutoRefCalc());
 		calculators.add(new AllowedDistancesAutoRefVisCalc());
 		calculators.add(new PassDetectionAutoRefCalc());
+		calculators.forEach(calc -> calculatorSections.add(profiler.section(calc.getClass().getSimpleName())));
+		botGridSection = profiler.section(BotSpatialGrid.class.getSimpleName());
 	}
 	
 	
@@ -38,6 +54,10 @@ public class AutoRefFramePreprocessor
 	{
 		AutoRefFrame frame = new AutoRefFrame(lastFrame, wFrame);
 		
+		botGridSection.begin();
+		frame.setBotGrid(BotSpatialGrid.of(wFrame.getSimpleWorldFrame().getBots().values()));
+		botGridSection.end();
+		
 		if (lastFrame != null)
 		{
 			// We can only run the calculators if we have a last frame.
@@ -60,9 +80,12 @@ public class AutoRefFramePreprocessor
 	
 	private void runCalculators(final AutoRefFrame frame)
 	{
-		for (IAutoRefereeCalc calc : calculators)
+		for (int i = 0; i < calculators.size(); i++)
 		{
-			calc.process(frame);
+			ProfiledSection section = calculatorSections.get(i);
+			section.begin();
+			calculators.get(i).process(frame);
+			section.end();
 		}
 	}
 	
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2018, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.autoreferee;
@@ -8,11 +8,15 @@ import edu.tigers.sumatra.persistence.BerkeleyAccessor;
 import edu.tigers.sumatra.persistence.BerkeleyAsyncRecorder;
 import edu.tigers.sumatra.persistence.BerkeleyDb;
 import edu.tigers.sumatra.persistence.RecordManager;
+import edu.tigers.sumatra.wp.BerkeleyEncodedShapeMapFrame;
 import edu.tigers.sumatra.wp.BerkeleyShapeMapFrame;
 import edu.tigers.sumatra.wp.CamFrameBerkeleyRecorder;
 import edu.tigers.sumatra.wp.ShapeMapBerkeleyRecorder;
+import edu.tigers.sumatra.wp.TimelineBerkeleyRecorder;
 import edu.tigers.sumatra.wp.WfwBerkeleyRecorder;
 import edu.tigers.sumatra.wp.data.BerkeleyCamDetectionFrame;
+import edu.tigers.sumatra.wp.data.BerkeleyEncodedWorldFrame;
+import edu.tigers.sumatra.wp.data.BerkeleyTimelineEvent;
 import edu.tigers.sumatra.wp.data.WorldFrameWrapper;
 
 
@@ -24,8 +28,9 @@ public class AutoRefRecordManager extends RecordManager
 	{
 		super.onNewBerkeleyDb(db);
 		db.add(BerkeleyCamDetectionFrame.class, new BerkeleyAccessor<>(BerkeleyCamDetectionFrame.class, true));
-		db.add(BerkeleyShapeMapFrame.class, new BerkeleyAccessor<>(BerkeleyShapeMapFrame.class, true));
-		db.add(WorldFrameWrapper.class, new BerkeleyAccessor<>(WorldFrameWrapper.class, true));
+		db.add(BerkeleyShapeMapFrame.class, BerkeleyEncodedShapeMapFrame.createAccessor());
+		db.add(WorldFrameWrapper.class, BerkeleyEncodedWorldFrame.createAccessor());
+		db.add(BerkeleyTimelineEvent.class, new BerkeleyAccessor<>(BerkeleyTimelineEvent.class, false));
 
 		db.getEnv().getStoreConfig().setMutations(getMutations());
 	}
@@ -38,6 +43,7 @@ public class AutoRefRecordManager extends RecordManager
 		recorder.add(new CamFrameBerkeleyRecorder(recorder.getDb()));
 		recorder.add(new WfwBerkeleyRecorder(recorder.getDb()));
 		recorder.add(new ShapeMapBerkeleyRecorder(recorder.getDb()));
+		recorder.add(new TimelineBerkeleyRecorder(recorder.getDb()));
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2018, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.autoreferee;
 
@@ -11,6 +11,7 @@ import edu.tigers.sumatra.drawable.ShapeMap;
 import edu.tigers.sumatra.referee.data.GameState;
 import edu.tigers.sumatra.referee.data.RefereeMsg;
 import edu.tigers.sumatra.wp.data.BallLeftFieldPosition;
+import edu.tigers.sumatra.wp.data.BotSpatialGrid;
 import edu.tigers.sumatra.wp.data.SimpleWorldFrame;
 
 
@@ -25,6 +26,12 @@ public interface IAutoRefFrame
 	SimpleWorldFrame getWorldFrame();
 	
 	
+	/**
+	 * @return a spatial index over the bots of the world frame, built once per frame
+	 */
+	BotSpatialGrid getBotGrid();
+	
+	
 	GameState getGameState();
 	
 	
@@ -1,11 +1,12 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.autoreferee.engine;
 
 import edu.tigers.autoreferee.IAutoRefFrame;
 import edu.tigers.autoreferee.engine.detector.EGameEventDetectorType;
 import edu.tigers.autoreferee.module.AutoRefModule;
+import edu.tigers.autoreferee.profiler.AutoRefProfiler;
 import edu.tigers.autoreferee.remote.AutoRefToGameControllerConnector;
 import edu.tigers.autoreferee.remote.GameEventResponse;
 import edu.tigers.sumatra.geometry.RuleConstraints;
@@ -38,6 +39,12 @@ public class ActiveAutoRefEngine extends AutoRefEngine
 	}
 
 
+	public ActiveAutoRefEngine(final Set<EGameEventDetectorType> activeDetectors, final AutoRefProfiler profiler)
+	{
+		super(activeDetectors, profiler);
+	}
+
+
 	@Override
 	public void start()
 	{
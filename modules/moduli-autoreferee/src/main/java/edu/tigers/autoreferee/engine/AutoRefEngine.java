@@ -1,10 +1,11 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.autoreferee.engine;
 
 import edu.tigers.autoreferee.IAutoRefFrame;
 import edu.tigers.autoreferee.engine.detector.EGameEventDetectorType;
+import edu.tigers.autoreferee.profiler.AutoRefProfiler;
 import edu.tigers.sumatra.referee.gameevent.IGameEvent;
 
 import java.util.List;
@@ -20,7 +21,22 @@ public class AutoRefEngine
 	
 	public AutoRefEngine(Set<EGameEventDetectorType> activeDetectors)
 	{
-		gameEventEngine = new GameEventEngine(activeDetectors);
+		this(activeDetectors, new AutoRefProfiler());
+	}
+	
+	
+	public AutoRefEngine(Set<EGameEventDetectorType> activeDetectors, AutoRefProfiler profiler)
+	{
+		gameEventEngine = new GameEventEngine(activeDetectors, profiler);
+	}
+	
+	
+	/**
+	 * Notify the engine, that the set of active detector types was modified
+	 */
+	public void activeDetectorsChanged()
+	{
+		gameEventEngine.activeDetectorsChanged();
 	}
 	
 	
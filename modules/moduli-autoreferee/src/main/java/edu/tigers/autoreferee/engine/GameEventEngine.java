@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.autoreferee.engine;
 
@@ -8,7 +8,9 @@ import com.github.g3force.instanceables.InstanceableClass;
 import edu.tigers.autoreferee.IAutoRefFrame;
 import edu.tigers.autoreferee.engine.detector.EGameEventDetectorType;
 import edu.tigers.autoreferee.engine.detector.IGameEventDetector;
-import edu.tigers.sumatra.referee.data.GameState;
+import edu.tigers.autoreferee.profiler.AutoRefProfiler;
+import edu.tigers.autoreferee.profiler.ProfiledSection;
+import edu.tigers.sumatra.referee.data.EGameState;
 import edu.tigers.sumatra.referee.gameevent.IGameEvent;
 import lombok.extern.log4j.Log4j2;
 
@@ -16,22 +18,46 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 
 /**
  * The engine consults the {@link IGameEventDetector}s.
+ * <p>
+ * The detectors to run are looked up in a table per game state. The table is only rebuilt,
+ * when the set of active detector types was changed, see {@link #activeDetectorsChanged()}.
+ * </p>
  */
 @Log4j2
 public class GameEventEngine
 {
+	private static final EGameState[] GAME_STATES = EGameState.values();
+
 	private final List<IGameEventDetector> allDetectors = new ArrayList<>();
+	private final List<ProfiledSection> allDetectorSections = new ArrayList<>();
 	private final Set<EGameEventDetectorType> activeDetectors;
+	private final ProfiledSection engineSection;
+
+	/** the detectors to run per game state ordinal */
+	private IGameEventDetector[][] detectorsByState;
+	/** the sections of {@link #detectorsByState} */
+	private ProfiledSection[][] sectionsByState;
+	private volatile boolean activeDetectorsChanged = true;
 
 
 	public GameEventEngine(Set<EGameEventDetectorType> activeDetectors)
+	{
+		this(activeDetectors, new AutoRefProfiler());
+	}
+
+
+	/**
+	 * @param activeDetectors the detectors to run
+	 * @param profiler        the profiler to measure the detectors with
+	 */
+	public GameEventEngine(Set<EGameEventDetectorType> activeDetectors, AutoRefProfiler profiler)
 	{
 		this.activeDetectors = activeDetectors;
+		engineSection = profiler.section(GameEventEngine.class.getSimpleName());
 
 		for (EGameEventDetectorType eCalc : EGameEventDetectorType.values())
 		{
@@ -42,6 +68,7 @@ public class GameEventEngine
 				{
 					IGameEventDetector inst = (IGameEventDetector) eCalc.getInstanceableClass().newDefaultInstance();
 					allDetectors.add(inst);
+					allDetectorSections.add(profiler.section(eCalc.name()));
 				} catch (InstanceableClass.NotCreateableException e)
 				{
 					log.error("Could not instantiate calculator: " + eCalc, e);
@@ -51,42 +78,110 @@ public class GameEventEngine
 	}
 
 
+	/**
+	 * Package-private for tests: run the given detectors instead of all known detectors
+	 *
+	 * @param detectors       the detectors
+	 * @param activeDetectors the detector types to run
+	 * @param profiler        the profiler to measure the detectors with
+	 */
+	GameEventEngine(List<IGameEventDetector> detectors, Set<EGameEventDetectorType> activeDetectors,
+			AutoRefProfiler profiler)
+	{
+		this.activeDetectors = activeDetectors;
+		engineSection = profiler.section(GameEventEngine.class.getSimpleName());
+		for (IGameEventDetector detector : detectors)
+		{
+			allDetectors.add(detector);
+			allDetectorSections.add(profiler.section(detector.getType().name()));
+		}
+	}
+
+
+	/**
+	 * Notify the engine, that the set of active detector types was modified.
+	 * The detectors to run are updated before the next frame.
+	 */
+	public void activeDetectorsChanged()
+	{
+		activeDetectorsChanged = true;
+	}
+
+
 	/**
 	 * @param frame
 	 * @return
 	 */
 	public List<IGameEvent> update(final IAutoRefFrame frame)
 	{
-		GameState currentState = frame.getGameState();
-		GameState lastState = frame.getPreviousFrame().getGameState();
-
-		/*
-		 * Retrieve all rules which are active in the current gamestate
-		 */
-		List<IGameEventDetector> detectors = this.allDetectors.stream()
-				.filter(d -> activeDetectors.contains(d.getType()))
-				.filter(d -> d.isActiveIn(currentState.getState()))
-				.collect(Collectors.toList());
-
-		/*
-		 * Reset the detectors which have now become active
-		 */
-		detectors.stream()
-				.filter(detector -> !detector.isActiveIn(lastState.getState()))
-				.forEach(IGameEventDetector::reset);
+		engineSection.begin();
+		if (activeDetectorsChanged)
+		{
+			// reset the flag first to not miss a change during the update
+			activeDetectorsChanged = false;
+			updateDetectorsByState();
+		}
+
+		EGameState currentState = frame.getGameState().getState();
+		EGameState lastState = frame.getPreviousFrame().getGameState().getState();
+		IGameEventDetector[] detectors = detectorsByState[currentState.ordinal()];
+		ProfiledSection[] sections = sectionsByState[currentState.ordinal()];
+
+		if (currentState != lastState)
+		{
+			// Reset the detectors which have now become active
+			for (IGameEventDetector detector : detectors)
+			{
+				if (!detector.isActiveIn(lastState))
+				{
+					detector.reset();
+				}
+			}
+		}
+		engineSection.end();
 
 		List<IGameEvent> gameEvents = new ArrayList<>();
-		for (IGameEventDetector detector : detectors)
+		for (int i = 0; i < detectors.length; i++)
 		{
-			Optional<IGameEvent> result = detector.update(frame);
-			result.ifPresent(gameEvents::add);
-			result.ifPresent(event -> log.debug("Detected game event: {}", event));
+			sections[i].begin();
+			Optional<IGameEvent> result = detectors[i].update(frame);
+			sections[i].end();
+			if (result.isPresent())
+			{
+				gameEvents.add(result.get());
+				log.debug("Detected game event: {}", result.get());
+			}
 		}
 
 		return gameEvents;
 	}
 
 
+	private void updateDetectorsByState()
+	{
+		IGameEventDetector[][] newDetectorsByState = new IGameEventDetector[GAME_STATES.length][];
+		ProfiledSection[][] newSectionsByState = new ProfiledSection[GAME_STATES.length][];
+		for (EGameState state : GAME_STATES)
+		{
+			List<IGameEventDetector> detectors = new ArrayList<>();
+			List<ProfiledSection> sections = new ArrayList<>();
+			for (int i = 0; i < allDetectors.size(); i++)
+			{
+				IGameEventDetector detector = allDetectors.get(i);
+				if (activeDetectors.contains(detector.getType()) && detector.isActiveIn(state))
+				{
+					detectors.add(detector);
+					sections.add(allDetectorSections.get(i));
+				}
+			}
+			newDetectorsByState[state.ordinal()] = detectors.toArray(new IGameEventDetector[0]);
+			newSectionsByState[state.ordinal()] = sections.toArray(new ProfiledSection[0]);
+		}
+		detectorsByState = newDetectorsByState;
+		sectionsByState = newSectionsByState;
+	}
+
+
 	public void reset()
 	{
 		allDetectors.forEach(IGameEventDetector::reset);
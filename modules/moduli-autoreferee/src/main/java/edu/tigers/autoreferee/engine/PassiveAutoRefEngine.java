@@ -12,6 +12,7 @@ import java.util.Set;
 
 import edu.tigers.autoreferee.IAutoRefFrame;
 import edu.tigers.autoreferee.engine.detector.EGameEventDetectorType;
+import edu.tigers.autoreferee.profiler.AutoRefProfiler;
 
 
 /**
@@ -25,6 +26,12 @@ public class PassiveAutoRefEngine extends AutoRefEngine
 	}
 	
 	
+	public PassiveAutoRefEngine(final Set<EGameEventDetectorType> activeDetectors, final AutoRefProfiler profiler)
+	{
+		super(activeDetectors, profiler);
+	}
+	
+	
 	@Override
 	public void process(final IAutoRefFrame frame)
 	{
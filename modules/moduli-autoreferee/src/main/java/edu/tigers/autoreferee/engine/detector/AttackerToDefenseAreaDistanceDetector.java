@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.autoreferee.engine.detector;
@@ -11,6 +11,7 @@ import edu.tigers.sumatra.geometry.Geometry;
 import edu.tigers.sumatra.geometry.NGeometry;
 import edu.tigers.sumatra.geometry.RuleConstraints;
 import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.BotIdMap;
 import edu.tigers.sumatra.math.circle.Circle;
 import edu.tigers.sumatra.math.line.Lines;
 import edu.tigers.sumatra.referee.data.EGameState;
@@ -20,7 +21,6 @@ import edu.tigers.sumatra.wp.data.ITrackedBot;
 
 import java.awt.Color;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -40,7 +40,7 @@ public class AttackerToDefenseAreaDistanceDetector extends AGameEventDetector
 			+ Geometry.getBotRadius()
 			- INACCURACY_TOLERANCE;
 
-	private final Map<BotID, Long> eventsSentForBotMap = new HashMap<>();
+	private final Map<BotID, Long> eventsSentForBotMap = new BotIdMap<>();
 
 
 	/**
@@ -1,14 +1,14 @@
 /*
- * Copyright (c) 2009 - 2020, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.autoreferee.engine.detector;
 
 import com.github.g3force.configurable.Configurable;
-import edu.tigers.autoreferee.AutoRefUtil;
 import edu.tigers.autoreferee.IAutoRefFrame;
 import edu.tigers.sumatra.geometry.Geometry;
 import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.BotIdMap;
 import edu.tigers.sumatra.ids.ETeamColor;
 import edu.tigers.sumatra.math.AngleMath;
 import edu.tigers.sumatra.math.line.ILine;
@@ -19,12 +19,13 @@ import edu.tigers.sumatra.referee.data.EGameState;
 import edu.tigers.sumatra.referee.gameevent.BotCrashDrawn;
 import edu.tigers.sumatra.referee.gameevent.BotCrashUnique;
 import edu.tigers.sumatra.referee.gameevent.IGameEvent;
+import edu.tigers.sumatra.wp.data.BotSpatialGrid;
 import edu.tigers.sumatra.wp.data.ITrackedBot;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -51,7 +52,7 @@ public class BotCollisionDetector extends AGameEventDetector
 	private static double botBrakeLookahead = 0.1;
 
 
-	private final Map<BotID, Long> lastViolators = new HashMap<>();
+	private final Map<BotID, Long> lastViolators = new BotIdMap<>();
 
 
 	public BotCollisionDetector()
@@ -71,11 +72,8 @@ public class BotCollisionDetector extends AGameEventDetector
 	@Override
 	public Optional<IGameEvent> doUpdate()
 	{
-		Collection<ITrackedBot> bots = frame.getWorldFrame().getBots().values();
-		List<ITrackedBot> yellowBots = AutoRefUtil.filterByColor(bots, ETeamColor.YELLOW);
-		List<ITrackedBot> blueBots = AutoRefUtil.filterByColor(bots, ETeamColor.BLUE);
-
-		List<BotPair> consideredBotPairs = calcConsideredBots(yellowBots, blueBots, frame.getTimestamp());
+		List<BotPair> consideredBotPairs = calcConsideredBots(frame.getWorldFrame().getBots().values(),
+				frame.getBotGrid(), frame.getTimestamp());
 		return checkForCrashEvent(consideredBotPairs, frame);
 	}
 
@@ -142,42 +140,69 @@ public class BotCollisionDetector extends AGameEventDetector
 	}
 
 
+	/**
+	 * The grid only narrows down the candidates. Only blue-yellow pairs are considered and they are ordered like
+	 * iterating over all blue bots and then over all yellow bots of the frame, because only the first crash is reported.
+	 */
 	private List<BotPair> calcConsideredBots(
-			final List<ITrackedBot> yellowBots,
-			final List<ITrackedBot> blueBots,
+			final Collection<ITrackedBot> bots,
+			final BotSpatialGrid botGrid,
 			final long curTS)
 	{
+		lastViolators.keySet().removeIf(botID -> !botStillOnCoolDown(botID, curTS));
+
 		List<BotPair> consideredBotPairs = new ArrayList<>();
-		for (ITrackedBot blueBot : blueBots)
+		for (BotSpatialGrid.BotPair pair : botGrid.getPairsWithin(maxContactDistance()))
 		{
-			if (botStillOnCoolDown(blueBot.getBotId(), curTS))
+			Optional<BotPair> botPair = toBlueYellowPair(pair.bot1(), pair.bot2())
+					.or(() -> toBlueYellowPair(pair.bot2(), pair.bot1()));
+			if (botPair.isEmpty()
+					|| botStillOnCoolDown(pair.bot1().getBotId(), curTS)
+					|| botStillOnCoolDown(pair.bot2().getBotId(), curTS)
+					|| !isRobotPairConsiderable(botPair.get().blueBot, botPair.get().yellowBot))
 			{
 				continue;
 			}
-			lastViolators.remove(blueBot.getBotId());
-			for (ITrackedBot yellowBot : yellowBots)
-			{
-				if (botStillOnCoolDown(yellowBot.getBotId(), curTS))
-				{
-					continue;
-				}
-				lastViolators.remove(yellowBot.getBotId());
+			consideredBotPairs.add(botPair.get());
+		}
 
-				if (isRobotPairConsiderable(blueBot, yellowBot))
+		if (consideredBotPairs.size() > 1)
+		{
+			Map<BotID, Integer> frameOrder = new BotIdMap<>();
+			for (ITrackedBot bot : bots)
+			{
+				if (bot.getTeamColor() == ETeamColor.BLUE || bot.getTeamColor() == ETeamColor.YELLOW)
 				{
-					consideredBotPairs.add(new BotPair(blueBot, yellowBot));
+					frameOrder.put(bot.getBotId(), frameOrder.size());
 				}
-
 			}
+			consideredBotPairs.sort(Comparator
+					.comparing((BotPair p) -> frameOrder.get(p.blueBot.getBotId()))
+					.thenComparing(p -> frameOrder.get(p.yellowBot.getBotId())));
 		}
 		return consideredBotPairs;
 	}
 
 
+	private Optional<BotPair> toBlueYellowPair(final ITrackedBot blueBot, final ITrackedBot yellowBot)
+	{
+		if (blueBot.getTeamColor() == ETeamColor.BLUE && yellowBot.getTeamColor() == ETeamColor.YELLOW)
+		{
+			return Optional.of(new BotPair(blueBot, yellowBot));
+		}
+		return Optional.empty();
+	}
+
+
+	private double maxContactDistance()
+	{
+		return 2 * Geometry.getBotRadius() * minDistanceFactor;
+	}
+
+
 	private boolean isRobotPairConsiderable(ITrackedBot blueBot, ITrackedBot yellowBot)
 	{
-		return VectorMath.distancePP(blueBot.getPos(),
-				yellowBot.getPos()) <= (2 * Geometry.getBotRadius() * minDistanceFactor);
+		return VectorMath.distancePP(blueBot.getPos(), yellowBot.getPos()) <= maxContactDistance();
 	}
 
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.autoreferee.engine.detector;
@@ -10,6 +10,7 @@ import edu.tigers.autoreferee.generic.BotPosition;
 import edu.tigers.sumatra.geometry.Geometry;
 import edu.tigers.sumatra.geometry.NGeometry;
 import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.BotIdMap;
 import edu.tigers.sumatra.ids.ETeamColor;
 import edu.tigers.sumatra.math.penaltyarea.IPenaltyArea;
 import edu.tigers.sumatra.math.vector.IVector2;
@@ -18,7 +19,6 @@ import edu.tigers.sumatra.referee.gameevent.AttackerTouchedBallInDefenseArea;
 import edu.tigers.sumatra.referee.gameevent.DefenderInDefenseArea;
 import edu.tigers.sumatra.referee.gameevent.IGameEvent;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -35,7 +35,7 @@ public class BotInDefenseAreaDetector extends AGameEventDetector
 	@Configurable(comment = "[mm] Distance from the defense line that is considered a partial violation", defValue = "20.0")
 	private static double partialTouchMargin = 20;
 
-	private final Map<BotID, BotPosition> lastViolators = new HashMap<>();
+	private final Map<BotID, BotPosition> lastViolators = new BotIdMap<>();
 	private long entryTime = 0;
 
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.autoreferee.engine.detector;
@@ -10,6 +10,7 @@ import edu.tigers.autoreferee.AutoRefUtil;
 import edu.tigers.sumatra.geometry.Geometry;
 import edu.tigers.sumatra.geometry.RuleConstraints;
 import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.BotIdMap;
 import edu.tigers.sumatra.ids.ETeamColor;
 import edu.tigers.sumatra.math.circle.Circle;
 import edu.tigers.sumatra.math.circle.ICircle;
@@ -20,7 +21,6 @@ import edu.tigers.sumatra.referee.gameevent.IGameEvent;
 import edu.tigers.sumatra.wp.data.ITrackedBot;
 
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -36,7 +36,7 @@ public class DefenderToKickPointDistanceDetector extends AGameEventDetector
 	@Configurable(comment = "Margin [mm] to be added as a tolerance", defValue = "20.0")
 	private static double margin = 20;
 
-	private final Map<BotID, Long> lastViolators = new HashMap<>();
+	private final Map<BotID, Long> lastViolators = new BotIdMap<>();
 	private IVector2 ballPos = null;
 	private long tLastViolation;
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.autoreferee.engine.detector;
 
@@ -9,13 +9,13 @@ import edu.tigers.autoreferee.generic.BotPosition;
 import edu.tigers.sumatra.drawable.DrawableCircle;
 import edu.tigers.sumatra.geometry.Geometry;
 import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.BotIdMap;
 import edu.tigers.sumatra.math.vector.IVector2;
 import edu.tigers.sumatra.referee.data.EGameState;
 import edu.tigers.sumatra.referee.gameevent.BotDribbledBallTooFar;
 import edu.tigers.sumatra.referee.gameevent.IGameEvent;
 
 import java.awt.Color;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -30,7 +30,7 @@ public class DribblingDetector extends AGameEventDetector
 	@Configurable(comment = "[mm] Any dribbling distance above this value is considered a violation", defValue = "1000.0")
 	private static double maxDribblingLength = 1000.0;
 
-	private final Map<BotID, IVector2> currentContacts = new HashMap<>();
+	private final Map<BotID, IVector2> currentContacts = new BotIdMap<>();
 
 
 	public DribblingDetector()
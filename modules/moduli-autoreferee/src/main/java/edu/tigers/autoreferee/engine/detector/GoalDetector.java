@@ -4,7 +4,6 @@
 
 package edu.tigers.autoreferee.engine.detector;
 
-import edu.tigers.sumatra.geometry.Geometry;
 import edu.tigers.sumatra.ids.AObjectID;
 import edu.tigers.sumatra.ids.BotID;
 import edu.tigers.sumatra.ids.ETeamColor;
@@ -94,9 +93,9 @@ public class GoalDetector extends AGameEventDetector
 		if (ballLeftFieldPosition.getPosition().getPos().x() < 0)
 		{
 			// x < 0 -> inside goal of team on the negative side -> goal for the other team
-			return Geometry.getNegativeHalfTeam().opposite();
+			return frame.getRefereeMsg().getNegativeHalfTeam().opposite();
 		}
-		return Geometry.getNegativeHalfTeam();
+		return frame.getRefereeMsg().getNegativeHalfTeam();
 	}
 
 
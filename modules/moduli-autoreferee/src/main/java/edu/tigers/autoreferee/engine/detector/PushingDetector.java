@@ -14,17 +14,18 @@ import edu.tigers.sumatra.math.vector.IVector2;
 import edu.tigers.sumatra.referee.data.EGameState;
 import edu.tigers.sumatra.referee.gameevent.BotPushedBot;
 import edu.tigers.sumatra.referee.gameevent.IGameEvent;
+import edu.tigers.sumatra.wp.data.BotSpatialGrid;
 import edu.tigers.sumatra.wp.data.ITrackedBot;
-import org.apache.commons.lang.builder.EqualsBuilder;
-import org.apache.commons.lang.builder.HashCodeBuilder;
 import org.apache.commons.lang.builder.ToStringBuilder;
 import org.apache.commons.lang.builder.ToStringStyle;
 
 import java.awt.Color;
 import java.util.Collection;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -47,7 +48,8 @@ public class PushingDetector extends AGameEventDetector
 	@Configurable(defValue = "2.0", comment = "Cool down time [s] until the same robot pair will not be redetected")
 	private static double detectionCoolDownTime = 2.0;
 
-	private Set<RobotPair> firstRobotPairs = new HashSet<>();
+	/** the first seen state of each touching robot pair, keyed by the pair */
+	private final Map<RobotPair, RobotPair> firstRobotPairs = new HashMap<>();
 	private Set<RobotPair> recentlyDetectedPushingPairs = new HashSet<>();
 
 
@@ -73,8 +75,8 @@ public class PushingDetector extends AGameEventDetector
 		latestRobotPairs.addAll(touchingBallRobotPairs());
 		latestRobotPairs.removeAll(recentlyDetectedPushingPairs);
 
-		firstRobotPairs = merge(firstRobotPairs, latestRobotPairs);
-		firstRobotPairs.forEach(this::drawBotPair);
+		merge(latestRobotPairs);
+		firstRobotPairs.values().forEach(this::drawBotPair);
 
 		final List<PushedDistance> pushedDistances = pushedDistances(latestRobotPairs);
 		pushedDistances.forEach(this::drawPushedDistance);
@@ -113,10 +115,16 @@ public class PushingDetector extends AGameEventDetector
 
 	private Set<RobotPair> latestRobotPairs()
 	{
-		return frame.getWorldFrame().getBots().values().stream()
-				.map(this::touchingOpponents)
-				.flatMap(Collection::stream)
-				.collect(Collectors.toSet());
+		Set<RobotPair> robotPairs = new HashSet<>();
+		for (BotSpatialGrid.BotPair pair : frame.getBotGrid().getPairsWithin(minTouchingDistance()))
+		{
+			if (pair.isOpponents() && touching(pair.bot1(), pair.bot2()))
+			{
+				robotPairs.add(new RobotPair(pair.bot1(), pair.bot2()));
+				robotPairs.add(new RobotPair(pair.bot2(), pair.bot1()));
+			}
+		}
+		return robotPairs;
 	}
 
 
@@ -181,27 +189,21 @@ public class PushingDetector extends AGameEventDetector
 
 	private PushedDistance pushedDistance(final RobotPair latestPair)
 	{
-		for (RobotPair firstPair : firstRobotPairs)
+		RobotPair firstPair = firstRobotPairs.get(latestPair);
+		if (firstPair == null)
 		{
-			if (firstPair.equals(latestPair))
-			{
-				return new PushedDistance(firstPair, latestPair);
-			}
+			throw new IllegalStateException("Expected a match: " + latestPair);
 		}
-		throw new IllegalStateException("Expected a match: " + latestPair);
+		return new PushedDistance(firstPair, latestPair);
 	}
 
 
-	private Set<RobotPair> merge(Set<RobotPair> oldPairs, Set<RobotPair> newPairs)
+	private void merge(Set<RobotPair> newPairs)
 	{
-		// take all old
-		final Set<RobotPair> mergedPairs = new HashSet<>(oldPairs);
-		// but remove the vanished ones
-		mergedPairs.removeIf(b -> !newPairs.contains(b));
-		// and add new bots
-		newPairs.stream().filter(p -> !oldPairs.contains(p)).forEach(mergedPairs::add);
-
-		return mergedPairs;
+		// remove the vanished pairs, but keep the first state of the remaining ones
+		firstRobotPairs.keySet().retainAll(newPairs);
+		// and add new pairs
+		newPairs.forEach(p -> firstRobotPairs.putIfAbsent(p, p));
 	}
 
 
@@ -214,19 +216,15 @@ public class PushingDetector extends AGameEventDetector
 	}
 
 
-	private List<RobotPair> touchingOpponents(ITrackedBot bot)
+	private double minTouchingDistance()
 	{
-		return frame.getWorldFrame().getBots().values().stream()
-				.filter(b -> bot.getTeamColor() != b.getTeamColor())
-				.filter(b -> touching(bot, b))
-				.map(b -> new RobotPair(bot, b))
-				.toList();
+		return Geometry.getBotRadius() * 2 + botExtraMargin;
 	}
 
 
 	private boolean touching(ITrackedBot bot1, ITrackedBot bot2)
 	{
-		double minDist = Geometry.getBotRadius() * 2 + botExtraMargin;
+		double minDist = minTouchingDistance();
 		minDist *= minDist;
 		return bot1.getPos().distanceToSqr(bot2.getPos()) < minDist;
 	}
@@ -262,20 +260,15 @@ public class PushingDetector extends AGameEventDetector
 
 			final RobotPair robotPair = (RobotPair) o;
 
-			return new EqualsBuilder()
-					.append(bot.getBotId(), robotPair.bot.getBotId())
-					.append(opponentBot.getBotId(), robotPair.opponentBot.getBotId())
-					.isEquals();
+			return bot.getBotId().equals(robotPair.bot.getBotId())
+					&& opponentBot.getBotId().equals(robotPair.opponentBot.getBotId());
 		}
 
 
 		@Override
 		public int hashCode()
 		{
-			return new HashCodeBuilder(17, 37)
-					.append(bot.getBotId())
-					.append(opponentBot.getBotId())
-					.toHashCode();
+			return 31 * bot.getBotId().hashCode() + opponentBot.getBotId().hashCode();
 		}
 
 
@@ -7,7 +7,9 @@ import edu.tigers.autoreferee.IAutoRefObserver;
 import edu.tigers.autoreferee.engine.AutoRefEngine;
 import edu.tigers.autoreferee.engine.EAutoRefMode;
 import edu.tigers.autoreferee.engine.detector.EGameEventDetectorType;
+import edu.tigers.autoreferee.profiler.AutoRefProfiler;
 import edu.tigers.moduli.AModule;
+import edu.tigers.sumatra.data.LatencyHistogram;
 import edu.tigers.sumatra.referee.gameevent.IGameEvent;
 import edu.tigers.sumatra.wp.IWorldFrameObserver;
 import org.apache.logging.log4j.LogManager;
@@ -97,6 +99,9 @@ public class AutoRefModule extends AModule implements IWorldFrameObserver
 	}
 
 
+	/**
+	 * @return the current engine, mode changes are applied asynchronously by the runner thread
+	 */
 	public AutoRefEngine getEngine()
 	{
 		return runner.getEngine();
@@ -107,4 +112,31 @@ public class AutoRefModule extends AModule implements IWorldFrameObserver
 	{
 		return runner.getMode();
 	}
+
+
+	/**
+	 * @return the time from receiving a world frame until the autoRef finished processing it
+	 */
+	public LatencyHistogram getFrameAgeHistogram()
+	{
+		return runner.getFrameAgeHistogram();
+	}
+
+
+	/**
+	 * @return the time the autoRef spent per world frame
+	 */
+	public LatencyHistogram getEngineTimeHistogram()
+	{
+		return runner.getEngineTimeHistogram();
+	}
+
+
+	/**
+	 * @return the profiler that measures the calculators and detectors of the autoRef
+	 */
+	public AutoRefProfiler getProfiler()
+	{
+		return runner.getProfiler();
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.autoreferee.module;
 
@@ -11,6 +11,8 @@ import edu.tigers.autoreferee.engine.EAutoRefMode;
 import edu.tigers.autoreferee.engine.IAutoRefEngineObserver;
 import edu.tigers.autoreferee.engine.PassiveAutoRefEngine;
 import edu.tigers.autoreferee.engine.detector.EGameEventDetectorType;
+import edu.tigers.autoreferee.profiler.AutoRefProfiler;
+import edu.tigers.sumatra.data.LatencyHistogram;
 import edu.tigers.sumatra.drawable.ShapeMapSource;
 import edu.tigers.sumatra.model.SumatraModel;
 import edu.tigers.sumatra.thread.NamedThreadFactory;
@@ -18,18 +20,23 @@ import edu.tigers.sumatra.wp.AWorldPredictor;
 import edu.tigers.sumatra.wp.IWorldFrameObserver;
 import edu.tigers.sumatra.wp.data.WorldFrameWrapper;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.lang.Validate;
 
 import java.util.Set;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 
 /**
  * Start the autoRef in a new thread and run an engine respective to the {@link EAutoRefMode}.
+ * <p>
+ * New frames are passed to the runner thread through a single-slot mailbox that always holds the latest frame.
+ * The runner thread parks while the mailbox is empty and is unparked by new frames.
+ * Mode changes are requested from any thread and applied by the runner thread between two frames, so
+ * {@link #getEngine()} returns the previous engine until the runner thread picked up the change.
+ * Only when the runner thread is not running, mode changes are applied on the calling thread.
+ * </p>
  */
 @Log4j2
 public class AutoRefRunner implements Runnable, IWorldFrameObserver
@@ -37,20 +44,29 @@ public class AutoRefRunner implements Runnable, IWorldFrameObserver
 	private static final String AUTO_REF = "AutoRef";
 	private static final ShapeMapSource SHAPE_MAP_SOURCE = ShapeMapSource.of(AUTO_REF);
 
-	private final BlockingDeque<WorldFrameWrapper> consumableFrames = new LinkedBlockingDeque<>(1);
-	private final Set<EGameEventDetectorType> activeDetectors = EGameEventDetectorType.valuesEnabledByDefault();
+	private final AtomicReference<PendingFrame> mailbox = new AtomicReference<>();
+	private final AtomicReference<EAutoRefMode> requestedMode = new AtomicReference<>();
+	private final Set<EGameEventDetectorType> activeDetectors = ConcurrentHashMap.newKeySet();
+	private final LatencyHistogram frameAgeHistogram = new LatencyHistogram();
+	private final LatencyHistogram engineTimeHistogram = new LatencyHistogram();
+	private final AutoRefProfiler profiler = new AutoRefProfiler(true);
+	private final IAutoRefEngineObserver callback;
 
 	private AutoRefFramePreprocessor preprocessor;
-	private ExecutorService executorService;
-	private AutoRefEngine engine = new AutoRefEngine(activeDetectors);
-	private final IAutoRefEngineObserver callback;
-	private EAutoRefMode mode = EAutoRefMode.OFF;
-	private final Object engineSync = new Object();
+	private volatile Thread runnerThread;
+	private volatile Thread waitingProducer;
+	private volatile boolean running = false;
+	/** true, if no runner thread is processing frames and mode changes can be applied on the calling thread */
+	private volatile boolean runnerTerminated = true;
+	private volatile AutoRefEngine engine;
+	private volatile EAutoRefMode mode = EAutoRefMode.OFF;
 
 
 	public AutoRefRunner(IAutoRefEngineObserver callback)
 	{
 		this.callback = callback;
+		activeDetectors.addAll(EGameEventDetectorType.valuesEnabledByDefault());
+		engine = new AutoRefEngine(activeDetectors, profiler);
 	}
 
 
@@ -63,6 +79,7 @@ public class AutoRefRunner implements Runnable, IWorldFrameObserver
 		{
 			activeDetectors.remove(type);
 		}
+		engine.activeDetectorsChanged();
 	}
 
 
@@ -71,14 +88,18 @@ public class AutoRefRunner implements Runnable, IWorldFrameObserver
 	 */
 	public void start()
 	{
-		preprocessor = new AutoRefFramePreprocessor();
+		preprocessor = new AutoRefFramePreprocessor(profiler);
 		// make sure, the engine is initially in a clean off state
 		changeMode(EAutoRefMode.OFF);
+		frameAgeHistogram.reset();
+		engineTimeHistogram.reset();
+		// start runner thread
+		running = true;
+		runnerTerminated = false;
+		runnerThread = new NamedThreadFactory(AUTO_REF).newThread(this);
+		runnerThread.start();
 		// register to WP frames
 		SumatraModel.getInstance().getModule(AWorldPredictor.class).addObserver(this);
-		// start runner thread
-		executorService = Executors.newSingleThreadExecutor(new NamedThreadFactory(AUTO_REF));
-		executorService.execute(this);
 	}
 
 
@@ -87,116 +108,201 @@ public class AutoRefRunner implements Runnable, IWorldFrameObserver
 	 */
 	public void stop()
 	{
-		// switch off engine first
-		changeMode(EAutoRefMode.OFF);
 		// deregister from WP frames
 		SumatraModel.getInstance().getModule(AWorldPredictor.class).removeObserver(this);
-		// clear auto ref shape map
-		SumatraModel.getInstance().getModule(AWorldPredictor.class).notifyRemoveSourceFromShapeMap(SHAPE_MAP_SOURCE);
-		try
+		// stop runner thread
+		running = false;
+		Thread thread = runnerThread;
+		if (thread != null)
 		{
-			if (executorService != null)
+			LockSupport.unpark(thread);
+			LockSupport.unpark(waitingProducer);
+			try
+			{
+				thread.join(TimeUnit.SECONDS.toMillis(2));
+				if (thread.isAlive())
+				{
+					log.warn("AutoRef runner thread did not terminate in time, it will switch off the engine when done");
+				}
+			} catch (InterruptedException e)
 			{
-				executorService.shutdown();
-				Validate.isTrue(executorService.awaitTermination(2, TimeUnit.SECONDS));
+				log.error("Interrupted while awaiting termination", e);
+				Thread.currentThread().interrupt();
 			}
-		} catch (InterruptedException e)
-		{
-			log.error("Interrupted while awaiting termination", e);
-			Thread.currentThread().interrupt();
+			runnerThread = null;
 		}
+		// switch off engine, this is applied by the runner thread, if it is still processing a frame
+		changeMode(EAutoRefMode.OFF);
+		// clear auto ref shape map
+		SumatraModel.getInstance().getModule(AWorldPredictor.class).notifyRemoveSourceFromShapeMap(SHAPE_MAP_SOURCE);
 		// Remove any remaining frames
-		consumableFrames.pollLast();
+		mailbox.set(null);
 	}
 
 
+	/**
+	 * Request a new mode. If the runner thread is alive, the mode is applied asynchronously by the runner thread
+	 * before the next frame, else it is applied immediately.
+	 *
+	 * @param mode the new mode
+	 */
 	public void changeMode(final EAutoRefMode mode)
 	{
-		synchronized (engineSync)
+		this.mode = mode;
+		requestedMode.set(mode);
+		if (runnerTerminated)
+		{
+			// the runner thread applies all requests before it sets this flag, so the request is ours to apply
+			applyRequestedMode();
+		} else
+		{
+			LockSupport.unpark(runnerThread);
+		}
+	}
+
+
+	private synchronized void applyRequestedMode()
+	{
+		EAutoRefMode newMode = requestedMode.getAndSet(null);
+		if (newMode != null)
 		{
-			engine.stop();
-			engine.removeObserver(callback);
-			engine = switch (mode)
-					{
-						case OFF -> new AutoRefEngine(activeDetectors);
-						case ACTIVE -> new ActiveAutoRefEngine(activeDetectors);
-						case PASSIVE -> new PassiveAutoRefEngine(activeDetectors);
-					};
-			this.mode = mode;
-			engine.addObserver(callback);
-			engine.start();
+			applyMode(newMode);
 		}
 	}
 
 
+	private void applyMode(final EAutoRefMode newMode)
+	{
+		engine.stop();
+		engine.removeObserver(callback);
+		AutoRefEngine newEngine = switch (newMode)
+				{
+					case OFF -> new AutoRefEngine(activeDetectors, profiler);
+					case ACTIVE -> new ActiveAutoRefEngine(activeDetectors, profiler);
+					case PASSIVE -> new PassiveAutoRefEngine(activeDetectors, profiler);
+				};
+		newEngine.addObserver(callback);
+		newEngine.start();
+		engine = newEngine;
+	}
+
+
 	@Override
 	@SuppressWarnings("java:S1181") // catching throwables here intentionally
 	public void run()
 	{
-		while (!executorService.isShutdown())
+		while (running)
 		{
 			try
 			{
-				WorldFrameWrapper frame = consumableFrames.poll(10, TimeUnit.MILLISECONDS);
-				if (frame != null)
+				applyRequestedMode();
+				PendingFrame frame = mailbox.getAndSet(null);
+				if (frame == null)
 				{
-					consumeWorldFrame(frame);
+					LockSupport.park(this);
+					continue;
 				}
-			} catch (InterruptedException e)
-			{
-				Thread.currentThread().interrupt();
+				LockSupport.unpark(waitingProducer);
+				consumeWorldFrame(frame);
 			} catch (Throwable e)
 			{
 				log.error("Unhandled exception during AutoRef execution", e);
 			}
 		}
+		// apply a mode change that was requested while shutting down
+		runnerTerminated = true;
+		applyRequestedMode();
 	}
 
 
-	private void consumeWorldFrame(final WorldFrameWrapper frame)
+	private void consumeWorldFrame(final PendingFrame pendingFrame)
 	{
-		AutoRefFrame currentFrame = preprocessor.process(frame);
+		long tStart = System.nanoTime();
+		AutoRefFrame currentFrame = preprocessor.process(pendingFrame.frame());
 		if (currentFrame.getPreviousFrame() != null)
 		{
-			synchronized (engineSync)
-			{
-				engine.process(currentFrame);
-			}
+			engine.process(currentFrame);
 		}
+		long tEnd = System.nanoTime();
+		engineTimeHistogram.record(tEnd - tStart);
+		frameAgeHistogram.record(tEnd - pendingFrame.receivedNs());
 		SumatraModel.getInstance().getModule(AWorldPredictor.class)
-				.notifyNewShapeMap(frame.getTimestamp(), currentFrame.getShapes(), SHAPE_MAP_SOURCE);
+				.notifyNewShapeMap(pendingFrame.frame().getTimestamp(), currentFrame.getShapes(), SHAPE_MAP_SOURCE);
 	}
 
 
 	@Override
 	public void onNewWorldFrame(final WorldFrameWrapper wFrameWrapper)
 	{
+		PendingFrame frame = new PendingFrame(wFrameWrapper, System.nanoTime());
 		if (SumatraModel.getInstance().isSimulation())
 		{
-			// process all frames, waiting and blocking if necessary
-			try
-			{
-				consumableFrames.putFirst(wFrameWrapper);
-			} catch (InterruptedException e)
+			// process all frames, waiting if necessary
+			waitingProducer = Thread.currentThread();
+			while (running && !mailbox.compareAndSet(null, frame))
 			{
-				Thread.currentThread().interrupt();
+				LockSupport.unpark(runnerThread);
+				LockSupport.park(this);
+				if (Thread.currentThread().isInterrupted())
+				{
+					break;
+				}
 			}
+			waitingProducer = null;
 		} else
 		{
-			consumableFrames.pollLast();
-			consumableFrames.addFirst(wFrameWrapper);
+			mailbox.set(frame);
 		}
+		LockSupport.unpark(runnerThread);
 	}
 
 
+	/**
+	 * @return the current engine, which may still be the engine of the previous mode after {@link #changeMode}
+	 */
 	public AutoRefEngine getEngine()
 	{
 		return engine;
 	}
 
 
+	/**
+	 * @return the last requested mode
+	 */
 	public EAutoRefMode getMode()
 	{
 		return mode;
 	}
+
+
+	/**
+	 * @return the time from receiving a frame until the engine finished processing it
+	 */
+	public LatencyHistogram getFrameAgeHistogram()
+	{
+		return frameAgeHistogram;
+	}
+
+
+	/**
+	 * @return the time spent in the preprocessor and engine per frame
+	 */
+	public LatencyHistogram getEngineTimeHistogram()
+	{
+		return engineTimeHistogram;
+	}
+
+
+	/**
+	 * @return the profiler that measures the calculators and detectors
+	 */
+	public AutoRefProfiler getProfiler()
+	{
+		return profiler;
+	}
+
+
+	private record PendingFrame(WorldFrameWrapper frame, long receivedNs)
+	{
+	}
 }
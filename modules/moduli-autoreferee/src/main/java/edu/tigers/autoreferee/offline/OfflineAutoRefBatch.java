@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.autoreferee.offline;
+
+import edu.tigers.autoreferee.engine.detector.EGameEventDetectorType;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+
+/**
+ * Run the autoRef headless on many game logs in parallel.
+ * <p>
+ * Each log is processed by its own {@link OfflineAutoRefPipeline} on a fork-join pool.
+ * Note that the field geometry is still global ({@link edu.tigers.sumatra.geometry.Geometry}),
+ * so it is taken from the configuration and not from the logs. All logs should be recorded on fields of the same size.
+ * </p>
+ */
+@Log4j2
+public class OfflineAutoRefBatch
+{
+	/** The detectors register themselves to the (global) config registration on construction */
+	private static final Object PIPELINE_CREATION_LOCK = new Object();
+
+	private final int parallelism;
+	private final Set<EGameEventDetectorType> activeDetectors;
+
+
+	/**
+	 * @param parallelism     number of logs to process in parallel
+	 * @param activeDetectors the detectors to run on each log
+	 */
+	public OfflineAutoRefBatch(final int parallelism, final Set<EGameEventDetectorType> activeDetectors)
+	{
+		this.parallelism = parallelism;
+		this.activeDetectors = Set.copyOf(activeDetectors);
+	}
+
+
+	/**
+	 * Find all game logs (*.log and *.log.gz) in the given folder and its sub folders.
+	 *
+	 * @param dir the folder to search
+	 * @return all found logs, sorted by path
+	 * @throws IOException if the folder could not be read
+	 */
+	public static List<Path> findLogFiles(final Path dir) throws IOException
+	{
+		try (Stream<Path> files = Files.walk(dir))
+		{
+			return files
+					.filter(Files::isRegularFile)
+					.filter(f -> f.getFileName().toString().endsWith(".log")
+							|| f.getFileName().toString().endsWith(".log.gz"))
+					.sorted()
+					.toList();
+		}
+	}
+
+
+	/**
+	 * Process the given logs in parallel. Logs that can not be read result in a failed report.
+	 *
+	 * @param logFiles the logs to process
+	 * @return one report per log, in the same order as the logs
+	 */
+	public List<OfflineAutoRefReport> run(final List<Path> logFiles)
+	{
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try
+		{
+			List<ForkJoinTask<OfflineAutoRefReport>> tasks = logFiles.stream()
+					.map(logFile -> pool.submit(() -> process(logFile)))
+					.toList();
+			return tasks.stream().map(ForkJoinTask::join).toList();
+		} finally
+		{
+			pool.shutdown();
+		}
+	}
+
+
+	@SuppressWarnings("java:S1181") // catching throwables here intentionally, one bad log must not stop the batch
+	private OfflineAutoRefReport process(final Path logFile)
+	{
+		log.info("Processing {}", logFile);
+		try
+		{
+			OfflineAutoRefPipeline pipeline;
+			synchronized (PIPELINE_CREATION_LOCK)
+			{
+				pipeline = new OfflineAutoRefPipeline(activeDetectors);
+			}
+			OfflineAutoRefReport report = pipeline.process(logFile);
+			log.info("Processed {}: {} game events in {} ms", logFile, report.gameEvents().size(),
+					report.processingTimeNs() / 1_000_000);
+			return report;
+		} catch (Throwable e)
+		{
+			log.warn("Could not process {}", logFile, e);
+			return OfflineAutoRefReport.failed(logFile, String.valueOf(e.getMessage()));
+		}
+	}
+
+
+	/**
+	 * Usage: {@code OfflineAutoRefBatch <log folder> <report folder> [parallelism]}
+	 *
+	 * @param args command line arguments
+	 * @throws IOException if the log folder could not be read or the reports could not be written
+	 */
+	public static void main(final String[] args) throws IOException
+	{
+		if (args.length < 2)
+		{
+			log.error("Usage: OfflineAutoRefBatch <log folder> <report folder> [parallelism]");
+			return;
+		}
+		Path logDir = Path.of(args[0]);
+		Path reportDir = Path.of(args[1]);
+		int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+		List<Path> logFiles = findLogFiles(logDir);
+		log.info("Found {} logs in {}, processing with parallelism {}", logFiles.size(), logDir, parallelism);
+
+		long tStart = System.nanoTime();
+		var batch = new OfflineAutoRefBatch(parallelism, EGameEventDetectorType.valuesEnabledByDefault());
+		List<OfflineAutoRefReport> reports = batch.run(logFiles);
+
+		Files.createDirectories(reportDir);
+		for (OfflineAutoRefReport report : reports)
+		{
+			report.write(reportDir);
+		}
+		long numFailed = reports.stream().filter(r -> !r.isSuccessful()).count();
+		log.info("Processed {} logs ({} failed) in {} s", reports.size(), numFailed,
+				(System.nanoTime() - tStart) / 1_000_000_000);
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.autoreferee.offline;
+
+import edu.tigers.autoreferee.AutoRefFrame;
+import edu.tigers.autoreferee.AutoRefFramePreprocessor;
+import edu.tigers.autoreferee.engine.GameEventEngine;
+import edu.tigers.autoreferee.engine.detector.EGameEventDetectorType;
+import edu.tigers.sumatra.cam.GameLogCam;
+import edu.tigers.sumatra.gamelog.GameLogMessage;
+import edu.tigers.sumatra.gamelog.GameLogStreamReader;
+import edu.tigers.sumatra.referee.gameevent.IGameEvent;
+import edu.tigers.sumatra.referee.proto.SslGcRefereeMessage;
+import edu.tigers.sumatra.vision.VisionFilterImpl;
+import edu.tigers.sumatra.wp.IWorldFrameObserver;
+import edu.tigers.sumatra.wp.WorldInfoCollector;
+import edu.tigers.sumatra.wp.data.WorldFrameWrapper;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * A self-contained autoRef pipeline for a single game log.
+ * <p>
+ * All stages (cam decoding, vision filter, world info collector, preprocessor and game event engine)
+ * are private instances that are wired directly instead of through the module system,
+ * so that multiple pipelines can process different logs in parallel.
+ * All messages are processed synchronously on the calling thread.
+ * </p>
+ */
+@Log4j2
+public class OfflineAutoRefPipeline implements IWorldFrameObserver
+{
+	private final GameLogCam cam = new GameLogCam();
+	private final VisionFilterImpl visionFilter = new VisionFilterImpl();
+	private final WorldInfoCollector worldInfoCollector = new WorldInfoCollector();
+	private final AutoRefFramePreprocessor preprocessor = new AutoRefFramePreprocessor();
+	private final GameEventEngine gameEventEngine;
+
+	private final List<OfflineAutoRefReport.DetectedGameEvent> gameEvents = new ArrayList<>();
+	private long numWorldFrames = 0;
+
+
+	/**
+	 * @param activeDetectors the detectors to run
+	 */
+	public OfflineAutoRefPipeline(final Set<EGameEventDetectorType> activeDetectors)
+	{
+		gameEventEngine = new GameEventEngine(activeDetectors);
+		cam.addObserver(visionFilter);
+		worldInfoCollector.initStandalone(visionFilter);
+		worldInfoCollector.addConsumer(this);
+	}
+
+
+	/**
+	 * Process all messages of the given log. A pipeline must only be used for a single log.
+	 *
+	 * @param logFile the game log to process
+	 * @return the report with all detected game events
+	 * @throws IOException if the log could not be read
+	 */
+	public OfflineAutoRefReport process(final Path logFile) throws IOException
+	{
+		long tStart = System.nanoTime();
+		int numMessages = 0;
+		try (GameLogStreamReader reader = new GameLogStreamReader(logFile.toString()))
+		{
+			GameLogMessage message;
+			while ((message = reader.next()) != null)
+			{
+				processMessage(message, numMessages);
+				numMessages++;
+			}
+		}
+		return new OfflineAutoRefReport(logFile, numMessages, numWorldFrames, List.copyOf(gameEvents),
+				System.nanoTime() - tStart, null);
+	}
+
+
+	private void processMessage(final GameLogMessage message, final int index)
+	{
+		switch (message.getType())
+		{
+			case SSL_VISION_2014 -> cam.onNewGameLogMessage(message, index);
+			case SSL_REFBOX_2013 -> processRefereeMessage(message);
+			default ->
+			{
+				// not relevant for the autoRef
+			}
+		}
+	}
+
+
+	private void processRefereeMessage(final GameLogMessage message)
+	{
+		try
+		{
+			worldInfoCollector.onNewRefereeMsg(SslGcRefereeMessage.Referee.parseFrom(message.getDataBuffer()));
+		} catch (IOException e)
+		{
+			log.warn("Invalid SSL_REFBOX_2013 package.", e);
+		}
+	}
+
+
+	@Override
+	public void onNewWorldFrame(final WorldFrameWrapper wFrameWrapper)
+	{
+		numWorldFrames++;
+		AutoRefFrame frame = preprocessor.process(wFrameWrapper);
+		if (frame.getPreviousFrame() != null)
+		{
+			for (IGameEvent gameEvent : gameEventEngine.update(frame))
+			{
+				gameEvents.add(new OfflineAutoRefReport.DetectedGameEvent(wFrameWrapper.getTimestamp(), gameEvent));
+			}
+		}
+	}
+}
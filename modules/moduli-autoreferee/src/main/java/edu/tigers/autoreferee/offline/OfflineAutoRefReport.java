@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.autoreferee.offline;
+
+import edu.tigers.sumatra.referee.gameevent.IGameEvent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+
+/**
+ * Result of processing a single game log offline.
+ *
+ * @param logFile          the processed log
+ * @param numMessages      number of messages read from the log
+ * @param numWorldFrames   number of world frames passed to the autoRef
+ * @param gameEvents       all detected game events in order of detection
+ * @param processingTimeNs wall time needed to process the log
+ * @param error            the reason why the log could not be processed completely, or null
+ */
+public record OfflineAutoRefReport(
+		Path logFile,
+		long numMessages,
+		long numWorldFrames,
+		List<DetectedGameEvent> gameEvents,
+		long processingTimeNs,
+		String error
+)
+{
+	private static final String REPORT_SUFFIX = ".autoref.csv";
+
+
+	/**
+	 * @param logFile the log that could not be processed
+	 * @param error   the reason
+	 * @return a report without any game events
+	 */
+	public static OfflineAutoRefReport failed(final Path logFile, final String error)
+	{
+		return new OfflineAutoRefReport(logFile, 0, 0, List.of(), 0, error);
+	}
+
+
+	/**
+	 * @return true, if the log was processed completely
+	 */
+	public boolean isSuccessful()
+	{
+		return error == null;
+	}
+
+
+	/**
+	 * Write the detected game events as CSV into the given folder. The file is named after the log.
+	 *
+	 * @param reportDir the folder to write the report to
+	 * @return the path of the written report
+	 * @throws IOException on write errors
+	 */
+	public Path write(final Path reportDir) throws IOException
+	{
+		Path reportFile = reportDir.resolve(logFile.getFileName() + REPORT_SUFFIX);
+		try (BufferedWriter writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8))
+		{
+			writer.write("# log: " + logFile);
+			writer.newLine();
+			writer.write("# messages: " + numMessages + ", world frames: " + numWorldFrames
+					+ ", processing time: " + processingTimeNs / 1_000_000 + " ms");
+			writer.newLine();
+			if (error != null)
+			{
+				writer.write("# error: " + error);
+				writer.newLine();
+			}
+			writer.write("timestamp;type;team;description");
+			writer.newLine();
+			for (DetectedGameEvent event : gameEvents)
+			{
+				writer.write(event.timestampNs() + ";"
+						+ event.gameEvent().getType() + ";"
+						+ event.gameEvent().getTeam() + ";"
+						+ event.gameEvent().getDescription().replace(';', ','));
+				writer.newLine();
+			}
+		}
+		return reportFile;
+	}
+
+
+	/**
+	 * A game event together with the timestamp of the world frame it was detected in.
+	 *
+	 * @param timestampNs the world frame timestamp
+	 * @param gameEvent   the detected game event
+	 */
+	public record DetectedGameEvent(long timestampNs, IGameEvent gameEvent)
+	{
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.autoreferee.profiler;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Measures wall time and allocated bytes of the autoRef calculators and detectors.
+ * <p>
+ * Each calculator and detector gets its own {@link ProfiledSection}.
+ * The sections keep a rolling window of the latest samples, so the statistics reflect the current situation.
+ * Sections must only be measured from a single thread, the statistics can be read from any thread.
+ * </p>
+ */
+public class AutoRefProfiler
+{
+	private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMxBean();
+
+	private final Map<String, ProfiledSection> sections = new ConcurrentHashMap<>();
+
+	@Getter
+	@Setter
+	private volatile boolean enabled;
+
+
+	/**
+	 * Create a disabled profiler
+	 */
+	public AutoRefProfiler()
+	{
+		this(false);
+	}
+
+
+	/**
+	 * @param enabled if the profiler should measure sections initially
+	 */
+	public AutoRefProfiler(final boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+
+	/**
+	 * Get the section with the given name. Sections with the same name share their statistics.
+	 *
+	 * @param name the name of the section
+	 * @return the (new) section
+	 */
+	public ProfiledSection section(final String name)
+	{
+		return sections.computeIfAbsent(name, n -> new ProfiledSection(this, n));
+	}
+
+
+	/**
+	 * @return the statistics of all sections, the most expensive section first
+	 */
+	public List<ProfilingStats> getStats()
+	{
+		return sections.values().stream()
+				.map(ProfiledSection::getStats)
+				.sorted(Comparator.comparingDouble(ProfilingStats::meanTimeNs).reversed())
+				.toList();
+	}
+
+
+	/**
+	 * Remove all samples. This can be called from any thread, the measuring thread applies it on its next measurement.
+	 */
+	public void reset()
+	{
+		sections.values().forEach(ProfiledSection::reset);
+	}
+
+
+	/**
+	 * Write the current statistics as CSV.
+	 *
+	 * @param file the target file
+	 * @throws IOException on write errors
+	 */
+	public void writeCsv(final Path file) throws IOException
+	{
+		if (file.getParent() != null)
+		{
+			Files.createDirectories(file.getParent());
+		}
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8))
+		{
+			writer.write(ProfilingStats.CSV_HEADER);
+			writer.newLine();
+			for (ProfilingStats stats : getStats())
+			{
+				writer.write(stats.toCsv(Locale.ENGLISH));
+				writer.newLine();
+			}
+		}
+	}
+
+
+	/**
+	 * @return the bytes allocated by the current thread so far, or 0 if this is not supported by the JVM
+	 */
+	static long currentThreadAllocatedBytes()
+	{
+		if (THREAD_MX_BEAN == null)
+		{
+			return 0;
+		}
+		return Math.max(0, THREAD_MX_BEAN.getCurrentThreadAllocatedBytes());
+	}
+
+
+	private static com.sun.management.ThreadMXBean threadMxBean()
+	{
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+				&& bean.isThreadAllocatedMemorySupported())
+		{
+			bean.setThreadAllocatedMemoryEnabled(true);
+			return bean;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.autoreferee.profiler;
+
+import java.util.Arrays;
+
+
+/**
+ * A measured piece of code, like a single detector.
+ * Call {@link #begin()} before and {@link #end()} after the code. Nothing is measured while the profiler is disabled.
+ * The samples are only written by the measuring thread. A reset from another thread is only requested and applied
+ * by the measuring thread on its next {@link #begin()} or {@link #end()}.
+ */
+public class ProfiledSection
+{
+	private static final int WINDOW_SIZE = 1000;
+
+	private final AutoRefProfiler profiler;
+	private final String name;
+
+	private final long[] timeSamples = new long[WINDOW_SIZE];
+	private final long[] allocSamples = new long[WINDOW_SIZE];
+	private int nextSample = 0;
+	private volatile int numSamples = 0;
+	private volatile boolean resetRequested = false;
+
+	private boolean measuring = false;
+	private long startTime;
+	private long startAllocatedBytes;
+
+
+	ProfiledSection(final AutoRefProfiler profiler, final String name)
+	{
+		this.profiler = profiler;
+		this.name = name;
+	}
+
+
+	/**
+	 * Start a measurement
+	 */
+	public void begin()
+	{
+		applyRequestedReset();
+		measuring = profiler.isEnabled();
+		if (measuring)
+		{
+			startAllocatedBytes = AutoRefProfiler.currentThreadAllocatedBytes();
+			startTime = System.nanoTime();
+		}
+	}
+
+
+	/**
+	 * Finish the measurement that was started with {@link #begin()}
+	 */
+	public void end()
+	{
+		if (!measuring)
+		{
+			return;
+		}
+		long time = System.nanoTime() - startTime;
+		long allocatedBytes = AutoRefProfiler.currentThreadAllocatedBytes() - startAllocatedBytes;
+		measuring = false;
+
+		applyRequestedReset();
+		timeSamples[nextSample] = time;
+		allocSamples[nextSample] = allocatedBytes;
+		nextSample = (nextSample + 1) % WINDOW_SIZE;
+		if (numSamples < WINDOW_SIZE)
+		{
+			numSamples++;
+		}
+	}
+
+
+	/**
+	 * @return the statistics of the current window
+	 */
+	public ProfilingStats getStats()
+	{
+		// the samples are kept until the measuring thread applies the reset
+		int n = resetRequested ? 0 : numSamples;
+		long[] times = Arrays.copyOf(timeSamples, n);
+		long[] allocs = Arrays.copyOf(allocSamples, n);
+		Arrays.sort(times);
+		Arrays.sort(allocs);
+		return new ProfilingStats(
+				name,
+				n,
+				mean(times),
+				percentile(times, 0.5),
+				percentile(times, 0.9),
+				percentile(times, 0.99),
+				n == 0 ? 0 : times[n - 1],
+				mean(allocs),
+				percentile(allocs, 0.99)
+		);
+	}
+
+
+	/**
+	 * Request to remove all samples. This can be called from any thread.
+	 */
+	void reset()
+	{
+		resetRequested = true;
+	}
+
+
+	private void applyRequestedReset()
+	{
+		if (resetRequested)
+		{
+			// clear before taking back the request, so that getStats never sees the old samples
+			numSamples = 0;
+			nextSample = 0;
+			resetRequested = false;
+		}
+	}
+
+
+	private static double mean(final long[] sorted)
+	{
+		return Arrays.stream(sorted).average().orElse(0);
+	}
+
+
+	private static long percentile(final long[] sorted, final double percentile)
+	{
+		if (sorted.length == 0)
+		{
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.clamp(index, 0, sorted.length - 1)];
+	}
+}
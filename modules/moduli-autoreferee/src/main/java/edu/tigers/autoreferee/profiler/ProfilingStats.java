@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.autoreferee.profiler;
+
+import java.util.Locale;
+
+
+/**
+ * Statistics of a {@link ProfiledSection} over its rolling window.
+ *
+ * @param name            the section name
+ * @param numSamples      number of samples in the window
+ * @param meanTimeNs      mean wall time
+ * @param p50TimeNs       median wall time
+ * @param p90TimeNs       90th percentile of the wall time
+ * @param p99TimeNs       99th percentile of the wall time
+ * @param maxTimeNs       maximum wall time
+ * @param meanAllocBytes  mean allocated bytes
+ * @param p99AllocBytes   99th percentile of the allocated bytes
+ */
+public record ProfilingStats(
+		String name,
+		int numSamples,
+		double meanTimeNs,
+		long p50TimeNs,
+		long p90TimeNs,
+		long p99TimeNs,
+		long maxTimeNs,
+		double meanAllocBytes,
+		long p99AllocBytes
+)
+{
+	static final String CSV_HEADER = "name;samples;mean [us];p50 [us];p90 [us];p99 [us];max [us];mean alloc [B];p99 alloc [B]";
+
+
+	String toCsv(final Locale locale)
+	{
+		return String.format(locale, "%s;%d;%.3f;%.3f;%.3f;%.3f;%.3f;%.0f;%d",
+				name,
+				numSamples,
+				meanTimeNs / 1e3,
+				p50TimeNs / 1e3,
+				p90TimeNs / 1e3,
+				p99TimeNs / 1e3,
+				maxTimeNs / 1e3,
+				meanAllocBytes,
+				p99AllocBytes);
+	}
+}
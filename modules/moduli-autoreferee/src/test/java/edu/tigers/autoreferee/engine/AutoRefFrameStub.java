@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.autoreferee.engine;
+
+import edu.tigers.autoreferee.IAutoRefFrame;
+import edu.tigers.autoreferee.generic.BotPosition;
+import edu.tigers.sumatra.drawable.ShapeMap;
+import edu.tigers.sumatra.referee.data.GameState;
+import edu.tigers.sumatra.referee.data.RefereeMsg;
+import edu.tigers.sumatra.wp.data.BallLeftFieldPosition;
+import edu.tigers.sumatra.wp.data.BotSpatialGrid;
+import edu.tigers.sumatra.wp.data.SimpleWorldFrame;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * A frame that only has a game state, a previous frame and optionally a world frame, a referee message and the
+ * position where the ball left the field
+ */
+public class AutoRefFrameStub implements IAutoRefFrame
+{
+	private final AutoRefFrameStub previousFrame;
+	private final GameState gameState;
+	private final SimpleWorldFrame worldFrame;
+	private final RefereeMsg refereeMsg;
+	private final BallLeftFieldPosition ballLeftFieldPos;
+
+
+	public AutoRefFrameStub(final AutoRefFrameStub previousFrame, final GameState gameState)
+	{
+		this(previousFrame, gameState, null, null, null);
+	}
+
+
+	public AutoRefFrameStub(final AutoRefFrameStub previousFrame, final GameState gameState,
+			final SimpleWorldFrame worldFrame, final RefereeMsg refereeMsg, final BallLeftFieldPosition ballLeftFieldPos)
+	{
+		this.previousFrame = previousFrame;
+		this.gameState = gameState;
+		this.worldFrame = worldFrame;
+		this.refereeMsg = refereeMsg;
+		this.ballLeftFieldPos = ballLeftFieldPos;
+	}
+
+
+	@Override
+	public IAutoRefFrame getPreviousFrame()
+	{
+		return previousFrame;
+	}
+
+
+	@Override
+	public SimpleWorldFrame getWorldFrame()
+	{
+		return worldFrame;
+	}
+
+
+	@Override
+	public BotSpatialGrid getBotGrid()
+	{
+		return worldFrame == null ? null : BotSpatialGrid.of(worldFrame.getBots().values());
+	}
+
+
+	@Override
+	public GameState getGameState()
+	{
+		return gameState;
+	}
+
+
+	@Override
+	public List<BotPosition> getBotsLastTouchedBall()
+	{
+		return Collections.emptyList();
+	}
+
+
+	@Override
+	public List<BotPosition> getBotsTouchingBall()
+	{
+		return Collections.emptyList();
+	}
+
+
+	@Override
+	public Optional<BallLeftFieldPosition> getBallLeftFieldPos()
+	{
+		return Optional.ofNullable(ballLeftFieldPos);
+	}
+
+
+	@Override
+	public boolean isBallInsideField()
+	{
+		return true;
+	}
+
+
+	@Override
+	public RefereeMsg getRefereeMsg()
+	{
+		return refereeMsg;
+	}
+
+
+	@Override
+	public List<GameState> getStateHistory()
+	{
+		return List.of(gameState);
+	}
+
+
+	@Override
+	public long getTimestamp()
+	{
+		return worldFrame == null ? 0 : worldFrame.getTimestamp();
+	}
+
+
+	@Override
+	public void cleanUp()
+	{
+		// nothing to clean up
+	}
+
+
+	@Override
+	public ShapeMap getShapes()
+	{
+		return null;
+	}
+}
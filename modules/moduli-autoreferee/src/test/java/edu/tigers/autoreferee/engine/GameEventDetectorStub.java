@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.autoreferee.engine;
+
+import edu.tigers.autoreferee.IAutoRefFrame;
+import edu.tigers.autoreferee.engine.detector.EGameEventDetectorType;
+import edu.tigers.autoreferee.engine.detector.IGameEventDetector;
+import edu.tigers.sumatra.referee.data.EGameState;
+import edu.tigers.sumatra.referee.gameevent.IGameEvent;
+
+import java.util.Optional;
+import java.util.Set;
+
+
+/**
+ * A detector that only counts its calls
+ */
+class GameEventDetectorStub implements IGameEventDetector
+{
+	private final EGameEventDetectorType type;
+	private final Set<EGameState> activeStates;
+	int numUpdates = 0;
+	int numResets = 0;
+
+
+	GameEventDetectorStub(final EGameEventDetectorType type, final Set<EGameState> activeStates)
+	{
+		this.type = type;
+		this.activeStates = activeStates;
+	}
+
+
+	@Override
+	public boolean isActiveIn(final EGameState state)
+	{
+		return activeStates.contains(state);
+	}
+
+
+	@Override
+	public Optional<IGameEvent> update(final IAutoRefFrame frame)
+	{
+		numUpdates++;
+		return Optional.empty();
+	}
+
+
+	@Override
+	public void reset()
+	{
+		numResets++;
+	}
+
+
+	@Override
+	public EGameEventDetectorType getType()
+	{
+		return type;
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.autoreferee.engine;
+
+import edu.tigers.autoreferee.engine.detector.EGameEventDetectorType;
+import edu.tigers.autoreferee.engine.detector.IGameEventDetector;
+import edu.tigers.autoreferee.profiler.AutoRefProfiler;
+import edu.tigers.sumatra.referee.data.EGameState;
+import edu.tigers.sumatra.referee.data.GameState;
+import edu.tigers.sumatra.referee.gameevent.IGameEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+
+/**
+ * The per-frame overhead of the {@link GameEventEngine} for 10s of frames at 100Hz with a game state change every 2s.
+ * The detectors do nothing, so only the selection of the detectors is measured.
+ * The previous selection with streams over all detectors is compared with the activation table of the engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3)
+public class GameEventEngineBenchmark
+{
+	private static final int NUM_FRAMES = 1000;
+	private static final int FRAMES_PER_STATE = 200;
+	private static final GameState[] STATES = { GameState.STOP, GameState.RUNNING, GameState.HALT };
+
+	private final List<AutoRefFrameStub> frames = new ArrayList<>();
+	private final List<IGameEventDetector> detectors = new ArrayList<>();
+	private final Set<EGameEventDetectorType> activeDetectors = EGameEventDetectorType.valuesEnabledByDefault();
+	private GameEventEngine engine;
+
+
+	public static void main(String[] args) throws Exception
+	{
+		org.openjdk.jmh.Main.main(args);
+	}
+
+
+	@Setup
+	public void setup()
+	{
+		for (EGameEventDetectorType type : EGameEventDetectorType.values())
+		{
+			Set<EGameState> activeStates = type.ordinal() % 2 == 0
+					? EnumSet.of(EGameState.RUNNING)
+					: EnumSet.of(EGameState.RUNNING, EGameState.STOP, EGameState.BALL_PLACEMENT);
+			detectors.add(new GameEventDetectorStub(type, activeStates));
+		}
+		engine = new GameEventEngine(detectors, activeDetectors, new AutoRefProfiler());
+
+		AutoRefFrameStub lastFrame = new AutoRefFrameStub(null, GameState.HALT);
+		for (int i = 0; i < NUM_FRAMES; i++)
+		{
+			lastFrame = new AutoRefFrameStub(lastFrame, STATES[(i / FRAMES_PER_STATE) % STATES.length]);
+			frames.add(lastFrame);
+		}
+	}
+
+
+	@Benchmark
+	public void streamFilter(Blackhole blackhole)
+	{
+		for (AutoRefFrameStub frame : frames)
+		{
+			GameState currentState = frame.getGameState();
+			GameState lastState = frame.getPreviousFrame().getGameState();
+			List<IGameEventDetector> activeInState = detectors.stream()
+					.filter(d -> activeDetectors.contains(d.getType()))
+					.filter(d -> d.isActiveIn(currentState.getState()))
+					.collect(Collectors.toList());
+			activeInState.stream()
+					.filter(detector -> !detector.isActiveIn(lastState.getState()))
+					.forEach(IGameEventDetector::reset);
+
+			List<IGameEvent> gameEvents = new ArrayList<>();
+			for (IGameEventDetector detector : activeInState)
+			{
+				Optional<IGameEvent> result = detector.update(frame);
+				result.ifPresent(gameEvents::add);
+			}
+			blackhole.consume(gameEvents);
+		}
+	}
+
+
+	@Benchmark
+	public void activationTable(Blackhole blackhole)
+	{
+		for (AutoRefFrameStub frame : frames)
+		{
+			blackhole.consume(engine.update(frame));
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.autoreferee.engine;
+
+import edu.tigers.autoreferee.engine.detector.EGameEventDetectorType;
+import edu.tigers.autoreferee.profiler.AutoRefProfiler;
+import edu.tigers.sumatra.referee.data.EGameState;
+import edu.tigers.sumatra.referee.data.GameState;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class GameEventEngineTest
+{
+	private final Set<EGameEventDetectorType> activeDetectors = ConcurrentHashMap.newKeySet();
+	private GameEventDetectorStub runningDetector;
+	private GameEventDetectorStub stopDetector;
+	private GameEventEngine engine;
+	private AutoRefFrameStub lastFrame;
+
+
+	@Before
+	public void setUp()
+	{
+		runningDetector = new GameEventDetectorStub(EGameEventDetectorType.GOAL, EnumSet.of(EGameState.RUNNING));
+		stopDetector = new GameEventDetectorStub(EGameEventDetectorType.BOT_STOP_SPEED,
+				EnumSet.of(EGameState.STOP, EGameState.RUNNING));
+		activeDetectors.addAll(List.of(EGameEventDetectorType.GOAL, EGameEventDetectorType.BOT_STOP_SPEED));
+		engine = new GameEventEngine(List.of(runningDetector, stopDetector), activeDetectors, new AutoRefProfiler());
+		lastFrame = new AutoRefFrameStub(null, GameState.HALT);
+	}
+
+
+	@Test
+	public void testDetectorsRunInTheirStates()
+	{
+		update(GameState.HALT);
+		assertThat(runningDetector.numUpdates).isZero();
+		assertThat(stopDetector.numUpdates).isZero();
+
+		update(GameState.STOP);
+		update(GameState.STOP);
+		assertThat(runningDetector.numUpdates).isZero();
+		assertThat(stopDetector.numUpdates).isEqualTo(2);
+
+		update(GameState.RUNNING);
+		assertThat(runningDetector.numUpdates).isEqualTo(1);
+		assertThat(stopDetector.numUpdates).isEqualTo(3);
+	}
+
+
+	@Test
+	public void testResetWhenBecomingActive()
+	{
+		update(GameState.STOP);
+		assertThat(stopDetector.numResets).isEqualTo(1);
+
+		update(GameState.STOP);
+		update(GameState.RUNNING);
+		assertThat(stopDetector.numResets).isEqualTo(1);
+		assertThat(runningDetector.numResets).isEqualTo(1);
+
+		update(GameState.RUNNING);
+		update(GameState.HALT);
+		update(GameState.RUNNING);
+		assertThat(stopDetector.numResets).isEqualTo(2);
+		assertThat(runningDetector.numResets).isEqualTo(2);
+	}
+
+
+	@Test
+	public void testActiveDetectorsChanged()
+	{
+		update(GameState.RUNNING);
+		assertThat(runningDetector.numUpdates).isEqualTo(1);
+
+		activeDetectors.remove(EGameEventDetectorType.GOAL);
+		engine.activeDetectorsChanged();
+		update(GameState.RUNNING);
+		assertThat(runningDetector.numUpdates).isEqualTo(1);
+		assertThat(stopDetector.numUpdates).isEqualTo(2);
+
+		activeDetectors.add(EGameEventDetectorType.GOAL);
+		engine.activeDetectorsChanged();
+		update(GameState.RUNNING);
+		assertThat(runningDetector.numUpdates).isEqualTo(2);
+	}
+
+
+	private void update(final GameState gameState)
+	{
+		AutoRefFrameStub frame = new AutoRefFrameStub(lastFrame, gameState);
+		assertThat(engine.update(frame)).isEmpty();
+		lastFrame = frame;
+	}
+}
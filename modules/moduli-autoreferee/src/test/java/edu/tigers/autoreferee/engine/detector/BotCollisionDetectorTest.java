@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.autoreferee.engine.detector;
+
+import edu.tigers.autoreferee.engine.AutoRefFrameStub;
+import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.ETeamColor;
+import edu.tigers.sumatra.math.vector.IVector2;
+import edu.tigers.sumatra.math.vector.Vector2;
+import edu.tigers.sumatra.referee.data.GameState;
+import edu.tigers.sumatra.referee.gameevent.BotCrashDrawn;
+import edu.tigers.sumatra.referee.gameevent.IGameEvent;
+import edu.tigers.sumatra.wp.data.ITrackedBot;
+import edu.tigers.sumatra.wp.data.SimpleWorldFrame;
+import edu.tigers.sumatra.wp.data.TrackedBall;
+import edu.tigers.sumatra.wp.data.TrackedBot;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class BotCollisionDetectorTest
+{
+	private static final long TIMESTAMP = 1_000_000_000L;
+	/** [mm] the bots touch each other */
+	private static final double CONTACT_DISTANCE = 170;
+	/** [m/s] both bots drive into each other with this speed */
+	private static final double SPEED = 3;
+
+
+	@Test
+	public void testFirstCrashInFrameOrder()
+	{
+		// two crashes in one frame, the bots of the frame are not ordered by bot id
+		List<ITrackedBot> bots = List.of(
+				bot(BotID.createBotId(5, ETeamColor.BLUE), Vector2.fromXY(-2000, 0), SPEED),
+				bot(BotID.createBotId(1, ETeamColor.BLUE), Vector2.fromXY(2000, 0), SPEED),
+				bot(BotID.createBotId(0, ETeamColor.YELLOW), Vector2.fromXY(2000 + CONTACT_DISTANCE, 0), -SPEED),
+				bot(BotID.createBotId(2, ETeamColor.YELLOW), Vector2.fromXY(-2000 + CONTACT_DISTANCE, 0), -SPEED));
+
+		Optional<IGameEvent> event = new BotCollisionDetector().update(frame(bots));
+
+		// like iterating over all blue bots and then all yellow bots of the frame, the crash of blue 5 comes first
+		assertThat(event).isPresent();
+		assertThat(event.get()).isInstanceOf(BotCrashDrawn.class);
+		BotCrashDrawn crash = (BotCrashDrawn) event.get();
+		assertThat(crash.getBotB()).isEqualTo(5);
+		assertThat(crash.getBotY()).isEqualTo(2);
+	}
+
+
+	@Test
+	public void testNeutralBotsAreIgnored()
+	{
+		List<ITrackedBot> bots = List.of(
+				bot(BotID.createBotId(1, ETeamColor.BLUE), Vector2.fromXY(0, 0), SPEED),
+				bot(BotID.createBotId(2, ETeamColor.NEUTRAL), Vector2.fromXY(CONTACT_DISTANCE, 0), -SPEED),
+				bot(BotID.createBotId(3, ETeamColor.YELLOW), Vector2.fromXY(3000, 0), 0));
+
+		assertThat(new BotCollisionDetector().update(frame(bots))).isEmpty();
+	}
+
+
+	private static ITrackedBot bot(final BotID botID, final IVector2 pos, final double velX)
+	{
+		return TrackedBot.stubBuilder(botID, TIMESTAMP)
+				.withPos(pos)
+				.withVel(Vector2.fromX(velX))
+				.build();
+	}
+
+
+	private static AutoRefFrameStub frame(final List<ITrackedBot> bots)
+	{
+		Map<BotID, ITrackedBot> botMap = new LinkedHashMap<>();
+		bots.forEach(bot -> botMap.put(bot.getBotId(), bot));
+		SimpleWorldFrame worldFrame = new SimpleWorldFrame(1, TIMESTAMP, botMap, TrackedBall.createStub(), null);
+		return new AutoRefFrameStub(null, GameState.RUNNING, worldFrame, null, null);
+	}
+}
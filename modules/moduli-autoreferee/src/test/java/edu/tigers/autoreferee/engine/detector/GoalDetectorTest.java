@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.autoreferee.engine.detector;
+
+import edu.tigers.autoreferee.engine.AutoRefFrameStub;
+import edu.tigers.sumatra.geometry.Geometry;
+import edu.tigers.sumatra.ids.ETeamColor;
+import edu.tigers.sumatra.math.vector.Vector3;
+import edu.tigers.sumatra.referee.data.GameState;
+import edu.tigers.sumatra.referee.data.RefereeMsg;
+import edu.tigers.sumatra.referee.gameevent.IGameEvent;
+import edu.tigers.sumatra.referee.gameevent.PossibleGoal;
+import edu.tigers.sumatra.wp.data.BallLeftFieldPosition;
+import edu.tigers.sumatra.wp.data.SimpleWorldFrame;
+import edu.tigers.sumatra.wp.data.TimedPosition;
+import edu.tigers.sumatra.wp.data.TrackedBall;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class GoalDetectorTest
+{
+	private ETeamColor geometryNegativeHalfTeam;
+
+
+	@Before
+	public void setUp()
+	{
+		geometryNegativeHalfTeam = Geometry.getNegativeHalfTeam();
+	}
+
+
+	@After
+	public void tearDown()
+	{
+		Geometry.setNegativeHalfTeam(geometryNegativeHalfTeam);
+	}
+
+
+	@Test
+	public void testGoalTeamFromRefereeMessage()
+	{
+		RefereeMsg blueOnNegativeHalf = refereeMsgWithNegativeHalfTeam(ETeamColor.BLUE);
+		// the global geometry disagrees, like with logs that are processed in parallel
+		Geometry.setNegativeHalfTeam(ETeamColor.YELLOW);
+
+		assertThat(goalForTeam(-6000, blueOnNegativeHalf)).isEqualTo(ETeamColor.YELLOW);
+		assertThat(goalForTeam(6000, blueOnNegativeHalf)).isEqualTo(ETeamColor.BLUE);
+	}
+
+
+	@Test
+	public void testNoGoalIfBallLeftOverGoalLine()
+	{
+		GoalDetector detector = new GoalDetector();
+		var frame = frame(-6000, BallLeftFieldPosition.EBallLeftFieldType.GOAL_LINE,
+				refereeMsgWithNegativeHalfTeam(ETeamColor.BLUE));
+		assertThat(detector.update(frame)).isEmpty();
+	}
+
+
+	private ETeamColor goalForTeam(final double x, final RefereeMsg refereeMsg)
+	{
+		GoalDetector detector = new GoalDetector();
+		Optional<IGameEvent> event = detector.update(
+				frame(x, BallLeftFieldPosition.EBallLeftFieldType.GOAL, refereeMsg));
+		assertThat(event).isPresent();
+		assertThat(event.get()).isInstanceOf(PossibleGoal.class);
+		return ((PossibleGoal) event.get()).getTeam();
+	}
+
+
+	private static RefereeMsg refereeMsgWithNegativeHalfTeam(final ETeamColor negativeHalfTeam)
+	{
+		// a new referee message takes its side assignment from the geometry
+		Geometry.setNegativeHalfTeam(negativeHalfTeam);
+		return new RefereeMsg();
+	}
+
+
+	private static AutoRefFrameStub frame(final double x, final BallLeftFieldPosition.EBallLeftFieldType type,
+			final RefereeMsg refereeMsg)
+	{
+		long timestamp = 1_000_000_000L;
+		SimpleWorldFrame worldFrame = new SimpleWorldFrame(1, timestamp, Map.of(), TrackedBall.createStub(), null);
+		BallLeftFieldPosition ballLeftFieldPos = new BallLeftFieldPosition(
+				new TimedPosition(timestamp, Vector3.fromXYZ(x, 0, 0)), type);
+		return new AutoRefFrameStub(null, GameState.RUNNING, worldFrame, refereeMsg, ballLeftFieldPos);
+	}
+}
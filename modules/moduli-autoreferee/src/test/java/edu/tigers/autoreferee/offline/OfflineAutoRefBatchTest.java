@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.autoreferee.offline;
+
+import edu.tigers.autoreferee.engine.detector.EGameEventDetectorType;
+import edu.tigers.sumatra.gamelog.EMessageType;
+import edu.tigers.sumatra.gamelog.GameLogMessage;
+import edu.tigers.sumatra.gamelog.GameLogType;
+import edu.tigers.sumatra.gamelog.GameLogWriter;
+import edu.tigers.sumatra.referee.proto.SslGcRefereeMessage;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class OfflineAutoRefBatchTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+
+	private Path writeRefereeLog(final String name, final int numMessages)
+	{
+		Path path = folder.getRoot().toPath().resolve(name);
+		GameLogWriter writer = new GameLogWriter(GameLogType.LOG_FILE);
+		writer.openPath(path.toString());
+		for (int i = 0; i < numMessages; i++)
+		{
+			long timestamp = i * 100_000_000L;
+			writer.write(new GameLogMessage(timestamp, EMessageType.SSL_REFBOX_2013,
+					refereeMessage(timestamp).toByteArray()));
+		}
+		writer.close();
+		return path;
+	}
+
+
+	private static SslGcRefereeMessage.Referee refereeMessage(final long timestamp)
+	{
+		return SslGcRefereeMessage.Referee.newBuilder()
+				.setPacketTimestamp(timestamp / 1000)
+				.setStage(SslGcRefereeMessage.Referee.Stage.NORMAL_FIRST_HALF)
+				.setCommand(SslGcRefereeMessage.Referee.Command.STOP)
+				.setCommandCounter(1)
+				.setCommandTimestamp(0)
+				.setYellow(teamInfo("yellow"))
+				.setBlue(teamInfo("blue"))
+				.build();
+	}
+
+
+	private static SslGcRefereeMessage.Referee.TeamInfo teamInfo(final String name)
+	{
+		return SslGcRefereeMessage.Referee.TeamInfo.newBuilder()
+				.setName(name)
+				.setScore(0)
+				.setRedCards(0)
+				.setYellowCards(0)
+				.setTimeouts(4)
+				.setTimeoutTime(300_000_000)
+				.setGoalkeeper(0)
+				.build();
+	}
+
+
+	@Test
+	public void testFindLogFiles() throws IOException
+	{
+		Path log = writeRefereeLog("a.log", 1);
+		Files.createDirectories(folder.getRoot().toPath().resolve("sub"));
+		Path gzLog = Files.writeString(folder.getRoot().toPath().resolve("sub/b.log.gz"), "");
+		Files.writeString(folder.getRoot().toPath().resolve("notes.txt"), "");
+
+		assertThat(OfflineAutoRefBatch.findLogFiles(folder.getRoot().toPath())).containsExactly(log, gzLog);
+	}
+
+
+	@Test
+	public void testReportsInLogOrderAndFailuresIsolated() throws IOException
+	{
+		Path log1 = writeRefereeLog("1.log", 20);
+		Path broken = folder.getRoot().toPath().resolve("broken.log");
+		Files.writeString(broken, "not a game log", StandardCharsets.US_ASCII);
+		Path log2 = writeRefereeLog("2.log", 5);
+
+		var batch = new OfflineAutoRefBatch(2, EGameEventDetectorType.valuesEnabledByDefault());
+		List<OfflineAutoRefReport> reports = batch.run(List.of(log1, broken, log2));
+
+		assertThat(reports).extracting(OfflineAutoRefReport::logFile).containsExactly(log1, broken, log2);
+		assertThat(reports).extracting(OfflineAutoRefReport::isSuccessful).containsExactly(true, false, true);
+		assertThat(reports).extracting(OfflineAutoRefReport::numMessages).containsExactly(20L, 0L, 5L);
+		// there is no vision data, so there are no world frames and no game events
+		assertThat(reports.get(0).numWorldFrames()).isZero();
+		assertThat(reports.get(0).gameEvents()).isEmpty();
+
+		Path reportDir = folder.newFolder("reports").toPath();
+		Path reportFile = reports.get(1).write(reportDir);
+		assertThat(reportFile.getFileName()).hasToString("broken.log.autoref.csv");
+		assertThat(Files.readAllLines(reportFile)).anyMatch(l -> l.startsWith("# error: "));
+	}
+}
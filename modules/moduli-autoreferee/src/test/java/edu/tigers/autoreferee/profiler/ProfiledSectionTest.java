@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.autoreferee.profiler;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class ProfiledSectionTest
+{
+	private final AutoRefProfiler profiler = new AutoRefProfiler(true);
+	private final ProfiledSection section = profiler.section("test");
+
+
+	private void measure(final int numSamples)
+	{
+		for (int i = 0; i < numSamples; i++)
+		{
+			section.begin();
+			section.end();
+		}
+	}
+
+
+	@Test
+	public void testResetIsAppliedByMeasuringThread() throws InterruptedException
+	{
+		measure(3);
+		assertThat(section.getStats().numSamples()).isEqualTo(3);
+
+		Thread guiThread = new Thread(profiler::reset);
+		guiThread.start();
+		guiThread.join();
+		// the samples are hidden until the measuring thread applies the reset
+		assertThat(section.getStats().numSamples()).isZero();
+
+		measure(2);
+		assertThat(section.getStats().numSamples()).isEqualTo(2);
+	}
+
+
+	@Test
+	public void testResetDuringMeasurement()
+	{
+		measure(3);
+		section.begin();
+		profiler.reset();
+		section.end();
+
+		assertThat(section.getStats().numSamples()).isEqualTo(1);
+	}
+}
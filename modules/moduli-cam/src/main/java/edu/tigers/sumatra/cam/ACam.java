@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.sumatra.cam;
 
@@ -9,9 +9,13 @@ import edu.tigers.sumatra.cam.data.CamGeometry;
 import edu.tigers.sumatra.cam.data.CamObjectFilterParams;
 import edu.tigers.sumatra.cam.proto.SslVisionDetection.SSL_DetectionFrame;
 import edu.tigers.sumatra.cam.proto.SslVisionWrapper.SSL_WrapperPacket;
+import edu.tigers.sumatra.thread.DispatchStats;
+import edu.tigers.sumatra.thread.EQueueOverflowPolicy;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 
@@ -21,6 +25,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public abstract class ACam extends AModule
 {
 	private final List<ICamFrameObserver> observers = new CopyOnWriteArrayList<>();
+	private final Map<ICamFrameObserver, AsyncCamFrameObserver> asyncObservers = new ConcurrentHashMap<>();
 
 	private final CamDetectionConverter camDetectionConverter = new CamDetectionConverter();
 	private final CamObjectFilter camObjectFilter = new CamObjectFilter();
@@ -43,11 +48,57 @@ public abstract class ACam extends AModule
 
 
 	/**
-	 * @param observer
+	 * Add an observer that is notified on an own thread with an own bounded queue.
+	 * The events are delivered in order, but the producer thread does not wait for the observer.
+	 * Use this for observers that are not latency-critical, like visualization, recording or exporting.
+	 *
+	 * @param observer       the observer
+	 * @param capacity       the maximum number of queued frame events
+	 * @param overflowPolicy what to do when the queue is full
+	 */
+	public void addAsyncObserver(final ICamFrameObserver observer, final int capacity,
+			final EQueueOverflowPolicy overflowPolicy)
+	{
+		AsyncCamFrameObserver asyncObserver = new AsyncCamFrameObserver(observer, capacity, overflowPolicy);
+		asyncObserver.getDispatcher().start();
+		AsyncCamFrameObserver previous = asyncObservers.put(observer, asyncObserver);
+		if (previous != null)
+		{
+			removeAsyncObserver(previous);
+		}
+		observers.add(asyncObserver);
+	}
+
+
+	/**
+	 * @param observer an observer added with {@link #addObserver} or {@link #addAsyncObserver}
 	 */
 	public void removeObserver(final ICamFrameObserver observer)
 	{
 		observers.remove(observer);
+		AsyncCamFrameObserver asyncObserver = asyncObservers.remove(observer);
+		if (asyncObserver != null)
+		{
+			removeAsyncObserver(asyncObserver);
+		}
+	}
+
+
+	private void removeAsyncObserver(final AsyncCamFrameObserver asyncObserver)
+	{
+		observers.remove(asyncObserver);
+		asyncObserver.getDispatcher().stop();
+	}
+
+
+	/**
+	 * @return the queue depth and drop counter of all observers added with {@link #addAsyncObserver}
+	 */
+	public List<DispatchStats> getAsyncObserverStats()
+	{
+		return asyncObservers.values().stream()
+				.map(o -> o.getDispatcher().getStats())
+				.toList();
 	}
 
 
@@ -98,5 +149,7 @@ public abstract class ACam extends AModule
 	protected void removeAllObservers()
 	{
 		observers.clear();
+		asyncObservers.values().forEach(o -> o.getDispatcher().stop());
+		asyncObservers.clear();
 	}
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.cam;
+
+import edu.tigers.sumatra.cam.data.CamDetectionFrame;
+import edu.tigers.sumatra.cam.data.CamGeometry;
+import edu.tigers.sumatra.cam.proto.SslVisionWrapper.SSL_WrapperPacket;
+import edu.tigers.sumatra.thread.AsyncDispatcher;
+import edu.tigers.sumatra.thread.EQueueOverflowPolicy;
+import lombok.Getter;
+
+
+/**
+ * Forwards all cam events to a delegate on an own thread, see {@link ACam#addAsyncObserver}.
+ * Frames and packets may be dropped if the delegate falls behind, geometry and clear events are always delivered.
+ */
+class AsyncCamFrameObserver implements ICamFrameObserver
+{
+	@Getter
+	private final ICamFrameObserver delegate;
+	@Getter
+	private final AsyncDispatcher dispatcher;
+
+
+	AsyncCamFrameObserver(final ICamFrameObserver delegate, final int capacity,
+			final EQueueOverflowPolicy overflowPolicy)
+	{
+		this.delegate = delegate;
+		this.dispatcher = new AsyncDispatcher(delegate.getClass().getSimpleName(), capacity, overflowPolicy);
+	}
+
+
+	@Override
+	public void onNewCamDetectionFrame(final CamDetectionFrame camDetectionFrame)
+	{
+		dispatcher.dispatch(() -> delegate.onNewCamDetectionFrame(camDetectionFrame));
+	}
+
+
+	@Override
+	public void onNewCameraGeometry(final CamGeometry geometry)
+	{
+		dispatcher.dispatchControl(() -> delegate.onNewCameraGeometry(geometry));
+	}
+
+
+	@Override
+	public void onClearCamFrame()
+	{
+		dispatcher.dispatchControl(delegate::onClearCamFrame);
+	}
+
+
+	@Override
+	public void onNewVisionPacket(final SSL_WrapperPacket packet)
+	{
+		dispatcher.dispatch(() -> delegate.onNewVisionPacket(packet));
+	}
+}
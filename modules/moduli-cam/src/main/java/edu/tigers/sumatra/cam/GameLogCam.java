@@ -7,12 +7,15 @@ package edu.tigers.sumatra.cam;
 import edu.tigers.sumatra.cam.data.CamGeometry;
 import edu.tigers.sumatra.cam.proto.SslVisionWrapper;
 import edu.tigers.sumatra.gamelog.EMessageType;
+import edu.tigers.sumatra.gamelog.GameLogIndexer;
 import edu.tigers.sumatra.gamelog.GameLogMessage;
 import edu.tigers.sumatra.gamelog.GameLogPlayer;
 import edu.tigers.sumatra.gamelog.GameLogPlayerObserver;
 import edu.tigers.sumatra.model.SumatraModel;
 import lombok.extern.log4j.Log4j2;
 
+import java.util.function.Supplier;
+
 
 /**
  * This camera listens to messages from GameLogPlayer.
@@ -22,19 +25,24 @@ import lombok.extern.log4j.Log4j2;
 public class GameLogCam extends ACam implements GameLogPlayerObserver
 {
 	private final SSLVisionCamGeometryTranslator geometryTranslator = new SSLVisionCamGeometryTranslator();
+	private final Supplier<GameLogIndexer> gameLogIndexerFactory = VisionGameLogIndexer::new;
 
 
 	@Override
 	public void startModule()
 	{
-		SumatraModel.getInstance().getModule(GameLogPlayer.class).addObserver(this);
+		GameLogPlayer gameLogPlayer = SumatraModel.getInstance().getModule(GameLogPlayer.class);
+		gameLogPlayer.addObserver(this);
+		gameLogPlayer.addIndexer(gameLogIndexerFactory);
 	}
 
 
 	@Override
 	public void stopModule()
 	{
-		SumatraModel.getInstance().getModule(GameLogPlayer.class).removeObserver(this);
+		GameLogPlayer gameLogPlayer = SumatraModel.getInstance().getModule(GameLogPlayer.class);
+		gameLogPlayer.removeObserver(this);
+		gameLogPlayer.removeIndexer(gameLogIndexerFactory);
 	}
 
 
@@ -47,7 +55,7 @@ public class GameLogCam extends ACam implements GameLogPlayerObserver
 		SslVisionWrapper.SSL_WrapperPacket sslPacket;
 		try
 		{
-			sslPacket = SslVisionWrapper.SSL_WrapperPacket.parseFrom(message.getData());
+			sslPacket = SslVisionWrapper.SSL_WrapperPacket.parseFrom(message.getDataBuffer());
 		} catch (Exception err)
 		{
 			log.error("Invalid SSL_VISION_2014 package.", err);
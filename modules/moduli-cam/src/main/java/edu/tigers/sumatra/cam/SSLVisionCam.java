@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.sumatra.cam;
 
@@ -7,14 +7,15 @@ import com.github.g3force.configurable.ConfigRegistration;
 import com.github.g3force.configurable.Configurable;
 import com.github.g3force.configurable.IConfigClient;
 import com.github.g3force.configurable.IConfigObserver;
+import com.google.protobuf.CodedInputStream;
 import edu.tigers.moduli.exceptions.InitModuleException;
 import edu.tigers.sumatra.cam.data.CamGeometry;
 import edu.tigers.sumatra.cam.proto.SslVisionWrapper.SSL_WrapperPacket;
 import edu.tigers.sumatra.clock.NanoTime;
 import edu.tigers.sumatra.gamelog.EMessageType;
-import edu.tigers.sumatra.gamelog.GameLogMessage;
 import edu.tigers.sumatra.gamelog.GameLogRecorder;
 import edu.tigers.sumatra.model.SumatraModel;
+import edu.tigers.sumatra.network.IDatagramConsumer;
 import edu.tigers.sumatra.network.IReceiverObserver;
 import edu.tigers.sumatra.network.MulticastUDPReceiver;
 import edu.tigers.sumatra.network.NetworkUtility;
@@ -22,10 +23,9 @@ import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang.StringUtils;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.net.DatagramPacket;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.NetworkInterface;
 import java.nio.ByteBuffer;
 import java.util.Optional;
@@ -38,9 +38,6 @@ import java.util.Optional;
 @Log4j2
 public class SSLVisionCam extends ACam implements Runnable, IReceiverObserver, IConfigObserver
 {
-	private static final int BUFFER_SIZE = 10000;
-	private final byte[] bufferArr = new byte[BUFFER_SIZE];
-
 	@Setter
 	private static int customPort;
 
@@ -56,8 +53,8 @@ public class SSLVisionCam extends ACam implements Runnable, IReceiverObserver, I
 	}
 
 	private Thread cam;
-	private MulticastUDPReceiver receiver;
-	private boolean expectIOE = false;
+	private volatile MulticastUDPReceiver receiver;
+	private volatile boolean expectIOE = false;
 	private int port;
 	private String address;
 	private InetAddress visionAddress;
@@ -113,39 +110,19 @@ public class SSLVisionCam extends ACam implements Runnable, IReceiverObserver, I
 	@Override
 	public void run()
 	{
-		// Create new buffer
-		final ByteBuffer buffer = ByteBuffer.wrap(bufferArr);
+		final IDatagramConsumer consumer = this::onDatagram;
 
 		while (!Thread.currentThread().isInterrupted())
 		{
 			try
 			{
-				buffer.clear();
-
-				// Fetch packet
-				final DatagramPacket packet = new DatagramPacket(buffer.array(), buffer.capacity());
-
-				if (receiver == null)
+				// Fetch all pending packets
+				final MulticastUDPReceiver currentReceiver = receiver;
+				if (currentReceiver == null)
 				{
 					break;
 				}
-				receiver.receive(packet);
-
-				visionAddress = packet.getAddress();
-				final ByteArrayInputStream packetIn = new ByteArrayInputStream(packet.getData(), 0, packet.getLength());
-
-				// Translate
-				final SSL_WrapperPacket sslPacket;
-				try
-				{
-					sslPacket = SSL_WrapperPacket.parseFrom(packetIn);
-				} catch (Exception err)
-				{
-					log.error("invalid ssl package", err);
-					continue;
-				}
-
-				publishData(sslPacket);
+				currentReceiver.receive(consumer);
 			} catch (final IOException err)
 			{
 				if (!expectIOE)
@@ -164,6 +141,32 @@ public class SSLVisionCam extends ACam implements Runnable, IReceiverObserver, I
 	}
 
 
+	private void onDatagram(final ByteBuffer data, final InetSocketAddress sender)
+	{
+		visionAddress = sender.getAddress();
+
+		// Translate
+		final SSL_WrapperPacket sslPacket;
+		try
+		{
+			sslPacket = SSL_WrapperPacket.parseFrom(CodedInputStream.newInstance(data));
+		} catch (Exception err)
+		{
+			log.error("invalid ssl package", err);
+			return;
+		}
+
+		try
+		{
+			publishData(sslPacket);
+			recordData(data);
+		} catch (Exception err)
+		{
+			log.error("Error in SSL vision cam", err);
+		}
+	}
+
+
 	private void publishData(final SSL_WrapperPacket sslPacket)
 	{
 		// start with sending out the detection. It is most time critical
@@ -180,10 +183,15 @@ public class SSLVisionCam extends ACam implements Runnable, IReceiverObserver, I
 		}
 
 		notifyNewVisionPacket(sslPacket);
+	}
+
 
-		if(gameLogRecorder != null)
+	private void recordData(final ByteBuffer data)
+	{
+		// record the received bytes as they are instead of serializing the parsed packet again
+		if (gameLogRecorder != null)
 		{
-			gameLogRecorder.writeMessage(new GameLogMessage(NanoTime.getTimestampNow(), EMessageType.SSL_VISION_2014, sslPacket.toByteArray()));
+			gameLogRecorder.writeMessage(NanoTime.getTimestampNow(), EMessageType.SSL_VISION_2014, data);
 		}
 	}
 
@@ -197,6 +205,11 @@ public class SSLVisionCam extends ACam implements Runnable, IReceiverObserver, I
 
 	private void cleanup()
 	{
+		if (receiver != null)
+		{
+			expectIOE = true;
+		}
+
 		if (cam != null)
 		{
 			cam.interrupt();
@@ -205,7 +218,6 @@ public class SSLVisionCam extends ACam implements Runnable, IReceiverObserver, I
 
 		if (receiver != null)
 		{
-			expectIOE = true;
 			receiver.close();
 			receiver = null;
 		}
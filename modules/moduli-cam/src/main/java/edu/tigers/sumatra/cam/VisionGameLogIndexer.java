@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.cam;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import edu.tigers.sumatra.cam.proto.SslVisionDetection.SSL_DetectionFrame;
+import edu.tigers.sumatra.cam.proto.SslVisionWrapper.SSL_WrapperPacket;
+import edu.tigers.sumatra.gamelog.EMessageType;
+import edu.tigers.sumatra.gamelog.GameLogIndexer;
+import edu.tigers.sumatra.gamelog.GameLogMessage;
+import edu.tigers.sumatra.gamelog.GameLogSeekIndex;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+
+
+/**
+ * Marks the vision detection frames of each camera in a game log with their frame number.
+ * Only the frame number and camera id are read from the protobuf data, the rest of the packet is skipped.
+ */
+@Log4j2
+public class VisionGameLogIndexer implements GameLogIndexer
+{
+	private static final String VISION_FRAME = "vision.frame.";
+
+
+	/**
+	 * @param cameraId the camera id
+	 * @return the marker key of the detection frames of the given camera. The value is the frame number.
+	 */
+	public static String visionFrameMarker(final int cameraId)
+	{
+		return VISION_FRAME + cameraId;
+	}
+
+
+	@Override
+	public void index(final GameLogMessage message, final int index, final GameLogSeekIndex.Builder builder)
+	{
+		if (message.getType() != EMessageType.SSL_VISION_2014)
+		{
+			return;
+		}
+
+		try
+		{
+			CodedInputStream in = CodedInputStream.newInstance(message.getDataBuffer());
+			int tag;
+			while ((tag = in.readTag()) != 0)
+			{
+				if (WireFormat.getTagFieldNumber(tag) == SSL_WrapperPacket.DETECTION_FIELD_NUMBER
+						&& WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_LENGTH_DELIMITED)
+				{
+					int oldLimit = in.pushLimit(in.readRawVarint32());
+					indexDetection(in, index, builder);
+					in.popLimit(oldLimit);
+					return;
+				}
+				in.skipField(tag);
+			}
+		} catch (IOException err)
+		{
+			log.debug("Invalid SSL_VISION_2014 package in message {}.", index, err);
+		}
+	}
+
+
+	private void indexDetection(final CodedInputStream in, final int index, final GameLogSeekIndex.Builder builder)
+			throws IOException
+	{
+		long frameNumber = -1;
+		int cameraId = -1;
+		int tag;
+		while ((tag = in.readTag()) != 0 && (frameNumber < 0 || cameraId < 0))
+		{
+			switch (WireFormat.getTagFieldNumber(tag))
+			{
+				case SSL_DetectionFrame.FRAME_NUMBER_FIELD_NUMBER -> frameNumber = in.readUInt32() & 0xFFFFFFFFL;
+				case SSL_DetectionFrame.CAMERA_ID_FIELD_NUMBER -> cameraId = in.readUInt32();
+				default -> in.skipField(tag);
+			}
+		}
+
+		if (frameNumber >= 0 && cameraId >= 0)
+		{
+			builder.addMarker(visionFrameMarker(cameraId), index, frameNumber);
+		}
+	}
+}
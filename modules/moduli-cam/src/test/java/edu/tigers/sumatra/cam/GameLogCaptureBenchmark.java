@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.cam;
+
+import edu.tigers.sumatra.cam.proto.SslVisionDetection.SSL_DetectionBall;
+import edu.tigers.sumatra.cam.proto.SslVisionDetection.SSL_DetectionFrame;
+import edu.tigers.sumatra.cam.proto.SslVisionDetection.SSL_DetectionRobot;
+import edu.tigers.sumatra.cam.proto.SslVisionWrapper.SSL_WrapperPacket;
+import edu.tigers.sumatra.gamelog.EMessageType;
+import edu.tigers.sumatra.gamelog.GameLogMessage;
+import edu.tigers.sumatra.gamelog.GameLogRecorder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+
+/**
+ * Compare the allocation rate of recording vision packets by re-serializing the parsed packet
+ * with recording the received datagram bytes directly.
+ * Run with "-prof gc" to see the allocated bytes per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 2, warmups = 1)
+@Warmup(iterations = 2)
+public class GameLogCaptureBenchmark
+{
+	private static final int NUM_ROBOTS_PER_TEAM = 11;
+
+	private final GameLogRecorder recorder = new GameLogRecorder();
+	private byte[] datagram;
+	private Path logFile;
+
+
+	public static void main(String[] args) throws Exception
+	{
+		org.openjdk.jmh.Main.main(args);
+	}
+
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException
+	{
+		datagram = createPacket().toByteArray();
+		logFile = Files.createTempFile("capture-benchmark", ".log");
+		recorder.startRecording(logFile.toString());
+	}
+
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		recorder.setRecording(false);
+		Files.deleteIfExists(logFile);
+	}
+
+
+	@Benchmark
+	public SSL_WrapperPacket reserialize() throws IOException
+	{
+		SSL_WrapperPacket packet = SSL_WrapperPacket.parseFrom(new ByteArrayInputStream(datagram));
+		recorder.writeMessage(new GameLogMessage(System.nanoTime(), EMessageType.SSL_VISION_2014, packet.toByteArray()));
+		return packet;
+	}
+
+
+	@Benchmark
+	public SSL_WrapperPacket rawDatagram() throws IOException
+	{
+		SSL_WrapperPacket packet = SSL_WrapperPacket.parseFrom(new ByteArrayInputStream(datagram));
+		recorder.writeMessage(System.nanoTime(), EMessageType.SSL_VISION_2014, datagram, 0, datagram.length);
+		return packet;
+	}
+
+
+	private SSL_WrapperPacket createPacket()
+	{
+		Random rnd = new Random(42);
+		SSL_DetectionFrame.Builder frame = SSL_DetectionFrame.newBuilder()
+				.setFrameNumber(4711)
+				.setTCapture(1.0)
+				.setTSent(1.01)
+				.setCameraId(0)
+				.addBalls(SSL_DetectionBall.newBuilder()
+						.setConfidence(0.9f)
+						.setX(rnd.nextFloat() * 1000)
+						.setY(rnd.nextFloat() * 1000)
+						.setPixelX(rnd.nextFloat() * 1000)
+						.setPixelY(rnd.nextFloat() * 1000));
+		for (int i = 0; i < NUM_ROBOTS_PER_TEAM; i++)
+		{
+			frame.addRobotsYellow(createRobot(rnd, i));
+			frame.addRobotsBlue(createRobot(rnd, i));
+		}
+		return SSL_WrapperPacket.newBuilder().setDetection(frame).build();
+	}
+
+
+	private SSL_DetectionRobot createRobot(Random rnd, int id)
+	{
+		return SSL_DetectionRobot.newBuilder()
+				.setConfidence(0.9f)
+				.setRobotId(id)
+				.setX(rnd.nextFloat() * 1000)
+				.setY(rnd.nextFloat() * 1000)
+				.setOrientation(rnd.nextFloat())
+				.setPixelX(rnd.nextFloat() * 1000)
+				.setPixelY(rnd.nextFloat() * 1000)
+				.setHeight(150)
+				.build();
+	}
+}
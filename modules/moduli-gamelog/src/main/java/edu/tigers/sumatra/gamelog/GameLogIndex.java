@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.gamelog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+
+/**
+ * Compact index over the messages of a memory-mapped game log file.
+ * <p>
+ * Only offsets, lengths, timestamps and types are kept on the heap in primitive arrays.
+ * Message payloads are handed out lazily as slices of the mapped file.
+ * Each element returned by {@link #get(int)} is a new {@link GameLogMessage} backed by such a slice.
+ * Timestamp adjustments on these elements are stored in the index, so they are kept for later accesses.
+ * </p>
+ */
+public class GameLogIndex extends AbstractList<GameLogMessage> implements RandomAccess
+{
+	private static final EMessageType[] MESSAGE_TYPES = EMessageType.values();
+	private static final int INITIAL_CAPACITY = 1 << 16;
+	/** Maximum size of a single mapped region. Regions always start at a message boundary. */
+	private static final long MAX_REGION_SIZE = 1L << 30;
+
+	private final Path file;
+
+	private long[] offsets = new long[INITIAL_CAPACITY];
+	private long[] timestamps = new long[INITIAL_CAPACITY];
+	private int[] lengths = new int[INITIAL_CAPACITY];
+	private byte[] types = new byte[INITIAL_CAPACITY];
+	private int numMessages = 0;
+	/** added to the recorded timestamps, only allocated once a timestamp is adjusted */
+	private long[] timestampOffsets;
+
+	private long[] regionStarts = new long[0];
+	private MappedByteBuffer[] regions = new MappedByteBuffer[0];
+
+
+	GameLogIndex(final Path file)
+	{
+		this.file = file;
+	}
+
+
+	/**
+	 * Add a message to the index.
+	 *
+	 * @param offset      offset of the message data in the file
+	 * @param timestampNs receiver timestamp in ns
+	 * @param type        message type
+	 * @param length      length of the message data
+	 */
+	void add(final long offset, final long timestampNs, final EMessageType type, final int length)
+	{
+		if (numMessages == offsets.length)
+		{
+			int newCapacity = offsets.length + (offsets.length >> 1);
+			offsets = Arrays.copyOf(offsets, newCapacity);
+			timestamps = Arrays.copyOf(timestamps, newCapacity);
+			lengths = Arrays.copyOf(lengths, newCapacity);
+			types = Arrays.copyOf(types, newCapacity);
+		}
+		offsets[numMessages] = offset;
+		timestamps[numMessages] = timestampNs;
+		lengths[numMessages] = length;
+		types[numMessages] = (byte) type.ordinal();
+		numMessages++;
+	}
+
+
+	/**
+	 * Trim the index and map the indexed file into memory.
+	 *
+	 * @throws IOException if the file could not be mapped
+	 */
+	void finish() throws IOException
+	{
+		offsets = Arrays.copyOf(offsets, numMessages);
+		timestamps = Arrays.copyOf(timestamps, numMessages);
+		lengths = Arrays.copyOf(lengths, numMessages);
+		types = Arrays.copyOf(types, numMessages);
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			int numRegions = 0;
+			int message = 0;
+			while (message < numMessages)
+			{
+				long start = offsets[message];
+				long end = start + lengths[message];
+				message++;
+				while (message < numMessages && offsets[message] + lengths[message] - start <= MAX_REGION_SIZE)
+				{
+					end = offsets[message] + lengths[message];
+					message++;
+				}
+
+				regionStarts = Arrays.copyOf(regionStarts, numRegions + 1);
+				regions = Arrays.copyOf(regions, numRegions + 1);
+				regionStarts[numRegions] = start;
+				regions[numRegions] = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+				numRegions++;
+			}
+		}
+	}
+
+
+	@Override
+	public GameLogMessage get(final int index)
+	{
+		return new IndexedMessage(index);
+	}
+
+
+	@Override
+	public int size()
+	{
+		return numMessages;
+	}
+
+
+	/**
+	 * @param index message index
+	 * @return receiver timestamp in ns
+	 */
+	public long getTimestampNs(final int index)
+	{
+		checkIndex(index);
+		if (timestampOffsets == null)
+		{
+			return timestamps[index];
+		}
+		return timestamps[index] + timestampOffsets[index];
+	}
+
+
+	/**
+	 * Shift the timestamp of a message. The recorded timestamp in the file is not changed.
+	 *
+	 * @param index message index
+	 * @param adj   [ns] added to the timestamp
+	 */
+	public void adjustTimestamp(final int index, final long adj)
+	{
+		checkIndex(index);
+		if (timestampOffsets == null)
+		{
+			timestampOffsets = new long[numMessages];
+		}
+		timestampOffsets[index] += adj;
+	}
+
+
+	/**
+	 * @param index message index
+	 * @return message type
+	 */
+	public EMessageType getType(final int index)
+	{
+		checkIndex(index);
+		return MESSAGE_TYPES[types[index]];
+	}
+
+
+	/**
+	 * @param index message index
+	 * @return a read-only slice of the mapped file containing the message data
+	 */
+	public ByteBuffer getData(final int index)
+	{
+		checkIndex(index);
+		long offset = offsets[index];
+		int region = Arrays.binarySearch(regionStarts, offset);
+		if (region < 0)
+		{
+			region = -region - 2;
+		}
+		return regions[region].slice((int) (offset - regionStarts[region]), lengths[index]);
+	}
+
+
+	private void checkIndex(final int index)
+	{
+		if (index < 0 || index >= numMessages)
+		{
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + numMessages);
+		}
+	}
+
+
+	/**
+	 * A message of the index that passes timestamp adjustments on to the index
+	 */
+	private class IndexedMessage extends GameLogMessage
+	{
+		private final int index;
+
+
+		IndexedMessage(final int index)
+		{
+			super(GameLogIndex.this.getTimestampNs(index), GameLogIndex.this.getType(index),
+					GameLogIndex.this.getData(index));
+			this.index = index;
+		}
+
+
+		@Override
+		public void adjustTimestamp(final long adj)
+		{
+			super.adjustTimestamp(adj);
+			GameLogIndex.this.adjustTimestamp(index, adj);
+		}
+	}
+}
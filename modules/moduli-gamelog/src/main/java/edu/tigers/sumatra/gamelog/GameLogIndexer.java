@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.gamelog;
+
+/**
+ * Finds markers (like referee command changes) in a game log while a {@link GameLogSeekIndex} is built.
+ * Implementations are called once for each message in order and may keep state between messages.
+ */
+public interface GameLogIndexer
+{
+	/**
+	 * @return a unique and stable name of this indexer, used to validate persisted indices
+	 */
+	default String getName()
+	{
+		return getClass().getName();
+	}
+
+
+	/**
+	 * Process the next message.
+	 *
+	 * @param message the message
+	 * @param index   the index of the message in the log
+	 * @param builder builder to add markers to
+	 */
+	void index(GameLogMessage message, int index, GameLogSeekIndex.Builder builder);
+}
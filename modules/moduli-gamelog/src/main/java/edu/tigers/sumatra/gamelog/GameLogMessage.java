@@ -4,25 +4,91 @@
 
 package edu.tigers.sumatra.gamelog;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.nio.ByteBuffer;
+
 
 /**
  * Container for a logged message. Just bundles time, type, and binary data.
+ * The binary data is either stored in a heap array or backed by a (read-only) buffer, like a slice of a
+ * memory-mapped log file.
  */
-@Getter
-@AllArgsConstructor
 public class GameLogMessage
 {
 	/** Receiver timestamp in ns. */
+	@Getter
 	private long timestampNs;
 
-	private EMessageType type;
+	@Getter
+	private final EMessageType type;
 
 	/** Binary message data. */
 	private byte[] data;
 
+	private final ByteBuffer dataBuffer;
+
+
+	public GameLogMessage(final long timestampNs, final EMessageType type, final byte[] data)
+	{
+		this.timestampNs = timestampNs;
+		this.type = type;
+		this.data = data;
+		this.dataBuffer = null;
+	}
+
+
+	public GameLogMessage(final long timestampNs, final EMessageType type, final ByteBuffer dataBuffer)
+	{
+		this.timestampNs = timestampNs;
+		this.type = type;
+		this.dataBuffer = dataBuffer;
+	}
+
+
+	/**
+	 * Get the binary message data. If this message is backed by a buffer, the data is copied on first access.
+	 * Use {@link #getDataBuffer()} to avoid the copy.
+	 *
+	 * @return the binary message data
+	 */
+	public byte[] getData()
+	{
+		if (data == null)
+		{
+			data = new byte[dataBuffer.remaining()];
+			dataBuffer.duplicate().get(data);
+		}
+		return data;
+	}
+
+
+	/**
+	 * @return a read-only view on the binary message data without copying it
+	 */
+	public ByteBuffer getDataBuffer()
+	{
+		if (dataBuffer != null)
+		{
+			return dataBuffer.asReadOnlyBuffer();
+		}
+		return ByteBuffer.wrap(data).asReadOnlyBuffer();
+	}
+
+
+	/**
+	 * @return the length of the binary message data in bytes
+	 */
+	public int getDataLength()
+	{
+		if (dataBuffer != null)
+		{
+			return dataBuffer.remaining();
+		}
+		return data.length;
+	}
+
+
 	public void adjustTimestamp(final long adj)
 	{
 		timestampNs += adj;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2023, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.gamelog;
@@ -11,7 +11,10 @@ import lombok.extern.log4j.Log4j2;
 
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 
 /**
@@ -26,7 +29,7 @@ public class GameLogPlayer extends AModule
 
 	private Thread player;
 
-	private GameLogReader newLogfile;
+	private final AtomicReference<LoadedLog> newLogfile = new AtomicReference<>();
 
 	@Setter
 	private boolean pause = false;
@@ -40,12 +43,14 @@ public class GameLogPlayer extends AModule
 
 	private int doSteps = 0;
 	private Function<GameLogMessage, GameLogCompareResult> seekCondition;
+	private ToIntFunction<GameLogSeekIndex> indexedSeek;
 
 	private int currentFrame = 0;
 
 	private long lastFrameTimestamp = 0;
 
 	private final List<GameLogPlayerObserver> observers = new CopyOnWriteArrayList<>();
+	private final List<Supplier<GameLogIndexer>> indexerFactories = new CopyOnWriteArrayList<>();
 
 
 	@Override
@@ -69,7 +74,55 @@ public class GameLogPlayer extends AModule
 
 	public void setLogfile(final GameLogReader logfile)
 	{
-		newLogfile = logfile;
+		setLogfile(logfile, null);
+	}
+
+
+	/**
+	 * Set a new logfile together with its seek index.
+	 * The index enables {@link #seekToTime(long)} and {@link #seekToNextMarker(String)}.
+	 *
+	 * @param logfile   the logfile to play
+	 * @param seekIndex the seek index of the logfile, may be null
+	 */
+	public void setLogfile(final GameLogReader logfile, final GameLogSeekIndex seekIndex)
+	{
+		newLogfile.set(new LoadedLog(logfile, seekIndex));
+	}
+
+
+	/**
+	 * Load a logfile, load or build its seek index with all registered indexers and play it.
+	 * The logfile is memory-mapped, so only a compact index of the messages is kept on the heap.
+	 * This call blocks until the logfile is indexed.
+	 *
+	 * @param path the path to the logfile
+	 */
+	public void openLogfile(final String path)
+	{
+		GameLogReader logfile = new GameLogReader();
+		logfile.setMemoryMapped(true);
+		logfile.loadFileBlocking(path);
+		List<GameLogIndexer> indexers = indexerFactories.stream().map(Supplier::get).toList();
+		setLogfile(logfile, GameLogSeekIndex.forLog(path, logfile.getMessages(), indexers));
+	}
+
+
+	/**
+	 * Register an indexer for the seek index of logfiles opened with {@link #openLogfile(String)}.
+	 * Indexers keep state while indexing, so a new one is created for each logfile.
+	 *
+	 * @param indexerFactory creates a new indexer
+	 */
+	public void addIndexer(final Supplier<GameLogIndexer> indexerFactory)
+	{
+		indexerFactories.add(indexerFactory);
+	}
+
+
+	public void removeIndexer(final Supplier<GameLogIndexer> indexerFactory)
+	{
+		indexerFactories.remove(indexerFactory);
 	}
 
 
@@ -96,6 +149,39 @@ public class GameLogPlayer extends AModule
 	}
 
 
+	/**
+	 * Jump to the first frame at or after the given timestamp. Requires a seek index.
+	 *
+	 * @param timestampNs the receiver timestamp to jump to
+	 */
+	public void seekToTime(final long timestampNs)
+	{
+		indexedSeek = index -> index.findFrame(timestampNs);
+	}
+
+
+	/**
+	 * Jump to the next marker (like a referee command change) after the current frame. Requires a seek index.
+	 *
+	 * @param markerKey the marker key, as defined by the {@link GameLogIndexer} that created the marker
+	 */
+	public void seekToNextMarker(final String markerKey)
+	{
+		indexedSeek = index -> index.findNextMarker(markerKey, currentFrame);
+	}
+
+
+	/**
+	 * Jump to the previous marker before the current frame. Requires a seek index.
+	 *
+	 * @param markerKey the marker key, as defined by the {@link GameLogIndexer} that created the marker
+	 */
+	public void seekToPreviousMarker(final String markerKey)
+	{
+		indexedSeek = index -> index.findPreviousMarker(markerKey, currentFrame);
+	}
+
+
 	public void addObserver(final GameLogPlayerObserver observer)
 	{
 		observers.add(observer);
@@ -113,8 +199,7 @@ public class GameLogPlayer extends AModule
 		while (!Thread.interrupted())
 		{
 			// take new logfile if we have one
-			GameLogReader currentLog = newLogfile;
-			newLogfile = null;
+			LoadedLog currentLog = newLogfile.getAndSet(null);
 
 			// no log to play? nothing to do!
 			if (currentLog == null)
@@ -169,11 +254,12 @@ public class GameLogPlayer extends AModule
 	}
 
 
-	private void playLog(final GameLogReader currentLog)
+	private void playLog(final LoadedLog currentLog)
 	{
-		for (currentFrame = 0; currentFrame < currentLog.getMessages().size(); currentFrame++)
+		List<GameLogMessage> messages = currentLog.reader().getMessages();
+		for (currentFrame = 0; currentFrame < messages.size(); currentFrame++)
 		{
-			if (newLogfile != null)
+			if (newLogfile.get() != null)
 			{
 				return;
 			}
@@ -185,18 +271,18 @@ public class GameLogPlayer extends AModule
 				return;
 			}
 
-			publishFrameAndSleep(currentLog.getMessages().get(currentFrame));
+			publishFrameAndSleep(messages.get(currentFrame));
 		}
 	}
 
 
-	private void adjustCurrentFrame(final GameLogReader currentLog)
+	private void adjustCurrentFrame(final LoadedLog currentLog)
 	{
-		final int numPackets = currentLog.getMessages().size();
+		final int numPackets = currentLog.reader().getMessages().size();
 
 		while (pause)
 		{
-			if ((doSteps != 0) || (newLogfile != null))
+			if ((doSteps != 0) || (newLogfile.get() != null))
 			{
 				break;
 			}
@@ -213,10 +299,16 @@ public class GameLogPlayer extends AModule
 
 		if (seekCondition != null)
 		{
-			seekForwardTo(currentLog, seekCondition);
+			seekForwardTo(currentLog.reader(), seekCondition);
 			seekCondition = null;
 		}
 
+		if (indexedSeek != null)
+		{
+			seekWithIndex(currentLog.seekIndex(), indexedSeek);
+			indexedSeek = null;
+		}
+
 		if (doSteps != 0)
 		{
 			currentFrame += doSteps - 1;
@@ -267,6 +359,22 @@ public class GameLogPlayer extends AModule
 	}
 
 
+	private void seekWithIndex(final GameLogSeekIndex seekIndex, final ToIntFunction<GameLogSeekIndex> seek)
+	{
+		if (seekIndex == null)
+		{
+			log.warn("No seek index available for current logfile");
+			return;
+		}
+
+		int frame = seek.applyAsInt(seekIndex);
+		if (frame >= 0)
+		{
+			setPosition(frame);
+		}
+	}
+
+
 	private int findFrameWithCondition(final GameLogReader currentLog, final int startFrame,
 			final Function<GameLogMessage, GameLogCompareResult> condition, GameLogCompareResult requiredVerdict)
 	{
@@ -317,4 +425,10 @@ public class GameLogPlayer extends AModule
 	}
 
 
+	/**
+	 * A logfile together with the seek index that was built for it.
+	 */
+	private record LoadedLog(GameLogReader reader, GameLogSeekIndex seekIndex)
+	{
+	}
 }
@@ -4,15 +4,22 @@
 
 package edu.tigers.sumatra.gamelog;
 
+import com.google.common.io.CountingInputStream;
 import com.google.common.primitives.Bytes;
 import edu.tigers.sumatra.gamelog.filters.MessageFilter;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 
+import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -26,6 +33,8 @@ import java.util.zip.GZIPInputStream;
 @Log4j2
 public class GameLogReader
 {
+	private static final int INDEX_BUFFER_SIZE = 1 << 16;
+
 	@Getter
 	private GameLogType fileType = GameLogType.UNKNOWN;
 	@Getter
@@ -34,6 +43,13 @@ public class GameLogReader
 	@Getter
 	private List<GameLogMessage> messages = new ArrayList<>();
 
+	/**
+	 * If enabled, the log file is memory-mapped and only a compact {@link GameLogIndex} is kept on the heap.
+	 * Compressed logs are decompressed once into a temporary file.
+	 */
+	@Setter
+	private boolean memoryMapped = false;
+
 	private GameLogReaderObserver loadCompleteObserver = null;
 
 	/**
@@ -69,6 +85,12 @@ public class GameLogReader
 
 	public void loadFileBlocking(final String path)
 	{
+		if (memoryMapped)
+		{
+			loadFileMapped(path);
+			return;
+		}
+
 		try (FileInputStream fileInStream = new FileInputStream(path))
 		{
 			DataInputStream fileStream;
@@ -100,6 +122,46 @@ public class GameLogReader
 	}
 
 
+	private void loadFileMapped(final String path)
+	{
+		try
+		{
+			Path file = path.endsWith(".gz") ? decompress(Path.of(path)) : Path.of(path);
+			GameLogIndex index = new GameLogIndex(file);
+			try (CountingInputStream countingStream = new CountingInputStream(
+					new BufferedInputStream(new FileInputStream(file.toFile()), INDEX_BUFFER_SIZE));
+					DataInputStream fileStream = new DataInputStream(countingStream))
+			{
+				if (!parseHeader(fileStream))
+					throw new IOException("Unhandled log file type.");
+
+				indexMessages(fileStream, countingStream, Files.size(file), index);
+			}
+			index.finish();
+			messages = index;
+			log.info("Indexed {} messages", index.size());
+			notifyLoadComplete(true);
+		} catch (IOException e)
+		{
+			notifyLoadComplete(false);
+			log.error("Loading logfile failed", e);
+		}
+	}
+
+
+	private Path decompress(final Path path) throws IOException
+	{
+		Path tmpFile = Files.createTempFile("gamelog", ".log");
+		tmpFile.toFile().deleteOnExit();
+		log.info("Decompressing {} to {}", path, tmpFile);
+		try (InputStream in = new GZIPInputStream(new FileInputStream(path.toFile()), INDEX_BUFFER_SIZE))
+		{
+			Files.copy(in, tmpFile, StandardCopyOption.REPLACE_EXISTING);
+		}
+		return tmpFile;
+	}
+
+
 	public void addFilter(final MessageFilter filter)
 	{
 		filters.add(filter);
@@ -107,6 +169,27 @@ public class GameLogReader
 
 
 	private boolean parseHeader(DataInputStream fileStream) throws IOException
+	{
+		Header header = readHeader(fileStream);
+		if (header == null)
+		{
+			return false;
+		}
+
+		fileType = header.type();
+		versionNumber = header.version();
+		return true;
+	}
+
+
+	/**
+	 * Read the header of a log file.
+	 *
+	 * @param fileStream stream positioned at the start of the file
+	 * @return the header or null, if it is not an SSL log file
+	 * @throws IOException on read errors
+	 */
+	static Header readHeader(DataInputStream fileStream) throws IOException
 	{
 		byte[] nextBytes = new byte[4];
 		fileStream.readFully(nextBytes);
@@ -115,7 +198,7 @@ public class GameLogReader
 		if (!"SSL_".equals(startHeader))
 		{
 			log.warn("Unknown header: {}", startHeader);
-			return false;
+			return null;
 		}
 
 		List<Byte> middleHeaderBuilder = new ArrayList<>();
@@ -137,12 +220,10 @@ public class GameLogReader
 				.filter(logFileType -> logFileType.getHeader().equals(headerString)).findFirst();
 
 
-		versionNumber = fileStream.readInt();
-		log.info("Logfile header: {}, Version: {}", headerString, versionNumber);
-
-		fileType = optionalLogFileType.orElse(GameLogType.UNKNOWN);
+		int version = fileStream.readInt();
+		log.info("Logfile header: {}, Version: {}", headerString, version);
 
-		return true;
+		return new Header(optionalLogFileType.orElse(GameLogType.UNKNOWN), version);
 	}
 
 
@@ -170,6 +251,42 @@ public class GameLogReader
 	}
 
 
+	private void indexMessages(DataInputStream fileStream, CountingInputStream countingStream, long fileSize,
+			GameLogIndex index) throws IOException
+	{
+		try
+		{
+			while (countingStream.getCount() < fileSize)
+			{
+				long timestamp = fileStream.readLong();
+				EMessageType msgType = EMessageType.getMessageTypeConstant(fileStream.readInt());
+				int msgSize = fileStream.readInt();
+				long offset = countingStream.getCount();
+
+				if (offset + msgSize > fileSize)
+				{
+					log.info("Skipping truncated message at end of logfile");
+					return;
+				}
+
+				boolean isFiltered = filters.stream().anyMatch(f -> !f.filter(timestamp, msgType));
+				if (!isFiltered)
+				{
+					index.add(offset, timestamp, msgType, msgSize);
+				}
+				fileStream.skipNBytes(msgSize);
+			}
+		} catch (EOFException e)
+		{
+			log.info("Skipping truncated message header at end of logfile");
+		}
+	}
+
+
+	record Header(GameLogType type, int version)
+	{
+	}
+
 	@FunctionalInterface
 	public interface GameLogReaderObserver
 	{
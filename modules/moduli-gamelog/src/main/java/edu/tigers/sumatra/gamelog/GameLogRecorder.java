@@ -1,15 +1,50 @@
 /*
- * Copyright (c) 2009 - 2023, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.gamelog;
 
 import edu.tigers.moduli.AModule;
+import lombok.extern.log4j.Log4j2;
 
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
+
+/**
+ * Records game log messages to a file.
+ * Messages are handed over to a dedicated writer thread through a bounded queue, so that
+ * producers (like the vision receiver) are never blocked by disk I/O.
+ * If the queue is full, new messages are dropped and counted.
+ * The writer thread parks while the queue is empty and is unparked by every new message.
+ * Message data is copied into pooled buffers, so the producer can reuse its receive buffer
+ * and no garbage is created per message once the pool is warmed up.
+ */
+@Log4j2
 public class GameLogRecorder extends AModule
 {
+	private static final int DEFAULT_QUEUE_CAPACITY = 4096;
+	private static final long DEFAULT_SYNC_PERIOD_MS = 1000;
+
 	private final GameLogWriter writer = new GameLogWriter(GameLogType.LOG_FILE);
+	private final Queue<RecordEntry> queue = new ConcurrentLinkedQueue<>();
+	private final Queue<RecordEntry> freeEntries = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queueSize = new AtomicInteger();
+	private final AtomicInteger maxQueueSize = new AtomicInteger();
+	private final AtomicLong numWritten = new AtomicLong();
+	private final AtomicLong numDropped = new AtomicLong();
+
+	private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+	private long syncPeriodNs = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SYNC_PERIOD_MS);
+
+	private volatile boolean recording = false;
+	private volatile Thread writerThread;
+
 	private String matchType = "";
 	private String matchStage = "";
 	private String teamYellow = "";
@@ -31,30 +66,299 @@ public class GameLogRecorder extends AModule
 	}
 
 
+	@Override
+	public void initModule()
+	{
+		queueCapacity = getSubnodeConfiguration().getInt("queueCapacity", DEFAULT_QUEUE_CAPACITY);
+		syncPeriodNs = TimeUnit.MILLISECONDS.toNanos(
+				getSubnodeConfiguration().getLong("syncPeriodMs", DEFAULT_SYNC_PERIOD_MS));
+	}
+
+
 	@Override
 	public void stopModule()
 	{
-		if (writer.isOpen())
-		{
-			writer.close();
-		}
+		setRecording(false);
 	}
 
 
-	public void setRecording(boolean enable)
+	public synchronized void setRecording(boolean enable)
 	{
-		if (enable && !writer.isOpen())
+		if (enable && !recording)
 		{
 			writer.open(matchType, matchStage, teamYellow, teamBlue);
-		} else if (!enable && writer.isOpen())
+			startWriterThreadIfOpen();
+		} else if (!enable && recording)
+		{
+			stopWriterThread();
+		}
+	}
+
+
+	/**
+	 * Start recording into the given file instead of a generated file in the gamelog folder.
+	 *
+	 * @param fullPath path of the new game log file
+	 */
+	public synchronized void startRecording(final String fullPath)
+	{
+		if (!recording)
 		{
-			writer.close();
+			writer.openPath(fullPath);
+			startWriterThreadIfOpen();
 		}
 	}
 
 
+	/**
+	 * @return true, if messages are currently recorded
+	 */
+	public boolean isRecording()
+	{
+		return recording;
+	}
+
+
+	/**
+	 * Queue a message for writing. This method never blocks.
+	 *
+	 * @param msg the message to record
+	 */
 	public void writeMessage(final GameLogMessage msg)
 	{
-		writer.write(msg);
+		writeMessage(msg.getTimestampNs(), msg.getType(), msg.getData(), 0, msg.getData().length);
+	}
+
+
+	/**
+	 * Queue a message for writing. The data is copied, so the given buffer can be reused directly afterward.
+	 * This method never blocks.
+	 *
+	 * @param timestampNs receiver timestamp in ns
+	 * @param type        message type
+	 * @param data        buffer containing the binary message data, e.g. a received datagram
+	 * @param offset      start of the message data in the buffer
+	 * @param length      length of the message data
+	 */
+	public void writeMessage(final long timestampNs, final EMessageType type, final byte[] data, final int offset,
+			final int length)
+	{
+		RecordEntry entry = acquireEntry();
+		if (entry != null)
+		{
+			entry.set(timestampNs, type, data, offset, length);
+			enqueue(entry);
+		}
+	}
+
+
+	/**
+	 * Queue a message for writing. The data is copied, so the given buffer can be reused directly afterward.
+	 * This method never blocks.
+	 *
+	 * @param timestampNs receiver timestamp in ns
+	 * @param type        message type
+	 * @param data        buffer containing the binary message data from its position to its limit,
+	 *                    the position is not modified
+	 */
+	public void writeMessage(final long timestampNs, final EMessageType type, final ByteBuffer data)
+	{
+		RecordEntry entry = acquireEntry();
+		if (entry != null)
+		{
+			entry.set(timestampNs, type, data);
+			enqueue(entry);
+		}
+	}
+
+
+	private void enqueue(final RecordEntry entry)
+	{
+		queue.add(entry);
+		// Always unpark: the queue size is only decremented after an entry was polled, so the size can not tell
+		// whether the writer has already seen an empty queue and parks.
+		LockSupport.unpark(writerThread);
+	}
+
+
+	private RecordEntry acquireEntry()
+	{
+		if (!recording)
+		{
+			return null;
+		}
+
+		int size = queueSize.incrementAndGet();
+		if (size > queueCapacity)
+		{
+			queueSize.decrementAndGet();
+			numDropped.incrementAndGet();
+			return null;
+		}
+		maxQueueSize.accumulateAndGet(size, Math::max);
+
+		RecordEntry entry = freeEntries.poll();
+		if (entry == null)
+		{
+			entry = new RecordEntry();
+		}
+		return entry;
+	}
+
+
+	/**
+	 * @return number of messages written to the current or last game log
+	 */
+	public long getNumWrittenMessages()
+	{
+		return numWritten.get();
+	}
+
+
+	/**
+	 * @return number of messages dropped, because the writer could not keep up
+	 */
+	public long getNumDroppedMessages()
+	{
+		return numDropped.get();
+	}
+
+
+	/**
+	 * @return number of messages currently waiting to be written
+	 */
+	public int getQueueSize()
+	{
+		return queueSize.get();
+	}
+
+
+	/**
+	 * @return the maximum number of messages that were waiting to be written at the same time
+	 */
+	public int getMaxQueueSize()
+	{
+		return maxQueueSize.get();
+	}
+
+
+	private void startWriterThreadIfOpen()
+	{
+		if (!writer.isOpen())
+		{
+			log.error("Game log recording not started, because the game log file could not be opened");
+			return;
+		}
+
+		queue.clear();
+		queueSize.set(0);
+		maxQueueSize.set(0);
+		numWritten.set(0);
+		numDropped.set(0);
+
+		recording = true;
+		writerThread = new Thread(this::writeMessages, "GameLogRecorder");
+		writerThread.setPriority(Thread.MIN_PRIORITY);
+		writerThread.start();
+	}
+
+
+	private void stopWriterThread()
+	{
+		recording = false;
+		LockSupport.unpark(writerThread);
+		try
+		{
+			writerThread.join();
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		writerThread = null;
+		log.info("Game log recording stopped. Written messages: {}, dropped messages: {}, max queue size: {}",
+				numWritten.get(), numDropped.get(), maxQueueSize.get());
+	}
+
+
+	private void writeMessages()
+	{
+		long lastSync = System.nanoTime();
+		boolean unsynced = false;
+		while (recording || !queue.isEmpty())
+		{
+			RecordEntry entry = queue.poll();
+			long now = System.nanoTime();
+			if (entry == null)
+			{
+				if (unsynced)
+				{
+					// wake up for the next sync at the latest
+					LockSupport.parkNanos(this, Math.max(0, syncPeriodNs - (now - lastSync)));
+				} else
+				{
+					LockSupport.park(this);
+				}
+				now = System.nanoTime();
+			} else
+			{
+				queueSize.decrementAndGet();
+				writer.write(entry.timestampNs, entry.type, entry.data, 0, entry.length);
+				freeEntries.add(entry);
+				numWritten.incrementAndGet();
+				unsynced = true;
+			}
+
+			if (unsynced && now - lastSync > syncPeriodNs)
+			{
+				writer.sync();
+				lastSync = now;
+				unsynced = false;
+			}
+		}
+		writer.close();
+	}
+
+
+	/**
+	 * A reusable copy of a message that is waiting to be written.
+	 */
+	private static class RecordEntry
+	{
+		private static final int INITIAL_CAPACITY = 1024;
+
+		private long timestampNs;
+		private EMessageType type;
+		private byte[] data = new byte[INITIAL_CAPACITY];
+		private int length;
+
+
+		void set(final long timestampNs, final EMessageType type, final byte[] src, final int offset, final int length)
+		{
+			ensureCapacity(length);
+			System.arraycopy(src, offset, data, 0, length);
+			this.timestampNs = timestampNs;
+			this.type = type;
+			this.length = length;
+		}
+
+
+		void set(final long timestampNs, final EMessageType type, final ByteBuffer src)
+		{
+			int srcLength = src.remaining();
+			ensureCapacity(srcLength);
+			src.get(src.position(), data, 0, srcLength);
+			this.timestampNs = timestampNs;
+			this.type = type;
+			this.length = srcLength;
+		}
+
+
+		private void ensureCapacity(final int length)
+		{
+			if (data.length < length)
+			{
+				data = new byte[Math.max(length, data.length * 2)];
+			}
+		}
 	}
 }
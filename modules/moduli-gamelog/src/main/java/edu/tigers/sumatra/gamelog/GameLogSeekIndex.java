@@ -0,0 +1,450 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.gamelog;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+
+/**
+ * Side index of a game log for fast seeking.
+ * <p>
+ * It contains the timestamps of all messages and sorted lists of markers, like referee command changes,
+ * that are found by {@link GameLogIndexer}s. All lookups are binary searches.
+ * The index is built once per log and persisted next to the log file with the suffix {@value #FILE_SUFFIX}.
+ * </p>
+ */
+@Log4j2
+public class GameLogSeekIndex
+{
+	private static final String HEADER = "SSL_LOG_INDEX";
+	private static final int VERSION = 1;
+	private static final String FILE_SUFFIX = ".idx";
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** Message timestamps, made non-decreasing to allow binary search */
+	private final long[] timestamps;
+	private final Map<String, Markers> markers;
+	private final Set<String> indexerNames;
+
+
+	private GameLogSeekIndex(final long[] timestamps, final Map<String, Markers> markers,
+			final Set<String> indexerNames)
+	{
+		this.timestamps = timestamps;
+		this.markers = markers;
+		this.indexerNames = indexerNames;
+	}
+
+
+	/**
+	 * Load the persisted index of the given log file or build and persist it, if there is no valid one.
+	 *
+	 * @param logPath  path to the log file
+	 * @param messages the messages of the log file
+	 * @param indexers the indexers to find markers with
+	 * @return the index
+	 */
+	public static GameLogSeekIndex forLog(final String logPath, final List<GameLogMessage> messages,
+			final List<GameLogIndexer> indexers)
+	{
+		Path logFile = Path.of(logPath);
+		Path indexFile = Path.of(logPath + FILE_SUFFIX);
+		Set<String> names = indexerNames(indexers);
+
+		Optional<GameLogSeekIndex> persisted = load(indexFile, logFile, messages.size(), names);
+		if (persisted.isPresent())
+		{
+			return persisted.get();
+		}
+
+		long tStart = System.nanoTime();
+		GameLogSeekIndex index = build(messages, indexers);
+		log.info("Built seek index for {} messages in {} ms", messages.size(), (System.nanoTime() - tStart) / 1_000_000);
+		try
+		{
+			index.save(indexFile, logFile);
+		} catch (IOException e)
+		{
+			log.warn("Could not persist seek index to {}", indexFile, e);
+		}
+		return index;
+	}
+
+
+	/**
+	 * Build a new index by passing all messages through the given indexers.
+	 *
+	 * @param messages the messages of the log
+	 * @param indexers the indexers to find markers with
+	 * @return the new index
+	 */
+	public static GameLogSeekIndex build(final List<GameLogMessage> messages, final List<GameLogIndexer> indexers)
+	{
+		Builder builder = new Builder(messages.size());
+		for (int i = 0; i < messages.size(); i++)
+		{
+			GameLogMessage message = messages.get(i);
+			builder.addTimestamp(i, message.getTimestampNs());
+			for (GameLogIndexer indexer : indexers)
+			{
+				indexer.index(message, i, builder);
+			}
+		}
+		return builder.build(indexerNames(indexers));
+	}
+
+
+	/**
+	 * @return number of indexed messages
+	 */
+	public int size()
+	{
+		return timestamps.length;
+	}
+
+
+	/**
+	 * @return the keys of all markers in this index
+	 */
+	public Set<String> getMarkerKeys()
+	{
+		return Collections.unmodifiableSet(markers.keySet());
+	}
+
+
+	/**
+	 * @param key the marker key
+	 * @return number of markers with the given key
+	 */
+	public int getNumMarkers(final String key)
+	{
+		Markers m = markers.get(key);
+		return m == null ? 0 : m.frames.length;
+	}
+
+
+	/**
+	 * Find the first message at or after the given timestamp.
+	 *
+	 * @param timestampNs the timestamp to search for
+	 * @return the message index, or the last message index, if the timestamp is after the end of the log
+	 */
+	public int findFrame(final long timestampNs)
+	{
+		int pos = Arrays.binarySearch(timestamps, timestampNs);
+		if (pos < 0)
+		{
+			pos = -pos - 1;
+		} else
+		{
+			// there may be multiple messages with the same timestamp
+			while (pos > 0 && timestamps[pos - 1] == timestampNs)
+			{
+				pos--;
+			}
+		}
+		return Math.min(pos, timestamps.length - 1);
+	}
+
+
+	/**
+	 * Find the next marker after the given message index.
+	 *
+	 * @param key   the marker key
+	 * @param frame the current message index
+	 * @return the message index of the next marker or -1, if there is none
+	 */
+	public int findNextMarker(final String key, final int frame)
+	{
+		Markers m = markers.get(key);
+		if (m == null)
+		{
+			return -1;
+		}
+		int pos = Arrays.binarySearch(m.frames, frame);
+		pos = pos < 0 ? -pos - 1 : pos + 1;
+		return pos < m.frames.length ? m.frames[pos] : -1;
+	}
+
+
+	/**
+	 * Find the previous marker before the given message index.
+	 *
+	 * @param key   the marker key
+	 * @param frame the current message index
+	 * @return the message index of the previous marker or -1, if there is none
+	 */
+	public int findPreviousMarker(final String key, final int frame)
+	{
+		Markers m = markers.get(key);
+		if (m == null)
+		{
+			return -1;
+		}
+		int pos = Arrays.binarySearch(m.frames, frame);
+		pos = pos < 0 ? -pos - 2 : pos - 1;
+		return pos >= 0 ? m.frames[pos] : -1;
+	}
+
+
+	/**
+	 * Find the first marker with a value that is equal to or greater than the given value.
+	 * The values of a marker key must be non-decreasing, like vision frame numbers of a single camera.
+	 *
+	 * @param key   the marker key
+	 * @param value the value to search for
+	 * @return the message index of the marker or -1, if there is none
+	 */
+	public int findMarkerValue(final String key, final long value)
+	{
+		Markers m = markers.get(key);
+		if (m == null)
+		{
+			return -1;
+		}
+		int pos = Arrays.binarySearch(m.values, value);
+		if (pos < 0)
+		{
+			pos = -pos - 1;
+		} else
+		{
+			while (pos > 0 && m.values[pos - 1] == value)
+			{
+				pos--;
+			}
+		}
+		return pos < m.values.length ? m.frames[pos] : -1;
+	}
+
+
+	private static Set<String> indexerNames(final List<GameLogIndexer> indexers)
+	{
+		Set<String> names = new LinkedHashSet<>();
+		indexers.forEach(i -> names.add(i.getName()));
+		return names;
+	}
+
+
+	/**
+	 * Persist this index.
+	 *
+	 * @param indexFile the file to write to
+	 * @param logFile   the log file this index belongs to
+	 * @throws IOException on write errors
+	 */
+	void save(final Path indexFile, final Path logFile) throws IOException
+	{
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(indexFile), BUFFER_SIZE)))
+		{
+			out.write(HEADER.getBytes(StandardCharsets.US_ASCII));
+			out.writeInt(VERSION);
+			out.writeLong(Files.size(logFile));
+			out.writeLong(Files.getLastModifiedTime(logFile).toMillis());
+
+			out.writeInt(indexerNames.size());
+			for (String name : indexerNames)
+			{
+				out.writeUTF(name);
+			}
+
+			out.writeInt(timestamps.length);
+			for (long timestamp : timestamps)
+			{
+				out.writeLong(timestamp);
+			}
+
+			out.writeInt(markers.size());
+			for (var entry : markers.entrySet())
+			{
+				out.writeUTF(entry.getKey());
+				Markers m = entry.getValue();
+				out.writeInt(m.frames.length);
+				for (int i = 0; i < m.frames.length; i++)
+				{
+					out.writeInt(m.frames[i]);
+					out.writeLong(m.values[i]);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Load a persisted index, if it is valid for the given log file.
+	 *
+	 * @param indexFile    the persisted index
+	 * @param logFile      the log file the index should belong to
+	 * @param numMessages  the expected number of messages
+	 * @param indexerNames the indexers that must have been used to build the index
+	 * @return the index, if it could be loaded and is valid
+	 */
+	static Optional<GameLogSeekIndex> load(final Path indexFile, final Path logFile, final int numMessages,
+			final Set<String> indexerNames)
+	{
+		if (!Files.exists(indexFile))
+		{
+			return Optional.empty();
+		}
+
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(indexFile), BUFFER_SIZE)))
+		{
+			byte[] header = new byte[HEADER.length()];
+			in.readFully(header);
+			if (!HEADER.equals(new String(header, StandardCharsets.US_ASCII))
+					|| in.readInt() != VERSION
+					|| in.readLong() != Files.size(logFile)
+					|| in.readLong() != Files.getLastModifiedTime(logFile).toMillis())
+			{
+				log.info("Seek index {} is outdated", indexFile);
+				return Optional.empty();
+			}
+
+			Set<String> storedIndexerNames = new LinkedHashSet<>();
+			int numIndexers = in.readInt();
+			for (int i = 0; i < numIndexers; i++)
+			{
+				storedIndexerNames.add(in.readUTF());
+			}
+			if (!storedIndexerNames.containsAll(indexerNames) || in.readInt() != numMessages)
+			{
+				log.info("Seek index {} does not match the requested log", indexFile);
+				return Optional.empty();
+			}
+
+			long[] timestamps = new long[numMessages];
+			for (int i = 0; i < numMessages; i++)
+			{
+				timestamps[i] = in.readLong();
+			}
+
+			Map<String, Markers> markers = new HashMap<>();
+			int numKeys = in.readInt();
+			for (int k = 0; k < numKeys; k++)
+			{
+				String key = in.readUTF();
+				int numMarkers = in.readInt();
+				int[] frames = new int[numMarkers];
+				long[] values = new long[numMarkers];
+				for (int i = 0; i < numMarkers; i++)
+				{
+					frames[i] = in.readInt();
+					values[i] = in.readLong();
+				}
+				markers.put(key, new Markers(frames, values));
+			}
+			return Optional.of(new GameLogSeekIndex(timestamps, markers, storedIndexerNames));
+		} catch (IOException e)
+		{
+			log.warn("Could not load seek index from {}", indexFile, e);
+			return Optional.empty();
+		}
+	}
+
+
+	private record Markers(int[] frames, long[] values)
+	{
+	}
+
+	/**
+	 * Collects timestamps and markers while building an index.
+	 */
+	public static class Builder
+	{
+		private final long[] timestamps;
+		private final Map<String, MarkerBuilder> markers = new HashMap<>();
+		private long maxTimestamp = Long.MIN_VALUE;
+
+
+		Builder(final int numMessages)
+		{
+			timestamps = new long[numMessages];
+		}
+
+
+		void addTimestamp(final int frame, final long timestampNs)
+		{
+			maxTimestamp = Math.max(maxTimestamp, timestampNs);
+			timestamps[frame] = maxTimestamp;
+		}
+
+
+		/**
+		 * Add a marker without a value.
+		 *
+		 * @param key   the marker key
+		 * @param frame the message index
+		 */
+		public void addMarker(final String key, final int frame)
+		{
+			addMarker(key, frame, 0);
+		}
+
+
+		/**
+		 * Add a marker with a value.
+		 *
+		 * @param key   the marker key
+		 * @param frame the message index
+		 * @param value the value, like a frame number
+		 */
+		public void addMarker(final String key, final int frame, final long value)
+		{
+			markers.computeIfAbsent(key, k -> new MarkerBuilder()).add(frame, value);
+		}
+
+
+		GameLogSeekIndex build(final Set<String> indexerNames)
+		{
+			Map<String, Markers> builtMarkers = new HashMap<>();
+			markers.forEach((key, m) -> builtMarkers.put(key, m.build()));
+			return new GameLogSeekIndex(timestamps, builtMarkers, indexerNames);
+		}
+	}
+
+	private static class MarkerBuilder
+	{
+		private int[] frames = new int[16];
+		private long[] values = new long[16];
+		private int size = 0;
+
+
+		void add(final int frame, final long value)
+		{
+			if (size == frames.length)
+			{
+				frames = Arrays.copyOf(frames, size * 2);
+				values = Arrays.copyOf(values, size * 2);
+			}
+			frames[size] = frame;
+			values[size] = value;
+			size++;
+		}
+
+
+		Markers build()
+		{
+			return new Markers(Arrays.copyOf(frames, size), Arrays.copyOf(values, size));
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.gamelog;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+
+/**
+ * Reads the messages of a log file one by one with a bounded buffer,
+ * in contrast to {@link GameLogReader}, which loads the whole file.
+ */
+@Log4j2
+public class GameLogStreamReader implements Closeable
+{
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	@Getter
+	private final String path;
+	private final DataInputStream fileStream;
+	@Getter
+	private final GameLogType fileType;
+
+
+	/**
+	 * Open a log file and read its header.
+	 *
+	 * @param path path to the log file, may be gzip compressed (*.gz)
+	 * @throws IOException if the file could not be opened or is not a valid log file
+	 */
+	@SuppressWarnings("squid:S2095") // stream is closed in close()
+	public GameLogStreamReader(final String path) throws IOException
+	{
+		this.path = path;
+		InputStream in = new FileInputStream(path);
+		if (path.endsWith(".gz"))
+		{
+			in = new GZIPInputStream(in, BUFFER_SIZE);
+		}
+		fileStream = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+
+		GameLogReader.Header header = GameLogReader.readHeader(fileStream);
+		if (header == null)
+		{
+			fileStream.close();
+			throw new IOException("Unhandled log file type: " + path);
+		}
+		fileType = header.type();
+	}
+
+
+	/**
+	 * Read the next message.
+	 *
+	 * @return the next message or null, if the end of the file is reached
+	 * @throws IOException on read errors
+	 */
+	public GameLogMessage next() throws IOException
+	{
+		try
+		{
+			long timestamp = fileStream.readLong();
+			EMessageType msgType = EMessageType.getMessageTypeConstant(fileStream.readInt());
+			int msgSize = fileStream.readInt();
+			byte[] data = new byte[msgSize];
+			fileStream.readFully(data);
+			return new GameLogMessage(timestamp, msgType, data);
+		} catch (EOFException e)
+		{
+			log.debug("Reached end of logfile {}", path, e);
+			return null;
+		}
+	}
+
+
+	@Override
+	public void close() throws IOException
+	{
+		fileStream.close();
+	}
+}
@@ -6,10 +6,12 @@ package edu.tigers.sumatra.gamelog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
+import java.io.BufferedOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.TimeZone;
@@ -24,8 +26,10 @@ public class GameLogWriter
 {
 	private static final String GAMELOG_PATH = "data/gamelog";
 	private static final int VERSION = 1;
+	private static final int BUFFER_SIZE = 1 << 16;
 
 	private DataOutputStream outputStream;
+	private FileChannel fileChannel;
 
 	private final GameLogType fileType;
 
@@ -59,10 +63,7 @@ public class GameLogWriter
 			// noinspection ResultOfMethodCallIgnored
 			folder.mkdirs();
 
-			// open file
-			outputStream = new DataOutputStream(new FileOutputStream(fullName, false));
-
-			writeHeader();
+			openStream(fullName);
 		} catch (IOException e)
 		{
 			log.error("Exception on opening gamelog file", e);
@@ -81,16 +82,33 @@ public class GameLogWriter
 	{
 		try
 		{
-			// open file
-			outputStream = new DataOutputStream(new FileOutputStream(fullName, false));
+			openStream(fullName);
+		} catch (IOException e)
+		{
+			log.error("Exception on opening gamelog file", e);
+		}
+	}
 
+
+	@SuppressWarnings("squid:S2095") // stream is closed in close()
+	private synchronized void openStream(final String fullName) throws IOException
+	{
+		FileOutputStream fileOutputStream = new FileOutputStream(fullName, false);
+		fileChannel = fileOutputStream.getChannel();
+		outputStream = new DataOutputStream(new BufferedOutputStream(fileOutputStream, BUFFER_SIZE));
+
+		try
+		{
 			writeHeader();
 		} catch (IOException e)
 		{
-			log.error("Exception on opening gamelog file", e);
+			// do not report a half-written file as open
+			close();
+			throw e;
 		}
 	}
 
+
 	private void writeHeader() throws IOException
 	{
 		outputStream.writeBytes(fileType.getHeader());
@@ -121,6 +139,48 @@ public class GameLogWriter
 				log.error("Exception on closing gamelog file", e);
 			}
 			outputStream = null;
+			fileChannel = null;
+		}
+	}
+
+
+	/**
+	 * Flush buffered entries to the operating system.
+	 */
+	public synchronized void flush()
+	{
+		if (outputStream == null)
+		{
+			return;
+		}
+
+		try
+		{
+			outputStream.flush();
+		} catch (IOException e)
+		{
+			log.error("Exception flushing gamelog", e);
+		}
+	}
+
+
+	/**
+	 * Flush buffered entries and force them to the storage device.
+	 */
+	public synchronized void sync()
+	{
+		if (outputStream == null)
+		{
+			return;
+		}
+
+		try
+		{
+			outputStream.flush();
+			fileChannel.force(false);
+		} catch (IOException e)
+		{
+			log.error("Exception syncing gamelog", e);
 		}
 	}
 
@@ -130,7 +190,23 @@ public class GameLogWriter
 	 *
 	 * @param msg
 	 */
-	public synchronized void write(final GameLogMessage msg)
+	public void write(final GameLogMessage msg)
+	{
+		write(msg.getTimestampNs(), msg.getType(), msg.getData(), 0, msg.getData().length);
+	}
+
+
+	/**
+	 * Write gamelog entry to file, taking the binary data from a slice of the given buffer.
+	 *
+	 * @param timestampNs receiver timestamp in ns
+	 * @param type        message type
+	 * @param data        buffer containing the binary message data
+	 * @param offset      start of the message data in the buffer
+	 * @param length      length of the message data
+	 */
+	public synchronized void write(final long timestampNs, final EMessageType type, final byte[] data,
+			final int offset, final int length)
 	{
 		if (outputStream == null)
 		{
@@ -139,10 +215,10 @@ public class GameLogWriter
 
 		try
 		{
-			outputStream.writeLong(msg.getTimestampNs());
-			outputStream.writeInt(msg.getType().getId());
-			outputStream.writeInt(msg.getData().length);
-			outputStream.write(msg.getData());
+			outputStream.writeLong(timestampNs);
+			outputStream.writeInt(type.getId());
+			outputStream.writeInt(length);
+			outputStream.write(data, offset, length);
 		} catch (IOException e)
 		{
 			log.error("Exception writing to gamelog", e);
@@ -5,11 +5,12 @@ package edu.tigers.sumatra.gamelog;
 
 import lombok.extern.log4j.Log4j2;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 
 /**
@@ -65,6 +66,7 @@ public class MergeTool
 
 	/**
 	 * Merge files.
+	 * All inputs are streamed and merged by timestamp, so memory usage does not depend on the size of the inputs.
 	 */
 	public void mergeBlocking()
 	{
@@ -73,64 +75,117 @@ public class MergeTool
 			return;
 		}
 
-		log.info("Loading logfiles files");
+		log.info("Merging {} logfiles", inputs.size());
 
-		// load all logfiles, sort by timestamp, combine into single list
-		List<GameLogMessage> fullLog = inputs.stream()
-				.map(i -> {
-					GameLogReader reader = new GameLogReader();
-					reader.loadFileBlocking(i);
-					return reader.getMessages();
-				})
-				.sorted(Comparator.comparingLong(l -> l.get(0).getTimestampNs()))
-				.flatMap(List::stream)
-				.collect(Collectors.toCollection(LinkedList::new));
+		List<GameLogStreamReader> readers = new ArrayList<>();
+		GameLogWriter writer = new GameLogWriter(GameLogType.LOG_FILE);
+		try
+		{
+			PriorityQueue<MergeEntry> queue = new PriorityQueue<>(Comparator
+					.comparingLong((MergeEntry e) -> e.message().getTimestampNs())
+					.thenComparingInt(MergeEntry::input));
+			for (String input : inputs)
+			{
+				GameLogStreamReader reader = new GameLogStreamReader(input);
+				readers.add(reader);
+				pushNext(queue, reader, readers.size() - 1);
+			}
 
-		log.info("Loading done, processing filter verdicts...");
+			writer.openPath(output);
 
-		if (filter != null)
+			Cutter cutter = new Cutter();
+			long numWritten = 0;
+			while (!queue.isEmpty())
+			{
+				MergeEntry entry = queue.poll();
+				if (cutter.process(entry.message()))
+				{
+					writer.write(entry.message());
+					numWritten++;
+				}
+				pushNext(queue, readers.get(entry.input()), entry.input());
+			}
+
+			log.info("Write complete. {} messages written", numWritten);
+		} catch (IOException e)
 		{
-			removeFilteredMessages(fullLog);
+			log.error("Merging logfiles failed", e);
+		} finally
+		{
+			writer.close();
+			readers.forEach(this::closeReader);
 		}
+	}
 
-		log.info("Processing complete. Writing output file.");
 
-		GameLogWriter writer = new GameLogWriter(GameLogType.LOG_FILE);
-		writer.openPath(output);
-		fullLog.forEach(writer::write);
-		writer.close();
+	private void pushNext(final PriorityQueue<MergeEntry> queue, final GameLogStreamReader reader, final int input)
+			throws IOException
+	{
+		GameLogMessage message = reader.next();
+		if (message != null)
+		{
+			queue.add(new MergeEntry(message, input));
+		}
+	}
+
 
-		log.info("Write complete");
+	private void closeReader(final GameLogStreamReader reader)
+	{
+		try
+		{
+			reader.close();
+		} catch (IOException e)
+		{
+			log.warn("Could not close logfile {}", reader.getPath(), e);
+		}
 	}
 
 
-	@SuppressWarnings("squid:ForLoopCounterChangedCheck")
-	private void removeFilteredMessages(final List<GameLogMessage> fullLog)
+	private record MergeEntry(GameLogMessage message, int input)
 	{
-		long timeOffset = 0;
-		int removeStartIndex = -1;
-		for (int index = 0; index < fullLog.size(); index++)
+	}
+
+	/**
+	 * Removes all messages from the first filter match up to the next mismatch and
+	 * shifts the timestamps of all following messages to close the gap.
+	 */
+	private class Cutter
+	{
+		private long timeOffset = 0;
+		private boolean cutting = false;
+		private long cutStartTimestamp = 0;
+
+
+		/**
+		 * @param msg the next message
+		 * @return true, if the message should be kept
+		 */
+		boolean process(final GameLogMessage msg)
 		{
-			GameLogMessage msg = fullLog.get(index);
-			var verdict = filter.apply(msg);
+			if (filter == null)
+			{
+				return true;
+			}
 
-			if(verdict == GameLogCompareResult.MATCH && removeStartIndex < 0)
+			var verdict = filter.apply(msg);
+			if (verdict == GameLogCompareResult.MATCH && !cutting)
 			{
-				removeStartIndex = index;
+				cutting = true;
+				cutStartTimestamp = msg.getTimestampNs();
 			}
 
-			if(verdict == GameLogCompareResult.MISMATCH && removeStartIndex > 0)
+			if (verdict == GameLogCompareResult.MISMATCH && cutting)
 			{
-				long timeAdjust = msg.getTimestampNs() - fullLog.get(removeStartIndex).getTimestampNs();
-				timeOffset -= timeAdjust;
-				fullLog.subList(removeStartIndex, index).clear();
-				index = removeStartIndex;
-				removeStartIndex = -1;
+				timeOffset -= msg.getTimestampNs() - cutStartTimestamp;
+				cutting = false;
 			}
 
+			if (cutting)
+			{
+				return false;
+			}
 			msg.adjustTimestamp(timeOffset);
+			return true;
 		}
 	}
-
-
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.gamelog;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class GameLogIndexTest
+{
+	private static final int NUM_MESSAGES = 100;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+
+	private Path writeLog(final String name)
+	{
+		Path path = folder.getRoot().toPath().resolve(name);
+		GameLogWriter writer = new GameLogWriter(GameLogType.LOG_FILE);
+		writer.openPath(path.toString());
+		for (int i = 0; i < NUM_MESSAGES; i++)
+		{
+			writer.write(new GameLogMessage(timestamp(i), type(i), data(i)));
+		}
+		writer.close();
+		return path;
+	}
+
+
+	private static long timestamp(final int i)
+	{
+		return 1_000_000_000L + i * 16_000_000L;
+	}
+
+
+	private static EMessageType type(final int i)
+	{
+		return i % 3 == 0 ? EMessageType.SSL_REFBOX_2013 : EMessageType.SSL_VISION_2014;
+	}
+
+
+	/** messages of different lengths, including empty ones */
+	private static byte[] data(final int i)
+	{
+		byte[] data = new byte[(i * 37) % 200];
+		for (int k = 0; k < data.length; k++)
+		{
+			data[k] = (byte) (i + k);
+		}
+		return data;
+	}
+
+
+	private static GameLogIndex loadIndex(final Path path)
+	{
+		GameLogReader reader = new GameLogReader();
+		reader.setMemoryMapped(true);
+		reader.loadFileBlocking(path.toString());
+		assertThat(reader.getFileType()).isEqualTo(GameLogType.LOG_FILE);
+		assertThat(reader.getMessages()).isInstanceOf(GameLogIndex.class);
+		return (GameLogIndex) reader.getMessages();
+	}
+
+
+	private static void assertMessage(final GameLogIndex index, final int i)
+	{
+		assertThat(index.getTimestampNs(i)).isEqualTo(timestamp(i));
+		assertThat(index.getType(i)).isEqualTo(type(i));
+		assertThat(index.getData(i)).isEqualTo(ByteBuffer.wrap(data(i)));
+
+		GameLogMessage message = index.get(i);
+		assertThat(message.getTimestampNs()).isEqualTo(timestamp(i));
+		assertThat(message.getType()).isEqualTo(type(i));
+		assertThat(message.getData()).isEqualTo(data(i));
+	}
+
+
+	@Test
+	public void testBuildIndex()
+	{
+		GameLogIndex index = loadIndex(writeLog("test.log"));
+
+		assertThat(index).hasSize(NUM_MESSAGES);
+		for (int i = 0; i < NUM_MESSAGES; i++)
+		{
+			assertMessage(index, i);
+		}
+	}
+
+
+	@Test
+	public void testBuildIndexOfCompressedLog() throws IOException
+	{
+		Path log = writeLog("test.log");
+		Path gzLog = folder.getRoot().toPath().resolve("test.log.gz");
+		try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzLog)))
+		{
+			Files.copy(log, out);
+		}
+
+		GameLogIndex index = loadIndex(gzLog);
+
+		assertThat(index).hasSize(NUM_MESSAGES);
+		assertMessage(index, 0);
+		assertMessage(index, NUM_MESSAGES - 1);
+	}
+
+
+	@Test
+	public void testRandomAccess()
+	{
+		GameLogIndex index = loadIndex(writeLog("test.log"));
+
+		List<Integer> order = new ArrayList<>();
+		for (int i = 0; i < NUM_MESSAGES; i++)
+		{
+			order.add(i);
+		}
+		Collections.shuffle(order, new Random(42));
+		order.forEach(i -> assertMessage(index, i));
+
+		// the data of a message does not change, if other messages are read in between
+		ByteBuffer data = index.getData(5);
+		index.getData(6);
+		assertThat(data).isEqualTo(ByteBuffer.wrap(data(5)));
+	}
+
+
+	@Test
+	public void testAdjustedTimestampsAreKept()
+	{
+		GameLogIndex index = loadIndex(writeLog("test.log"));
+
+		index.get(3).adjustTimestamp(-500);
+		index.get(3).adjustTimestamp(-500);
+		index.adjustTimestamp(4, 42);
+
+		assertThat(index.get(3).getTimestampNs()).isEqualTo(timestamp(3) - 1000);
+		assertThat(index.getTimestampNs(3)).isEqualTo(timestamp(3) - 1000);
+		assertThat(index.get(4).getTimestampNs()).isEqualTo(timestamp(4) + 42);
+		assertThat(index.get(2).getTimestampNs()).isEqualTo(timestamp(2));
+		assertThat(index.get(5).getTimestampNs()).isEqualTo(timestamp(5));
+	}
+}
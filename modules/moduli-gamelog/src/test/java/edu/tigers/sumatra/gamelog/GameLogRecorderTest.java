@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.gamelog;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class GameLogRecorderTest
+{
+	private static final int NUM_PRODUCERS = 4;
+	private static final int NUM_MESSAGES_PER_PRODUCER = 50_000;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+
+	@Test
+	public void testConcurrentProducers() throws InterruptedException
+	{
+		String path = folder.getRoot().toPath().resolve("recorded.log").toString();
+		GameLogRecorder recorder = new GameLogRecorder();
+		recorder.startRecording(path);
+		assertThat(recorder.isRecording()).isTrue();
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> producers = new ArrayList<>();
+		for (int p = 0; p < NUM_PRODUCERS; p++)
+		{
+			Thread producer = new Thread(() -> produce(recorder, start), "GameLogRecorderTest-" + p);
+			producer.start();
+			producers.add(producer);
+		}
+		start.countDown();
+		for (Thread producer : producers)
+		{
+			producer.join();
+		}
+
+		// the writer must drain the queue while still recording, it must not miss a wakeup
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (recorder.getQueueSize() > 0 && System.nanoTime() < deadline)
+		{
+			Thread.sleep(1);
+		}
+		assertThat(recorder.getQueueSize()).isZero();
+
+		recorder.setRecording(false);
+		assertThat(recorder.isRecording()).isFalse();
+
+		long numSent = (long) NUM_PRODUCERS * NUM_MESSAGES_PER_PRODUCER;
+		assertThat(recorder.getNumWrittenMessages() + recorder.getNumDroppedMessages()).isEqualTo(numSent);
+
+		GameLogReader reader = new GameLogReader();
+		reader.loadFileBlocking(path);
+		assertThat(reader.getMessages()).hasSize((int) recorder.getNumWrittenMessages());
+	}
+
+
+	private static void produce(final GameLogRecorder recorder, final CountDownLatch start)
+	{
+		try
+		{
+			start.await();
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return;
+		}
+		byte[] data = new byte[64];
+		for (int i = 0; i < NUM_MESSAGES_PER_PRODUCER; i++)
+		{
+			data[0] = (byte) i;
+			recorder.writeMessage(i, EMessageType.SSL_VISION_2014, data, 0, data.length);
+			if (i % 1000 == 0)
+			{
+				// give the writer a chance to run dry, which provokes the park and unpark handover
+				Thread.yield();
+			}
+		}
+	}
+}
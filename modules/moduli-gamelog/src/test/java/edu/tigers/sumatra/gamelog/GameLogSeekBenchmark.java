@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.gamelog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compare seeking with linear scans over the messages against seeking with a {@link GameLogSeekIndex}
+ * on a synthetic log of two hours with 8 cameras at 75 Hz and referee messages at 10 Hz.
+ * Referee messages carry a fake command counter in their first byte that changes every 30 s.
+ * The linear scans do not decode protobuf, so they are a lower bound for the seeks in {@link GameLogPlayer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 2)
+public class GameLogSeekBenchmark
+{
+	private static final long DURATION_NS = TimeUnit.HOURS.toNanos(2);
+	private static final int NUM_CAMS = 8;
+	private static final long CAM_PERIOD_NS = 1_000_000_000L / 75;
+	private static final long REFEREE_PERIOD_NS = 100_000_000L;
+	private static final long COMMAND_PERIOD_NS = TimeUnit.SECONDS.toNanos(30);
+	private static final String COMMAND = "command";
+	private static final int NUM_SEEKS = 1024;
+
+	private final List<GameLogMessage> messages = new ArrayList<>();
+	private final long[] seekTimes = new long[NUM_SEEKS];
+	private final int[] seekFrames = new int[NUM_SEEKS];
+	private GameLogSeekIndex index;
+	private int seek = 0;
+
+
+	public static void main(String[] args) throws Exception
+	{
+		org.openjdk.jmh.Main.main(args);
+	}
+
+
+	@Setup
+	public void setup()
+	{
+		byte[] visionData = new byte[0];
+		long nextReferee = 0;
+		for (long t = 0; t < DURATION_NS; t += CAM_PERIOD_NS)
+		{
+			for (int cam = 0; cam < NUM_CAMS; cam++)
+			{
+				messages.add(new GameLogMessage(t + cam, EMessageType.SSL_VISION_2014, visionData));
+			}
+			if (t >= nextReferee)
+			{
+				byte[] refereeData = new byte[] { (byte) ((t / COMMAND_PERIOD_NS) % 100) };
+				messages.add(new GameLogMessage(t, EMessageType.SSL_REFBOX_2013, refereeData));
+				nextReferee += REFEREE_PERIOD_NS;
+			}
+		}
+
+		index = GameLogSeekIndex.build(messages, List.of(new CommandIndexer()));
+
+		Random rnd = new Random(42);
+		for (int i = 0; i < NUM_SEEKS; i++)
+		{
+			seekTimes[i] = (long) (rnd.nextDouble() * DURATION_NS);
+			seekFrames[i] = rnd.nextInt(messages.size());
+		}
+	}
+
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public GameLogSeekIndex buildIndex()
+	{
+		return GameLogSeekIndex.build(messages, List.of(new CommandIndexer()));
+	}
+
+
+	@Benchmark
+	public int linearSeekToTime()
+	{
+		long t = seekTimes[nextSeek()];
+		for (int frame = 0; frame < messages.size(); frame++)
+		{
+			if (messages.get(frame).getTimestampNs() >= t)
+			{
+				return frame;
+			}
+		}
+		return -1;
+	}
+
+
+	@Benchmark
+	public int indexedSeekToTime()
+	{
+		return index.findFrame(seekTimes[nextSeek()]);
+	}
+
+
+	@Benchmark
+	public int linearSeekToNextCommand()
+	{
+		int currentCommand = -1;
+		for (int frame = seekFrames[nextSeek()]; frame < messages.size(); frame++)
+		{
+			GameLogMessage msg = messages.get(frame);
+			if (msg.getType() == EMessageType.SSL_REFBOX_2013)
+			{
+				int command = msg.getData()[0];
+				if (currentCommand >= 0 && command != currentCommand)
+				{
+					return frame;
+				}
+				currentCommand = command;
+			}
+		}
+		return -1;
+	}
+
+
+	@Benchmark
+	public int indexedSeekToNextCommand()
+	{
+		return index.findNextMarker(COMMAND, seekFrames[nextSeek()]);
+	}
+
+
+	private int nextSeek()
+	{
+		seek = (seek + 1) % NUM_SEEKS;
+		return seek;
+	}
+
+
+	private static class CommandIndexer implements GameLogIndexer
+	{
+		private int lastCommand = -1;
+
+
+		@Override
+		public void index(final GameLogMessage message, final int index, final GameLogSeekIndex.Builder builder)
+		{
+			if (message.getType() == EMessageType.SSL_REFBOX_2013 && message.getData()[0] != lastCommand)
+			{
+				lastCommand = message.getData()[0];
+				builder.addMarker(COMMAND, index, lastCommand);
+			}
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.gamelog;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class GameLogSeekIndexTest
+{
+	private static final String REFBOX = "refbox";
+	private static final String FRAME = "frame";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+
+	/**
+	 * Every 10th message is a referee message, all other messages are vision messages with a frame number.
+	 */
+	private List<GameLogMessage> createMessages()
+	{
+		List<GameLogMessage> messages = new ArrayList<>();
+		for (int i = 0; i < 100; i++)
+		{
+			EMessageType type = i % 10 == 0 ? EMessageType.SSL_REFBOX_2013 : EMessageType.SSL_VISION_2014;
+			messages.add(new GameLogMessage(1000L + i * 10L, type, new byte[0]));
+		}
+		return messages;
+	}
+
+
+	private GameLogIndexer indexer()
+	{
+		return (message, index, builder) -> {
+			if (message.getType() == EMessageType.SSL_REFBOX_2013)
+			{
+				builder.addMarker(REFBOX, index);
+			} else
+			{
+				builder.addMarker(FRAME, index, 2L * index);
+			}
+		};
+	}
+
+
+	@Test
+	public void testFindFrame()
+	{
+		GameLogSeekIndex index = GameLogSeekIndex.build(createMessages(), List.of());
+
+		assertThat(index.size()).isEqualTo(100);
+		assertThat(index.findFrame(0)).isZero();
+		assertThat(index.findFrame(1000)).isZero();
+		assertThat(index.findFrame(1001)).isEqualTo(1);
+		assertThat(index.findFrame(1500)).isEqualTo(50);
+		assertThat(index.findFrame(100_000)).isEqualTo(99);
+	}
+
+
+	@Test
+	public void testFindFrameWithTimeJumpBack()
+	{
+		List<GameLogMessage> messages = createMessages();
+		messages.set(50, new GameLogMessage(0, EMessageType.SSL_VISION_2014, new byte[0]));
+		GameLogSeekIndex index = GameLogSeekIndex.build(messages, List.of());
+
+		assertThat(index.findFrame(1490)).isEqualTo(49);
+		assertThat(index.findFrame(1500)).isEqualTo(51);
+	}
+
+
+	@Test
+	public void testMarkers()
+	{
+		GameLogSeekIndex index = GameLogSeekIndex.build(createMessages(), List.of(indexer()));
+
+		assertThat(index.getMarkerKeys()).containsExactlyInAnyOrder(REFBOX, FRAME);
+		assertThat(index.getNumMarkers(REFBOX)).isEqualTo(10);
+		assertThat(index.findNextMarker(REFBOX, 0)).isEqualTo(10);
+		assertThat(index.findNextMarker(REFBOX, 15)).isEqualTo(20);
+		assertThat(index.findNextMarker(REFBOX, 90)).isEqualTo(-1);
+		assertThat(index.findPreviousMarker(REFBOX, 15)).isEqualTo(10);
+		assertThat(index.findPreviousMarker(REFBOX, 10)).isZero();
+		assertThat(index.findPreviousMarker(REFBOX, 0)).isEqualTo(-1);
+		assertThat(index.findNextMarker("unknown", 0)).isEqualTo(-1);
+
+		assertThat(index.findMarkerValue(FRAME, 42)).isEqualTo(21);
+		assertThat(index.findMarkerValue(FRAME, 39)).isEqualTo(21);
+		assertThat(index.findMarkerValue(FRAME, 40)).isEqualTo(21);
+		assertThat(index.findMarkerValue(FRAME, 1000)).isEqualTo(-1);
+	}
+
+
+	@Test
+	public void testPersistence() throws IOException
+	{
+		Path logFile = folder.newFile("test.log").toPath();
+		Files.write(logFile, new byte[] { 1, 2, 3 });
+		List<GameLogMessage> messages = createMessages();
+		List<GameLogIndexer> indexers = List.of(indexer());
+
+		GameLogSeekIndex built = GameLogSeekIndex.forLog(logFile.toString(), messages, indexers);
+		Path indexFile = Path.of(logFile + ".idx");
+		assertThat(indexFile).exists();
+
+		var loaded = GameLogSeekIndex.load(indexFile, logFile, messages.size(), Set.of(indexers.get(0).getName()));
+		assertThat(loaded).isPresent();
+		assertThat(loaded.get().size()).isEqualTo(built.size());
+		assertThat(loaded.get().findFrame(1500)).isEqualTo(built.findFrame(1500));
+		assertThat(loaded.get().findNextMarker(REFBOX, 15)).isEqualTo(built.findNextMarker(REFBOX, 15));
+		assertThat(loaded.get().findMarkerValue(FRAME, 42)).isEqualTo(built.findMarkerValue(FRAME, 42));
+
+		assertThat(GameLogSeekIndex.load(indexFile, logFile, messages.size() + 1, Set.of())).isEmpty();
+		assertThat(GameLogSeekIndex.load(indexFile, logFile, messages.size(), Set.of("other"))).isEmpty();
+	}
+}
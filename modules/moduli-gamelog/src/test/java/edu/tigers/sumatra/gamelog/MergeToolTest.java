@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.gamelog;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class MergeToolTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+
+	private String writeLog(String name, long... timestamps) throws IOException
+	{
+		String path = folder.getRoot().toPath().resolve(name).toString();
+		GameLogWriter writer = new GameLogWriter(GameLogType.LOG_FILE);
+		writer.openPath(path);
+		for (long timestamp : timestamps)
+		{
+			writer.write(new GameLogMessage(timestamp, EMessageType.SSL_VISION_2014, new byte[] { (byte) timestamp }));
+		}
+		writer.close();
+		return path;
+	}
+
+
+	private List<GameLogMessage> readLog(String path)
+	{
+		GameLogReader reader = new GameLogReader();
+		reader.loadFileBlocking(path);
+		return reader.getMessages();
+	}
+
+
+	@Test
+	public void testMergeByTimestamp() throws IOException
+	{
+		String log1 = writeLog("1.log", 10, 30, 50);
+		String log2 = writeLog("2.log", 20, 30, 40, 60);
+		String output = folder.getRoot().toPath().resolve("merged.log").toString();
+
+		new MergeTool()
+				.withInputFiles(List.of(log1, log2))
+				.withOutputFile(output)
+				.mergeBlocking();
+
+		assertThat(readLog(output))
+				.extracting(GameLogMessage::getTimestampNs)
+				.containsExactly(10L, 20L, 30L, 30L, 40L, 50L, 60L);
+	}
+
+
+	@Test
+	public void testCutFilter() throws IOException
+	{
+		String log1 = writeLog("1.log", 10, 20, 30, 40, 50, 60);
+		String output = folder.getRoot().toPath().resolve("merged.log").toString();
+
+		new MergeTool()
+				.withInputFiles(List.of(log1))
+				.withOutputFile(output)
+				.withFilter(m -> m.getTimestampNs() >= 30 && m.getTimestampNs() < 50
+						? GameLogCompareResult.MATCH
+						: GameLogCompareResult.MISMATCH)
+				.mergeBlocking();
+
+		List<GameLogMessage> merged = readLog(output);
+		assertThat(merged)
+				.extracting(GameLogMessage::getTimestampNs)
+				.containsExactly(10L, 20L, 30L, 40L);
+		assertThat(merged)
+				.extracting(m -> m.getData()[0])
+				.containsExactly((byte) 10, (byte) 20, (byte) 50, (byte) 60);
+	}
+}
@@ -1,9 +1,11 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.sumatra.persistence;
 
 import com.sleepycat.je.CursorConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.LockMode;
 import com.sleepycat.persist.EntityCursor;
 import com.sleepycat.persist.EntityStore;
 import com.sleepycat.persist.PrimaryIndex;
@@ -11,6 +13,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Consumer;
@@ -18,16 +21,22 @@ import java.util.function.Consumer;
 
 /**
  * An accessor for timestamp-indexed data
+ * <p>
+ * All keys are kept in an immutable {@link KeyIndex} that is replaced on each write, so that key queries are binary
+ * searches that do not lock. Only the values are read from the database, without acquiring record locks.
+ * </p>
  *
  * @param <T>
  */
-public class BerkeleyAccessor<T> implements IBerkeleyAccessor<T>
+public class BerkeleyAccessor<T> implements IKeyedBerkeleyAccessor<T>
 {
 	private static final Logger log = LogManager.getLogger(BerkeleyAccessor.class.getName());
 	private static final long EXPECTED_FRAME_RATE = 16;
 	private final Class<T> clazz;
 	private final boolean sumatraTimestampBased;
+	private final Object writeLock = new Object();
 	private PrimaryIndex<Long, T> frameByTimestamp;
+	private volatile KeyIndex keyIndex = KeyIndex.EMPTY;
 
 
 	/**
@@ -44,6 +53,29 @@ public class BerkeleyAccessor<T> implements IBerkeleyAccessor<T>
 	public void open(final EntityStore entityStore)
 	{
 		frameByTimestamp = entityStore.getPrimaryIndex(Long.class, clazz);
+		synchronized (writeLock)
+		{
+			keyIndex = loadKeyIndex();
+		}
+	}
+
+
+	private KeyIndex loadKeyIndex()
+	{
+		long[] keys = new long[(int) Math.max(16, frameByTimestamp.count())];
+		int size = 0;
+		try (EntityCursor<Long> cursor = frameByTimestamp.keys(null, CursorConfig.READ_UNCOMMITTED))
+		{
+			for (Long key : cursor)
+			{
+				if (size == keys.length)
+				{
+					keys = Arrays.copyOf(keys, size * 2);
+				}
+				keys[size++] = key;
+			}
+		}
+		return KeyIndex.of(keys, size);
 	}
 
 
@@ -64,7 +96,14 @@ public class BerkeleyAccessor<T> implements IBerkeleyAccessor<T>
 		}
 		try
 		{
-			frameByTimestamp.put(element);
+			DatabaseEntry keyEntry = new DatabaseEntry();
+			frameByTimestamp.getEntityBinding().objectToKey(element, keyEntry);
+			long key = frameByTimestamp.getKeyBinding().entryToObject(keyEntry);
+			synchronized (writeLock)
+			{
+				frameByTimestamp.put(element);
+				keyIndex = keyIndex.with(key);
+			}
 		} catch (Exception err)
 		{
 			log.error("Could not write element: {}", element, err);
@@ -73,19 +112,33 @@ public class BerkeleyAccessor<T> implements IBerkeleyAccessor<T>
 
 
 	@Override
-	public synchronized T get(final long tCur)
+	public T get(final long tCur)
 	{
 		Long key = getNearestKey(tCur);
 		if (key == null)
 		{
 			return null;
 		}
-		return frameByTimestamp.get(key);
+		return getByKey(key);
+	}
+
+
+	@Override
+	public T getByKey(final long key)
+	{
+		return frameByTimestamp.get(null, key, LockMode.READ_UNCOMMITTED);
+	}
+
+
+	@Override
+	public List<Long> getKeys(final long key, final boolean forward, final int count)
+	{
+		return keyIndex.keys(key, forward, count);
 	}
 
 
 	@Override
-	public synchronized void forEach(Consumer<T> consumer)
+	public void forEach(Consumer<T> consumer)
 	{
 		try (EntityCursor<T> entities = frameByTimestamp.entities(null, CursorConfig.READ_UNCOMMITTED))
 		{
@@ -95,77 +148,55 @@ public class BerkeleyAccessor<T> implements IBerkeleyAccessor<T>
 
 
 	@Override
-	public synchronized Long getNearestKey(final long key)
+	public Long getNearestKey(final long key)
 	{
-		long t = key - (EXPECTED_FRAME_RATE / 2);
-		try (EntityCursor<Long> keys = frameByTimestamp.keys(null, t, true, null, true,
-				CursorConfig.READ_UNCOMMITTED))
+		KeyIndex index = keyIndex;
+		Long first = index.ceiling(key - (EXPECTED_FRAME_RATE / 2));
+		if (first == null)
 		{
-			Long first = keys.first();
-			if (first == null)
-			{
-				EntityCursor<Long> cursor = frameByTimestamp.keys(null, CursorConfig.READ_UNCOMMITTED);
-				first = cursor.first();
-				cursor.close();
-			}
-			return first;
+			first = index.first();
 		}
+		return first;
 	}
 
 
 	@Override
-	public synchronized Long getNextKey(final long key)
+	public Long getNextKey(final long key)
 	{
-		try (EntityCursor<Long> keys = frameByTimestamp.keys(null, key, false, null, true,
-				CursorConfig.READ_UNCOMMITTED))
-		{
-			return keys.first();
-		}
+		return keyIndex.higher(key);
 	}
 
 
 	@Override
-	public synchronized Long getPreviousKey(final long key)
+	public Long getPreviousKey(final long key)
 	{
-		try (EntityCursor<Long> keys = frameByTimestamp.keys(null, null, true, key, false,
-				CursorConfig.READ_UNCOMMITTED))
-		{
-			return keys.last();
-		}
+		return keyIndex.lower(key);
 	}
 
 
 	@Override
 	public long size()
 	{
-		return frameByTimestamp.count();
+		return keyIndex.size();
 	}
 
 
 	@Override
 	public Long getFirstKey()
 	{
-		EntityCursor<Long> cursor = frameByTimestamp.keys(null,
-				CursorConfig.READ_UNCOMMITTED);
-		Long key = cursor.first();
-		cursor.close();
-		return key;
+		return keyIndex.first();
 	}
 
 
 	@Override
 	public Long getLastKey()
 	{
-		EntityCursor<Long> cursor = frameByTimestamp.keys(null,
-				CursorConfig.READ_UNCOMMITTED);
-		Long key = cursor.last();
-		cursor.close();
-		return key;
+		return keyIndex.last();
 	}
 
 
 	@Override
-	public synchronized List<T> load()
+	public List<T> load()
 	{
 		List<T> events = new ArrayList<>((int) frameByTimestamp.count());
 		try (EntityCursor<T> cursor = frameByTimestamp.entities())
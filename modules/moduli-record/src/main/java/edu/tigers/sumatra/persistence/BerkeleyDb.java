@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.persistence;
@@ -23,7 +23,6 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.function.Consumer;
@@ -213,6 +212,38 @@ public class BerkeleyDb
 	}
 
 
+	/**
+	 * Replace all timestamp-based accessors with {@link PrefetchingBerkeleyAccessor}s for a faster replay.
+	 * Call this before the database is used by multiple threads.
+	 */
+	public void enablePrefetching()
+	{
+		accessors.replaceAll((clazz, accessor) -> {
+			if (accessor instanceof IKeyedBerkeleyAccessor<?> keyedAccessor && accessor.isSumatraTimestampBased())
+			{
+				return new PrefetchingBerkeleyAccessor<>(keyedAccessor, clazz.getSimpleName());
+			}
+			return accessor;
+		});
+	}
+
+
+	/**
+	 * @return the statistics of all prefetching accessors by their element type
+	 */
+	public Map<Class<?>, PrefetchStats> getPrefetchStats()
+	{
+		Map<Class<?>, PrefetchStats> stats = new HashMap<>();
+		accessors.forEach((clazz, accessor) -> {
+			if (accessor instanceof PrefetchingBerkeleyAccessor<?> prefetchingAccessor)
+			{
+				stats.put(clazz, prefetchingAccessor.getStats());
+			}
+		});
+		return stats;
+	}
+
+
 	@SuppressWarnings("unchecked")
 	private <T> IBerkeleyAccessor<T> getAccessor(Class<T> clazz)
 	{
@@ -257,6 +288,7 @@ public class BerkeleyDb
 	 */
 	public void close()
 	{
+		accessors.values().forEach(IBerkeleyAccessor::close);
 		env.close();
 	}
 
@@ -298,53 +330,71 @@ public class BerkeleyDb
 
 	public Long getFirstKey()
 	{
-		return accessors.values().stream()
-				.filter(IBerkeleyAccessor::isSumatraTimestampBased)
-				.map(IBerkeleyAccessor::getFirstKey)
-				.filter(Objects::nonNull)
-				.reduce(this::getSmallerKey)
-				.orElse(null);
+		Long firstKey = null;
+		for (IBerkeleyAccessor<?> accessor : accessors.values())
+		{
+			if (accessor.isSumatraTimestampBased())
+			{
+				firstKey = getSmallerKey(firstKey, accessor.getFirstKey());
+			}
+		}
+		return firstKey;
 	}
 
 
 	public Long getLastKey()
 	{
-		return accessors.values().stream()
-				.filter(IBerkeleyAccessor::isSumatraTimestampBased)
-				.map(IBerkeleyAccessor::getLastKey)
-				.filter(Objects::nonNull)
-				.reduce(this::getLargerKey)
-				.orElse(null);
+		Long lastKey = null;
+		for (IBerkeleyAccessor<?> accessor : accessors.values())
+		{
+			if (accessor.isSumatraTimestampBased())
+			{
+				lastKey = getLargerKey(lastKey, accessor.getLastKey());
+			}
+		}
+		return lastKey;
 	}
 
 
 	public Long getNextKey(long tCur)
 	{
-		return accessors.values().stream()
-				.filter(IBerkeleyAccessor::isSumatraTimestampBased)
-				.map(s -> s.getNextKey(tCur))
-				.reduce((k1, k2) -> getNearestKey(tCur, k1, k2))
-				.orElse(null);
+		Long nextKey = null;
+		for (IBerkeleyAccessor<?> accessor : accessors.values())
+		{
+			if (accessor.isSumatraTimestampBased())
+			{
+				nextKey = getNearestKey(tCur, nextKey, accessor.getNextKey(tCur));
+			}
+		}
+		return nextKey;
 	}
 
 
 	public Long getPreviousKey(long tCur)
 	{
-		return accessors.values().stream()
-				.filter(IBerkeleyAccessor::isSumatraTimestampBased)
-				.map(s -> s.getPreviousKey(tCur))
-				.reduce((k1, k2) -> getNearestKey(tCur, k1, k2))
-				.orElse(null);
+		Long previousKey = null;
+		for (IBerkeleyAccessor<?> accessor : accessors.values())
+		{
+			if (accessor.isSumatraTimestampBased())
+			{
+				previousKey = getNearestKey(tCur, previousKey, accessor.getPreviousKey(tCur));
+			}
+		}
+		return previousKey;
 	}
 
 
 	public Long getKey(long tCur)
 	{
-		return accessors.values().stream()
-				.filter(IBerkeleyAccessor::isSumatraTimestampBased)
-				.map(s -> s.getNearestKey(tCur))
-				.reduce((k1, k2) -> getNearestKey(tCur, k1, k2))
-				.orElse(null);
+		Long key = null;
+		for (IBerkeleyAccessor<?> accessor : accessors.values())
+		{
+			if (accessor.isSumatraTimestampBased())
+			{
+				key = getNearestKey(tCur, key, accessor.getNearestKey(tCur));
+			}
+		}
+		return key;
 	}
 
 
@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence;
+
+import com.sleepycat.persist.EntityStore;
+import edu.tigers.sumatra.persistence.codec.CodecInput;
+import edu.tigers.sumatra.persistence.codec.CodecOutput;
+import edu.tigers.sumatra.persistence.codec.EncodedFrame;
+import edu.tigers.sumatra.persistence.codec.IEncodedFrameEntity;
+import edu.tigers.sumatra.persistence.codec.IFrameCodec;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+
+/**
+ * An accessor for timestamp-indexed data that is stored with an {@link IFrameCodec} instead of the reflective
+ * Berkeley binding.
+ * <p>
+ * Frames are written as delta to the previously written frame, with a key frame every
+ * {@link #DEFAULT_KEY_FRAME_INTERVAL} frames. To read a frame, the frames back to the last key frame (or to the last
+ * decoded frame) are decoded. Decoded frames are kept in a small cache, so that sequential replay only decodes a
+ * single frame per request. Frames may be decoded concurrently, e.g. by a {@link PrefetchingBerkeleyAccessor}.
+ * Recordings without encoded frames are read from the legacy entity with the reflective binding.
+ * </p>
+ *
+ * @param <T> the element type of this storage
+ * @param <E> the entity type that stores the encoded frames
+ */
+@Log4j2
+public class EncodedBerkeleyAccessor<T, E extends IEncodedFrameEntity> implements IKeyedBerkeleyAccessor<T>
+{
+	/** number of frames between two key frames, which limits the frames to decode for random access */
+	public static final int DEFAULT_KEY_FRAME_INTERVAL = 50;
+	private static final int CACHE_CAPACITY = 2 * DEFAULT_KEY_FRAME_INTERVAL;
+
+	private final BerkeleyAccessor<E> encodedAccessor;
+	private final BerkeleyAccessor<T> legacyAccessor;
+	private final IFrameCodec<T> codec;
+	private final BiFunction<Long, EncodedFrame, E> entityFactory;
+	private final int keyFrameInterval;
+	private final Map<Long, T> cache = new LinkedHashMap<>(CACHE_CAPACITY * 4 / 3 + 1, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Long, T> eldest)
+		{
+			return size() > CACHE_CAPACITY;
+		}
+	};
+
+	private boolean legacy = false;
+
+	// encoder state, guarded by writeLock
+	private final Object writeLock = new Object();
+	private final CodecOutput output = new CodecOutput();
+	private T lastWritten = null;
+	private long lastWrittenKey = 0;
+	private int framesSinceKeyFrame = 0;
+
+
+	/**
+	 * @param entityClass      the entity that stores the encoded frames
+	 * @param legacyClass      the entity of recordings without encoded frames
+	 * @param codec            the codec for the frames
+	 * @param entityFactory    creates a new entity from a timestamp and an encoded frame
+	 * @param keyFrameInterval number of frames between two key frames
+	 */
+	public EncodedBerkeleyAccessor(final Class<E> entityClass, final Class<T> legacyClass, final IFrameCodec<T> codec,
+			final BiFunction<Long, EncodedFrame, E> entityFactory, final int keyFrameInterval)
+	{
+		this.encodedAccessor = new BerkeleyAccessor<>(entityClass, true);
+		this.legacyAccessor = new BerkeleyAccessor<>(legacyClass, true);
+		this.codec = codec;
+		this.entityFactory = entityFactory;
+		this.keyFrameInterval = keyFrameInterval;
+	}
+
+
+	/**
+	 * @param entityClass   the entity that stores the encoded frames
+	 * @param legacyClass   the entity of recordings without encoded frames
+	 * @param codec         the codec for the frames
+	 * @param entityFactory creates a new entity from a timestamp and an encoded frame
+	 */
+	public EncodedBerkeleyAccessor(final Class<E> entityClass, final Class<T> legacyClass, final IFrameCodec<T> codec,
+			final BiFunction<Long, EncodedFrame, E> entityFactory)
+	{
+		this(entityClass, legacyClass, codec, entityFactory, DEFAULT_KEY_FRAME_INTERVAL);
+	}
+
+
+	@Override
+	public void open(final EntityStore entityStore)
+	{
+		encodedAccessor.open(entityStore);
+		legacyAccessor.open(entityStore);
+		legacy = encodedAccessor.getFirstKey() == null && legacyAccessor.getFirstKey() != null;
+		if (legacy)
+		{
+			log.debug("Reading legacy frames of {}", legacyAccessor);
+		}
+		synchronized (writeLock)
+		{
+			lastWritten = null;
+			framesSinceKeyFrame = 0;
+		}
+	}
+
+
+	@Override
+	public void close()
+	{
+		synchronized (this)
+		{
+			cache.clear();
+		}
+	}
+
+
+	@Override
+	public void write(final Collection<T> elements)
+	{
+		elements.forEach(this::write);
+	}
+
+
+	@Override
+	public void write(final T element)
+	{
+		if (element == null)
+		{
+			log.error("null element! sth is wrong...");
+			return;
+		}
+		if (legacy)
+		{
+			legacyAccessor.write(element);
+			return;
+		}
+
+		long key = codec.getTimestamp(element);
+		synchronized (writeLock)
+		{
+			if (lastWritten != null && key < lastWrittenKey)
+			{
+				writeOutOfOrder(key, element);
+				return;
+			}
+
+			// the last written frame can be replaced safely, as no frame depends on it yet
+			boolean keyFrame = lastWritten == null || key == lastWrittenKey || framesSinceKeyFrame >= keyFrameInterval;
+			if (writeEncoded(key, element, keyFrame ? null : lastWritten, keyFrame ? null : lastWrittenKey))
+			{
+				lastWritten = element;
+				lastWrittenKey = key;
+				framesSinceKeyFrame = keyFrame ? 1 : framesSinceKeyFrame + 1;
+			}
+		}
+	}
+
+
+	private void writeOutOfOrder(final long key, final T element)
+	{
+		if (encodedAccessor.getByKey(key) != null)
+		{
+			// later frames may depend on the existing frame
+			log.warn("Dropping frame with existing key {}, as it was written out of order", key);
+			return;
+		}
+		writeEncoded(key, element, null, null);
+	}
+
+
+	private boolean writeEncoded(final long key, final T element, final T previous, final Long previousKey)
+	{
+		try
+		{
+			output.reset();
+			codec.encode(element, previous, output);
+			EncodedFrame frame = new EncodedFrame(codec.getVersion(), previousKey, output.toByteArray(),
+					output.getObjects());
+			encodedAccessor.write(entityFactory.apply(key, frame));
+			return true;
+		} catch (RuntimeException err)
+		{
+			log.error("Could not encode element: {}", element, err);
+			return false;
+		}
+	}
+
+
+	@Override
+	public T get(final long key)
+	{
+		if (legacy)
+		{
+			return legacyAccessor.get(key);
+		}
+		Long nearestKey = encodedAccessor.getNearestKey(key);
+		if (nearestKey == null)
+		{
+			return null;
+		}
+		return decode(nearestKey);
+	}
+
+
+	@Override
+	public T getByKey(final long key)
+	{
+		if (legacy)
+		{
+			return legacyAccessor.getByKey(key);
+		}
+		return decode(key);
+	}
+
+
+	@Override
+	public List<Long> getKeys(final long key, final boolean forward, final int count)
+	{
+		return getKeyAccessor().getKeys(key, forward, count);
+	}
+
+
+	private T decode(final long key)
+	{
+		T frame = getCached(key);
+		if (frame != null)
+		{
+			return frame;
+		}
+
+		// collect the frames back to the last key frame or the last decoded frame
+		Deque<E> chain = new ArrayDeque<>();
+		Long nextKey = key;
+		while (nextKey != null)
+		{
+			frame = getCached(nextKey);
+			if (frame != null)
+			{
+				break;
+			}
+			E entity = encodedAccessor.getByKey(nextKey);
+			if (entity == null)
+			{
+				if (chain.isEmpty())
+				{
+					return null;
+				}
+				log.warn("Frame {} that is required to decode frame {} is missing", nextKey, key);
+				return null;
+			}
+			chain.push(entity);
+			nextKey = entity.getFrame().getPreviousKey();
+		}
+
+		while (!chain.isEmpty())
+		{
+			E entity = chain.pop();
+			frame = decode(entity, frame);
+			putCached(entity.getTimestamp(), frame);
+		}
+		return frame;
+	}
+
+
+	private T decode(final E entity, final T previous)
+	{
+		EncodedFrame encodedFrame = entity.getFrame();
+		if (encodedFrame.getVersion() > codec.getVersion())
+		{
+			throw new IllegalStateException("Frame " + entity.getTimestamp() + " was encoded with version "
+					+ encodedFrame.getVersion() + ", but only version " + codec.getVersion() + " is supported");
+		}
+		return codec.decode(new CodecInput(encodedFrame), encodedFrame.isKeyFrame() ? null : previous);
+	}
+
+
+	private synchronized T getCached(final long key)
+	{
+		return cache.get(key);
+	}
+
+
+	private synchronized void putCached(final long key, final T frame)
+	{
+		cache.put(key, frame);
+	}
+
+
+	@Override
+	public void forEach(final Consumer<T> consumer)
+	{
+		if (legacy)
+		{
+			legacyAccessor.forEach(consumer);
+			return;
+		}
+		// entities are iterated in key order, so the previous frame is usually still cached
+		encodedAccessor.forEach(entity -> {
+			EncodedFrame encodedFrame = entity.getFrame();
+			T previous = encodedFrame.isKeyFrame() ? null : decode(encodedFrame.getPreviousKey());
+			if (previous == null && !encodedFrame.isKeyFrame())
+			{
+				return;
+			}
+			T frame = decode(entity, previous);
+			putCached(entity.getTimestamp(), frame);
+			consumer.accept(frame);
+		});
+	}
+
+
+	@Override
+	public List<T> load()
+	{
+		List<T> frames = new ArrayList<>((int) size());
+		forEach(frames::add);
+		return frames;
+	}
+
+
+	private BerkeleyAccessor<?> getKeyAccessor()
+	{
+		return legacy ? legacyAccessor : encodedAccessor;
+	}
+
+
+	@Override
+	public long size()
+	{
+		return getKeyAccessor().size();
+	}
+
+
+	@Override
+	public Long getFirstKey()
+	{
+		return getKeyAccessor().getFirstKey();
+	}
+
+
+	@Override
+	public Long getLastKey()
+	{
+		return getKeyAccessor().getLastKey();
+	}
+
+
+	@Override
+	public Long getNearestKey(final long key)
+	{
+		return getKeyAccessor().getNearestKey(key);
+	}
+
+
+	@Override
+	public Long getNextKey(final long key)
+	{
+		return getKeyAccessor().getNextKey(key);
+	}
+
+
+	@Override
+	public Long getPreviousKey(final long key)
+	{
+		return getKeyAccessor().getPreviousKey(key);
+	}
+
+
+	@Override
+	public boolean isSumatraTimestampBased()
+	{
+		return true;
+	}
+}
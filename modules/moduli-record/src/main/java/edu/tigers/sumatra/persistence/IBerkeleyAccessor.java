@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.persistence;
@@ -103,4 +103,12 @@ public interface IBerkeleyAccessor<T>
 	 * @return true, if the key is a Sumatra timestamp
 	 */
 	boolean isSumatraTimestampBased();
+
+
+	/**
+	 * Release resources of this accessor. Called before the database is closed.
+	 */
+	default void close()
+	{
+	}
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.persistence;
+
+import java.util.List;
+
+
+/**
+ * An accessor that additionally provides access by exact keys, as required for prefetching.
+ *
+ * @param <T> the element type of this storage
+ */
+public interface IKeyedBerkeleyAccessor<T> extends IBerkeleyAccessor<T>
+{
+	/**
+	 * Get an element by its exact key
+	 *
+	 * @param key the key of the element
+	 * @return the element or null, if there is no element with the key
+	 */
+	T getByKey(long key);
+
+
+	/**
+	 * Get the keys next to the given key in the given direction, excluding the given key
+	 *
+	 * @param key     the key to start from
+	 * @param forward true for larger keys, false for smaller keys
+	 * @param count   the maximum number of keys
+	 * @return the keys, sorted in the given direction
+	 */
+	List<Long> getKeys(long key, boolean forward, int count);
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * An immutable, sorted set of primitive keys that can be queried without locking.
+ * <p>
+ * Adding a larger key than all existing keys reuses the underlying array, as readers of older indices never look
+ * beyond their own size. Therefore, {@link #with(long)} must only be called on the latest index by a single writer.
+ * </p>
+ */
+final class KeyIndex
+{
+	static final KeyIndex EMPTY = new KeyIndex(new long[0], 0);
+
+	private final long[] keys;
+	private final int size;
+
+
+	private KeyIndex(final long[] keys, final int size)
+	{
+		this.keys = keys;
+		this.size = size;
+	}
+
+
+	/**
+	 * @param keys keys in ascending order without duplicates, the array is not copied
+	 * @param size the number of valid keys in the array
+	 * @return a new index
+	 */
+	static KeyIndex of(final long[] keys, final int size)
+	{
+		return new KeyIndex(keys, size);
+	}
+
+
+	/**
+	 * @param key a key
+	 * @return an index that additionally contains the given key
+	 */
+	KeyIndex with(final long key)
+	{
+		if (size == 0 || key > keys[size - 1])
+		{
+			long[] newKeys = keys;
+			if (size == keys.length)
+			{
+				newKeys = Arrays.copyOf(keys, Math.max(16, size * 2));
+			}
+			newKeys[size] = key;
+			return new KeyIndex(newKeys, size + 1);
+		}
+		int pos = Arrays.binarySearch(keys, 0, size, key);
+		if (pos >= 0)
+		{
+			return this;
+		}
+		int insertPos = -pos - 1;
+		long[] newKeys = new long[Math.max(16, size * 2)];
+		System.arraycopy(keys, 0, newKeys, 0, insertPos);
+		newKeys[insertPos] = key;
+		System.arraycopy(keys, insertPos, newKeys, insertPos + 1, size - insertPos);
+		return new KeyIndex(newKeys, size + 1);
+	}
+
+
+	int size()
+	{
+		return size;
+	}
+
+
+	Long first()
+	{
+		return size == 0 ? null : keys[0];
+	}
+
+
+	Long last()
+	{
+		return size == 0 ? null : keys[size - 1];
+	}
+
+
+	/**
+	 * @param key a key
+	 * @return the smallest key that is larger than or equal to the given key, or null
+	 */
+	Long ceiling(final long key)
+	{
+		int i = indexOfCeiling(key);
+		return i < size ? keys[i] : null;
+	}
+
+
+	/**
+	 * @param key a key
+	 * @return the smallest key that is larger than the given key, or null
+	 */
+	Long higher(final long key)
+	{
+		int i = indexOfHigher(key);
+		return i < size ? keys[i] : null;
+	}
+
+
+	/**
+	 * @param key a key
+	 * @return the largest key that is smaller than the given key, or null
+	 */
+	Long lower(final long key)
+	{
+		int i = indexOfCeiling(key) - 1;
+		return i >= 0 ? keys[i] : null;
+	}
+
+
+	/**
+	 * @param key     the key to start from
+	 * @param forward true for larger keys, false for smaller keys
+	 * @param count   the maximum number of keys
+	 * @return the keys next to the given key in the given direction, excluding the given key
+	 */
+	List<Long> keys(final long key, final boolean forward, final int count)
+	{
+		List<Long> result = new ArrayList<>(count);
+		if (forward)
+		{
+			for (int i = indexOfHigher(key); i < size && result.size() < count; i++)
+			{
+				result.add(keys[i]);
+			}
+		} else
+		{
+			for (int i = indexOfCeiling(key) - 1; i >= 0 && result.size() < count; i--)
+			{
+				result.add(keys[i]);
+			}
+		}
+		return result;
+	}
+
+
+	private int indexOfCeiling(final long key)
+	{
+		int pos = Arrays.binarySearch(keys, 0, size, key);
+		return pos >= 0 ? pos : -pos - 1;
+	}
+
+
+	private int indexOfHigher(final long key)
+	{
+		int pos = Arrays.binarySearch(keys, 0, size, key);
+		return pos >= 0 ? pos + 1 : -pos - 1;
+	}
+}
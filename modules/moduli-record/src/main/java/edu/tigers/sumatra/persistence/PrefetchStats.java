@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence;
+
+/**
+ * Statistics of a {@link PrefetchingBerkeleyAccessor}.
+ *
+ * @param numHits      number of requests served from the cache
+ * @param numMisses    number of requests that had to be decoded on the calling thread
+ * @param numDecoded   number of decoded elements, including the prefetched ones
+ * @param decodeTimeNs total time spent decoding elements [ns]
+ */
+public record PrefetchStats(long numHits, long numMisses, long numDecoded, long decodeTimeNs)
+{
+	/**
+	 * @return the share of requests served from the cache [0..1]
+	 */
+	public double hitRate()
+	{
+		long numRequests = numHits + numMisses;
+		return numRequests == 0 ? 0 : numHits / (double) numRequests;
+	}
+
+
+	/**
+	 * @return the average time to decode a single element [ns]
+	 */
+	public double avgDecodeTimeNs()
+	{
+		return numDecoded == 0 ? 0 : decodeTimeNs / (double) numDecoded;
+	}
+
+
+	@Override
+	public String toString()
+	{
+		return String.format("hit rate: %.1f%% (%d requests), avg decode time: %.2fms",
+				hitRate() * 100, numHits + numMisses, avgDecodeTimeNs() / 1e6);
+	}
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence;
+
+import com.sleepycat.persist.EntityStore;
+import edu.tigers.sumatra.thread.NamedThreadFactory;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+
+/**
+ * An accessor for replaying timestamp-indexed data.
+ * <p>
+ * Elements returned by {@link #get(long)} are kept in a bounded LRU cache. After each access, the next elements in the
+ * current replay direction are decoded on a background thread, so that sequential replay and scrubbing mostly hit the
+ * cache instead of deserializing on the calling thread.
+ * The distance between the last two accesses is used as the step for prefetching, so that fast replay does not decode
+ * frames that are skipped anyway.
+ * All other methods are forwarded to the underlying accessor.
+ * </p>
+ *
+ * @param <T> the element type of this storage
+ */
+@Log4j2
+public class PrefetchingBerkeleyAccessor<T> implements IBerkeleyAccessor<T>
+{
+	/** number of elements to decode ahead of the current position */
+	public static final int DEFAULT_WINDOW_SIZE = 64;
+	/** number of elements to keep, covering some seconds of replay in both directions */
+	public static final int DEFAULT_CAPACITY = 256;
+	/** larger steps between two accesses are considered as jumps, not as fast replay */
+	private static final long MAX_STEP = 1_000_000_000L;
+
+	private final IKeyedBerkeleyAccessor<T> accessor;
+	private final int windowSize;
+	private final Map<Long, T> cache;
+	private final ExecutorService executor;
+	private final AtomicBoolean prefetchPending = new AtomicBoolean();
+
+	private final LongAdder numHits = new LongAdder();
+	private final LongAdder numMisses = new LongAdder();
+	private final LongAdder numDecoded = new LongAdder();
+	private final LongAdder decodeTimeNs = new LongAdder();
+
+	private long lastKey = 0;
+	private long step = 0;
+	private Long lastPrefetchKey = null;
+
+
+	/**
+	 * @param accessor   the accessor to read from
+	 * @param name       name of the prefetching thread
+	 * @param windowSize number of elements to decode ahead of the current position
+	 * @param capacity   maximum number of cached elements, must be larger than the window size
+	 */
+	public PrefetchingBerkeleyAccessor(final IKeyedBerkeleyAccessor<T> accessor, final String name,
+			final int windowSize, final int capacity)
+	{
+		this.accessor = accessor;
+		this.windowSize = windowSize;
+		this.cache = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Long, T> eldest)
+			{
+				return size() > capacity;
+			}
+		};
+		this.executor = Executors.newSingleThreadExecutor(new NamedThreadFactory("Prefetch " + name));
+	}
+
+
+	/**
+	 * @param accessor the accessor to read from
+	 * @param name     name of the prefetching thread
+	 */
+	public PrefetchingBerkeleyAccessor(final IKeyedBerkeleyAccessor<T> accessor, final String name)
+	{
+		this(accessor, name, DEFAULT_WINDOW_SIZE, DEFAULT_CAPACITY);
+	}
+
+
+	@Override
+	public T get(final long tCur)
+	{
+		Long key = accessor.getNearestKey(tCur);
+		if (key == null)
+		{
+			return null;
+		}
+
+		T element = getCached(key);
+		if (element == null)
+		{
+			numMisses.increment();
+			element = decode(key);
+		} else
+		{
+			numHits.increment();
+		}
+
+		schedulePrefetch(key);
+		return element;
+	}
+
+
+	private synchronized T getCached(final long key)
+	{
+		return cache.get(key);
+	}
+
+
+	private synchronized boolean isCached(final long key)
+	{
+		return cache.containsKey(key);
+	}
+
+
+	private T decode(final long key)
+	{
+		long t0 = System.nanoTime();
+		T element = accessor.getByKey(key);
+		decodeTimeNs.add(System.nanoTime() - t0);
+		numDecoded.increment();
+		if (element != null)
+		{
+			synchronized (this)
+			{
+				cache.put(key, element);
+			}
+		}
+		return element;
+	}
+
+
+	private void schedulePrefetch(final long key)
+	{
+		long prefetchStep;
+		synchronized (this)
+		{
+			if (lastPrefetchKey != null && key == lastPrefetchKey)
+			{
+				// paused, the window was already prefetched
+				return;
+			}
+			if (key != lastKey)
+			{
+				step = Math.abs(key - lastKey) > MAX_STEP ? 0 : key - lastKey;
+				lastKey = key;
+			}
+			prefetchStep = step;
+		}
+
+		if (prefetchPending.compareAndSet(false, true))
+		{
+			synchronized (this)
+			{
+				lastPrefetchKey = key;
+			}
+			try
+			{
+				executor.execute(() -> prefetch(key, prefetchStep));
+			} catch (RejectedExecutionException e)
+			{
+				// accessor was closed
+				prefetchPending.set(false);
+			}
+		}
+	}
+
+
+	@SuppressWarnings("java:S1181") // catching throwable intentionally, the prefetcher must not die
+	private void prefetch(final long key, final long prefetchStep)
+	{
+		try
+		{
+			for (Long k : getPrefetchKeys(key, prefetchStep))
+			{
+				if (Thread.currentThread().isInterrupted())
+				{
+					return;
+				}
+				if (!isCached(k))
+				{
+					decode(k);
+				}
+			}
+		} catch (Throwable e)
+		{
+			log.warn("Prefetching failed", e);
+		} finally
+		{
+			prefetchPending.set(false);
+		}
+	}
+
+
+	private List<Long> getPrefetchKeys(final long key, final long prefetchStep)
+	{
+		if (prefetchStep == 0)
+		{
+			// no direction known yet, or after a jump: assume normal forward replay
+			return accessor.getKeys(key, true, windowSize);
+		}
+
+		Long firstKey = accessor.getFirstKey();
+		Long lastKeyInDb = accessor.getLastKey();
+		List<Long> keys = new ArrayList<>(windowSize);
+		for (int i = 1; i <= windowSize; i++)
+		{
+			long t = key + i * prefetchStep;
+			if (firstKey == null || lastKeyInDb == null || t < firstKey || t > lastKeyInDb)
+			{
+				break;
+			}
+			Long k = accessor.getNearestKey(t);
+			if (k != null && (keys.isEmpty() || !k.equals(keys.get(keys.size() - 1))))
+			{
+				keys.add(k);
+			}
+		}
+		return keys;
+	}
+
+
+	/**
+	 * @return true, while elements are prefetched in the background
+	 */
+	boolean isPrefetching()
+	{
+		return prefetchPending.get();
+	}
+
+
+	/**
+	 * @return the current cache statistics
+	 */
+	public PrefetchStats getStats()
+	{
+		return new PrefetchStats(numHits.sum(), numMisses.sum(), numDecoded.sum(), decodeTimeNs.sum());
+	}
+
+
+	@Override
+	public void close()
+	{
+		executor.shutdownNow();
+		try
+		{
+			if (!executor.awaitTermination(1, TimeUnit.SECONDS))
+			{
+				log.warn("Prefetching did not terminate within 1s");
+			}
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		synchronized (this)
+		{
+			cache.clear();
+		}
+		log.debug("Closed prefetching accessor: {}", getStats());
+	}
+
+
+	@Override
+	public void open(final EntityStore entityStore)
+	{
+		accessor.open(entityStore);
+	}
+
+
+	@Override
+	public long size()
+	{
+		return accessor.size();
+	}
+
+
+	@Override
+	public List<T> load()
+	{
+		return accessor.load();
+	}
+
+
+	@Override
+	public void forEach(final Consumer<T> consumer)
+	{
+		accessor.forEach(consumer);
+	}
+
+
+	@Override
+	public void write(final Collection<T> elements)
+	{
+		accessor.write(elements);
+	}
+
+
+	@Override
+	public void write(final T element)
+	{
+		accessor.write(element);
+	}
+
+
+	@Override
+	public Long getFirstKey()
+	{
+		return accessor.getFirstKey();
+	}
+
+
+	@Override
+	public Long getLastKey()
+	{
+		return accessor.getLastKey();
+	}
+
+
+	@Override
+	public Long getNearestKey(final long key)
+	{
+		return accessor.getNearestKey(key);
+	}
+
+
+	@Override
+	public Long getNextKey(final long key)
+	{
+		return accessor.getNextKey(key);
+	}
+
+
+	@Override
+	public Long getPreviousKey(final long key)
+	{
+		return accessor.getPreviousKey(key);
+	}
+
+
+	@Override
+	public boolean isSumatraTimestampBased()
+	{
+		return accessor.isSumatraTimestampBased();
+	}
+}
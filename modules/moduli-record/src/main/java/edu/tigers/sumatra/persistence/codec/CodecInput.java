@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+
+/**
+ * Reads the binary representation written by a {@link CodecOutput}.
+ */
+public class CodecInput
+{
+	private final int version;
+	private final byte[] data;
+	private final List<Object> objects;
+	private int position = 0;
+	private int objectPosition = 0;
+
+
+	/**
+	 * @param version the codec version that the data was written with
+	 * @param data    the written bytes
+	 * @param objects the written objects
+	 */
+	public CodecInput(final int version, final byte[] data, final List<Object> objects)
+	{
+		this.version = version;
+		this.data = data;
+		this.objects = objects;
+	}
+
+
+	/**
+	 * @param frame an encoded frame
+	 */
+	public CodecInput(final EncodedFrame frame)
+	{
+		this(frame.getVersion(), frame.getData(), frame.getObjects());
+	}
+
+
+	/**
+	 * @return the codec version that the data was written with
+	 */
+	public int getVersion()
+	{
+		return version;
+	}
+
+
+	/**
+	 * @return true, if all bytes were read
+	 */
+	public boolean isAtEnd()
+	{
+		return position == data.length;
+	}
+
+
+	public int readByte()
+	{
+		if (position >= data.length)
+		{
+			throw new IllegalStateException("Unexpected end of encoded data after " + data.length + " bytes");
+		}
+		return data[position++] & 0xFF;
+	}
+
+
+	public boolean readBoolean()
+	{
+		return readByte() != 0;
+	}
+
+
+	public long readVarLong()
+	{
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7)
+		{
+			int b = readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+			{
+				return value;
+			}
+		}
+		throw new IllegalStateException("Malformed variable length integer at position " + position);
+	}
+
+
+	public int readVarInt()
+	{
+		return (int) readVarLong();
+	}
+
+
+	public long readSignedVarLong()
+	{
+		long v = readVarLong();
+		return (v >>> 1) ^ -(v & 1);
+	}
+
+
+	/**
+	 * @param previous the value of the previous frame
+	 * @return the value
+	 */
+	public long readDelta(final long previous)
+	{
+		return previous + readSignedVarLong();
+	}
+
+
+	/**
+	 * @param previous the value of the previous frame
+	 * @param scale    the scale that the value was written with
+	 * @return the value
+	 */
+	public double readFixedPointDelta(final double previous, final double scale)
+	{
+		return FixedPoint.fromFixedPoint(readDelta(FixedPoint.toFixedPoint(previous, scale)), scale);
+	}
+
+
+	public float readFloat()
+	{
+		int bits = 0;
+		for (int i = 0; i < 4; i++)
+		{
+			bits |= readByte() << (i * 8);
+		}
+		return Float.intBitsToFloat(bits);
+	}
+
+
+	public double readDouble()
+	{
+		long bits = 0;
+		for (int i = 0; i < 8; i++)
+		{
+			bits |= (long) readByte() << (i * 8);
+		}
+		return Double.longBitsToDouble(bits);
+	}
+
+
+	public String readString()
+	{
+		int length = readVarInt() - 1;
+		if (length < 0)
+		{
+			return null;
+		}
+		if (length > data.length - position)
+		{
+			throw new IllegalStateException("String length " + length + " exceeds encoded data");
+		}
+		String value = new String(data, position, length, StandardCharsets.UTF_8);
+		position += length;
+		return value;
+	}
+
+
+	/**
+	 * @param <O> the expected type
+	 * @return the next object that was added with {@link CodecOutput#writeObject(Object)}
+	 */
+	@SuppressWarnings("unchecked")
+	public <O> O readObject()
+	{
+		if (objectPosition >= objects.size())
+		{
+			throw new IllegalStateException("Missing object " + objectPosition + " in encoded data");
+		}
+		return (O) objects.get(objectPosition++);
+	}
+}
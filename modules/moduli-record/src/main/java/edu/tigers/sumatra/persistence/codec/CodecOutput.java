@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * A growing buffer for writing a compact binary representation of a frame.
+ * <p>
+ * Integers are written as variable length integers (7 bits per byte), signed values are zigzag encoded before,
+ * so that small absolute values need few bytes. This makes the format especially efficient for deltas to the
+ * previous frame. Floating point values can be written with a fixed resolution as such deltas.
+ * Objects that are not covered by a codec can be added to the output and are persisted by the Berkeley DPL binding.
+ * </p>
+ */
+public class CodecOutput
+{
+	private byte[] buffer;
+	private int size = 0;
+	private final List<Object> objects = new ArrayList<>();
+
+
+	/**
+	 * Create a new output with a default initial capacity
+	 */
+	public CodecOutput()
+	{
+		this(256);
+	}
+
+
+	/**
+	 * @param initialCapacity the initial capacity in bytes
+	 */
+	public CodecOutput(final int initialCapacity)
+	{
+		buffer = new byte[initialCapacity];
+	}
+
+
+	/**
+	 * Clear this output for reuse
+	 */
+	public void reset()
+	{
+		size = 0;
+		objects.clear();
+	}
+
+
+	/**
+	 * @return the number of bytes written
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+
+	/**
+	 * @return a copy of the written bytes
+	 */
+	public byte[] toByteArray()
+	{
+		return Arrays.copyOf(buffer, size);
+	}
+
+
+	/**
+	 * @return a copy of the written objects
+	 */
+	public List<Object> getObjects()
+	{
+		return new ArrayList<>(objects);
+	}
+
+
+	/**
+	 * @param value a byte, only the lower 8 bits are written
+	 */
+	public void writeByte(final int value)
+	{
+		if (size == buffer.length)
+		{
+			buffer = Arrays.copyOf(buffer, buffer.length * 2);
+		}
+		buffer[size++] = (byte) value;
+	}
+
+
+	public void writeBoolean(final boolean value)
+	{
+		writeByte(value ? 1 : 0);
+	}
+
+
+	/**
+	 * @param value an unsigned value
+	 */
+	public void writeVarLong(final long value)
+	{
+		long v = value;
+		while ((v & ~0x7FL) != 0)
+		{
+			writeByte((int) ((v & 0x7F) | 0x80));
+			v >>>= 7;
+		}
+		writeByte((int) v);
+	}
+
+
+	/**
+	 * @param value an unsigned value, like a size
+	 */
+	public void writeVarInt(final int value)
+	{
+		writeVarLong(Integer.toUnsignedLong(value));
+	}
+
+
+	/**
+	 * @param value a signed value, zigzag encoded
+	 */
+	public void writeSignedVarLong(final long value)
+	{
+		writeVarLong((value << 1) ^ (value >> 63));
+	}
+
+
+	/**
+	 * @param value    the value to write
+	 * @param previous the value of the previous frame
+	 */
+	public void writeDelta(final long value, final long previous)
+	{
+		writeSignedVarLong(value - previous);
+	}
+
+
+	/**
+	 * Write a floating point value in fixed point representation as delta to the previous value.
+	 * The value must be {@link FixedPoint#isRepresentable(double, double) representable}.
+	 *
+	 * @param value    the value to write
+	 * @param previous the value of the previous frame
+	 * @param scale    the inverse of the resolution, e.g. 1000 for a resolution of 0.001
+	 */
+	public void writeFixedPointDelta(final double value, final double previous, final double scale)
+	{
+		writeDelta(FixedPoint.toFixedPoint(value, scale), FixedPoint.toFixedPoint(previous, scale));
+	}
+
+
+	public void writeFloat(final float value)
+	{
+		int bits = Float.floatToRawIntBits(value);
+		for (int i = 0; i < 4; i++)
+		{
+			writeByte(bits >>> (i * 8));
+		}
+	}
+
+
+	public void writeDouble(final double value)
+	{
+		long bits = Double.doubleToRawLongBits(value);
+		for (int i = 0; i < 8; i++)
+		{
+			writeByte((int) (bits >>> (i * 8)));
+		}
+	}
+
+
+	/**
+	 * @param value a string or null
+	 */
+	public void writeString(final String value)
+	{
+		if (value == null)
+		{
+			writeVarInt(0);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(bytes.length + 1);
+		for (byte b : bytes)
+		{
+			writeByte(b);
+		}
+	}
+
+
+	/**
+	 * Add an object that is not covered by the codec. It is persisted by the Berkeley DPL binding, so it must be
+	 * a persistent type.
+	 *
+	 * @param object the object to add
+	 */
+	public void writeObject(final Object object)
+	{
+		objects.add(object);
+	}
+}
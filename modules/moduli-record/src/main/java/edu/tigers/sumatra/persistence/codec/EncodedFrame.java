@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence.codec;
+
+import com.sleepycat.persist.model.Persistent;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A frame in the binary representation of an {@link IFrameCodec}.
+ * Key frames can be decoded on their own, all other frames are encoded as delta to their previous frame.
+ */
+@Persistent
+@Data
+@RequiredArgsConstructor
+public class EncodedFrame
+{
+	/** the version of the codec that encoded this frame */
+	private final int version;
+	/** the key of the frame that this frame is encoded against, null for key frames */
+	private final Long previousKey;
+	private final byte[] data;
+	/** objects that are not covered by the codec */
+	private final List<Object> objects;
+
+
+	@SuppressWarnings("unused")
+	private EncodedFrame()
+	{
+		version = 0;
+		previousKey = null;
+		data = new byte[0];
+		objects = new ArrayList<>();
+	}
+
+
+	/**
+	 * @return true, if this frame does not depend on a previous frame
+	 */
+	public boolean isKeyFrame()
+	{
+		return previousKey == null;
+	}
+}
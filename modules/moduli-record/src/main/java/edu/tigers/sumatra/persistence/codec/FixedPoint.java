@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence.codec;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * Conversion between floating point values and a fixed point representation with a given resolution.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FixedPoint
+{
+	private static final double MAX_VALUE = 1L << 52;
+
+
+	/**
+	 * @param value a value
+	 * @param scale the inverse of the resolution
+	 * @return true, if the value can be stored in fixed point representation
+	 */
+	public static boolean isRepresentable(final double value, final double scale)
+	{
+		return Double.isFinite(value) && Math.abs(value * scale) < MAX_VALUE;
+	}
+
+
+	/**
+	 * @param value a value
+	 * @param scale the inverse of the resolution
+	 * @return the fixed point representation, or 0, if the value is not {@link #isRepresentable representable}
+	 */
+	public static long toFixedPoint(final double value, final double scale)
+	{
+		if (!isRepresentable(value, scale))
+		{
+			return 0;
+		}
+		return Math.round(value * scale);
+	}
+
+
+	/**
+	 * @param value a fixed point representation
+	 * @param scale the inverse of the resolution
+	 * @return the floating point value
+	 */
+	public static double fromFixedPoint(final long value, final double scale)
+	{
+		return value / scale;
+	}
+}
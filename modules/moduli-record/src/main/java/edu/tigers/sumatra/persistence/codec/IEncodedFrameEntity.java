@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence.codec;
+
+/**
+ * A Berkeley entity that stores an {@link EncodedFrame} by its timestamp.
+ */
+public interface IEncodedFrameEntity
+{
+	/**
+	 * @return the timestamp, which is the primary key
+	 */
+	long getTimestamp();
+
+
+	/**
+	 * @return the encoded frame
+	 */
+	EncodedFrame getFrame();
+}
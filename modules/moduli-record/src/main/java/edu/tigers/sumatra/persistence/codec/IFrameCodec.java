@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence.codec;
+
+/**
+ * A hand-written binary codec for recorded frames.
+ * <p>
+ * Frames are encoded as delta to the previous frame. The previous frame passed to {@link #decode} is the decoded
+ * representation of the previous frame passed to {@link #encode}, so a codec must only use information of the
+ * previous frame that survives the encoding.
+ * </p>
+ *
+ * @param <T> the type of the frames
+ */
+public interface IFrameCodec<T>
+{
+	/**
+	 * @return the version that new frames are encoded with
+	 */
+	int getVersion();
+
+
+	/**
+	 * @param frame a frame
+	 * @return the timestamp of the frame, which is its key in the database
+	 */
+	long getTimestamp(T frame);
+
+
+	/**
+	 * @param frame    the frame to encode
+	 * @param previous the previous frame or null for a key frame
+	 * @param out      the output to write to
+	 */
+	void encode(T frame, T previous, CodecOutput out);
+
+
+	/**
+	 * @param in       the input to read from
+	 * @param previous the decoded previous frame or null for a key frame
+	 * @return the decoded frame
+	 */
+	T decode(CodecInput in, T previous);
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Replay throughput of a generated database with 100Hz frames of a few kB each, like shape map frames.
+ * The replay thread requests a frame every 33ms (30 fps) at the given replay speed, like the replay GUI does.
+ * Rendering between two requests is simulated by a pause of 1ms, which the prefetcher can use to decode ahead.
+ * One operation is one second of replay at 30fps, including the 30ms of simulated rendering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, warmups = 0)
+@Warmup(iterations = 2)
+public class BerkeleyReplayBenchmark
+{
+	private static final int NUM_FRAMES = 20_000;
+	private static final long FRAME_DT = 10_000_000;
+	private static final int PAYLOAD_SIZE = 1000;
+	private static final int REFRESH_RATE = 30;
+	private static final long REFRESH_DT = 1_000_000_000L / REFRESH_RATE;
+	private static final long RENDER_TIME = 1_000_000;
+
+	@Param({ "1", "4" })
+	private int speed;
+
+	private BerkeleyDb db;
+	private BerkeleyAccessor<ReplayTestFrame> accessor;
+	private PrefetchingBerkeleyAccessor<ReplayTestFrame> prefetchingAccessor;
+	private long replayTime;
+
+
+	public static void main(String[] args) throws Exception
+	{
+		org.openjdk.jmh.Main.main(args);
+	}
+
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException
+	{
+		db = new BerkeleyDb(Files.createTempDirectory("berkeley-replay-benchmark"));
+		accessor = new BerkeleyAccessor<>(ReplayTestFrame.class, true);
+		db.add(ReplayTestFrame.class, accessor);
+		db.open();
+
+		List<ReplayTestFrame> frames = new ArrayList<>();
+		for (int i = 0; i < NUM_FRAMES; i++)
+		{
+			frames.add(new ReplayTestFrame(i * FRAME_DT, PAYLOAD_SIZE));
+		}
+		db.write(ReplayTestFrame.class, frames);
+		prefetchingAccessor = new PrefetchingBerkeleyAccessor<>(accessor, "benchmark");
+	}
+
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		prefetchingAccessor.close();
+		db.close();
+		db.delete();
+	}
+
+
+	@Benchmark
+	public void direct(Blackhole blackhole)
+	{
+		replay(accessor, blackhole);
+	}
+
+
+	@Benchmark
+	public void prefetching(Blackhole blackhole)
+	{
+		replay(prefetchingAccessor, blackhole);
+	}
+
+
+	private void replay(IBerkeleyAccessor<ReplayTestFrame> replayAccessor, Blackhole blackhole)
+	{
+		for (int i = 0; i < REFRESH_RATE; i++)
+		{
+			replayTime = (replayTime + speed * REFRESH_DT) % (NUM_FRAMES * FRAME_DT);
+			blackhole.consume(replayAccessor.get(replayTime));
+			LockSupport.parkNanos(RENDER_TIME);
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+
+public class EncodedBerkeleyAccessorTest
+{
+	private static final int NUM_FRAMES = 200;
+	private static final long FRAME_DT = 10_000_000;
+	private static final int KEY_FRAME_INTERVAL = 16;
+
+	private Path dbPath;
+	private BerkeleyDb db;
+
+
+	@Before
+	public void setUp() throws IOException
+	{
+		dbPath = Files.createTempDirectory("encoded-accessor-test");
+	}
+
+
+	@After
+	public void tearDown() throws IOException
+	{
+		db.close();
+		db.delete();
+	}
+
+
+	@Test
+	public void testRandomAccess()
+	{
+		openEncoded();
+		db.write(ReplayTestFrame.class, createFrames());
+
+		assertThat(db.size(ReplayTestFrame.class)).isEqualTo(NUM_FRAMES);
+		for (int i = NUM_FRAMES - 1; i >= 0; i -= 7)
+		{
+			assertFrame(db.get(ReplayTestFrame.class, i * FRAME_DT + 1), i);
+		}
+		assertFrame(db.get(ReplayTestFrame.class, 0), 0);
+	}
+
+
+	@Test
+	public void testLoad()
+	{
+		openEncoded();
+		db.write(ReplayTestFrame.class, createFrames());
+
+		List<ReplayTestFrame> frames = db.getAll(ReplayTestFrame.class);
+		assertThat(frames).hasSize(NUM_FRAMES);
+		for (int i = 0; i < NUM_FRAMES; i++)
+		{
+			assertFrame(frames.get(i), i);
+		}
+	}
+
+
+	@Test
+	public void testOutOfOrderWrite()
+	{
+		openEncoded();
+		List<ReplayTestFrame> frames = createFrames();
+		db.write(ReplayTestFrame.class, frames.subList(20, NUM_FRAMES));
+		db.write(ReplayTestFrame.class, frames.subList(0, 30));
+
+		assertThat(db.size(ReplayTestFrame.class)).isEqualTo(NUM_FRAMES);
+		for (int i = 0; i < NUM_FRAMES; i++)
+		{
+			assertFrame(db.get(ReplayTestFrame.class, i * FRAME_DT), i);
+		}
+	}
+
+
+	@Test
+	public void testPrefetching()
+	{
+		openEncoded();
+		db.write(ReplayTestFrame.class, createFrames());
+		db.enablePrefetching();
+
+		for (int i = 0; i < NUM_FRAMES; i++)
+		{
+			assertFrame(db.get(ReplayTestFrame.class, i * FRAME_DT), i);
+		}
+		assertThat(db.getPrefetchStats()).containsOnlyKeys(ReplayTestFrame.class);
+	}
+
+
+	@Test
+	public void testReadLegacyRecording()
+	{
+		db = new BerkeleyDb(dbPath);
+		db.add(ReplayTestFrame.class, new BerkeleyAccessor<>(ReplayTestFrame.class, true));
+		db.open();
+		db.write(ReplayTestFrame.class, createFrames());
+		db.close();
+
+		openEncoded();
+		assertThat(db.size(ReplayTestFrame.class)).isEqualTo(NUM_FRAMES);
+		assertThat(db.get(ReplayTestFrame.class, 42 * FRAME_DT).getPayload())
+				.containsExactly(createFrame(42).getPayload());
+	}
+
+
+	private void openEncoded()
+	{
+		db = new BerkeleyDb(dbPath);
+		db.add(ReplayTestFrame.class, new EncodedBerkeleyAccessor<>(EncodedReplayTestFrame.class,
+				ReplayTestFrame.class, new EncodedReplayTestFrame.Codec(), EncodedReplayTestFrame::new,
+				KEY_FRAME_INTERVAL));
+		db.open();
+	}
+
+
+	private List<ReplayTestFrame> createFrames()
+	{
+		List<ReplayTestFrame> frames = new ArrayList<>();
+		for (int i = 0; i < NUM_FRAMES; i++)
+		{
+			frames.add(createFrame(i));
+		}
+		return frames;
+	}
+
+
+	private ReplayTestFrame createFrame(final int i)
+	{
+		return new ReplayTestFrame(i * FRAME_DT, new double[] { Math.sin(i * 0.1) * 1000, i * 0.3, -i });
+	}
+
+
+	private void assertFrame(final ReplayTestFrame frame, final int i)
+	{
+		ReplayTestFrame expected = createFrame(i);
+		assertThat(frame.getTimestamp()).isEqualTo(expected.getTimestamp());
+		assertThat(frame.getPayload()).hasSameSizeAs(expected.getPayload());
+		for (int j = 0; j < expected.getPayload().length; j++)
+		{
+			assertThat(frame.getPayload()[j]).isCloseTo(expected.getPayload()[j], within(1e-3));
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence;
+
+import com.sleepycat.persist.model.Entity;
+import com.sleepycat.persist.model.PrimaryKey;
+import edu.tigers.sumatra.persistence.codec.CodecInput;
+import edu.tigers.sumatra.persistence.codec.CodecOutput;
+import edu.tigers.sumatra.persistence.codec.EncodedFrame;
+import edu.tigers.sumatra.persistence.codec.IEncodedFrameEntity;
+import edu.tigers.sumatra.persistence.codec.IFrameCodec;
+
+
+/**
+ * An encoded {@link ReplayTestFrame}.
+ */
+@Entity
+public class EncodedReplayTestFrame implements IEncodedFrameEntity
+{
+	private static final double SCALE = 1e3;
+
+	@PrimaryKey
+	private final long timestamp;
+
+	private final EncodedFrame frame;
+
+
+	@SuppressWarnings("unused")
+	private EncodedReplayTestFrame()
+	{
+		timestamp = 0;
+		frame = null;
+	}
+
+
+	public EncodedReplayTestFrame(final long timestamp, final EncodedFrame frame)
+	{
+		this.timestamp = timestamp;
+		this.frame = frame;
+	}
+
+
+	@Override
+	public long getTimestamp()
+	{
+		return timestamp;
+	}
+
+
+	@Override
+	public EncodedFrame getFrame()
+	{
+		return frame;
+	}
+
+
+	/**
+	 * A codec that stores the payload with a resolution of 1e-3.
+	 */
+	public static class Codec implements IFrameCodec<ReplayTestFrame>
+	{
+		@Override
+		public int getVersion()
+		{
+			return 1;
+		}
+
+
+		@Override
+		public long getTimestamp(final ReplayTestFrame frame)
+		{
+			return frame.getTimestamp();
+		}
+
+
+		@Override
+		public void encode(final ReplayTestFrame frame, final ReplayTestFrame previous, final CodecOutput out)
+		{
+			out.writeDelta(frame.getTimestamp(), previous == null ? 0 : previous.getTimestamp());
+			out.writeVarInt(frame.getPayload().length);
+			for (int i = 0; i < frame.getPayload().length; i++)
+			{
+				out.writeFixedPointDelta(frame.getPayload()[i], previousValue(previous, i), SCALE);
+			}
+		}
+
+
+		@Override
+		public ReplayTestFrame decode(final CodecInput in, final ReplayTestFrame previous)
+		{
+			long timestamp = in.readDelta(previous == null ? 0 : previous.getTimestamp());
+			double[] payload = new double[in.readVarInt()];
+			for (int i = 0; i < payload.length; i++)
+			{
+				payload[i] = in.readFixedPointDelta(previousValue(previous, i), SCALE);
+			}
+			return new ReplayTestFrame(timestamp, payload);
+		}
+
+
+		private double previousValue(final ReplayTestFrame previous, final int i)
+		{
+			if (previous == null || previous.getPayload().length <= i)
+			{
+				return 0;
+			}
+			return previous.getPayload()[i];
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class KeyIndexTest
+{
+	@Test
+	public void testEmpty()
+	{
+		KeyIndex index = KeyIndex.EMPTY;
+		assertThat(index.size()).isZero();
+		assertThat(index.first()).isNull();
+		assertThat(index.last()).isNull();
+		assertThat(index.ceiling(0)).isNull();
+		assertThat(index.higher(0)).isNull();
+		assertThat(index.lower(0)).isNull();
+		assertThat(index.keys(0, true, 10)).isEmpty();
+	}
+
+
+	@Test
+	public void testSameAsTreeSet()
+	{
+		Random rnd = new Random(42);
+		NavigableSet<Long> expected = new TreeSet<>();
+		KeyIndex index = KeyIndex.EMPTY;
+		for (int i = 0; i < 1000; i++)
+		{
+			// mostly increasing keys, like recorded frames, with some duplicates and out of order keys
+			long key = rnd.nextInt(10) == 0 ? rnd.nextInt(i * 10 + 1) : i * 10L;
+			expected.add(key);
+			index = index.with(key);
+		}
+
+		assertThat(index.size()).isEqualTo(expected.size());
+		assertThat(index.first()).isEqualTo(expected.first());
+		assertThat(index.last()).isEqualTo(expected.last());
+		for (long key = -5; key < 10_010; key += 3)
+		{
+			assertThat(index.ceiling(key)).isEqualTo(expected.ceiling(key));
+			assertThat(index.higher(key)).isEqualTo(expected.higher(key));
+			assertThat(index.lower(key)).isEqualTo(expected.lower(key));
+		}
+		assertThat(index.keys(5000, true, 5)).isEqualTo(first(expected.tailSet(5000L, false), 5));
+		assertThat(index.keys(5000, false, 5)).isEqualTo(first(expected.headSet(5000L, false).descendingSet(), 5));
+	}
+
+
+	@Test
+	public void testOlderIndexIsUnchanged()
+	{
+		KeyIndex index = KeyIndex.EMPTY.with(10).with(20);
+		KeyIndex appended = index.with(30);
+		KeyIndex inserted = index.with(15);
+
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.last()).isEqualTo(20);
+		assertThat(index.higher(20)).isNull();
+		assertThat(appended.keys(0, true, 10)).containsExactly(10L, 20L, 30L);
+		assertThat(inserted.keys(0, true, 10)).containsExactly(10L, 15L, 20L);
+		assertThat(index.with(20)).isSameAs(index);
+	}
+
+
+	private List<Long> first(final NavigableSet<Long> keys, final int count)
+	{
+		return new ArrayList<>(keys).subList(0, Math.min(count, keys.size()));
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class PrefetchingBerkeleyAccessorTest
+{
+	private static final int NUM_FRAMES = 500;
+	private static final long FRAME_DT = 10_000_000;
+	private static final int WINDOW_SIZE = 16;
+
+	private BerkeleyDb db;
+	private BerkeleyAccessor<ReplayTestFrame> accessor;
+	private PrefetchingBerkeleyAccessor<ReplayTestFrame> prefetchingAccessor;
+
+
+	@Before
+	public void setUp() throws IOException
+	{
+		db = new BerkeleyDb(Files.createTempDirectory("prefetching-accessor-test"));
+		accessor = new BerkeleyAccessor<>(ReplayTestFrame.class, true);
+		db.add(ReplayTestFrame.class, accessor);
+		db.open();
+
+		List<ReplayTestFrame> frames = new ArrayList<>();
+		for (int i = 0; i < NUM_FRAMES; i++)
+		{
+			frames.add(new ReplayTestFrame(i * FRAME_DT, 10));
+		}
+		db.write(ReplayTestFrame.class, frames);
+
+		prefetchingAccessor = new PrefetchingBerkeleyAccessor<>(accessor, "test", WINDOW_SIZE, 4 * WINDOW_SIZE);
+	}
+
+
+	@After
+	public void tearDown() throws IOException
+	{
+		prefetchingAccessor.close();
+		db.close();
+		db.delete();
+	}
+
+
+	@Test
+	public void testSameElementsAsAccessor()
+	{
+		for (long t = 0; t < NUM_FRAMES * FRAME_DT; t += 3 * FRAME_DT + 1)
+		{
+			assertThat(prefetchingAccessor.get(t).getTimestamp()).isEqualTo(accessor.get(t).getTimestamp());
+		}
+		for (long t = NUM_FRAMES * FRAME_DT; t >= 0; t -= 5 * FRAME_DT)
+		{
+			assertThat(prefetchingAccessor.get(t).getTimestamp()).isEqualTo(accessor.get(t).getTimestamp());
+		}
+	}
+
+
+	@Test
+	public void testPrefetchForward()
+	{
+		prefetchingAccessor.get(0);
+		awaitPrefetched();
+
+		for (int i = 1; i <= WINDOW_SIZE; i++)
+		{
+			prefetchingAccessor.get(i * FRAME_DT);
+		}
+		PrefetchStats stats = prefetchingAccessor.getStats();
+		assertThat(stats.numMisses()).isEqualTo(1);
+		assertThat(stats.numHits()).isEqualTo(WINDOW_SIZE);
+		assertThat(stats.hitRate()).isGreaterThan(0.9);
+	}
+
+
+	@Test
+	public void testPrefetchBackward()
+	{
+		long tEnd = (NUM_FRAMES - 1) * FRAME_DT;
+		prefetchingAccessor.get(tEnd);
+		awaitPrefetched();
+		// the second access determines the direction
+		prefetchingAccessor.get(tEnd - FRAME_DT);
+		awaitPrefetched();
+
+		for (int i = 2; i <= WINDOW_SIZE + 1; i++)
+		{
+			prefetchingAccessor.get(tEnd - i * FRAME_DT);
+		}
+		assertThat(prefetchingAccessor.getStats().numMisses()).isEqualTo(2);
+	}
+
+
+	@Test
+	public void testEnablePrefetching()
+	{
+		db.enablePrefetching();
+		assertThat(db.get(ReplayTestFrame.class, 42 * FRAME_DT).getTimestamp()).isEqualTo(42 * FRAME_DT);
+		assertThat(db.getPrefetchStats()).containsOnlyKeys(ReplayTestFrame.class);
+	}
+
+
+	private void awaitPrefetched()
+	{
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+		while (prefetchingAccessor.isPrefetching() && System.nanoTime() < deadline)
+		{
+			LockSupport.parkNanos(1_000_000);
+		}
+	}
+}
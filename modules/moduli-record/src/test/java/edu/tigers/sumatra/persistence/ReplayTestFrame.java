@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.persistence;
+
+import com.sleepycat.persist.model.Entity;
+import com.sleepycat.persist.model.PrimaryKey;
+
+
+/**
+ * A timestamp-indexed frame with some payload for testing replay access.
+ */
+@Entity
+public class ReplayTestFrame
+{
+	@PrimaryKey
+	private final long timestamp;
+
+	private final double[] payload;
+
+
+	@SuppressWarnings("unused")
+	private ReplayTestFrame()
+	{
+		timestamp = 0;
+		payload = null;
+	}
+
+
+	public ReplayTestFrame(final long timestamp, final int payloadSize)
+	{
+		this.timestamp = timestamp;
+		this.payload = new double[payloadSize];
+		for (int i = 0; i < payloadSize; i++)
+		{
+			payload[i] = timestamp + i;
+		}
+	}
+
+
+	public ReplayTestFrame(final long timestamp, final double[] payload)
+	{
+		this.timestamp = timestamp;
+		this.payload = payload;
+	}
+
+
+	public long getTimestamp()
+	{
+		return timestamp;
+	}
+
+
+	public double[] getPayload()
+	{
+		return payload;
+	}
+}
@@ -5,6 +5,7 @@ package edu.tigers.sumatra.referee;
 
 import edu.tigers.sumatra.clock.NanoTime;
 import edu.tigers.sumatra.gamelog.EMessageType;
+import edu.tigers.sumatra.gamelog.GameLogIndexer;
 import edu.tigers.sumatra.gamelog.GameLogMessage;
 import edu.tigers.sumatra.gamelog.GameLogPlayer;
 import edu.tigers.sumatra.gamelog.GameLogPlayerObserver;
@@ -32,6 +33,7 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 
 /**
@@ -60,6 +62,7 @@ public class Referee extends AReferee
 	private GameLogRecorder gameLogRecorder;
 	private GameLogPlayer gameLogPlayer;
 	private GameLogForwarder gameLogForwarder;
+	private final Supplier<GameLogIndexer> gameLogIndexerFactory = RefereeGameLogIndexer::new;
 
 
 	public Referee()
@@ -84,6 +87,11 @@ public class Referee extends AReferee
 		gameLogPlayer = SumatraModel.getInstance().getModuleOpt(GameLogPlayer.class).orElse(null);
 		gameLogRecorder = SumatraModel.getInstance().getModuleOpt(GameLogRecorder.class).orElse(null);
 
+		if (gameLogPlayer != null)
+		{
+			gameLogPlayer.addIndexer(gameLogIndexerFactory);
+		}
+
 		if (activeSource == ERefereeMessageSource.INTERNAL_FORWARDER && gameLogPlayer != null)
 		{
 			gameLogForwarder = new GameLogForwarder((DirectRefereeMsgForwarder) source);
@@ -192,6 +200,10 @@ public class Referee extends AReferee
 		{
 			gameLogPlayer.removeObserver(gameLogForwarder);
 		}
+		if (gameLogPlayer != null)
+		{
+			gameLogPlayer.removeIndexer(gameLogIndexerFactory);
+		}
 
 		source.stop();
 		source.removeObserver(this);
@@ -265,7 +277,7 @@ public class Referee extends AReferee
 
 			try
 			{
-				var sslReferee = SslGcRefereeMessage.Referee.parseFrom(message.getData());
+				var sslReferee = SslGcRefereeMessage.Referee.parseFrom(message.getDataBuffer());
 				forwarder.send(sslReferee);
 			} catch (Exception err)
 			{
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.referee;
+
+import edu.tigers.sumatra.gamelog.EMessageType;
+import edu.tigers.sumatra.gamelog.GameLogIndexer;
+import edu.tigers.sumatra.gamelog.GameLogMessage;
+import edu.tigers.sumatra.gamelog.GameLogSeekIndex;
+import edu.tigers.sumatra.referee.proto.SslGcRefereeMessage;
+import lombok.extern.log4j.Log4j2;
+
+
+/**
+ * Marks new referee commands, stage changes and goals in a game log.
+ */
+@Log4j2
+public class RefereeGameLogIndexer implements GameLogIndexer
+{
+	/** Marker for a new referee command. The value is the command ordinal. */
+	public static final String REFEREE_COMMAND = "referee.command";
+	/** Marker for a stage change. The value is the stage ordinal. */
+	public static final String STAGE = "referee.stage";
+	/** Marker for a goal of any team. The value is the sum of both scores. */
+	public static final String GOAL = "referee.goal";
+
+	private long lastCommandCounter = -1;
+	private SslGcRefereeMessage.Referee.Stage lastStage = null;
+	private int lastScore = -1;
+
+
+	@Override
+	public void index(final GameLogMessage message, final int index, final GameLogSeekIndex.Builder builder)
+	{
+		if (message.getType() != EMessageType.SSL_REFBOX_2013)
+		{
+			return;
+		}
+
+		SslGcRefereeMessage.Referee referee;
+		try
+		{
+			referee = SslGcRefereeMessage.Referee.parseFrom(message.getDataBuffer());
+		} catch (Exception err)
+		{
+			log.debug("Invalid SSL_REFBOX_2013 package in message {}.", index, err);
+			return;
+		}
+
+		if (referee.getCommandCounter() != lastCommandCounter)
+		{
+			builder.addMarker(REFEREE_COMMAND, index, referee.getCommand().ordinal());
+			lastCommandCounter = referee.getCommandCounter();
+		}
+
+		if (referee.getStage() != lastStage)
+		{
+			builder.addMarker(STAGE, index, referee.getStage().ordinal());
+			lastStage = referee.getStage();
+		}
+
+		int score = referee.getYellow().getScore() + referee.getBlue().getScore();
+		if (lastScore >= 0 && score > lastScore)
+		{
+			builder.addMarker(GOAL, index, score);
+		}
+		lastScore = score;
+	}
+}
@@ -1,21 +1,23 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.sumatra.referee.source;
 
 import com.github.g3force.configurable.ConfigRegistration;
 import com.github.g3force.configurable.Configurable;
+import com.google.protobuf.CodedInputStream;
+import edu.tigers.sumatra.network.IDatagramConsumer;
 import edu.tigers.sumatra.network.MulticastUDPReceiver;
 import edu.tigers.sumatra.network.NetworkUtility;
 import edu.tigers.sumatra.referee.proto.SslGcRefereeMessage;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.net.DatagramPacket;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.NetworkInterface;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
 
@@ -25,8 +27,6 @@ import java.util.Optional;
 @Log4j2
 public class NetworkRefereeReceiver extends ARefereeMessageSource implements Runnable
 {
-	private static final int BUFFER_SIZE = 10000;
-
 	@Configurable
 	private static String network;
 
@@ -36,11 +36,11 @@ public class NetworkRefereeReceiver extends ARefereeMessageSource implements Run
 	private String address;
 
 	private Thread referee;
-	private MulticastUDPReceiver receiver;
+	private volatile MulticastUDPReceiver receiver;
 
 	private InetAddress refBoxAddress = null;
 
-	private boolean expectIOE = false;
+	private volatile boolean expectIOE = false;
 
 	static
 	{
@@ -81,13 +81,14 @@ public class NetworkRefereeReceiver extends ARefereeMessageSource implements Run
 	@Override
 	public void run()
 	{
-		final DatagramPacket packet = new DatagramPacket(new byte[BUFFER_SIZE], BUFFER_SIZE);
+		final IDatagramConsumer consumer = this::onDatagram;
+		final MulticastUDPReceiver currentReceiver = receiver;
 
 		while (!Thread.currentThread().isInterrupted())
 		{
 			try
 			{
-				receiver.receive(packet);
+				currentReceiver.receive(consumer);
 			} catch (final IOException err)
 			{
 				if (!expectIOE)
@@ -96,20 +97,6 @@ public class NetworkRefereeReceiver extends ARefereeMessageSource implements Run
 				}
 				break;
 			}
-
-			refBoxAddress = packet.getAddress();
-
-			try
-			{
-				var packetIn = new ByteArrayInputStream(packet.getData(), 0, packet.getLength());
-				var sslRefereeMsg = SslGcRefereeMessage.Referee.parseFrom(packetIn);
-
-				// Notify the receipt of a new RefereeMessage to any other observers
-				notifyNewRefereeMessage(sslRefereeMsg);
-			} catch (IOException err)
-			{
-				log.error("Could not read referee message", err);
-			}
 		}
 
 		// Cleanup
@@ -117,9 +104,31 @@ public class NetworkRefereeReceiver extends ARefereeMessageSource implements Run
 	}
 
 
+	private void onDatagram(final ByteBuffer data, final InetSocketAddress sender)
+	{
+		refBoxAddress = sender.getAddress();
+
+		try
+		{
+			var sslRefereeMsg = SslGcRefereeMessage.Referee.parseFrom(CodedInputStream.newInstance(data));
+
+			// Notify the receipt of a new RefereeMessage to any other observers
+			notifyNewRefereeMessage(sslRefereeMsg);
+		} catch (IOException err)
+		{
+			log.error("Could not read referee message", err);
+		}
+	}
+
+
 	@Override
 	public void stop()
 	{
+		if (receiver != null)
+		{
+			expectIOE = true;
+		}
+
 		if (referee != null)
 		{
 			referee.interrupt();
@@ -128,8 +137,6 @@ public class NetworkRefereeReceiver extends ARefereeMessageSource implements Run
 
 		if (receiver != null)
 		{
-			expectIOE = true;
-
 			receiver.close();
 
 			receiver = null;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.sumatra.vision;
 
@@ -59,6 +59,8 @@ public class BallFilterPreprocessor
 	private static double minSearchRadius = 300.0;
 	@Configurable(defValue = "0.2", comment = "Factor by which a estimator must be better than the last one to use it")
 	private static double estimatorSwitchHysteresis = 0.2;
+	@Configurable(defValue = "4", comment = "Maximum number of kicks that wait for or run model identification")
+	private static int maxModelIdentJobs = 4;
 
 	static
 	{
@@ -69,6 +71,7 @@ public class BallFilterPreprocessor
 	private final KickDetectors kickDetectors = new KickDetectors();
 	private final KickEstimators kickEstimators = new KickEstimators();
 	private final List<IBallModelIdentificationObserver> observers = new CopyOnWriteArrayList<>();
+	private final BallModelIdentExecutor modelIdentExecutor = new BallModelIdentExecutor(maxModelIdentJobs);
 	@Configurable(comment = "Enable model identification solver", defValue = "false")
 	private boolean doModelIdentification = false;
 
@@ -124,6 +127,7 @@ public class BallFilterPreprocessor
 		ballTrackerMerger.reset();
 		kickDetectors.reset();
 		kickEstimators.reset();
+		modelIdentExecutor.cancelAll();
 	}
 
 
@@ -133,6 +137,10 @@ public class BallFilterPreprocessor
 	public void setDoModelIdentification(final boolean doModelIdentification)
 	{
 		this.doModelIdentification = doModelIdentification;
+		if (!doModelIdentification)
+		{
+			modelIdentExecutor.cancelAll();
+		}
 	}
 
 
@@ -364,20 +372,23 @@ public class BallFilterPreprocessor
 				estimators.forEach(k -> k.addCamBall(ball.getLatestCamBall().get()));
 			}
 
-			// run completed check
+			// run completed check, the identification runs in the background as it is expensive
 			if (doModelIdentification)
 			{
 				estimators.stream()
 						.filter(e -> e.isDone(mergedRobots, timestamp))
-						.map(IKickEstimator::getModelIdentResult)
-						.flatMap(List::stream)
-						.forEach(this::notifyBallModelIdentificationResult);
+						.forEach(modelIdentExecutor::submit);
 			}
+			modelIdentExecutor.drainResults(this::notifyBallModelIdentificationResult);
 			if (lastBestEstimator != null && lastBestEstimator.isDone(mergedRobots, timestamp))
 			{
 				// remove all estimators, if the currently active one finished
 				// Example: If the straight kick estimator stops because the ball hits a robot
 				// the chip estimator should also be stopped, as it else might take over for a short time.
+				// The kick ended, so the identification of the other estimators of this kick is obsolete.
+				estimators.stream()
+						.filter(e -> e != lastBestEstimator)
+						.forEach(modelIdentExecutor::cancel);
 				estimators.clear();
 			}
 			estimators.removeIf(k -> k.isDone(mergedRobots, timestamp));
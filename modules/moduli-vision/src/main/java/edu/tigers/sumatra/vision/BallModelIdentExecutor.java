@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.vision;
+
+import edu.tigers.sumatra.thread.NamedThreadFactory;
+import edu.tigers.sumatra.vision.kick.estimators.IBallModelIdentResult;
+import edu.tigers.sumatra.vision.kick.estimators.IKickEstimator;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+
+/**
+ * Run the model identification of finished kick estimators on a low-priority background thread.
+ * <p>
+ * The identification solvers take several milliseconds, so they must not run on the vision thread.
+ * Results are collected in a queue and handed back to the caller by {@link #drainResults(Consumer)}.
+ * At most {@link #getMaxOutstandingJobs()} jobs are queued or running, further kicks are skipped.
+ * Cancelled jobs are dropped from the queue. A job that is already running can not be stopped,
+ * so its result is discarded and it keeps counting against the bound until it finished.
+ * </p>
+ */
+@Log4j2
+class BallModelIdentExecutor
+{
+	private final ThreadPoolExecutor executor;
+	private final int maxOutstandingJobs;
+	/** queued and running jobs, guarded by this */
+	private final List<IdentJob> outstandingJobs = new ArrayList<>();
+	private final Queue<IBallModelIdentResult> results = new ConcurrentLinkedQueue<>();
+
+
+	/**
+	 * @param maxOutstandingJobs the maximum number of jobs that are queued or running at the same time
+	 */
+	BallModelIdentExecutor(final int maxOutstandingJobs)
+	{
+		this.maxOutstandingJobs = maxOutstandingJobs;
+		// the thread terminates when idle, so no explicit shutdown is required
+		executor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				new NamedThreadFactory("BallModelIdentification", Thread.MIN_PRIORITY));
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+
+	/**
+	 * Identify the model of a finished kick in the background.
+	 * The estimator must not be modified anymore after it was submitted.
+	 *
+	 * @param estimator a kick estimator that is done
+	 * @return true, if the job was accepted
+	 */
+	synchronized boolean submit(final IKickEstimator estimator)
+	{
+		if (outstandingJobs.size() >= maxOutstandingJobs)
+		{
+			log.warn("Skipping model identification of {} kick, {} jobs are still outstanding",
+					estimator.getType(), outstandingJobs.size());
+			return false;
+		}
+		IdentJob job = new IdentJob(estimator);
+		outstandingJobs.add(job);
+		executor.execute(job);
+		return true;
+	}
+
+
+	/**
+	 * Cancel the job of the given estimator, if it was submitted and did not finish yet.
+	 *
+	 * @param estimator the estimator of the kick
+	 */
+	synchronized void cancel(final IKickEstimator estimator)
+	{
+		outstandingJobs.stream()
+				.filter(job -> job.estimator == estimator)
+				.toList()
+				.forEach(this::cancel);
+	}
+
+
+	/**
+	 * Cancel all queued and running jobs and discard all results that were not drained yet.
+	 */
+	synchronized void cancelAll()
+	{
+		List.copyOf(outstandingJobs).forEach(this::cancel);
+		results.clear();
+	}
+
+
+	private void cancel(final IdentJob job)
+	{
+		job.cancelled = true;
+		if (executor.remove(job))
+		{
+			// the job did not start yet and will never run
+			jobFinished(job);
+		}
+	}
+
+
+	private void jobFinished(final IdentJob job)
+	{
+		outstandingJobs.remove(job);
+		notifyAll();
+	}
+
+
+	/**
+	 * Pass all results that are available so far to the given consumer
+	 *
+	 * @param consumer the consumer of the results
+	 */
+	void drainResults(final Consumer<IBallModelIdentResult> consumer)
+	{
+		IBallModelIdentResult result;
+		while ((result = results.poll()) != null)
+		{
+			consumer.accept(result);
+		}
+	}
+
+
+	/**
+	 * @return the number of jobs that are queued or running
+	 */
+	synchronized int getNumOutstandingJobs()
+	{
+		return outstandingJobs.size();
+	}
+
+
+	int getMaxOutstandingJobs()
+	{
+		return maxOutstandingJobs;
+	}
+
+
+	/**
+	 * Wait until all queued and running jobs finished.
+	 *
+	 * @param timeout the maximum time to wait
+	 * @param unit    the unit of the timeout
+	 * @return true, if there are no outstanding jobs anymore
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	synchronized boolean awaitIdle(final long timeout, final TimeUnit unit) throws InterruptedException
+	{
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		while (!outstandingJobs.isEmpty())
+		{
+			long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if (remainingMs <= 0)
+			{
+				return false;
+			}
+			wait(remainingMs);
+		}
+		return true;
+	}
+
+
+	private class IdentJob implements Runnable
+	{
+		private final IKickEstimator estimator;
+		/** guarded by the executor */
+		private boolean cancelled;
+
+
+		IdentJob(final IKickEstimator estimator)
+		{
+			this.estimator = estimator;
+		}
+
+
+		@Override
+		public void run()
+		{
+			synchronized (BallModelIdentExecutor.this)
+			{
+				if (cancelled)
+				{
+					// cancelled after the worker took the job from the queue
+					jobFinished(this);
+					return;
+				}
+			}
+			// the solvers do not react on interrupts, so the job is checked for cancellation afterward
+			List<IBallModelIdentResult> identResults = List.of();
+			try
+			{
+				identResults = estimator.getModelIdentResult();
+			} catch (RuntimeException e)
+			{
+				log.error("Model identification of {} kick failed", estimator.getType(), e);
+			} finally
+			{
+				synchronized (BallModelIdentExecutor.this)
+				{
+					if (!cancelled)
+					{
+						results.addAll(identResults);
+					}
+					jobFinished(this);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.vision;
+
+import edu.tigers.sumatra.cam.data.CamDetectionFrame;
+import edu.tigers.sumatra.data.LatencyHistogram;
+import edu.tigers.sumatra.thread.NamedThreadFactory;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+
+/**
+ * Process camera frames on a bounded thread pool with one lane per camera.
+ * <p>
+ * Frames of the same camera are processed in order and never concurrently,
+ * while frames of different cameras are processed in parallel.
+ * Each lane buffers a limited number of frames. If a lane is full, its oldest frame is dropped.
+ * </p>
+ */
+@Log4j2
+class CamFrameLanes
+{
+	private final Map<Integer, Lane> lanes = new ConcurrentHashMap<>();
+	private final ExecutorService executorService;
+	private final Consumer<CamDetectionFrame> processor;
+	private final int laneCapacity;
+
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private final AtomicLong numDroppedFrames = new AtomicLong();
+
+
+	/**
+	 * @param numThreads   number of threads that process the lanes
+	 * @param laneCapacity number of frames that are buffered per camera
+	 * @param processor    the consumer that processes a single frame
+	 */
+	CamFrameLanes(final int numThreads, final int laneCapacity, final Consumer<CamDetectionFrame> processor)
+	{
+		this.executorService = Executors.newFixedThreadPool(numThreads,
+				new NamedThreadFactory("VisionFilter Processor"));
+		this.laneCapacity = laneCapacity;
+		this.processor = processor;
+	}
+
+
+	/**
+	 * Enqueue a new frame to the lane of its camera
+	 *
+	 * @param frame the new frame
+	 */
+	void submit(final CamDetectionFrame frame)
+	{
+		lanes.computeIfAbsent(frame.getCameraId(), id -> new Lane())
+				.offer(new PendingCamFrame(frame, System.nanoTime()));
+	}
+
+
+	/**
+	 * Stop processing and drop all pending frames
+	 */
+	void shutdown()
+	{
+		executorService.shutdown();
+		lanes.values().forEach(lane -> lane.queue.clear());
+		try
+		{
+			if (!executorService.awaitTermination(1, TimeUnit.SECONDS))
+			{
+				log.warn("VisionFilter processor threads did not terminate in time");
+			}
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	/**
+	 * @return true, if no frame is pending or being processed
+	 */
+	boolean isIdle()
+	{
+		return lanes.values().stream().allMatch(lane -> !lane.scheduled.get() && lane.queue.isEmpty());
+	}
+
+
+	/**
+	 * @return the time from submitting a frame until it was processed
+	 */
+	LatencyHistogram getLatency()
+	{
+		return latency;
+	}
+
+
+	/**
+	 * @return number of frames that were dropped, because their lane was full
+	 */
+	long getNumDroppedFrames()
+	{
+		return numDroppedFrames.get();
+	}
+
+
+	private record PendingCamFrame(CamDetectionFrame frame, long receivedNs)
+	{
+	}
+
+	private class Lane implements Runnable
+	{
+		private final BlockingQueue<PendingCamFrame> queue = new ArrayBlockingQueue<>(laneCapacity);
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+
+		void offer(final PendingCamFrame frame)
+		{
+			while (!queue.offer(frame))
+			{
+				if (queue.poll() != null)
+				{
+					numDroppedFrames.incrementAndGet();
+				}
+			}
+			schedule();
+		}
+
+
+		private void schedule()
+		{
+			if (scheduled.compareAndSet(false, true))
+			{
+				try
+				{
+					executorService.execute(this);
+				} catch (RejectedExecutionException e)
+				{
+					// shutting down
+					scheduled.set(false);
+				}
+			}
+		}
+
+
+		@Override
+		@SuppressWarnings("java:S1181") // catching throwables here intentionally, one bad frame must not stop the lane
+		public void run()
+		{
+			PendingCamFrame pending;
+			while ((pending = queue.poll()) != null)
+			{
+				try
+				{
+					processor.accept(pending.frame());
+				} catch (Throwable e)
+				{
+					log.error("Uncaught exception while processing cam frame", e);
+				}
+				latency.record(System.nanoTime() - pending.receivedNs());
+			}
+			scheduled.set(false);
+			// a frame may have been added after the last poll, but before the lane was released
+			if (!queue.isEmpty())
+			{
+				schedule();
+			}
+		}
+	}
+}
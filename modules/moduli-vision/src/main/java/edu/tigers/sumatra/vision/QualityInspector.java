@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.sumatra.vision;
 
@@ -13,6 +13,7 @@ import edu.tigers.sumatra.drawable.DrawableLine;
 import edu.tigers.sumatra.drawable.IDrawableShape;
 import edu.tigers.sumatra.drawable.animated.AnimatedCircle;
 import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.BotIdMap;
 import edu.tigers.sumatra.math.StatisticsMath;
 import edu.tigers.sumatra.math.circle.Circle;
 import edu.tigers.sumatra.math.rectangle.IRectangle;
@@ -111,7 +112,7 @@ public class QualityInspector
 		Map<BotID, List<RobotTracker>> trackersById = allTrackers.stream()
 				.filter(t -> (timestamp - t.getLastUpdateTimestamp()) < (maxTimeDiffForDeviation * 1e9))
 				.filter(t -> t.getVelocity().getLength2() < (maxSpeedForDeviation * 1e3))
-				.collect(Collectors.groupingBy(RobotTracker::getBotId));
+				.collect(Collectors.groupingBy(RobotTracker::getBotId, BotIdMap::new, Collectors.toList()));
 
 		// go through all grouped trackers
 		for (List<RobotTracker> trackers : trackersById.values())
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.vision;
@@ -8,9 +8,9 @@ import com.github.g3force.configurable.ConfigRegistration;
 import com.github.g3force.configurable.Configurable;
 import edu.tigers.sumatra.cam.data.CamRobot;
 import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.BotIdMap;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -31,7 +31,7 @@ public class RobotQualityInspector
 		ConfigRegistration.registerClass("vision", RobotQualityInspector.class);
 	}
 
-	private final Map<BotID, List<Long>> measurements = new HashMap<>();
+	private final Map<BotID, List<Long>> measurements = new BotIdMap<>();
 
 	private long initialTimestamp;
 	private double maxPossibleDetectionsPerCam;
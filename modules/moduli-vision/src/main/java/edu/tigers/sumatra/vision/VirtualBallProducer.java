@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2023, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.vision;
@@ -15,6 +15,7 @@ import edu.tigers.sumatra.drawable.DrawableTube;
 import edu.tigers.sumatra.drawable.IDrawableShape;
 import edu.tigers.sumatra.geometry.Geometry;
 import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.BotIdMap;
 import edu.tigers.sumatra.math.AngleMath;
 import edu.tigers.sumatra.math.BotMath;
 import edu.tigers.sumatra.math.botshape.BotShape;
@@ -36,7 +37,6 @@ import lombok.Getter;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -51,13 +51,13 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class VirtualBallProducer
 {
 	private IVector2 lastKnownBallPosition = Vector2f.ZERO_VECTOR;
-	private final Map<BotID, Long> lastBarrierInterruptedMap = new HashMap<>();
+	private final Map<BotID, Long> lastBarrierInterruptedMap = new BotIdMap<>();
 	@Getter
 	private List<VirtualBall> virtualBalls = new CopyOnWriteArrayList<>();
 
 	private List<ITube> shadows = new ArrayList<>();
 
-	private final Map<BotID, TreeMap<Long, Pose>> robotInfoPoseHistory = new HashMap<>();
+	private final Map<BotID, TreeMap<Long, Pose>> robotInfoPoseHistory = new BotIdMap<>();
 
 	private long lastFrameId = 0;
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.vision;
@@ -16,6 +16,7 @@ import edu.tigers.sumatra.drawable.DrawableCircle;
 import edu.tigers.sumatra.drawable.IDrawableShape;
 import edu.tigers.sumatra.drawable.ShapeMap;
 import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.BotIdMap;
 import edu.tigers.sumatra.math.rectangle.IRectangle;
 import edu.tigers.sumatra.math.vector.IVector2;
 import edu.tigers.sumatra.math.vector.IVector3;
@@ -43,10 +44,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -54,12 +53,18 @@ import java.util.stream.Collectors;
 
 /**
  * Vision filter implementation.
+ * <p>
+ * In threaded mode, camera frames are processed on per-camera lanes (see {@link CamFrameLanes}),
+ * so frames of different cameras are filtered in parallel.
+ * The camera filters are merged in order of their camera id to keep the merge deterministic.
+ * </p>
  */
 @Log4j2
 public class VisionFilterImpl extends AVisionFilter
 		implements IViewportArchitect, IBallModelIdentificationObserver
 {
 	private static final int CAM_FRAME_BUFFER_SIZE = 10;
+	private static final int DEFAULT_MAX_PROCESSOR_THREADS = 4;
 
 	@Configurable(defValue = "0.0125", comment = "Publish frequency (requires restart)")
 	private static double publishDt = 0.0125;
@@ -76,8 +81,8 @@ public class VisionFilterImpl extends AVisionFilter
 	private final RobotQualityInspector robotQualityInspector = new RobotQualityInspector();
 	private final VirtualBallProducer virtualBallProducer = new VirtualBallProducer();
 
-	private Map<Integer, CamFilter> cams = new ConcurrentHashMap<>();
-	private FilteredVisionFrame lastFrame = FilteredVisionFrame.createEmptyFrame();
+	private Map<Integer, CamFilter> cams = new ConcurrentSkipListMap<>();
+	private volatile FilteredVisionFrame lastFrame = FilteredVisionFrame.createEmptyFrame();
 	private BallFilterOutput lastBallFilterOutput = new BallFilterOutput(
 			lastFrame.getBall(),
 			null,
@@ -86,8 +91,7 @@ public class VisionFilterImpl extends AVisionFilter
 	);
 
 	private ScheduledExecutorService scheduledExecutorService;
-	private final BlockingDeque<CamDetectionFrame> camDetectionFrameQueue = new LinkedBlockingDeque<>(
-			CAM_FRAME_BUFFER_SIZE);
+	private CamFrameLanes camFrameLanes;
 
 
 	private void publish()
@@ -138,55 +142,38 @@ public class VisionFilterImpl extends AVisionFilter
 			// skip negative timestamps. They can produce unexpected behavior
 			return;
 		}
-		if (scheduledExecutorService == null)
+		CamFrameLanes lanes = camFrameLanes;
+		if (lanes == null)
 		{
 			processCamDetectionFrame(camDetectionFrame);
 			publish();
 		} else
 		{
-			if (camDetectionFrameQueue.size() >= CAM_FRAME_BUFFER_SIZE)
-			{
-				camDetectionFrameQueue.pollLast();
-			}
-			camDetectionFrameQueue.addFirst(camDetectionFrame);
-		}
-	}
-
-
-	private void processCamFrameQueue()
-	{
-		while (scheduledExecutorService != null && !scheduledExecutorService.isShutdown())
-		{
-			try
-			{
-				var camFrame = camDetectionFrameQueue.pollLast(15, TimeUnit.MILLISECONDS);
-				if (camFrame != null)
-				{
-					processCamDetectionFrame(camFrame);
-				}
-			} catch (InterruptedException e)
-			{
-				Thread.currentThread().interrupt();
-			} catch(Throwable e)
-			{
-				log.error("Uncaught exception while processing cam frame", e);
-			}
+			lanes.submit(camDetectionFrame);
 		}
 	}
 
 
+	/**
+	 * Process a single camera frame. Frames of different cameras may be processed concurrently.
+	 *
+	 * @param camDetectionFrame the new frame
+	 */
 	private void processCamDetectionFrame(CamDetectionFrame camDetectionFrame)
 	{
 		int camId = camDetectionFrame.getCameraId();
 
-		// let viewport architect adjust
-		viewportArchitect.newDetectionFrame(camDetectionFrame);
-
 		// add camera if it does not exist yet
 		var camFilter = cams.computeIfAbsent(camId, CamFilter::new);
 
-		// set viewport
-		camFilter.updateViewport(viewportArchitect.getViewport(camId));
+		// let viewport architect adjust and set viewport. The architect is shared by all cameras
+		IRectangle viewport;
+		synchronized (viewportArchitect)
+		{
+			viewportArchitect.newDetectionFrame(camDetectionFrame);
+			viewport = viewportArchitect.getViewport(camId);
+		}
+		camFilter.updateViewport(viewport);
 
 		// update robot infos on all camera filters
 		camFilter.setRobotInfoMap(getRobotInfoMap());
@@ -246,33 +233,46 @@ public class VisionFilterImpl extends AVisionFilter
 		qualityInspector.inspectFilteredVisionFrame(frame);
 
 		// Update active cameras in viewport architect
-		viewportArchitect.updateCameras(cams.keySet());
-
-		// add debug and info shapes for visualizer
-		frame.getShapeMap().get(EVisionFilterShapesLayer.VIEWPORT_SHAPES).addAll(viewportArchitect.getInfoShapes());
-		frame.getShapeMap().get(EVisionFilterShapesLayer.QUALITY_SHAPES).addAll(qualityInspector.getInfoShapes());
-		frame.getShapeMap().get(EVisionFilterShapesLayer.CAM_INFO_SHAPES).addAll(getCamInfoShapes());
-		frame.getShapeMap().get(EVisionFilterShapesLayer.BALL_TRACKER_SHAPES_IMPORTANT)
-				.addAll(ballFilterPreprocessor.getShapes());
-		frame.getShapeMap().get(EVisionFilterShapesLayer.ROBOT_TRACKER_SHAPES)
-				.addAll(getRobotTrackerShapes(timestamp));
-		frame.getShapeMap().get(EVisionFilterShapesLayer.BALL_TRACKER_SHAPES)
-				.addAll(getBallTrackerShapes(timestamp));
-		frame.getShapeMap().get(EVisionFilterShapesLayer.ROBOT_QUALITY_INSPECTOR)
-				.addAll(getRobotQualityInspectorShapes(mergedRobots));
-		frame.getShapeMap().get(EVisionFilterShapesLayer.VIRTUAL_BALL_SHAPES)
-				.addAll(getVirtualBallShapes());
+		synchronized (viewportArchitect)
+		{
+			viewportArchitect.updateCameras(cams.keySet());
+		}
+
+		// add debug and info shapes for visualizer, if anyone is interested in them
+		final long shapeTimestamp = timestamp;
+		ShapeMap shapeMap = frame.getShapeMap();
+		shapeMap.addAllIfConsumed(EVisionFilterShapesLayer.VIEWPORT_SHAPES, this::getViewportShapes);
+		shapeMap.addAllIfConsumed(EVisionFilterShapesLayer.QUALITY_SHAPES, qualityInspector::getInfoShapes);
+		shapeMap.addAllIfConsumed(EVisionFilterShapesLayer.CAM_INFO_SHAPES, this::getCamInfoShapes);
+		shapeMap.addAllIfConsumed(EVisionFilterShapesLayer.BALL_TRACKER_SHAPES_IMPORTANT,
+				ballFilterPreprocessor::getShapes);
+		shapeMap.addAllIfConsumed(EVisionFilterShapesLayer.ROBOT_TRACKER_SHAPES,
+				() -> getRobotTrackerShapes(shapeTimestamp));
+		shapeMap.addAllIfConsumed(EVisionFilterShapesLayer.BALL_TRACKER_SHAPES,
+				() -> getBallTrackerShapes(shapeTimestamp));
+		shapeMap.addAllIfConsumed(EVisionFilterShapesLayer.ROBOT_QUALITY_INSPECTOR,
+				() -> getRobotQualityInspectorShapes(mergedRobots));
+		shapeMap.addAllIfConsumed(EVisionFilterShapesLayer.VIRTUAL_BALL_SHAPES, this::getVirtualBallShapes);
 
 		return frame;
 	}
 
 
+	private List<IDrawableShape> getViewportShapes()
+	{
+		synchronized (viewportArchitect)
+		{
+			return viewportArchitect.getInfoShapes();
+		}
+	}
+
+
 	private List<FilteredVisionBot> mergeRobots(final Collection<CamFilter> camFilters, final long timestamp)
 	{
 		Map<BotID, List<RobotTracker>> trackersById = camFilters.stream()
 				.flatMap(f -> f.getValidRobots().values().stream())
-				// group trackers by BotID
-				.collect(Collectors.groupingBy(RobotTracker::getBotId));
+				// group trackers by BotID, iterated in BotID order for a deterministic order of the merged robots
+				.collect(Collectors.groupingBy(RobotTracker::getBotId, BotIdMap::new, Collectors.toList()));
 
 		List<FilteredVisionBot> mergedBots = new ArrayList<>();
 
@@ -327,8 +327,11 @@ public class VisionFilterImpl extends AVisionFilter
 		// forward to quality inspector for sanity checks
 		qualityInspector.inspectCameraGeometry(geometry);
 
-		// and to camera architect to lay out viewports
-		viewportArchitect.newCameraGeometry(geometry);
+		// and to camera architect to lay out viewports, which is shared with the camera lanes
+		synchronized (viewportArchitect)
+		{
+			viewportArchitect.newCameraGeometry(geometry);
+		}
 
 		for (CamFilter c : cams.values())
 		{
@@ -350,27 +353,62 @@ public class VisionFilterImpl extends AVisionFilter
 
 		if (useThreads)
 		{
-			scheduledExecutorService = Executors
-					.newSingleThreadScheduledExecutor(new NamedThreadFactory("VisionFilter Publisher"));
-			new Thread(this::processCamFrameQueue, "VisionFilter Processor").start();
-			scheduledExecutorService
-					.scheduleAtFixedRate(() -> Safe.run(this::publish), 0, (long) (publishDt * 1e9), TimeUnit.NANOSECONDS);
-			log.info("Using threaded VisionFilter");
+			int numProcessorThreads = getSubnodeConfiguration().getInt("numProcessorThreads",
+					Math.min(DEFAULT_MAX_PROCESSOR_THREADS, Runtime.getRuntime().availableProcessors()));
+			startThreads(numProcessorThreads);
+			log.info("Using threaded VisionFilter with {} processor threads", numProcessorThreads);
 		}
 	}
 
 
-	@Override
-	public void stopModule()
+	/**
+	 * Process camera frames on per-camera lanes and publish filtered frames periodically.
+	 *
+	 * @param numProcessorThreads number of threads that process camera frames
+	 */
+	void startThreads(final int numProcessorThreads)
+	{
+		camFrameLanes = new CamFrameLanes(numProcessorThreads, CAM_FRAME_BUFFER_SIZE, this::processCamDetectionFrame);
+		scheduledExecutorService = Executors
+				.newSingleThreadScheduledExecutor(new NamedThreadFactory("VisionFilter Publisher"));
+		scheduledExecutorService
+				.scheduleAtFixedRate(() -> Safe.run(this::publish), 0, (long) (publishDt * 1e9), TimeUnit.NANOSECONDS);
+	}
+
+
+	/**
+	 * Stop the threads started by {@link #startThreads(int)}
+	 */
+	void stopThreads()
 	{
-		super.stopModule();
-		SumatraModel.getInstance().getModule(ACam.class).removeObserver(this);
 		if (scheduledExecutorService != null)
 		{
 			scheduledExecutorService.shutdown();
 			scheduledExecutorService = null;
-			camDetectionFrameQueue.clear();
 		}
+		if (camFrameLanes != null)
+		{
+			camFrameLanes.shutdown();
+			camFrameLanes = null;
+		}
+	}
+
+
+	/**
+	 * @return the per-camera lanes in threaded mode, else null
+	 */
+	CamFrameLanes getCamFrameLanes()
+	{
+		return camFrameLanes;
+	}
+
+
+	@Override
+	public void stopModule()
+	{
+		super.stopModule();
+		SumatraModel.getInstance().getModule(ACam.class).removeObserver(this);
+		stopThreads();
 		cams.clear();
 		viewportArchitect.removeObserver(this);
 		ballFilterPreprocessor.removeObserver(this);
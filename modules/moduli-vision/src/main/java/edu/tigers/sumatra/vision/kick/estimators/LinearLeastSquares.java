@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.vision.kick.estimators;
+
+import java.util.Arrays;
+
+
+/**
+ * Solve the linear least squares problem A * x = b with a Householder QR decomposition.
+ * <p>
+ * The decomposition performs the same operations in the same order as
+ * {@link org.apache.commons.math3.linear.QRDecomposition}, so it yields the same solution.
+ * In contrast to the matrix classes, all data is stored in preallocated primitive arrays that only grow,
+ * so solving repeatedly does not allocate memory once the capacity is large enough.
+ * </p>
+ * <p>
+ * Usage: {@link #reset(int)} the problem to the number of rows, fill it with {@link #setEntry(int, int, double)}
+ * and {@link #setTarget(int, double)} and {@link #solve()} it.
+ * </p>
+ */
+public class LinearLeastSquares
+{
+	private static final int DEFAULT_CAPACITY = 64;
+
+	private final int numCols;
+	private final double[] rDiag;
+	private final double[] x;
+
+	/** the matrix A, column-major */
+	private double[][] matA;
+	/** the transposed QR decomposition of A, column-major */
+	private double[][] qrt;
+	private double[] b;
+	private double[] y;
+	private int numRows;
+
+
+	/**
+	 * @param numCols the number of unknowns
+	 */
+	public LinearLeastSquares(final int numCols)
+	{
+		this(numCols, DEFAULT_CAPACITY);
+	}
+
+
+	/**
+	 * @param numCols         the number of unknowns
+	 * @param initialCapacity the number of rows to allocate memory for
+	 */
+	public LinearLeastSquares(final int numCols, final int initialCapacity)
+	{
+		this.numCols = numCols;
+		rDiag = new double[numCols];
+		x = new double[numCols];
+		allocate(Math.max(1, initialCapacity));
+	}
+
+
+	private void allocate(final int capacity)
+	{
+		matA = new double[numCols][capacity];
+		qrt = new double[numCols][capacity];
+		b = new double[capacity];
+		y = new double[capacity];
+	}
+
+
+	/**
+	 * Start a new problem. All entries of A and b are set to zero.
+	 *
+	 * @param numRows the number of equations
+	 */
+	public void reset(final int numRows)
+	{
+		if (numRows > b.length)
+		{
+			allocate(Math.max(numRows, b.length * 2));
+		}
+		this.numRows = numRows;
+		for (double[] col : matA)
+		{
+			Arrays.fill(col, 0, numRows, 0);
+		}
+		Arrays.fill(b, 0, numRows, 0);
+	}
+
+
+	/**
+	 * @param row   the row of A
+	 * @param col   the column of A
+	 * @param value the new value
+	 */
+	public void setEntry(final int row, final int col, final double value)
+	{
+		matA[col][row] = value;
+	}
+
+
+	/**
+	 * @param row   the row of b
+	 * @param value the new value
+	 */
+	public void setTarget(final int row, final double value)
+	{
+		b[row] = value;
+	}
+
+
+	/**
+	 * Solve the current problem in the least squares sense.
+	 * With less rows than columns, the trailing unknowns are zero.
+	 *
+	 * @return false, if A is singular
+	 */
+	public boolean solve()
+	{
+		for (int col = 0; col < numCols; col++)
+		{
+			System.arraycopy(matA[col], 0, qrt[col], 0, numRows);
+		}
+		System.arraycopy(b, 0, y, 0, numRows);
+		Arrays.fill(x, 0);
+
+		int rank = Math.min(numRows, numCols);
+		for (int minor = 0; minor < rank; minor++)
+		{
+			performHouseholderReflection(minor);
+		}
+
+		for (int i = 0; i < rank; i++)
+		{
+			if (Math.abs(rDiag[i]) <= 0)
+			{
+				return false;
+			}
+		}
+
+		// apply Householder transforms to solve Q.y = b
+		for (int minor = 0; minor < rank; minor++)
+		{
+			final double[] qrtMinor = qrt[minor];
+			double dotProduct = 0;
+			for (int row = minor; row < numRows; row++)
+			{
+				dotProduct += y[row] * qrtMinor[row];
+			}
+			dotProduct /= rDiag[minor] * qrtMinor[minor];
+			for (int row = minor; row < numRows; row++)
+			{
+				y[row] += dotProduct * qrtMinor[row];
+			}
+		}
+
+		// solve triangular system R.x = y
+		for (int row = rank - 1; row >= 0; --row)
+		{
+			y[row] /= rDiag[row];
+			final double yRow = y[row];
+			final double[] qrtRow = qrt[row];
+			x[row] = yRow;
+			for (int i = 0; i < row; i++)
+			{
+				y[i] -= yRow * qrtRow[i];
+			}
+		}
+		return true;
+	}
+
+
+	private void performHouseholderReflection(final int minor)
+	{
+		final double[] qrtMinor = qrt[minor];
+
+		double xNormSqr = 0;
+		for (int row = minor; row < numRows; row++)
+		{
+			final double c = qrtMinor[row];
+			xNormSqr += c * c;
+		}
+		final double a = (qrtMinor[minor] > 0) ? -Math.sqrt(xNormSqr) : Math.sqrt(xNormSqr);
+		rDiag[minor] = a;
+
+		if (a != 0.0)
+		{
+			qrtMinor[minor] -= a;
+
+			for (int col = minor + 1; col < numCols; col++)
+			{
+				final double[] qrtCol = qrt[col];
+				double alpha = 0;
+				for (int row = minor; row < numRows; row++)
+				{
+					alpha -= qrtCol[row] * qrtMinor[row];
+				}
+				alpha /= a * qrtMinor[minor];
+
+				for (int row = minor; row < numRows; row++)
+				{
+					qrtCol[row] -= alpha * qrtMinor[row];
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * @param col the index of the unknown
+	 * @return the solution of the last successful {@link #solve()}
+	 */
+	public double getSolution(final int col)
+	{
+		return x[col];
+	}
+
+
+	/**
+	 * @return the L1 norm of the residual A * x - b of the last successful {@link #solve()}
+	 */
+	public double getResidualL1Norm()
+	{
+		double norm = 0;
+		for (int row = 0; row < numRows; row++)
+		{
+			double sum = 0;
+			for (int col = 0; col < numCols; col++)
+			{
+				sum += matA[col][row] * x[col];
+			}
+			norm += Math.abs(sum - b[row]);
+		}
+		return norm;
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.sumatra.vision.kick.estimators;
 
@@ -29,13 +29,6 @@ import edu.tigers.sumatra.vision.kick.estimators.straight.StraightKickSolverLin3
 import edu.tigers.sumatra.vision.kick.estimators.straight.StraightKickSolverNonLin3Direct;
 import edu.tigers.sumatra.vision.kick.estimators.straight.StraightKickSolverNonLinIdentDirect;
 import edu.tigers.sumatra.vision.tracker.BallTracker;
-import org.apache.commons.math3.linear.Array2DRowRealMatrix;
-import org.apache.commons.math3.linear.ArrayRealVector;
-import org.apache.commons.math3.linear.DecompositionSolver;
-import org.apache.commons.math3.linear.QRDecomposition;
-import org.apache.commons.math3.linear.RealMatrix;
-import org.apache.commons.math3.linear.RealVector;
-import org.apache.commons.math3.linear.SingularMatrixException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -60,6 +53,9 @@ public class StraightKickEstimator implements IKickEstimator
 	@Configurable(comment = "Max number of records to keep over all cameras", defValue = "50")
 	private static int maxNumberOfRecords = 50;
 
+	private static final ThreadLocal<LinearLeastSquares> KICK_SPEED_SOLVER = ThreadLocal
+			.withInitial(() -> new LinearLeastSquares(2));
+
 	static
 	{
 		ConfigRegistration.registerClass("vision", StraightKickEstimator.class);
@@ -131,39 +127,33 @@ public class StraightKickEstimator implements IKickEstimator
 	 * @param kickPos
 	 * @return
 	 */
-	@SuppressWarnings("squid:S1166") // Exception from solver not logged
 	public static double getKickSpeed(final List<CamBall> balls, final IVector2 kickPos)
 	{
 		int numPoints = balls.size();
 
-		RealMatrix matA = new Array2DRowRealMatrix(numPoints, 2);
-		RealVector b = new ArrayRealVector(numPoints);
+		LinearLeastSquares solver = KICK_SPEED_SOLVER.get();
+		solver.reset(numPoints);
 
 		for (int i = 0; i < numPoints; i++)
 		{
 			double time = (balls.get(i).gettCapture() - balls.get(0).gettCapture()) * 1e-9;
-			matA.setEntry(i, 0, time);
-			matA.setEntry(i, 1, 1.0);
+			solver.setEntry(i, 0, time);
+			solver.setEntry(i, 1, 1.0);
 
-			b.setEntry(i, balls.get(i).getPos().getXYVector().distanceTo(kickPos));
+			solver.setTarget(i, balls.get(i).getPos().getXYVector().distanceTo(kickPos));
 		}
 
-		DecompositionSolver solver = new QRDecomposition(matA).getSolver();
-		RealVector x;
-		try
-		{
-			x = solver.solve(b);
-		} catch (SingularMatrixException e)
+		if (!solver.solve())
 		{
 			return 0;
 		}
 
-		if (x.getEntry(0) < 0)
+		if (solver.getSolution(0) < 0)
 		{
 			return 0;
 		}
 
-		return x.getEntry(0);
+		return solver.getSolution(0);
 	}
 
 
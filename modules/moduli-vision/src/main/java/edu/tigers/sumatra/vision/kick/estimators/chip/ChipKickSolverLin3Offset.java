@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.sumatra.vision.kick.estimators.chip;
 
@@ -9,13 +9,7 @@ import edu.tigers.sumatra.math.vector.IVector2;
 import edu.tigers.sumatra.math.vector.IVector3;
 import edu.tigers.sumatra.math.vector.Vector3;
 import edu.tigers.sumatra.vision.data.KickSolverResult;
-import org.apache.commons.math3.linear.Array2DRowRealMatrix;
-import org.apache.commons.math3.linear.ArrayRealVector;
-import org.apache.commons.math3.linear.DecompositionSolver;
-import org.apache.commons.math3.linear.QRDecomposition;
-import org.apache.commons.math3.linear.RealMatrix;
-import org.apache.commons.math3.linear.RealVector;
-import org.apache.commons.math3.linear.SingularMatrixException;
+import edu.tigers.sumatra.vision.kick.estimators.LinearLeastSquares;
 
 import java.util.List;
 import java.util.Map;
@@ -29,6 +23,7 @@ import java.util.Optional;
  */
 public class ChipKickSolverLin3Offset extends AChipKickSolver
 {
+	private final LinearLeastSquares leastSquares = new LinearLeastSquares(3);
 	private double lastL1Error;
 	
 	
@@ -43,35 +38,21 @@ public class ChipKickSolverLin3Offset extends AChipKickSolver
 		super(kickPosition, kickTimestamp, camCalib);
 	}
 	
-	private static class LinSolve3OffsetResult
-	{
-		private RealVector x;
-		private double l1Error;
-		private double tOffset;
-		
-		
-		/**
-		 * @param x
-		 * @param l1Error
-		 * @param tOffset
-		 */
-		public LinSolve3OffsetResult(final RealVector x, final double l1Error, final double tOffset)
-		{
-			this.x = x;
-			this.l1Error = l1Error;
-			this.tOffset = tOffset;
-		}
-	}
-	
 	
-	@SuppressWarnings("squid:S1166") // Exception from solver not logged
-	private Optional<LinSolve3OffsetResult> linSolve3Offset(final List<CamBall> records, final double tOffset)
+	/**
+	 * Solve the linear problem for a fixed time offset.
+	 * The solution and its L1 error are available in {@link #leastSquares} afterward.
+	 * 
+	 * @param records
+	 * @param tOffset
+	 * @return false, if the problem is singular
+	 */
+	private boolean linSolve3Offset(final List<CamBall> records, final double tOffset)
 	{
 		int numRecords = records.size();
 		
 		// linear solving, construct matrices...
-		RealMatrix matA = new Array2DRowRealMatrix(numRecords * 2, 3);
-		RealVector b = new ArrayRealVector(numRecords * 2);
+		leastSquares.reset(numRecords * 2);
 		
 		final long tZero = records.get(0).gettCapture();
 		final double a = 9810;
@@ -83,30 +64,21 @@ public class ChipKickSolverLin3Offset extends AChipKickSolver
 			
 			double t = ((record.gettCapture() - tZero) * 1e-9) + tOffset;
 			IVector3 f = getCameraPosition(record.getCameraId());
-			IVector2 g = record.getPos().getXYVector();
+			double gx = record.getPos().x();
+			double gy = record.getPos().y();
 			
-			matA.setRow(i * 2, new double[] { f.z() * t, 0, (g.x() - f.x()) * t });
-			matA.setRow((i * 2) + 1, new double[] { 0, f.z() * t, (g.y() - f.y()) * t });
+			leastSquares.setEntry(i * 2, 0, f.z() * t);
+			leastSquares.setEntry(i * 2, 2, (gx - f.x()) * t);
+			leastSquares.setEntry((i * 2) + 1, 1, f.z() * t);
+			leastSquares.setEntry((i * 2) + 1, 2, (gy - f.y()) * t);
 			
-			b.setEntry(i * 2, ((0.5 * a * t * t * (g.x() - f.x())) + (g.x() * f.z())) - (kickPosition.x() * f.z())
-					- ((g.x() - f.x()) * pz));
-			b.setEntry((i * 2) + 1, ((0.5 * a * t * t * (g.y() - f.y())) + (g.y() * f.z())) - (kickPosition.y() * f.z())
-					- ((g.y() - f.y()) * pz));
-		}
-		
-		DecompositionSolver solver = new QRDecomposition(matA).getSolver();
-		RealVector x;
-		try
-		{
-			x = solver.solve(b);
-		} catch (SingularMatrixException e)
-		{
-			return Optional.empty();
+			leastSquares.setTarget(i * 2, ((0.5 * a * t * t * (gx - f.x())) + (gx * f.z())) - (kickPosition.x() * f.z())
+					- ((gx - f.x()) * pz));
+			leastSquares.setTarget((i * 2) + 1, ((0.5 * a * t * t * (gy - f.y())) + (gy * f.z()))
+					- (kickPosition.y() * f.z()) - ((gy - f.y()) * pz));
 		}
 		
-		double l1Norm = matA.operate(x).subtract(b).getL1Norm();
-		
-		return Optional.of(new LinSolve3OffsetResult(x, l1Norm, tOffset));
+		return leastSquares.solve();
 	}
 	
 	
@@ -123,15 +95,19 @@ public class ChipKickSolverLin3Offset extends AChipKickSolver
 		
 		while (inc > 1e-3)
 		{
-			Optional<LinSolve3OffsetResult> optResultNeg = linSolve3Offset(records, tOff - 1e-5);
-			Optional<LinSolve3OffsetResult> optResultPos = linSolve3Offset(records, tOff + 1e-5);
+			if (!linSolve3Offset(records, tOff - 1e-5))
+			{
+				return Optional.empty();
+			}
+			double l1ErrorNeg = leastSquares.getResidualL1Norm();
 			
-			if (!optResultNeg.isPresent() || !optResultPos.isPresent())
+			if (!linSolve3Offset(records, tOff + 1e-5))
 			{
 				return Optional.empty();
 			}
+			double l1ErrorPos = leastSquares.getResidualL1Norm();
 			
-			if (optResultNeg.get().l1Error > optResultPos.get().l1Error)
+			if (l1ErrorNeg > l1ErrorPos)
 			{
 				tOff += inc;
 			} else
@@ -142,23 +118,19 @@ public class ChipKickSolverLin3Offset extends AChipKickSolver
 			inc /= 2;
 		}
 		
-		Optional<LinSolve3OffsetResult> optResult = linSolve3Offset(records, tOff);
+		if (!linSolve3Offset(records, tOff))
+		{
+			return Optional.empty();
+		}
 		
-		return postProcessSolveResult(records, optResult);
+		return postProcessSolveResult(records, tOff);
 	}
 	
 	
-	private Optional<KickSolverResult> postProcessSolveResult(final List<CamBall> records,
-			final Optional<LinSolve3OffsetResult> optBestResult)
+	private Optional<KickSolverResult> postProcessSolveResult(final List<CamBall> records, final double tOffset)
 	{
-		if (!optBestResult.isPresent())
-		{
-			return Optional.empty();
-		}
-		
-		LinSolve3OffsetResult bestResult = optBestResult.get();
-		
-		IVector3 kickVelEst = Vector3.fromArray(bestResult.x.toArray());
+		IVector3 kickVelEst = Vector3.fromXYZ(leastSquares.getSolution(0), leastSquares.getSolution(1),
+				leastSquares.getSolution(2));
 		IVector3 kickPos = kickPosition.getXYZVector();
 		IVector3 acc = Vector3.fromXYZ(0, 0, -0.5 * 9810);
 		
@@ -174,7 +146,7 @@ public class ChipKickSolverLin3Offset extends AChipKickSolver
 			return Optional.empty();
 		}
 		
-		kickTimestamp = records.get(0).gettCapture() - (long) (bestResult.tOffset * 1e9);
+		kickTimestamp = records.get(0).gettCapture() - (long) (tOffset * 1e9);
 
 		double l1Error = 0;
 		for (CamBall b : records)
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 package edu.tigers.sumatra.vision.kick.estimators.straight;
 
@@ -12,13 +12,7 @@ import edu.tigers.sumatra.math.vector.IVector3;
 import edu.tigers.sumatra.math.vector.Vector2;
 import edu.tigers.sumatra.vision.data.KickSolverResult;
 import edu.tigers.sumatra.vision.kick.estimators.IKickSolver;
-import org.apache.commons.math3.linear.Array2DRowRealMatrix;
-import org.apache.commons.math3.linear.ArrayRealVector;
-import org.apache.commons.math3.linear.DecompositionSolver;
-import org.apache.commons.math3.linear.QRDecomposition;
-import org.apache.commons.math3.linear.RealMatrix;
-import org.apache.commons.math3.linear.RealVector;
-import org.apache.commons.math3.linear.SingularMatrixException;
+import edu.tigers.sumatra.vision.kick.estimators.LinearLeastSquares;
 
 import java.util.List;
 import java.util.Optional;
@@ -29,8 +23,10 @@ import java.util.Optional;
  */
 public class StraightKickSolverLin3 implements IKickSolver
 {
+	private final LinearLeastSquares leastSquares = new LinearLeastSquares(3);
+
+
 	@Override
-	@SuppressWarnings("squid:S1166") // Exception from solver not logged
 	public Optional<KickSolverResult> solve(final List<CamBall> records)
 	{
 		final int numRecords = records.size();
@@ -50,35 +46,32 @@ public class StraightKickSolverLin3 implements IKickSolver
 		IVector2 dir = kickLine.get().directionVector().normalizeNew();
 
 		// linear solving, construct matrices...
-		RealMatrix matA = new Array2DRowRealMatrix(numRecords * 2, 3);
-		RealVector b = new ArrayRealVector(numRecords * 2);
+		leastSquares.reset(numRecords * 2);
 
 		for (int i = 0; i < numRecords; i++)
 		{
 			CamBall ballRecord = records.get(i);
 
-			IVector2 g = ballRecord.getPos().getXYVector();
+			double gx = ballRecord.getPos().x();
+			double gy = ballRecord.getPos().y();
 			double t = ((ballRecord.gettCapture()) - tZero) * 1e-9;
 
-			matA.setRow(i * 2, new double[] { 1, 0, dir.x() * t });
-			matA.setRow((i * 2) + 1, new double[] { 0, 1, dir.y() * t });
+			leastSquares.setEntry(i * 2, 0, 1);
+			leastSquares.setEntry(i * 2, 2, dir.x() * t);
+			leastSquares.setEntry((i * 2) + 1, 1, 1);
+			leastSquares.setEntry((i * 2) + 1, 2, dir.y() * t);
 
-			b.setEntry(i * 2, g.x() - (0.5 * dir.x() * t * t * acc));
-			b.setEntry((i * 2) + 1, g.y() - (0.5 * dir.y() * t * t * acc));
+			leastSquares.setTarget(i * 2, gx - (0.5 * dir.x() * t * t * acc));
+			leastSquares.setTarget((i * 2) + 1, gy - (0.5 * dir.y() * t * t * acc));
 		}
 
-		DecompositionSolver solver = new QRDecomposition(matA).getSolver();
-		RealVector x;
-		try
-		{
-			x = solver.solve(b);
-		} catch (SingularMatrixException e)
+		if (!leastSquares.solve())
 		{
 			return Optional.empty();
 		}
 
-		IVector2 kickPos = Vector2.fromXY(x.getEntry(0), x.getEntry(1));
-		IVector3 kickVel = dir.scaleToNew(x.getEntry(2)).getXYZVector();
+		IVector2 kickPos = Vector2.fromXY(leastSquares.getSolution(0), leastSquares.getSolution(1));
+		IVector3 kickVel = dir.scaleToNew(leastSquares.getSolution(2)).getXYZVector();
 
 		return Optional.of(new KickSolverResult(kickPos, kickVel, tZero, getClass().getSimpleName()));
 	}
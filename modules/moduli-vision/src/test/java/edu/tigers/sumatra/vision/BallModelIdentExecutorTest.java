@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.vision;
+
+import edu.tigers.sumatra.cam.data.CamBall;
+import edu.tigers.sumatra.drawable.IDrawableShape;
+import edu.tigers.sumatra.math.vector.IVector2;
+import edu.tigers.sumatra.math.vector.IVector3;
+import edu.tigers.sumatra.math.vector.Vector2f;
+import edu.tigers.sumatra.math.vector.Vector3f;
+import edu.tigers.sumatra.vision.data.FilteredVisionBot;
+import edu.tigers.sumatra.vision.kick.estimators.EBallModelIdentType;
+import edu.tigers.sumatra.vision.kick.estimators.EKickEstimatorType;
+import edu.tigers.sumatra.vision.kick.estimators.IBallModelIdentResult;
+import edu.tigers.sumatra.vision.kick.estimators.IKickEstimator;
+import edu.tigers.sumatra.vision.kick.estimators.KickFitResult;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class BallModelIdentExecutorTest
+{
+	private final IBallModelIdentResult identResult = new IdentResultStub();
+
+
+	@Test
+	public void testResultsAreDelivered()
+	{
+		BallModelIdentExecutor executor = new BallModelIdentExecutor(2);
+		assertThat(executor.submit(estimator(new CountDownLatch(0)))).isTrue();
+
+		List<IBallModelIdentResult> results = awaitResults(executor, 1);
+		assertThat(results).containsExactly(identResult);
+		assertThat(executor.getNumOutstandingJobs()).isZero();
+	}
+
+
+	@Test
+	public void testOutstandingJobsAreBounded()
+	{
+		BallModelIdentExecutor executor = new BallModelIdentExecutor(2);
+		CountDownLatch release = new CountDownLatch(1);
+
+		assertThat(executor.submit(estimator(release))).isTrue();
+		assertThat(executor.submit(estimator(release))).isTrue();
+		assertThat(executor.submit(estimator(release))).isFalse();
+		assertThat(executor.getNumOutstandingJobs()).isEqualTo(2);
+
+		release.countDown();
+		assertThat(awaitResults(executor, 2)).hasSize(2);
+	}
+
+
+	@Test
+	public void testCancelledJobsDoNotDeliverResults() throws InterruptedException
+	{
+		BallModelIdentExecutor executor = new BallModelIdentExecutor(2);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		executor.submit(new KickEstimatorStub(started, release, identResult));
+		executor.submit(estimator(release));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		executor.cancelAll();
+
+		// the queued job is dropped, the running one still counts against the bound
+		assertThat(executor.getNumOutstandingJobs()).isEqualTo(1);
+		assertThat(executor.submit(estimator(release))).isTrue();
+		assertThat(executor.submit(estimator(release))).isFalse();
+		executor.cancelAll();
+
+		release.countDown();
+		assertThat(executor.awaitIdle(5, TimeUnit.SECONDS)).isTrue();
+		List<IBallModelIdentResult> results = new ArrayList<>();
+		executor.drainResults(results::add);
+		assertThat(results).isEmpty();
+
+		// the executor is still usable after cancellation
+		executor.submit(estimator(new CountDownLatch(0)));
+		assertThat(awaitResults(executor, 1)).hasSize(1);
+	}
+
+
+	@Test
+	public void testCancelSingleKick() throws InterruptedException
+	{
+		BallModelIdentExecutor executor = new BallModelIdentExecutor(3);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		IKickEstimator running = new KickEstimatorStub(started, release, identResult);
+		IKickEstimator queued = estimator(release);
+
+		executor.submit(running);
+		executor.submit(queued);
+		executor.submit(estimator(release));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		executor.cancel(queued);
+		executor.cancel(running);
+		assertThat(executor.getNumOutstandingJobs()).isEqualTo(2);
+
+		release.countDown();
+		assertThat(executor.awaitIdle(5, TimeUnit.SECONDS)).isTrue();
+		List<IBallModelIdentResult> results = new ArrayList<>();
+		executor.drainResults(results::add);
+		assertThat(results).hasSize(1);
+	}
+
+
+	private IKickEstimator estimator(final CountDownLatch release)
+	{
+		return new KickEstimatorStub(new CountDownLatch(1), release, identResult);
+	}
+
+
+	private List<IBallModelIdentResult> awaitResults(final BallModelIdentExecutor executor, final int numResults)
+	{
+		List<IBallModelIdentResult> results = new ArrayList<>();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (results.size() < numResults && System.nanoTime() < deadline)
+		{
+			executor.drainResults(results::add);
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+		}
+		return results;
+	}
+
+
+	private record KickEstimatorStub(CountDownLatch started, CountDownLatch release, IBallModelIdentResult identResult)
+			implements IKickEstimator
+	{
+		@Override
+		public void addCamBall(final CamBall record)
+		{
+		}
+
+
+		@Override
+		public Optional<KickFitResult> getFitResult()
+		{
+			return Optional.empty();
+		}
+
+
+		@Override
+		public boolean isDone(final List<FilteredVisionBot> mergedRobots, final long timestamp)
+		{
+			return true;
+		}
+
+
+		@Override
+		public List<IDrawableShape> getShapes()
+		{
+			return List.of();
+		}
+
+
+		@Override
+		public EKickEstimatorType getType()
+		{
+			return EKickEstimatorType.FLAT;
+		}
+
+
+		@Override
+		public List<IBallModelIdentResult> getModelIdentResult()
+		{
+			started.countDown();
+			try
+			{
+				release.await();
+			} catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			return List.of(identResult);
+		}
+	}
+
+	private static class IdentResultStub implements IBallModelIdentResult
+	{
+		@Override
+		public EBallModelIdentType getType()
+		{
+			return EBallModelIdentType.STRAIGHT_TWO_PHASE;
+		}
+
+
+		@Override
+		public IVector2 getKickPosition()
+		{
+			return Vector2f.ZERO_VECTOR;
+		}
+
+
+		@Override
+		public long getKickTimestamp()
+		{
+			return 0;
+		}
+
+
+		@Override
+		public IVector3 getKickVelocity()
+		{
+			return Vector3f.ZERO_VECTOR;
+		}
+
+
+		@Override
+		public Map<String, Double> getModelParameters()
+		{
+			return Map.of();
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.vision;
+
+import edu.tigers.sumatra.cam.data.CamBall;
+import edu.tigers.sumatra.cam.data.CamDetectionFrame;
+import edu.tigers.sumatra.cam.data.CamRobot;
+import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.ETeamColor;
+import edu.tigers.sumatra.math.vector.IVector2;
+import edu.tigers.sumatra.math.vector.Vector2;
+import edu.tigers.sumatra.math.vector.Vector2f;
+import edu.tigers.sumatra.math.vector.Vector3;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Generates synthetic camera frames of robots and a ball moving on circles.
+ * The field is split along the x-axis into one stripe per camera, with a small overlap between neighbouring cameras.
+ */
+class CamFrameGenerator
+{
+	private static final double FIELD_LENGTH = 12000;
+	private static final double FIELD_WIDTH = 9000;
+	private static final double CAM_OVERLAP = 500;
+	private static final double BOT_HEIGHT = 150;
+	private static final long START_TIMESTAMP = 1_000_000_000L;
+
+	private final int numCams;
+	private final int botsPerTeam;
+	private final long frameDt;
+	private long frameNumber = 0;
+
+
+	/**
+	 * @param numCams     number of cameras
+	 * @param botsPerTeam number of robots per team
+	 * @param frameRate   frame rate of each camera [Hz]
+	 */
+	CamFrameGenerator(final int numCams, final int botsPerTeam, final double frameRate)
+	{
+		this.numCams = numCams;
+		this.botsPerTeam = botsPerTeam;
+		this.frameDt = (long) (1e9 / frameRate);
+	}
+
+
+	/**
+	 * @return one frame per camera for the next capture timestamp
+	 */
+	List<CamDetectionFrame> nextFrames()
+	{
+		long tCapture = START_TIMESTAMP + frameNumber * frameDt;
+		double t = (tCapture - START_TIMESTAMP) / 1e9;
+		List<CamDetectionFrame> frames = new ArrayList<>(numCams);
+		for (int camId = 0; camId < numCams; camId++)
+		{
+			List<CamRobot> yellow = new ArrayList<>();
+			List<CamRobot> blue = new ArrayList<>();
+			for (int i = 0; i < botsPerTeam; i++)
+			{
+				addBot(yellow, BotID.createBotId(i, ETeamColor.YELLOW), -1, i, t, tCapture, camId);
+				addBot(blue, BotID.createBotId(i, ETeamColor.BLUE), 1, i, t, tCapture, camId);
+			}
+
+			List<CamBall> balls = new ArrayList<>();
+			IVector2 ballPos = Vector2.fromAngleLength(t * 0.5, 2000);
+			if (isVisible(camId, ballPos))
+			{
+				balls.add(new CamBall(0.9, 20, Vector3.from2d(ballPos, 0), Vector2f.ZERO_VECTOR, tCapture, camId,
+						frameNumber));
+			}
+			frames.add(new CamDetectionFrame(tCapture, tCapture, camId, frameNumber, frameNumber, balls, yellow, blue));
+		}
+		frameNumber++;
+		return frames;
+	}
+
+
+	private void addBot(final List<CamRobot> bots, final BotID botID, final int side, final int i, final double t,
+			final long tCapture, final int camId)
+	{
+		IVector2 center = Vector2.fromXY(side * (i + 1) * FIELD_LENGTH / (2.0 * (botsPerTeam + 2)),
+				(i % 3 - 1) * FIELD_WIDTH / 4);
+		double angle = t + i;
+		IVector2 pos = center.addNew(Vector2.fromAngleLength(angle, 300));
+		if (isVisible(camId, pos))
+		{
+			bots.add(new CamRobot(0.9, Vector2f.ZERO_VECTOR, tCapture, camId, frameNumber, pos, angle, BOT_HEIGHT,
+					botID));
+		}
+	}
+
+
+	private boolean isVisible(final int camId, final IVector2 pos)
+	{
+		double stripe = FIELD_LENGTH / numCams;
+		double xMin = -FIELD_LENGTH / 2 + camId * stripe - CAM_OVERLAP;
+		double xMax = xMin + stripe + 2 * CAM_OVERLAP;
+		return pos.x() >= xMin && pos.x() <= xMax;
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.vision;
+
+import edu.tigers.sumatra.cam.data.CamDetectionFrame;
+import edu.tigers.sumatra.data.LatencyHistogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Synthetic multi-camera load on the threaded vision filter.
+ * Frames of 8 cameras are fed in real time and the latency from receiving a camera frame until it is filtered
+ * is measured, with a single processor thread and with parallel camera lanes.
+ */
+public class VisionFilterLoadTest
+{
+	private static final Logger log = LogManager.getLogger(VisionFilterLoadTest.class);
+
+	private static final int NUM_CAMS = 8;
+	private static final int BOTS_PER_TEAM = 11;
+	private static final double FRAME_RATE = 75;
+	private static final int NUM_TICKS = 150;
+
+
+	@Test
+	public void testSingleProcessorThread()
+	{
+		runLoad(1);
+	}
+
+
+	@Test
+	public void testParallelCamLanes()
+	{
+		runLoad(4);
+	}
+
+
+	private void runLoad(final int numProcessorThreads)
+	{
+		VisionFilterImpl visionFilter = new VisionFilterImpl();
+		CamFrameGenerator generator = new CamFrameGenerator(NUM_CAMS, BOTS_PER_TEAM, FRAME_RATE);
+		visionFilter.startThreads(numProcessorThreads);
+		CamFrameLanes lanes = visionFilter.getCamFrameLanes();
+		try
+		{
+			long tickDt = (long) (1e9 / FRAME_RATE);
+			long nextTick = System.nanoTime();
+			for (int i = 0; i < NUM_TICKS; i++)
+			{
+				for (CamDetectionFrame frame : generator.nextFrames())
+				{
+					visionFilter.onNewCamDetectionFrame(frame);
+				}
+				nextTick += tickDt;
+				LockSupport.parkNanos(nextTick - System.nanoTime());
+			}
+
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (!lanes.isIdle() && System.nanoTime() < deadline)
+			{
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+			}
+
+			LatencyHistogram latency = lanes.getLatency();
+			log.info("{} cams, {} processor threads: {} dropped, latency {}", NUM_CAMS, numProcessorThreads,
+					lanes.getNumDroppedFrames(), latency);
+
+			assertThat(lanes.isIdle()).isTrue();
+			assertThat(latency.getCount() + lanes.getNumDroppedFrames()).isEqualTo((long) NUM_TICKS * NUM_CAMS);
+		} finally
+		{
+			visionFilter.stopThreads();
+		}
+	}
+}
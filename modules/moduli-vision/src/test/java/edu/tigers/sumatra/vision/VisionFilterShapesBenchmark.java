@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.vision;
+
+import edu.tigers.sumatra.cam.data.CamDetectionFrame;
+import edu.tigers.sumatra.drawable.IShapeLayerIdentifier;
+import edu.tigers.sumatra.drawable.ShapeLayerSubscriptions;
+import edu.tigers.sumatra.vision.data.EVisionFilterShapesLayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * CPU time of the vision filter per camera frame, with and without consumers of the vision filter debug shapes.
+ * The difference is the time saved by skipping debug shapes in headless mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3)
+public class VisionFilterShapesBenchmark
+{
+	private static final int NUM_CAMS = 4;
+	private static final int BOTS_PER_TEAM = 11;
+	private static final double FRAME_RATE = 75;
+	private static final int NUM_WARMUP_FRAMES = 200;
+
+	private static final List<IShapeLayerIdentifier> LAYERS = List.of(
+			EVisionFilterShapesLayer.QUALITY_SHAPES,
+			EVisionFilterShapesLayer.CAM_INFO_SHAPES,
+			EVisionFilterShapesLayer.VIEWPORT_SHAPES,
+			EVisionFilterShapesLayer.ROBOT_TRACKER_SHAPES,
+			EVisionFilterShapesLayer.ROBOT_QUALITY_INSPECTOR,
+			EVisionFilterShapesLayer.BALL_TRACKER_SHAPES_IMPORTANT,
+			EVisionFilterShapesLayer.BALL_TRACKER_SHAPES,
+			EVisionFilterShapesLayer.VIRTUAL_BALL_SHAPES
+	);
+
+	@Param({ "false", "true" })
+	private boolean debugShapes;
+
+	private VisionFilterImpl visionFilter;
+	private CamFrameGenerator generator;
+
+
+	public static void main(String[] args) throws Exception
+	{
+		org.openjdk.jmh.Main.main(args);
+	}
+
+
+	@Setup
+	public void setup()
+	{
+		if (debugShapes)
+		{
+			LAYERS.forEach(l -> ShapeLayerSubscriptions.subscribe(l.getId()));
+		}
+		visionFilter = new VisionFilterImpl();
+		generator = new CamFrameGenerator(NUM_CAMS, BOTS_PER_TEAM, FRAME_RATE);
+		for (int i = 0; i < NUM_WARMUP_FRAMES; i++)
+		{
+			processFrames();
+		}
+	}
+
+
+	@TearDown
+	public void tearDown()
+	{
+		if (debugShapes)
+		{
+			LAYERS.forEach(l -> ShapeLayerSubscriptions.unsubscribe(l.getId()));
+		}
+	}
+
+
+	@Benchmark
+	public void processFrames()
+	{
+		for (CamDetectionFrame frame : generator.nextFrames())
+		{
+			visionFilter.onNewCamDetectionFrame(frame);
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.vision.kick.estimators;
+
+import edu.tigers.sumatra.cam.data.CamBall;
+import edu.tigers.sumatra.math.vector.IVector2;
+import edu.tigers.sumatra.math.vector.IVector3;
+import edu.tigers.sumatra.math.vector.Vector2;
+import edu.tigers.sumatra.math.vector.Vector2f;
+import edu.tigers.sumatra.math.vector.Vector3;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * Synthetic camera observations of kicked balls with measurement noise.
+ * The observations are made by two cameras at 75 Hz each, which are mounted at the default camera position of
+ * the chip kick solvers, so no camera calibration is required.
+ */
+final class KickSamples
+{
+	static final IVector3 CAMERA_POS = Vector3.fromXYZ(0, 0, 2000.0);
+	static final long KICK_TIMESTAMP = 1_000_000_000L;
+
+	private static final double FRAME_DT = 1.0 / 75;
+	private static final double NOISE = 2.0;
+	private static final double ACC_SLIDE = -3000;
+	private static final double GRAVITY = 9810;
+
+
+	private KickSamples()
+	{
+	}
+
+
+	/**
+	 * @param seed       the random seed for position and noise
+	 * @param numRecords the number of observations
+	 * @return the observations of a ball kicked flat along the ground
+	 */
+	static List<CamBall> straightKick(final long seed, final int numRecords)
+	{
+		Random rnd = new Random(seed);
+		IVector2 kickPos = kickPos(rnd);
+		IVector2 dir = Vector2.fromAngle(rnd.nextDouble() * 2 * Math.PI);
+		double speed = 2000 + rnd.nextDouble() * 4000;
+
+		List<CamBall> records = new ArrayList<>(numRecords);
+		for (int i = 0; i < numRecords; i++)
+		{
+			double t = (i + 1) * FRAME_DT * 0.5;
+			double dist = speed * t + 0.5 * ACC_SLIDE * t * t;
+			records.add(camBall(rnd, kickPos.addNew(dir.multiplyNew(dist)), t, i));
+		}
+		return records;
+	}
+
+
+	/**
+	 * @param seed       the random seed for position and noise
+	 * @param numRecords the number of observations, all during the first hop
+	 * @return the observations of a chipped ball, projected to the ground from the camera
+	 */
+	static List<CamBall> chipKick(final long seed, final int numRecords)
+	{
+		Random rnd = new Random(seed);
+		IVector2 kickPos = kickPos(rnd);
+		IVector2 dir = Vector2.fromAngle(rnd.nextDouble() * 2 * Math.PI);
+		double speedXY = 2000 + rnd.nextDouble() * 2000;
+		double speedZ = 2000 + rnd.nextDouble() * 2000;
+
+		List<CamBall> records = new ArrayList<>(numRecords);
+		for (int i = 0; i < numRecords; i++)
+		{
+			double t = (i + 1) * FRAME_DT * 0.5;
+			IVector2 posXY = kickPos.addNew(dir.multiplyNew(speedXY * t));
+			double z = Math.max(0, speedZ * t - 0.5 * GRAVITY * t * t);
+			records.add(camBall(rnd, Vector3.from2d(posXY, z).projectToGroundNew(CAMERA_POS), t, i));
+		}
+		return records;
+	}
+
+
+	/**
+	 * @param seed the random seed
+	 * @return the kick position used in {@link #straightKick(long, int)} and {@link #chipKick(long, int)}
+	 */
+	static IVector2 kickPos(final long seed)
+	{
+		return kickPos(new Random(seed));
+	}
+
+
+	private static IVector2 kickPos(final Random rnd)
+	{
+		return Vector2.fromXY(rnd.nextDouble() * 8000 - 4000, rnd.nextDouble() * 6000 - 3000);
+	}
+
+
+	private static CamBall camBall(final Random rnd, final IVector2 pos, final double t, final int frame)
+	{
+		IVector2 noisy = pos.addNew(Vector2.fromXY(rnd.nextGaussian() * NOISE, rnd.nextGaussian() * NOISE));
+		long tCapture = KICK_TIMESTAMP + (long) (t * 1e9);
+		return new CamBall(0.9, 20, Vector3.from2d(noisy, 0), Vector2f.ZERO_VECTOR, tCapture, frame % 2, frame);
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.vision.kick.estimators;
+
+import edu.tigers.sumatra.cam.data.CamBall;
+import edu.tigers.sumatra.math.vector.IVector2;
+import edu.tigers.sumatra.vision.kick.estimators.chip.ChipKickSolverLin3Offset;
+import edu.tigers.sumatra.vision.kick.estimators.chip.ChipKickSolverLin5Offset;
+import edu.tigers.sumatra.vision.kick.estimators.straight.StraightKickSolverLin3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Replay kicks observation by observation through the linear kick solvers,
+ * comparing the matrix based implementations with the allocation-free ones.
+ * Run with the gc profiler to see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3)
+public class LinearKickSolverBenchmark
+{
+	private static final int SEED = 1;
+	private static final int NUM_RECORDS = 40;
+
+	private List<CamBall> straightKick;
+	private List<CamBall> chipKick;
+	private IVector2 kickPos;
+
+	private StraightKickSolverLin3 straightSolver;
+	private MatrixStraightKickSolverLin3 matrixStraightSolver;
+	private ChipKickSolverLin3Offset chipSolverLin3;
+	private MatrixChipKickSolverLin3Offset matrixChipSolverLin3;
+	private ChipKickSolverLin5Offset chipSolverLin5;
+	private MatrixChipKickSolverLin5Offset matrixChipSolverLin5;
+
+
+	public static void main(String[] args) throws Exception
+	{
+		org.openjdk.jmh.Main.main(args);
+	}
+
+
+	@Setup
+	public void setup()
+	{
+		straightKick = KickSamples.straightKick(SEED, NUM_RECORDS);
+		chipKick = KickSamples.chipKick(SEED, NUM_RECORDS);
+		kickPos = KickSamples.kickPos(SEED);
+
+		straightSolver = new StraightKickSolverLin3();
+		matrixStraightSolver = new MatrixStraightKickSolverLin3();
+		chipSolverLin3 = new ChipKickSolverLin3Offset(kickPos, KickSamples.KICK_TIMESTAMP, Map.of());
+		matrixChipSolverLin3 = new MatrixChipKickSolverLin3Offset(kickPos, KickSamples.KICK_TIMESTAMP, Map.of());
+		chipSolverLin5 = new ChipKickSolverLin5Offset(kickPos, KickSamples.KICK_TIMESTAMP, Map.of());
+		matrixChipSolverLin5 = new MatrixChipKickSolverLin5Offset(kickPos, KickSamples.KICK_TIMESTAMP, Map.of());
+	}
+
+
+	@Benchmark
+	public void kickSpeed(Blackhole blackhole)
+	{
+		for (int n = 1; n <= NUM_RECORDS; n++)
+		{
+			blackhole.consume(StraightKickEstimator.getKickSpeed(straightKick.subList(0, n), kickPos));
+		}
+	}
+
+
+	@Benchmark
+	public void kickSpeedMatrix(Blackhole blackhole)
+	{
+		for (int n = 1; n <= NUM_RECORDS; n++)
+		{
+			blackhole.consume(MatrixStraightKickSolverLin3.getKickSpeed(straightKick.subList(0, n), kickPos));
+		}
+	}
+
+
+	@Benchmark
+	public void straightLin3(Blackhole blackhole)
+	{
+		for (int n = 2; n <= NUM_RECORDS; n++)
+		{
+			blackhole.consume(straightSolver.solve(straightKick.subList(0, n)));
+		}
+	}
+
+
+	@Benchmark
+	public void straightLin3Matrix(Blackhole blackhole)
+	{
+		for (int n = 2; n <= NUM_RECORDS; n++)
+		{
+			blackhole.consume(matrixStraightSolver.solve(straightKick.subList(0, n)));
+		}
+	}
+
+
+	@Benchmark
+	public void chipLin3Offset(Blackhole blackhole)
+	{
+		for (int n = 2; n <= NUM_RECORDS; n++)
+		{
+			blackhole.consume(chipSolverLin3.solve(chipKick.subList(0, n)));
+		}
+	}
+
+
+	@Benchmark
+	public void chipLin3OffsetMatrix(Blackhole blackhole)
+	{
+		for (int n = 2; n <= NUM_RECORDS; n++)
+		{
+			blackhole.consume(matrixChipSolverLin3.solve(chipKick.subList(0, n)));
+		}
+	}
+
+
+	@Benchmark
+	public void chipLin5Offset(Blackhole blackhole)
+	{
+		for (int n = 2; n <= NUM_RECORDS; n++)
+		{
+			blackhole.consume(chipSolverLin5.solve(chipKick.subList(0, n)));
+		}
+	}
+
+
+	@Benchmark
+	public void chipLin5OffsetMatrix(Blackhole blackhole)
+	{
+		for (int n = 2; n <= NUM_RECORDS; n++)
+		{
+			blackhole.consume(matrixChipSolverLin5.solve(chipKick.subList(0, n)));
+		}
+	}
+}
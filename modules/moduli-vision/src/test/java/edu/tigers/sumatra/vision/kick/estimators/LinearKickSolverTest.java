@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.vision.kick.estimators;
+
+import edu.tigers.sumatra.cam.data.CamBall;
+import edu.tigers.sumatra.math.vector.IVector2;
+import edu.tigers.sumatra.vision.data.KickSolverResult;
+import edu.tigers.sumatra.vision.kick.estimators.chip.ChipKickSolverLin3Offset;
+import edu.tigers.sumatra.vision.kick.estimators.chip.ChipKickSolverLin5Offset;
+import edu.tigers.sumatra.vision.kick.estimators.straight.StraightKickSolverLin3;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.QRDecomposition;
+import org.apache.commons.math3.linear.RealVector;
+import org.assertj.core.data.Offset;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+
+/**
+ * The allocation-free linear kick solvers must produce the same fits as the matrix based reference implementations.
+ * All kicks are replayed observation by observation, like the kick estimators do.
+ */
+public class LinearKickSolverTest
+{
+	private static final Offset<Double> TOLERANCE = within(1e-6);
+	private static final int NUM_KICKS = 20;
+	private static final int NUM_RECORDS = 40;
+
+
+	@Test
+	public void testLeastSquaresEquivalentToQRDecomposition()
+	{
+		Random rnd = new Random(42);
+		LinearLeastSquares leastSquares = new LinearLeastSquares(3, 1);
+		for (int numRows : new int[] { 3, 10, 100 })
+		{
+			Array2DRowRealMatrix matA = new Array2DRowRealMatrix(numRows, 3);
+			RealVector b = new ArrayRealVector(numRows);
+			leastSquares.reset(numRows);
+			for (int row = 0; row < numRows; row++)
+			{
+				for (int col = 0; col < 3; col++)
+				{
+					double value = rnd.nextGaussian() * 1000;
+					matA.setEntry(row, col, value);
+					leastSquares.setEntry(row, col, value);
+				}
+				double value = rnd.nextGaussian() * 1000;
+				b.setEntry(row, value);
+				leastSquares.setTarget(row, value);
+			}
+
+			assertThat(leastSquares.solve()).isTrue();
+			RealVector x = new QRDecomposition(matA).getSolver().solve(b);
+			for (int col = 0; col < 3; col++)
+			{
+				assertThat(leastSquares.getSolution(col)).isCloseTo(x.getEntry(col), TOLERANCE);
+			}
+			assertThat(leastSquares.getResidualL1Norm())
+					.isCloseTo(matA.operate(x).subtract(b).getL1Norm(), TOLERANCE);
+		}
+	}
+
+
+	@Test
+	public void testSingularProblem()
+	{
+		LinearLeastSquares leastSquares = new LinearLeastSquares(2);
+		leastSquares.reset(3);
+		for (int row = 0; row < 3; row++)
+		{
+			leastSquares.setEntry(row, 0, 1);
+			leastSquares.setEntry(row, 1, 2);
+			leastSquares.setTarget(row, row);
+		}
+		assertThat(leastSquares.solve()).isFalse();
+	}
+
+
+	@Test
+	public void testKickSpeed()
+	{
+		for (int seed = 0; seed < NUM_KICKS; seed++)
+		{
+			List<CamBall> records = KickSamples.straightKick(seed, NUM_RECORDS);
+			IVector2 kickPos = KickSamples.kickPos(seed);
+			for (int n = 1; n <= records.size(); n++)
+			{
+				List<CamBall> replay = records.subList(0, n);
+				assertThat(StraightKickEstimator.getKickSpeed(replay, kickPos))
+						.isCloseTo(MatrixStraightKickSolverLin3.getKickSpeed(replay, kickPos), TOLERANCE);
+			}
+		}
+	}
+
+
+	@Test
+	public void testStraightKickSolverLin3()
+	{
+		StraightKickSolverLin3 solver = new StraightKickSolverLin3();
+		MatrixStraightKickSolverLin3 reference = new MatrixStraightKickSolverLin3();
+		for (int seed = 0; seed < NUM_KICKS; seed++)
+		{
+			List<CamBall> records = KickSamples.straightKick(seed, NUM_RECORDS);
+			for (int n = 2; n <= records.size(); n++)
+			{
+				List<CamBall> replay = records.subList(0, n);
+				assertSameResult(solver.solve(replay), reference.solve(replay));
+			}
+		}
+	}
+
+
+	@Test
+	public void testChipKickSolverLin3Offset()
+	{
+		for (int seed = 0; seed < NUM_KICKS; seed++)
+		{
+			var solver = new ChipKickSolverLin3Offset(KickSamples.kickPos(seed), KickSamples.KICK_TIMESTAMP, Map.of());
+			var reference = new MatrixChipKickSolverLin3Offset(KickSamples.kickPos(seed), KickSamples.KICK_TIMESTAMP,
+					Map.of());
+			List<CamBall> records = KickSamples.chipKick(seed, NUM_RECORDS);
+			for (int n = 2; n <= records.size(); n++)
+			{
+				List<CamBall> replay = records.subList(0, n);
+				assertSameResult(solver.solve(replay), reference.solve(replay));
+				assertThat(solver.getLastL1Error()).isCloseTo(reference.getLastL1Error(), TOLERANCE);
+			}
+		}
+	}
+
+
+	@Test
+	public void testChipKickSolverLin5Offset()
+	{
+		for (int seed = 0; seed < NUM_KICKS; seed++)
+		{
+			var solver = new ChipKickSolverLin5Offset(KickSamples.kickPos(seed), KickSamples.KICK_TIMESTAMP, Map.of());
+			var reference = new MatrixChipKickSolverLin5Offset(KickSamples.kickPos(seed), KickSamples.KICK_TIMESTAMP,
+					Map.of());
+			List<CamBall> records = KickSamples.chipKick(seed, NUM_RECORDS);
+			for (int n = 2; n <= records.size(); n++)
+			{
+				List<CamBall> replay = records.subList(0, n);
+				assertSameResult(solver.solve(replay), reference.solve(replay));
+				assertThat(solver.getLastL1Error()).isCloseTo(reference.getLastL1Error(), TOLERANCE);
+			}
+		}
+	}
+
+
+	private void assertSameResult(final Optional<KickSolverResult> result, final Optional<KickSolverResult> expected)
+	{
+		assertThat(result.isPresent()).isEqualTo(expected.isPresent());
+		if (expected.isEmpty())
+		{
+			return;
+		}
+		KickSolverResult actual = result.orElseThrow();
+		assertThat(actual.getKickTimestamp()).isEqualTo(expected.get().getKickTimestamp());
+		assertThat(actual.getKickPosition().x()).isCloseTo(expected.get().getKickPosition().x(), TOLERANCE);
+		assertThat(actual.getKickPosition().y()).isCloseTo(expected.get().getKickPosition().y(), TOLERANCE);
+		assertThat(actual.getKickVelocity().x()).isCloseTo(expected.get().getKickVelocity().x(), TOLERANCE);
+		assertThat(actual.getKickVelocity().y()).isCloseTo(expected.get().getKickVelocity().y(), TOLERANCE);
+		assertThat(actual.getKickVelocity().z()).isCloseTo(expected.get().getKickVelocity().z(), TOLERANCE);
+	}
+}
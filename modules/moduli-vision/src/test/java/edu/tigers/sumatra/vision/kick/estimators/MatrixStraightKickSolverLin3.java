@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.vision.kick.estimators;
+
+import edu.tigers.sumatra.cam.data.CamBall;
+import edu.tigers.sumatra.geometry.Geometry;
+import edu.tigers.sumatra.math.line.ILineSegment;
+import edu.tigers.sumatra.math.line.Lines;
+import edu.tigers.sumatra.math.vector.IVector2;
+import edu.tigers.sumatra.math.vector.IVector3;
+import edu.tigers.sumatra.math.vector.Vector2;
+import edu.tigers.sumatra.vision.data.KickSolverResult;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.DecompositionSolver;
+import org.apache.commons.math3.linear.QRDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+import org.apache.commons.math3.linear.SingularMatrixException;
+
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * Reference implementation of {@link edu.tigers.sumatra.vision.kick.estimators.straight.StraightKickSolverLin3}
+ * and {@link StraightKickEstimator#getKickSpeed(List, IVector2)} based on the commons-math matrix classes.
+ */
+class MatrixStraightKickSolverLin3 implements IKickSolver
+{
+	@SuppressWarnings("squid:S1166") // Exception from solver not logged
+	static double getKickSpeed(final List<CamBall> balls, final IVector2 kickPos)
+	{
+		int numPoints = balls.size();
+
+		RealMatrix matA = new Array2DRowRealMatrix(numPoints, 2);
+		RealVector b = new ArrayRealVector(numPoints);
+
+		for (int i = 0; i < numPoints; i++)
+		{
+			double time = (balls.get(i).gettCapture() - balls.get(0).gettCapture()) * 1e-9;
+			matA.setEntry(i, 0, time);
+			matA.setEntry(i, 1, 1.0);
+
+			b.setEntry(i, balls.get(i).getPos().getXYVector().distanceTo(kickPos));
+		}
+
+		DecompositionSolver solver = new QRDecomposition(matA).getSolver();
+		RealVector x;
+		try
+		{
+			x = solver.solve(b);
+		} catch (SingularMatrixException e)
+		{
+			return 0;
+		}
+
+		if (x.getEntry(0) < 0)
+		{
+			return 0;
+		}
+
+		return x.getEntry(0);
+	}
+
+
+	@Override
+	@SuppressWarnings("squid:S1166") // Exception from solver not logged
+	public Optional<KickSolverResult> solve(final List<CamBall> records)
+	{
+		final int numRecords = records.size();
+		long tZero = records.get(0).gettCapture();
+		double acc = Geometry.getBallParameters().getAccSlide();
+
+		List<IVector2> groundPos = records.stream()
+				.map(CamBall::getFlatPos)
+				.toList();
+
+		Optional<ILineSegment> kickLine = Lines.regressionLineFromPointsList(groundPos);
+		if (kickLine.isEmpty())
+		{
+			return Optional.empty();
+		}
+
+		IVector2 dir = kickLine.get().directionVector().normalizeNew();
+
+		// linear solving, construct matrices...
+		RealMatrix matA = new Array2DRowRealMatrix(numRecords * 2, 3);
+		RealVector b = new ArrayRealVector(numRecords * 2);
+
+		for (int i = 0; i < numRecords; i++)
+		{
+			CamBall ballRecord = records.get(i);
+
+			IVector2 g = ballRecord.getPos().getXYVector();
+			double t = ((ballRecord.gettCapture()) - tZero) * 1e-9;
+
+			matA.setRow(i * 2, new double[] { 1, 0, dir.x() * t });
+			matA.setRow((i * 2) + 1, new double[] { 0, 1, dir.y() * t });
+
+			b.setEntry(i * 2, g.x() - (0.5 * dir.x() * t * t * acc));
+			b.setEntry((i * 2) + 1, g.y() - (0.5 * dir.y() * t * t * acc));
+		}
+
+		DecompositionSolver solver = new QRDecomposition(matA).getSolver();
+		RealVector x;
+		try
+		{
+			x = solver.solve(b);
+		} catch (SingularMatrixException e)
+		{
+			return Optional.empty();
+		}
+
+		IVector2 kickPos = Vector2.fromXY(x.getEntry(0), x.getEntry(1));
+		IVector3 kickVel = dir.scaleToNew(x.getEntry(2)).getXYZVector();
+
+		return Optional.of(new KickSolverResult(kickPos, kickVel, tZero, getClass().getSimpleName()));
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.wp;
@@ -9,9 +9,13 @@ import edu.tigers.moduli.AModule;
 import edu.tigers.sumatra.cam.ICamFrameObserver;
 import edu.tigers.sumatra.drawable.ShapeMap;
 import edu.tigers.sumatra.drawable.ShapeMapSource;
+import edu.tigers.sumatra.thread.DispatchStats;
+import edu.tigers.sumatra.thread.EQueueOverflowPolicy;
 import edu.tigers.sumatra.wp.util.IRobotInfoProvider;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 
@@ -25,6 +29,7 @@ public abstract class AWorldPredictor extends AModule implements ICamFrameObserv
 {
 	protected final List<IWorldFrameObserver> observers = new CopyOnWriteArrayList<>();
 	protected final List<IWorldFrameObserver> consumers = new CopyOnWriteArrayList<>();
+	private final Map<IWorldFrameObserver, AsyncWorldFrameObserver> asyncObservers = new ConcurrentHashMap<>();
 
 
 	/**
@@ -43,12 +48,69 @@ public abstract class AWorldPredictor extends AModule implements ICamFrameObserv
 
 
 	/**
-	 * @param observer that is registered atm.
+	 * Add an observer for worldFrames that is notified on an own thread with an own bounded queue.<br>
+	 * The events are delivered in order, but the world predictor does not wait for the observer.
+	 * Use this for observers that are not latency-critical, like visualization, recording or exporting.
+	 *
+	 * @param observer       that wants to listen for new frames
+	 * @param capacity       the maximum number of queued frame events
+	 * @param overflowPolicy what to do when the queue is full
+	 */
+	@SuppressWarnings("squid:S2250") // Collection methods with O(n) performance
+	public final void addAsyncObserver(final IWorldFrameObserver observer, final int capacity,
+			final EQueueOverflowPolicy overflowPolicy)
+	{
+		AsyncWorldFrameObserver asyncObserver = new AsyncWorldFrameObserver(observer, capacity, overflowPolicy);
+		asyncObserver.getDispatcher().start();
+		AsyncWorldFrameObserver previous = asyncObservers.put(observer, asyncObserver);
+		if (previous != null)
+		{
+			removeAsyncObserver(previous);
+		}
+		observers.add(asyncObserver);
+	}
+
+
+	/**
+	 * @param observer that is registered atm, either with {@link #addObserver} or {@link #addAsyncObserver}.
 	 */
 	@SuppressWarnings("squid:S2250") // Collection methods with O(n) performance
 	public final void removeObserver(final IWorldFrameObserver observer)
 	{
 		observers.remove(observer);
+		AsyncWorldFrameObserver asyncObserver = asyncObservers.remove(observer);
+		if (asyncObserver != null)
+		{
+			removeAsyncObserver(asyncObserver);
+		}
+	}
+
+
+	private void removeAsyncObserver(final AsyncWorldFrameObserver asyncObserver)
+	{
+		observers.remove(asyncObserver);
+		asyncObserver.getDispatcher().stop();
+	}
+
+
+	/**
+	 * Stop the threads of all observers added with {@link #addAsyncObserver}
+	 */
+	protected final void stopAsyncObservers()
+	{
+		asyncObservers.values().forEach(o -> o.getDispatcher().stop());
+		asyncObservers.clear();
+	}
+
+
+	/**
+	 * @return the queue depth and drop counter of all observers added with {@link #addAsyncObserver}
+	 */
+	public final List<DispatchStats> getAsyncObserverStats()
+	{
+		return asyncObservers.values().stream()
+				.map(o -> o.getDispatcher().getStats())
+				.toList();
 	}
 
 
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.wp;
+
+import edu.tigers.sumatra.drawable.ShapeMap;
+import edu.tigers.sumatra.drawable.ShapeMapSource;
+import edu.tigers.sumatra.thread.AsyncDispatcher;
+import edu.tigers.sumatra.thread.EQueueOverflowPolicy;
+import edu.tigers.sumatra.wp.data.ExtendedCamDetectionFrame;
+import edu.tigers.sumatra.wp.data.WorldFrameWrapper;
+import lombok.Getter;
+
+
+/**
+ * Forwards all world frame events to a delegate on an own thread, see {@link AWorldPredictor#addAsyncObserver}.
+ * Frames and shapes may be dropped if the delegate falls behind, clear and remove events are always delivered.
+ */
+class AsyncWorldFrameObserver implements IWorldFrameObserver
+{
+	@Getter
+	private final IWorldFrameObserver delegate;
+	@Getter
+	private final AsyncDispatcher dispatcher;
+
+
+	AsyncWorldFrameObserver(final IWorldFrameObserver delegate, final int capacity,
+			final EQueueOverflowPolicy overflowPolicy)
+	{
+		this.delegate = delegate;
+		this.dispatcher = new AsyncDispatcher(delegate.getClass().getSimpleName(), capacity, overflowPolicy);
+	}
+
+
+	@Override
+	public void onNewWorldFrame(final WorldFrameWrapper wFrameWrapper)
+	{
+		dispatcher.dispatch(() -> delegate.onNewWorldFrame(wFrameWrapper));
+	}
+
+
+	@Override
+	public void onClearWorldFrame()
+	{
+		dispatcher.dispatchControl(delegate::onClearWorldFrame);
+	}
+
+
+	@Override
+	public void onNewCamDetectionFrame(final ExtendedCamDetectionFrame frame)
+	{
+		dispatcher.dispatch(() -> delegate.onNewCamDetectionFrame(frame));
+	}
+
+
+	@Override
+	public void onClearCamDetectionFrame()
+	{
+		dispatcher.dispatchControl(delegate::onClearCamDetectionFrame);
+	}
+
+
+	@Override
+	public void onNewShapeMap(final long timestamp, final ShapeMap shapeMap, final ShapeMapSource source)
+	{
+		dispatcher.dispatch(() -> delegate.onNewShapeMap(timestamp, shapeMap, source));
+	}
+
+
+	@Override
+	public void onRemoveSourceFromShapeMap(final ShapeMapSource source)
+	{
+		dispatcher.dispatchControl(() -> delegate.onRemoveSourceFromShapeMap(source));
+	}
+
+
+	@Override
+	public String toString()
+	{
+		return "Async[" + delegate + "]";
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.wp;
+
+import com.sleepycat.persist.model.Entity;
+import com.sleepycat.persist.model.PrimaryKey;
+import edu.tigers.sumatra.persistence.EncodedBerkeleyAccessor;
+import edu.tigers.sumatra.persistence.IBerkeleyAccessor;
+import edu.tigers.sumatra.persistence.codec.EncodedFrame;
+import edu.tigers.sumatra.persistence.codec.IEncodedFrameEntity;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * A {@link BerkeleyShapeMapFrame} that is encoded with the {@link ShapeMapFrameCodec}.
+ */
+@Entity
+@Data
+@RequiredArgsConstructor
+public class BerkeleyEncodedShapeMapFrame implements IEncodedFrameEntity
+{
+	@PrimaryKey
+	private final long timestamp;
+
+	private final EncodedFrame frame;
+
+
+	@SuppressWarnings("unused")
+	private BerkeleyEncodedShapeMapFrame()
+	{
+		timestamp = 0;
+		frame = null;
+	}
+
+
+	/**
+	 * @return an accessor that stores shape map frames encoded in this entity
+	 */
+	public static IBerkeleyAccessor<BerkeleyShapeMapFrame> createAccessor()
+	{
+		return new EncodedBerkeleyAccessor<>(BerkeleyEncodedShapeMapFrame.class, BerkeleyShapeMapFrame.class,
+				new ShapeMapFrameCodec(), BerkeleyEncodedShapeMapFrame::new);
+	}
+}
@@ -1,9 +1,10 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.wp;
 
+import edu.tigers.sumatra.drawable.ShapeLayerSubscriptions;
 import edu.tigers.sumatra.drawable.ShapeMap;
 import edu.tigers.sumatra.drawable.ShapeMapSource;
 import edu.tigers.sumatra.model.SumatraModel;
@@ -11,7 +12,8 @@ import edu.tigers.sumatra.persistence.BerkeleyDb;
 import edu.tigers.sumatra.persistence.IBerkeleyRecorder;
 import lombok.extern.log4j.Log4j2;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
@@ -47,6 +49,7 @@ public class ShapeMapBerkeleyRecorder implements IBerkeleyRecorder
 	{
 		AWorldPredictor wp = SumatraModel.getInstance().getModule(AWorldPredictor.class);
 		wp.addObserver(wfwObserver);
+		ShapeLayerSubscriptions.subscribePersisted();
 		running = true;
 	}
 
@@ -56,6 +59,7 @@ public class ShapeMapBerkeleyRecorder implements IBerkeleyRecorder
 	{
 		AWorldPredictor wp = SumatraModel.getInstance().getModule(AWorldPredictor.class);
 		wp.removeObserver(wfwObserver);
+		ShapeLayerSubscriptions.unsubscribePersisted();
 		running = false;
 	}
 
@@ -63,7 +67,8 @@ public class ShapeMapBerkeleyRecorder implements IBerkeleyRecorder
 	@Override
 	public void flush()
 	{
-		Map<Long, BerkeleyShapeMapFrame> toSave = new HashMap<>();
+		// frames are encoded as delta to the previous one, so keep them in order
+		List<BerkeleyShapeMapFrame> toSave = new ArrayList<>();
 		for (var entry : buffer.entrySet())
 		{
 			if (isBuffering(entry.getKey()))
@@ -72,11 +77,11 @@ public class ShapeMapBerkeleyRecorder implements IBerkeleyRecorder
 			}
 			var frame = new BerkeleyShapeMapFrame(entry.getKey());
 			entry.getValue().forEach(frame::putShapeMap);
-			toSave.put(entry.getKey(), frame);
+			toSave.add(frame);
 			buffer.remove(entry.getKey());
 		}
 
-		db.write(BerkeleyShapeMapFrame.class, toSave.values());
+		db.write(BerkeleyShapeMapFrame.class, toSave);
 	}
 
 
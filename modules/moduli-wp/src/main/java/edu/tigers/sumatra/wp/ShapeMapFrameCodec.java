@@ -0,0 +1,522 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.wp;
+
+import edu.tigers.sumatra.drawable.DrawableAnnotation;
+import edu.tigers.sumatra.drawable.DrawableCircle;
+import edu.tigers.sumatra.drawable.DrawableLine;
+import edu.tigers.sumatra.drawable.DrawablePoint;
+import edu.tigers.sumatra.drawable.IDrawableShape;
+import edu.tigers.sumatra.drawable.IShapeLayerIdentifier;
+import edu.tigers.sumatra.drawable.ShapeLayerIdentifier;
+import edu.tigers.sumatra.drawable.ShapeMap;
+import edu.tigers.sumatra.drawable.ShapeMap.EShapeLayerPersistenceType;
+import edu.tigers.sumatra.drawable.ShapeMap.ShapeLayer;
+import edu.tigers.sumatra.drawable.ShapeMapSource;
+import edu.tigers.sumatra.math.circle.Circle;
+import edu.tigers.sumatra.math.line.ILineSegment;
+import edu.tigers.sumatra.math.line.Lines;
+import edu.tigers.sumatra.math.vector.IVector2;
+import edu.tigers.sumatra.math.vector.Vector2f;
+import edu.tigers.sumatra.persistence.codec.CodecInput;
+import edu.tigers.sumatra.persistence.codec.CodecOutput;
+import edu.tigers.sumatra.persistence.codec.FixedPoint;
+import edu.tigers.sumatra.persistence.codec.IFrameCodec;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Binary codec for recorded {@link BerkeleyShapeMapFrame}s.
+ * <p>
+ * Sources and layers that are also in the previous frame are referenced by their index in the previous frame,
+ * colors are referenced by their index in the current frame. Circles, lines, points and annotations are encoded with
+ * a resolution of 1µm as delta to the shape at the same position in the same layer of the previous frame.
+ * All other shapes are stored as objects by the Berkeley binding.
+ * </p>
+ */
+public class ShapeMapFrameCodec implements IFrameCodec<BerkeleyShapeMapFrame>
+{
+	private static final int VERSION = 1;
+	private static final double SCALE = 1e3;
+	private static final Comparator<ShapeLayer> LAYER_ORDER = Comparator.comparing(l -> l.getIdentifier().getId());
+
+	private static final int TYPE_OBJECT = 0;
+	private static final int TYPE_CIRCLE = 1;
+	private static final int TYPE_LINE = 2;
+	private static final int TYPE_POINT = 3;
+	private static final int TYPE_ANNOTATION = 4;
+	private static final int TYPE_MASK = 0x7;
+
+	private static final int FLAG_FILL = 1 << 3;
+	private static final int FLAG_BOLD = 1 << 4;
+	private static final int FLAG_CENTER_HORIZONTALLY = 1 << 5;
+	private static final int FLAG_SAME_STROKE = 1 << 6;
+	private static final int FLAG_SAME_TEXT = 1 << 7;
+
+
+	@Override
+	public int getVersion()
+	{
+		return VERSION;
+	}
+
+
+	@Override
+	public long getTimestamp(final BerkeleyShapeMapFrame frame)
+	{
+		return frame.getTimestamp();
+	}
+
+
+	@Override
+	public void encode(final BerkeleyShapeMapFrame frame, final BerkeleyShapeMapFrame previous,
+			final CodecOutput out)
+	{
+		out.writeDelta(frame.getTimestamp(), previous == null ? 0 : previous.getTimestamp());
+
+		List<ShapeMapSource> prevSources = getSources(previous);
+		List<ShapeMapSource> sources = getSources(frame);
+		ColorDictionary colors = new ColorDictionary();
+		out.writeVarInt(sources.size());
+		for (ShapeMapSource source : sources)
+		{
+			int prevIndex = prevSources.indexOf(source);
+			out.writeVarInt(prevIndex + 1);
+			if (prevIndex < 0)
+			{
+				writeSource(out, source);
+			}
+			ShapeMap prevShapeMap = previous == null ? null : previous.getShapeMaps().get(source);
+			encodeShapeMap(out, frame.getShapeMaps().get(source), prevShapeMap, colors);
+		}
+	}
+
+
+	@Override
+	public BerkeleyShapeMapFrame decode(final CodecInput in, final BerkeleyShapeMapFrame previous)
+	{
+		if (in.getVersion() != VERSION)
+		{
+			throw new IllegalStateException("Unsupported shape map codec version: " + in.getVersion());
+		}
+		BerkeleyShapeMapFrame frame = new BerkeleyShapeMapFrame(
+				in.readDelta(previous == null ? 0 : previous.getTimestamp()));
+
+		List<ShapeMapSource> prevSources = getSources(previous);
+		ColorDictionary colors = new ColorDictionary();
+		int numSources = in.readVarInt();
+		for (int i = 0; i < numSources; i++)
+		{
+			int prevIndex = in.readVarInt() - 1;
+			ShapeMapSource source = prevIndex < 0 ? readSource(in) : prevSources.get(prevIndex);
+			ShapeMap prevShapeMap = previous == null ? null : previous.getShapeMaps().get(source);
+			frame.putShapeMap(source, decodeShapeMap(in, prevShapeMap, colors));
+		}
+		return frame;
+	}
+
+
+	private List<ShapeMapSource> getSources(final BerkeleyShapeMapFrame frame)
+	{
+		if (frame == null)
+		{
+			return List.of();
+		}
+		return frame.getShapeMaps().keySet().stream().sorted().toList();
+	}
+
+
+	private List<ShapeLayer> getLayers(final ShapeMap shapeMap)
+	{
+		if (shapeMap == null)
+		{
+			return List.of();
+		}
+		return shapeMap.getAllShapeLayers().stream().sorted(LAYER_ORDER).toList();
+	}
+
+
+	private void writeSource(final CodecOutput out, final ShapeMapSource source)
+	{
+		out.writeString(source.getName());
+		out.writeBoolean(source.getParent() != null);
+		if (source.getParent() != null)
+		{
+			writeSource(out, source.getParent());
+		}
+	}
+
+
+	private ShapeMapSource readSource(final CodecInput in)
+	{
+		String name = in.readString();
+		ShapeMapSource parent = in.readBoolean() ? readSource(in) : null;
+		return ShapeMapSource.of(name, parent);
+	}
+
+
+	private void encodeShapeMap(final CodecOutput out, final ShapeMap shapeMap, final ShapeMap prevShapeMap,
+			final ColorDictionary colors)
+	{
+		List<ShapeLayer> prevLayers = getLayers(prevShapeMap);
+		Map<String, Integer> prevLayerIndices = new HashMap<>();
+		for (int i = 0; i < prevLayers.size(); i++)
+		{
+			prevLayerIndices.put(prevLayers.get(i).getIdentifier().getId(), i);
+		}
+
+		List<ShapeLayer> layers = getLayers(shapeMap);
+		out.writeVarInt(layers.size());
+		for (ShapeLayer layer : layers)
+		{
+			IShapeLayerIdentifier identifier = layer.getIdentifier();
+			Integer prevIndex = prevLayerIndices.get(identifier.getId());
+			ShapeLayer prevLayer = null;
+			if (prevIndex != null && prevLayers.get(prevIndex).getIdentifier().equals(identifier))
+			{
+				prevLayer = prevLayers.get(prevIndex);
+				out.writeVarInt(prevIndex + 1);
+			} else
+			{
+				out.writeVarInt(0);
+				writeIdentifier(out, identifier);
+			}
+			out.writeBoolean(layer.isInverted());
+
+			List<IDrawableShape> shapes = layer.getShapes();
+			List<IDrawableShape> prevShapes = prevLayer == null ? List.of() : prevLayer.getShapes();
+			out.writeVarInt(shapes.size());
+			for (int i = 0; i < shapes.size(); i++)
+			{
+				encodeShape(out, shapes.get(i), i < prevShapes.size() ? prevShapes.get(i) : null, colors);
+			}
+		}
+	}
+
+
+	private ShapeMap decodeShapeMap(final CodecInput in, final ShapeMap prevShapeMap, final ColorDictionary colors)
+	{
+		List<ShapeLayer> prevLayers = getLayers(prevShapeMap);
+		ShapeMap shapeMap = new ShapeMap();
+		int numLayers = in.readVarInt();
+		for (int l = 0; l < numLayers; l++)
+		{
+			int prevIndex = in.readVarInt() - 1;
+			ShapeLayer prevLayer = prevIndex < 0 ? null : prevLayers.get(prevIndex);
+			IShapeLayerIdentifier identifier = prevLayer == null ? readIdentifier(in) : prevLayer.getIdentifier();
+			boolean inverted = in.readBoolean();
+
+			List<IDrawableShape> prevShapes = prevLayer == null ? List.of() : prevLayer.getShapes();
+			int numShapes = in.readVarInt();
+			List<IDrawableShape> shapes = new ArrayList<>(numShapes);
+			for (int i = 0; i < numShapes; i++)
+			{
+				shapes.add(decodeShape(in, i < prevShapes.size() ? prevShapes.get(i) : null, colors));
+			}
+			shapeMap.addLayer(new ShapeLayer(identifier, shapes, inverted));
+		}
+		return shapeMap;
+	}
+
+
+	private void writeIdentifier(final CodecOutput out, final IShapeLayerIdentifier identifier)
+	{
+		out.writeString(identifier.getId());
+		out.writeString(identifier.getLayerName());
+		out.writeVarInt(identifier.getCategories().size());
+		identifier.getCategories().forEach(out::writeString);
+		out.writeByte(identifier.getPersistenceType().ordinal());
+		out.writeBoolean(identifier.isVisibleByDefault());
+		out.writeSignedVarLong(identifier.getOrderId());
+	}
+
+
+	private IShapeLayerIdentifier readIdentifier(final CodecInput in)
+	{
+		ShapeLayerIdentifier.ShapeLayerIdentifierBuilder builder = ShapeLayerIdentifier.builder()
+				.id(in.readString())
+				.layerName(in.readString());
+		int numCategories = in.readVarInt();
+		for (int i = 0; i < numCategories; i++)
+		{
+			builder.category(in.readString());
+		}
+		return builder
+				.persistenceType(EShapeLayerPersistenceType.values()[in.readByte()])
+				.visibleByDefault(in.readBoolean())
+				.orderId((int) in.readSignedVarLong())
+				.build();
+	}
+
+
+	private void encodeShape(final CodecOutput out, final IDrawableShape shape, final IDrawableShape prevShape,
+			final ColorDictionary colors)
+	{
+		if (shape.getClass() == DrawableCircle.class && isRepresentable((DrawableCircle) shape))
+		{
+			encodeCircle(out, (DrawableCircle) shape, sameClass(prevShape, DrawableCircle.class), colors);
+		} else if (shape.getClass() == DrawableLine.class && isRepresentable((DrawableLine) shape))
+		{
+			encodeLine(out, (DrawableLine) shape, sameClass(prevShape, DrawableLine.class), colors);
+		} else if (shape.getClass() == DrawablePoint.class && isRepresentable((DrawablePoint) shape))
+		{
+			encodePoint(out, (DrawablePoint) shape, sameClass(prevShape, DrawablePoint.class), colors);
+		} else if (shape.getClass() == DrawableAnnotation.class && isRepresentable((DrawableAnnotation) shape))
+		{
+			encodeAnnotation(out, (DrawableAnnotation) shape, sameClass(prevShape, DrawableAnnotation.class), colors);
+		} else
+		{
+			out.writeByte(TYPE_OBJECT);
+			out.writeObject(shape);
+		}
+	}
+
+
+	private IDrawableShape decodeShape(final CodecInput in, final IDrawableShape prevShape,
+			final ColorDictionary colors)
+	{
+		int header = in.readByte();
+		int type = header & TYPE_MASK;
+		return switch (type)
+		{
+			case TYPE_OBJECT -> in.readObject();
+			case TYPE_CIRCLE -> decodeCircle(in, header, sameClass(prevShape, DrawableCircle.class), colors);
+			case TYPE_LINE -> decodeLine(in, header, sameClass(prevShape, DrawableLine.class), colors);
+			case TYPE_POINT -> decodePoint(in, header, sameClass(prevShape, DrawablePoint.class), colors);
+			case TYPE_ANNOTATION -> decodeAnnotation(in, header, sameClass(prevShape, DrawableAnnotation.class), colors);
+			default -> throw new IllegalStateException("Unknown shape type: " + type);
+		};
+	}
+
+
+	/**
+	 * @return the shape of the previous frame, if it can be used as reference for a shape of the given class
+	 */
+	private <S extends IDrawableShape> S sameClass(final IDrawableShape prevShape, final Class<S> clazz)
+	{
+		if (prevShape != null && prevShape.getClass() == clazz)
+		{
+			return clazz.cast(prevShape);
+		}
+		return null;
+	}
+
+
+	private void encodeCircle(final CodecOutput out, final DrawableCircle shape, final DrawableCircle prev,
+			final ColorDictionary colors)
+	{
+		boolean sameStroke = prev != null && prev.getStrokeWidth() == shape.getStrokeWidth();
+		int header = TYPE_CIRCLE;
+		header |= shape.isFill() ? FLAG_FILL : 0;
+		header |= sameStroke ? FLAG_SAME_STROKE : 0;
+		out.writeByte(header);
+		colors.write(out, shape.getColor());
+		if (!sameStroke)
+		{
+			out.writeFloat(shape.getStrokeWidth());
+		}
+		writeVector(out, shape.getCircle().center(), prev == null ? null : prev.getCircle().center());
+		out.writeFixedPointDelta(shape.getCircle().radius(), prev == null ? 0 : prev.getCircle().radius(), SCALE);
+	}
+
+
+	private DrawableCircle decodeCircle(final CodecInput in, final int header, final DrawableCircle prev,
+			final ColorDictionary colors)
+	{
+		Color color = colors.read(in);
+		float strokeWidth = (header & FLAG_SAME_STROKE) != 0 && prev != null ? prev.getStrokeWidth() : in.readFloat();
+		IVector2 center = readVector(in, prev == null ? null : prev.getCircle().center());
+		double radius = in.readFixedPointDelta(prev == null ? 0 : prev.getCircle().radius(), SCALE);
+		DrawableCircle shape = new DrawableCircle(Circle.createCircle(center, radius), color);
+		shape.setStrokeWidth(strokeWidth);
+		shape.setFill((header & FLAG_FILL) != 0);
+		return shape;
+	}
+
+
+	private void encodeLine(final CodecOutput out, final DrawableLine shape, final DrawableLine prev,
+			final ColorDictionary colors)
+	{
+		boolean sameStroke = prev != null && prev.getStrokeWidth() == shape.getStrokeWidth();
+		out.writeByte(TYPE_LINE | (sameStroke ? FLAG_SAME_STROKE : 0));
+		colors.write(out, shape.getColor());
+		if (!sameStroke)
+		{
+			out.writeFloat(shape.getStrokeWidth());
+		}
+		ILineSegment line = shape.getLine();
+		ILineSegment prevLine = prev == null ? null : prev.getLine();
+		writeVector(out, line.getPathStart(), prevLine == null ? null : prevLine.getPathStart());
+		writeVector(out, line.getPathEnd(), prevLine == null ? null : prevLine.getPathEnd());
+	}
+
+
+	private DrawableLine decodeLine(final CodecInput in, final int header, final DrawableLine prev,
+			final ColorDictionary colors)
+	{
+		Color color = colors.read(in);
+		float strokeWidth = (header & FLAG_SAME_STROKE) != 0 && prev != null ? prev.getStrokeWidth() : in.readFloat();
+		ILineSegment prevLine = prev == null ? null : prev.getLine();
+		IVector2 start = readVector(in, prevLine == null ? null : prevLine.getPathStart());
+		IVector2 end = readVector(in, prevLine == null ? null : prevLine.getPathEnd());
+		DrawableLine shape = new DrawableLine(Lines.segmentFromPoints(start, end), color);
+		shape.setStrokeWidth(strokeWidth);
+		return shape;
+	}
+
+
+	private void encodePoint(final CodecOutput out, final DrawablePoint shape, final DrawablePoint prev,
+			final ColorDictionary colors)
+	{
+		out.writeByte(TYPE_POINT);
+		colors.write(out, shape.getColor());
+		writeVector(out, shape.getPoint(), prev == null ? null : prev.getPoint());
+		out.writeFixedPointDelta(shape.getPointSize(), prev == null ? 0 : prev.getPointSize(), SCALE);
+	}
+
+
+	private DrawablePoint decodePoint(final CodecInput in, final int header, final DrawablePoint prev,
+			final ColorDictionary colors)
+	{
+		Color color = colors.read(in);
+		IVector2 point = readVector(in, prev == null ? null : prev.getPoint());
+		double size = in.readFixedPointDelta(prev == null ? 0 : prev.getPointSize(), SCALE);
+		return new DrawablePoint(point, color).withSize(size);
+	}
+
+
+	private void encodeAnnotation(final CodecOutput out, final DrawableAnnotation shape, final DrawableAnnotation prev,
+			final ColorDictionary colors)
+	{
+		boolean sameText = prev != null && prev.getText().equals(shape.getText());
+		int header = TYPE_ANNOTATION;
+		header |= shape.isBold() ? FLAG_BOLD : 0;
+		header |= shape.isCenterHorizontally() ? FLAG_CENTER_HORIZONTALLY : 0;
+		header |= sameText ? FLAG_SAME_TEXT : 0;
+		out.writeByte(header);
+		colors.write(out, shape.getColor());
+		writeVector(out, shape.getCenter(), prev == null ? null : prev.getCenter());
+		writeVector(out, shape.getOffset(), prev == null ? null : prev.getOffset());
+		out.writeDelta(shape.getFontHeight(), prev == null ? 0 : prev.getFontHeight());
+		if (!sameText)
+		{
+			out.writeString(shape.getText());
+		}
+	}
+
+
+	private DrawableAnnotation decodeAnnotation(final CodecInput in, final int header, final DrawableAnnotation prev,
+			final ColorDictionary colors)
+	{
+		Color color = colors.read(in);
+		IVector2 center = readVector(in, prev == null ? null : prev.getCenter());
+		IVector2 offset = readVector(in, prev == null ? null : prev.getOffset());
+		int fontHeight = (int) in.readDelta(prev == null ? 0 : prev.getFontHeight());
+		String text = (header & FLAG_SAME_TEXT) != 0 && prev != null ? prev.getText() : in.readString();
+		return new DrawableAnnotation(center, text, color)
+				.withOffset(offset)
+				.withCenterHorizontally((header & FLAG_CENTER_HORIZONTALLY) != 0)
+				.withBold((header & FLAG_BOLD) != 0)
+				.withFontHeight(fontHeight);
+	}
+
+
+	private boolean isRepresentable(final DrawableCircle shape)
+	{
+		return shape.getColor() != null
+				&& isRepresentable(shape.getCircle().center())
+				&& FixedPoint.isRepresentable(shape.getCircle().radius(), SCALE);
+	}
+
+
+	private boolean isRepresentable(final DrawableLine shape)
+	{
+		return shape.getColor() != null
+				&& isRepresentable(shape.getLine().getPathStart())
+				&& isRepresentable(shape.getLine().getPathEnd());
+	}
+
+
+	private boolean isRepresentable(final DrawablePoint shape)
+	{
+		return shape.getColor() != null
+				&& isRepresentable(shape.getPoint())
+				&& FixedPoint.isRepresentable(shape.getPointSize(), SCALE);
+	}
+
+
+	private boolean isRepresentable(final DrawableAnnotation shape)
+	{
+		return shape.getColor() != null
+				&& shape.getText() != null
+				&& isRepresentable(shape.getCenter())
+				&& shape.getOffset() != null
+				&& isRepresentable(shape.getOffset());
+	}
+
+
+	private boolean isRepresentable(final IVector2 vector)
+	{
+		return FixedPoint.isRepresentable(vector.x(), SCALE) && FixedPoint.isRepresentable(vector.y(), SCALE);
+	}
+
+
+	private void writeVector(final CodecOutput out, final IVector2 vector, final IVector2 previous)
+	{
+		out.writeFixedPointDelta(vector.x(), previous == null ? 0 : previous.x(), SCALE);
+		out.writeFixedPointDelta(vector.y(), previous == null ? 0 : previous.y(), SCALE);
+	}
+
+
+	private IVector2 readVector(final CodecInput in, final IVector2 previous)
+	{
+		double x = in.readFixedPointDelta(previous == null ? 0 : previous.x(), SCALE);
+		double y = in.readFixedPointDelta(previous == null ? 0 : previous.y(), SCALE);
+		return Vector2f.fromXY(x, y);
+	}
+
+
+	/**
+	 * Colors of a single frame. A new color is written with its value, repeated colors by their index.
+	 */
+	private static class ColorDictionary
+	{
+		private final List<Color> colors = new ArrayList<>();
+		private final Map<Color, Integer> indices = new HashMap<>();
+
+
+		void write(final CodecOutput out, final Color color)
+		{
+			Integer index = indices.get(color);
+			if (index != null)
+			{
+				out.writeVarInt(index + 1);
+				return;
+			}
+			out.writeVarInt(0);
+			out.writeVarInt(color.getRGB());
+			indices.put(color, colors.size());
+			colors.add(color);
+		}
+
+
+		Color read(final CodecInput in)
+		{
+			int index = in.readVarInt() - 1;
+			if (index >= 0)
+			{
+				return colors.get(index);
+			}
+			Color color = new Color(in.readVarInt(), true);
+			colors.add(color);
+			return color;
+		}
+	}
+}
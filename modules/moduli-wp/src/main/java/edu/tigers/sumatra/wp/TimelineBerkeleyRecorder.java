@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.wp;
+
+import edu.tigers.sumatra.model.SumatraModel;
+import edu.tigers.sumatra.persistence.BerkeleyDb;
+import edu.tigers.sumatra.persistence.IBerkeleyRecorder;
+import edu.tigers.sumatra.referee.data.GameState;
+import edu.tigers.sumatra.referee.data.RefereeMsg;
+import edu.tigers.sumatra.referee.gameevent.EGameEvent;
+import edu.tigers.sumatra.referee.gameevent.IGameEvent;
+import edu.tigers.sumatra.referee.proto.SslGcRefereeMessage.Referee.Command;
+import edu.tigers.sumatra.wp.data.BerkeleyTimelineEvent;
+import edu.tigers.sumatra.wp.data.WorldFrameWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+
+/**
+ * Berkeley recorder for the event timeline.
+ * It stores a {@link BerkeleyTimelineEvent} whenever the referee command, the game state or the game events change,
+ * which allows the replay to search for events without loading world frames.
+ */
+public class TimelineBerkeleyRecorder implements IBerkeleyRecorder
+{
+	private final Queue<BerkeleyTimelineEvent> events = new ConcurrentLinkedQueue<>();
+	private final WfwObserver wfwObserver = new WfwObserver();
+	private final BerkeleyDb db;
+
+
+	/**
+	 * Create berkeley storage for the event timeline
+	 */
+	public TimelineBerkeleyRecorder(BerkeleyDb db)
+	{
+		this.db = db;
+	}
+
+
+	@Override
+	public void start()
+	{
+		AWorldPredictor wp = SumatraModel.getInstance().getModule(AWorldPredictor.class);
+		wp.addObserver(wfwObserver);
+	}
+
+
+	@Override
+	public void stop()
+	{
+		AWorldPredictor wp = SumatraModel.getInstance().getModule(AWorldPredictor.class);
+		wp.removeObserver(wfwObserver);
+	}
+
+
+	@Override
+	public void flush()
+	{
+		List<BerkeleyTimelineEvent> toSave = new ArrayList<>();
+		BerkeleyTimelineEvent event = events.poll();
+		while (event != null)
+		{
+			toSave.add(event);
+			event = events.poll();
+		}
+		db.write(BerkeleyTimelineEvent.class, toSave);
+	}
+
+
+	private class WfwObserver implements IWorldFrameObserver
+	{
+		private Command lastCommand;
+		private GameState lastGameState;
+		private List<EGameEvent> lastGameEvents;
+
+
+		@Override
+		public void onNewWorldFrame(final WorldFrameWrapper wFrameWrapper)
+		{
+			RefereeMsg refereeMsg = wFrameWrapper.getRefereeMsg();
+			Command command = refereeMsg == null ? null : refereeMsg.getCommand();
+			GameState gameState = wFrameWrapper.getGameState();
+			List<EGameEvent> gameEvents = refereeMsg == null ? List.of() : refereeMsg.getGameEvents().stream()
+					.map(IGameEvent::getType)
+					.toList();
+
+			if (command != lastCommand
+					|| !Objects.equals(gameState, lastGameState)
+					|| !gameEvents.equals(lastGameEvents))
+			{
+				lastCommand = command;
+				lastGameState = gameState;
+				lastGameEvents = gameEvents;
+				events.add(new BerkeleyTimelineEvent(wFrameWrapper.getTimestamp(), command, gameState,
+						new ArrayList<>(gameEvents)));
+			}
+		}
+	}
+}
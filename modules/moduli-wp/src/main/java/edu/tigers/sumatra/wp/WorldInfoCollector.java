@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2023, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.wp;
@@ -17,7 +17,7 @@ import edu.tigers.sumatra.cam.ICamFrameObserver;
 import edu.tigers.sumatra.cam.data.CamBall;
 import edu.tigers.sumatra.cam.data.CamDetectionFrame;
 import edu.tigers.sumatra.cam.data.CamObjectFilterParams;
-import edu.tigers.sumatra.data.TimestampBasedBuffer;
+import edu.tigers.sumatra.data.TimestampRingBuffer;
 import edu.tigers.sumatra.drawable.DrawableBorderText;
 import edu.tigers.sumatra.drawable.DrawableRectangle;
 import edu.tigers.sumatra.drawable.EFontSize;
@@ -26,6 +26,7 @@ import edu.tigers.sumatra.drawable.ShapeMap;
 import edu.tigers.sumatra.drawable.ShapeMapSource;
 import edu.tigers.sumatra.geometry.Geometry;
 import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.BotIdMap;
 import edu.tigers.sumatra.math.pose.Pose;
 import edu.tigers.sumatra.math.vector.Vector2;
 import edu.tigers.sumatra.math.vector.Vector2f;
@@ -124,7 +125,7 @@ public class WorldInfoCollector extends AWorldPredictor
 	}
 
 	private final BerkeleyAutoPauseHook berkeleyAutoPauseHook = new BerkeleyAutoPauseHook();
-	private final TimestampBasedBuffer<ITrackedBall> ballBuffer = new TimestampBasedBuffer<>(0.3);
+	private final TimestampRingBuffer<ITrackedBall> ballBuffer = new TimestampRingBuffer<>(256, 0.3);
 	private final GameStateCalculator gameStateCalculator = new GameStateCalculator();
 	private final WorldFrameVisualization worldFrameVisualization = new WorldFrameVisualization();
 	private final MalFunctioningBotCalculator malFunctioningBotCalculator = new MalFunctioningBotCalculator();
@@ -143,7 +144,7 @@ public class WorldInfoCollector extends AWorldPredictor
 	private Map<BotID, BotState> getFilteredBotStates(final Collection<FilteredVisionBot> visionBots)
 	{
 		return visionBots.stream()
-				.collect(Collectors.toMap(
+				.collect(BotIdMap.toBotIdMap(
 						FilteredVisionBot::getBotID,
 						FilteredVisionBot::toBotState));
 	}
@@ -152,7 +153,7 @@ public class WorldInfoCollector extends AWorldPredictor
 	private Map<BotID, FilteredVisionBot> getFilteredBots(final Collection<FilteredVisionBot> visionBots)
 	{
 		return visionBots.stream()
-				.collect(Collectors.toMap(
+				.collect(BotIdMap.toBotIdMap(
 						FilteredVisionBot::getBotID,
 						Function.identity()));
 	}
@@ -164,7 +165,7 @@ public class WorldInfoCollector extends AWorldPredictor
 				.map(RobotInfo::getInternalState)
 				.filter(Optional::isPresent)
 				.map(Optional::get)
-				.collect(Collectors.toMap(
+				.collect(BotIdMap.toBotIdMap(
 						BotState::getBotId,
 						Function.identity()));
 	}
@@ -248,7 +249,7 @@ public class WorldInfoCollector extends AWorldPredictor
 
 		return allRelevantBots.stream()
 				.map(robotInfoProvider::getRobotInfo)
-				.collect(Collectors.toMap(
+				.collect(BotIdMap.toBotIdMap(
 						RobotInfo::getBotId,
 						Function.identity()));
 	}
@@ -316,7 +317,7 @@ public class WorldInfoCollector extends AWorldPredictor
 		Map<BotID, ITrackedBot> bots = collectTrackedBots(filteredVisionFrame.getBots(), robotInfo.values());
 
 		ITrackedBall ball = getTrackedBall(filteredVisionFrame);
-		ballBuffer.add(ball);
+		ballBuffer.add(ball.getTimestamp(), ball);
 
 		KickedBall kickedBall = filteredVisionFrame.getKick()
 				.map(this::getKickedBall).orElse(null);
@@ -377,6 +378,21 @@ public class WorldInfoCollector extends AWorldPredictor
 	}
 
 
+	/**
+	 * Initialize this collector without the module system. It is only connected to the given vision filter,
+	 * so multiple independent instances can run side by side, e.g. to process game logs offline.
+	 * Referee messages must be passed in via {@link #onNewRefereeMsg}.
+	 *
+	 * @param visionFilter the vision filter that provides the filtered vision frames
+	 */
+	public void initStandalone(final AVisionFilter visionFilter)
+	{
+		reset();
+		this.visionFilter = visionFilter;
+		visionFilter.addObserver(this);
+	}
+
+
 	@Override
 	public final void deinitModule()
 	{
@@ -517,6 +533,7 @@ public class WorldInfoCollector extends AWorldPredictor
 			log.warn("There were observers left: {}", observers);
 			observers.clear();
 		}
+		stopAsyncObservers();
 		if (!consumers.isEmpty())
 		{
 			log.warn("There were consumers left: {}", consumers);
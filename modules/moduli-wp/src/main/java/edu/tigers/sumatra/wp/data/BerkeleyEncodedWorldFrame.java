@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.wp.data;
+
+import com.sleepycat.persist.model.Entity;
+import com.sleepycat.persist.model.PrimaryKey;
+import edu.tigers.sumatra.persistence.EncodedBerkeleyAccessor;
+import edu.tigers.sumatra.persistence.IBerkeleyAccessor;
+import edu.tigers.sumatra.persistence.codec.EncodedFrame;
+import edu.tigers.sumatra.persistence.codec.IEncodedFrameEntity;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * A {@link WorldFrameWrapper} that is encoded with the {@link WorldFrameWrapperCodec}.
+ */
+@Entity
+@Data
+@RequiredArgsConstructor
+public class BerkeleyEncodedWorldFrame implements IEncodedFrameEntity
+{
+	@PrimaryKey
+	private final long timestamp;
+
+	private final EncodedFrame frame;
+
+
+	@SuppressWarnings("unused")
+	private BerkeleyEncodedWorldFrame()
+	{
+		timestamp = 0;
+		frame = null;
+	}
+
+
+	/**
+	 * @return an accessor that stores world frames encoded in this entity
+	 */
+	public static IBerkeleyAccessor<WorldFrameWrapper> createAccessor()
+	{
+		return new EncodedBerkeleyAccessor<>(BerkeleyEncodedWorldFrame.class, WorldFrameWrapper.class,
+				new WorldFrameWrapperCodec(), BerkeleyEncodedWorldFrame::new);
+	}
+}
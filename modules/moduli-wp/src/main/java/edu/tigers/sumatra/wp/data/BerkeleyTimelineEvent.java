@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.wp.data;
+
+import com.sleepycat.persist.model.Entity;
+import com.sleepycat.persist.model.PrimaryKey;
+import edu.tigers.sumatra.referee.data.GameState;
+import edu.tigers.sumatra.referee.gameevent.EGameEvent;
+import edu.tigers.sumatra.referee.proto.SslGcRefereeMessage.Referee.Command;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+
+/**
+ * Entry of the event timeline of a recording.
+ * An entry is only stored when the referee command, the game state or the game events changed,
+ * so it is valid until the next entry.
+ */
+@Entity
+@Data
+@RequiredArgsConstructor
+public class BerkeleyTimelineEvent
+{
+	@PrimaryKey
+	private final long timestamp;
+
+	private final Command command;
+	private final GameState gameState;
+	private final List<EGameEvent> gameEvents;
+
+
+	@SuppressWarnings("unused")
+	private BerkeleyTimelineEvent()
+	{
+		timestamp = 0;
+		command = null;
+		gameState = null;
+		gameEvents = null;
+	}
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.wp.data;
+
+import edu.tigers.sumatra.math.vector.IVector2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+
+/**
+ * A uniform grid over the tracked bots of a single frame.
+ * <p>
+ * It answers which bots are close to each other without comparing all pairs of bots.
+ * The grid spans the bounding box of the bots, so bots outside the field are handled as well.
+ * Results are ordered by {@link edu.tigers.sumatra.ids.BotID} to keep the consumers deterministic.
+ * </p>
+ */
+public class BotSpatialGrid
+{
+	/** [mm] a bit more than the distance of two touching bots */
+	private static final double DEFAULT_CELL_SIZE = 250;
+	/** limit the number of cells, if some bots are far away from the others */
+	private static final int MAX_CELLS_PER_AXIS = 64;
+
+	private final List<ITrackedBot> bots;
+	private final IVector2[] positions;
+	private final double cellSize;
+	private final double minX;
+	private final double minY;
+	private final int numCols;
+	private final int numRows;
+	/** start index in {@link #cellBots} per cell, with an additional end marker */
+	private final int[] cellStart;
+	/** bot indices, sorted by cell */
+	private final int[] cellBots;
+
+
+	/**
+	 * @param bots     the tracked bots of a frame
+	 * @param cellSize [mm] the edge length of a cell, queries are fastest for distances below this
+	 */
+	public BotSpatialGrid(final Collection<ITrackedBot> bots, final double cellSize)
+	{
+		this.bots = bots.stream()
+				.sorted(Comparator.comparing(ITrackedBot::getBotId))
+				.toList();
+		int numBots = this.bots.size();
+		positions = new IVector2[numBots];
+
+		double minPosX = numBots == 0 ? 0 : Double.POSITIVE_INFINITY;
+		double minPosY = minPosX;
+		double maxPosX = -minPosX;
+		double maxPosY = -minPosX;
+		for (int i = 0; i < numBots; i++)
+		{
+			IVector2 pos = this.bots.get(i).getPos();
+			positions[i] = pos;
+			minPosX = Math.min(minPosX, pos.x());
+			minPosY = Math.min(minPosY, pos.y());
+			maxPosX = Math.max(maxPosX, pos.x());
+			maxPosY = Math.max(maxPosY, pos.y());
+		}
+		minX = minPosX;
+		minY = minPosY;
+		double extent = Math.max(maxPosX - minPosX, maxPosY - minPosY);
+		this.cellSize = Math.max(cellSize, extent / (MAX_CELLS_PER_AXIS - 1));
+		numCols = (int) ((maxPosX - minPosX) / this.cellSize) + 1;
+		numRows = (int) ((maxPosY - minPosY) / this.cellSize) + 1;
+
+		// counting sort of the bots into their cells
+		cellStart = new int[numCols * numRows + 1];
+		int[] botCells = new int[numBots];
+		for (int i = 0; i < numBots; i++)
+		{
+			botCells[i] = cellIndex(col(positions[i].x()), row(positions[i].y()));
+			cellStart[botCells[i] + 1]++;
+		}
+		for (int cell = 0; cell < numCols * numRows; cell++)
+		{
+			cellStart[cell + 1] += cellStart[cell];
+		}
+		cellBots = new int[numBots];
+		int[] fill = Arrays.copyOf(cellStart, cellStart.length - 1);
+		for (int i = 0; i < numBots; i++)
+		{
+			cellBots[fill[botCells[i]]++] = i;
+		}
+	}
+
+
+	/**
+	 * @param bots the tracked bots of a frame
+	 * @return a new grid with a cell size that suits contact distances of bots
+	 */
+	public static BotSpatialGrid of(final Collection<ITrackedBot> bots)
+	{
+		return new BotSpatialGrid(bots, DEFAULT_CELL_SIZE);
+	}
+
+
+	/**
+	 * @return all bots of the grid, sorted by bot id
+	 */
+	public List<ITrackedBot> getBots()
+	{
+		return bots;
+	}
+
+
+	/**
+	 * Find all pairs of bots with a center distance of at most the given distance.
+	 * Each pair is returned once, the first bot has the lower bot id.
+	 *
+	 * @param distance [mm] the maximum distance between the bot centers
+	 * @return the pairs, ordered by the bot ids of the first and then the second bot
+	 */
+	public List<BotPair> getPairsWithin(final double distance)
+	{
+		if (bots.size() < 2)
+		{
+			return Collections.emptyList();
+		}
+		List<BotPair> pairs = new ArrayList<>();
+		int[] neighbors = new int[bots.size()];
+		for (int i = 0; i < bots.size(); i++)
+		{
+			int numNeighbors = 0;
+			IVector2 pos = positions[i];
+			int[] range = cellRange(pos, distance);
+			for (int row = range[2]; row <= range[3]; row++)
+			{
+				for (int cell = cellIndex(range[0], row); cell <= cellIndex(range[1], row); cell++)
+				{
+					for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++)
+					{
+						int j = cellBots[k];
+						if (j > i && pos.distanceToSqr(positions[j]) <= distance * distance)
+						{
+							neighbors[numNeighbors++] = j;
+						}
+					}
+				}
+			}
+			Arrays.sort(neighbors, 0, numNeighbors);
+			for (int n = 0; n < numNeighbors; n++)
+			{
+				pairs.add(new BotPair(bots.get(i), bots.get(neighbors[n])));
+			}
+		}
+		return pairs;
+	}
+
+
+	/**
+	 * Find all bots with a center distance of at most the given distance to a point.
+	 *
+	 * @param pos      the point
+	 * @param distance [mm] the maximum distance to the bot centers
+	 * @return the bots, sorted by bot id
+	 */
+	public List<ITrackedBot> getBotsWithin(final IVector2 pos, final double distance)
+	{
+		if (bots.isEmpty())
+		{
+			return Collections.emptyList();
+		}
+		int[] indices = new int[bots.size()];
+		int numIndices = 0;
+		int[] range = cellRange(pos, distance);
+		for (int row = range[2]; row <= range[3]; row++)
+		{
+			for (int cell = cellIndex(range[0], row); cell <= cellIndex(range[1], row); cell++)
+			{
+				for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++)
+				{
+					if (pos.distanceToSqr(positions[cellBots[k]]) <= distance * distance)
+					{
+						indices[numIndices++] = cellBots[k];
+					}
+				}
+			}
+		}
+		Arrays.sort(indices, 0, numIndices);
+		List<ITrackedBot> result = new ArrayList<>(numIndices);
+		for (int n = 0; n < numIndices; n++)
+		{
+			result.add(bots.get(indices[n]));
+		}
+		return result;
+	}
+
+
+	/**
+	 * @return {minCol, maxCol, minRow, maxRow} of the cells that may contain bots within the distance,
+	 * an empty range if the circle does not overlap the grid
+	 */
+	private int[] cellRange(final IVector2 pos, final double distance)
+	{
+		return new int[] {
+				Math.max(0, (int) Math.floor((pos.x() - distance - minX) / cellSize)),
+				Math.min(numCols - 1, (int) Math.floor((pos.x() + distance - minX) / cellSize)),
+				Math.max(0, (int) Math.floor((pos.y() - distance - minY) / cellSize)),
+				Math.min(numRows - 1, (int) Math.floor((pos.y() + distance - minY) / cellSize))
+		};
+	}
+
+
+	private int col(final double x)
+	{
+		return Math.min(numCols - 1, (int) ((x - minX) / cellSize));
+	}
+
+
+	private int row(final double y)
+	{
+		return Math.min(numRows - 1, (int) ((y - minY) / cellSize));
+	}
+
+
+	private int cellIndex(final int col, final int row)
+	{
+		return row * numCols + col;
+	}
+
+
+	/**
+	 * Two bots that are close to each other
+	 *
+	 * @param bot1 the bot with the lower bot id
+	 * @param bot2 the bot with the higher bot id
+	 */
+	public record BotPair(ITrackedBot bot1, ITrackedBot bot2)
+	{
+		/**
+		 * @return true, if the bots belong to different teams
+		 */
+		public boolean isOpponents()
+		{
+			return bot1.getTeamColor() != bot2.getTeamColor();
+		}
+	}
+}
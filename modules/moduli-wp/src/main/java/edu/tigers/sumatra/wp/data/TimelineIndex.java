@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.wp.data;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Predicate;
+
+
+/**
+ * In-memory index over the {@link BerkeleyTimelineEvent}s of a recording.
+ * <p>
+ * Each event is valid from its timestamp until the timestamp of the next event.
+ * The event at a certain time is found with a binary search, so searching does not require loading any
+ * world frames from the database.
+ * </p>
+ */
+public class TimelineIndex
+{
+	private final long[] timestamps;
+	private final List<BerkeleyTimelineEvent> events;
+
+
+	/**
+	 * @param events the events of a recording in any order
+	 */
+	public TimelineIndex(final List<BerkeleyTimelineEvent> events)
+	{
+		this.events = events.stream()
+				.sorted(Comparator.comparingLong(BerkeleyTimelineEvent::getTimestamp))
+				.toList();
+		this.timestamps = this.events.stream().mapToLong(BerkeleyTimelineEvent::getTimestamp).toArray();
+	}
+
+
+	/**
+	 * @return all events, sorted by timestamp
+	 */
+	public List<BerkeleyTimelineEvent> getEvents()
+	{
+		return events;
+	}
+
+
+	/**
+	 * @return true, if there are no events
+	 */
+	public boolean isEmpty()
+	{
+		return events.isEmpty();
+	}
+
+
+	/**
+	 * @param timestamp a timestamp
+	 * @return the event that is valid at the given timestamp, if the timestamp is not before the first event
+	 */
+	public Optional<BerkeleyTimelineEvent> getEventAt(final long timestamp)
+	{
+		int idx = floorIndex(timestamp);
+		if (idx < 0)
+		{
+			return Optional.empty();
+		}
+		return Optional.of(events.get(idx));
+	}
+
+
+	/**
+	 * Find the first time at or after the given timestamp where the valid event matches the predicate.
+	 *
+	 * @param timestamp the timestamp to start searching from
+	 * @param predicate the condition for the event
+	 * @return the given timestamp if the current event matches, else the timestamp of the next matching event
+	 */
+	public OptionalLong findNext(final long timestamp, final Predicate<BerkeleyTimelineEvent> predicate)
+	{
+		for (int i = Math.max(0, floorIndex(timestamp)); i < timestamps.length; i++)
+		{
+			if (predicate.test(events.get(i)))
+			{
+				return OptionalLong.of(Math.max(timestamp, timestamps[i]));
+			}
+		}
+		return OptionalLong.empty();
+	}
+
+
+	private int floorIndex(final long timestamp)
+	{
+		int idx = Arrays.binarySearch(timestamps, timestamp);
+		if (idx >= 0)
+		{
+			return idx;
+		}
+		// insertion point - 1
+		return -idx - 2;
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2023, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.wp.data;
@@ -69,7 +69,7 @@ public final class TrackedBot implements ITrackedBot
 		robotInfo = builder.robotInfo;
 		quality = builder.quality;
 		malFunctioning = builder.malFunctioning;
-		tAssembly = System.nanoTime();
+		tAssembly = builder.tAssembly == null ? System.nanoTime() : builder.tAssembly;
 	}
 
 
@@ -145,6 +145,15 @@ public final class TrackedBot implements ITrackedBot
 	}
 
 
+	/**
+	 * @return the time [ns] when this bot was created
+	 */
+	long getTAssembly()
+	{
+		return tAssembly;
+	}
+
+
 	@Override
 	public long getTimestamp()
 	{
@@ -411,6 +420,7 @@ public final class TrackedBot implements ITrackedBot
 		private RobotInfo robotInfo;
 		private double quality;
 		private boolean malFunctioning;
+		private Long tAssembly;
 
 
 		private Builder()
@@ -603,6 +613,19 @@ public final class TrackedBot implements ITrackedBot
 		}
 
 
+		/**
+		 * Sets the assembly time of a persisted bot. By default, the current time is used.
+		 *
+		 * @param tAssembly the {@code tAssembly} to set
+		 * @return a reference to this Builder
+		 */
+		Builder withTAssembly(final long tAssembly)
+		{
+			this.tAssembly = tAssembly;
+			return this;
+		}
+
+
 		/**
 		 * Returns a {@code TrackedBot} built from the parameters previously set.
 		 *
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2018, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.wp.data;
@@ -26,7 +26,7 @@ public class WorldFrameWrapper
 	@PrimaryKey
 	private final long timestamp;
 	
-	private final long timestampMs = System.currentTimeMillis();
+	private final long timestampMs;
 	private final SimpleWorldFrame simpleWorldFrame;
 	private final RefereeMsg refereeMsg;
 	private GameState gameState = GameState.HALT;
@@ -38,6 +38,7 @@ public class WorldFrameWrapper
 	private WorldFrameWrapper()
 	{
 		timestamp = 0;
+		timestampMs = System.currentTimeMillis();
 		simpleWorldFrame = null;
 		refereeMsg = new RefereeMsg();
 	}
@@ -48,6 +49,7 @@ public class WorldFrameWrapper
 		assert refereeMsg != null;
 		assert swf != null;
 		timestamp = swf.getTimestamp();
+		timestampMs = System.currentTimeMillis();
 		simpleWorldFrame = swf;
 		this.refereeMsg = refereeMsg;
 		this.gameState = gameState;
@@ -62,6 +64,7 @@ public class WorldFrameWrapper
 	public WorldFrameWrapper(final WorldFrameWrapper wfw)
 	{
 		timestamp = wfw.getSimpleWorldFrame().getTimestamp();
+		timestampMs = System.currentTimeMillis();
 		simpleWorldFrame = wfw.simpleWorldFrame;
 		refereeMsg = wfw.refereeMsg;
 		worldFrames.putAll(wfw.worldFrames);
@@ -69,6 +72,26 @@ public class WorldFrameWrapper
 	}
 	
 	
+	/**
+	 * Restore a persisted frame. The world frames are created on demand, like for frames loaded from the database.
+	 *
+	 * @param timestamp        the timestamp of the frame
+	 * @param timestampMs      the unix timestamp in [ms]
+	 * @param simpleWorldFrame the simple world frame
+	 * @param refereeMsg       the referee message
+	 * @param gameState        the game state
+	 */
+	WorldFrameWrapper(final long timestamp, final long timestampMs, final SimpleWorldFrame simpleWorldFrame,
+			final RefereeMsg refereeMsg, final GameState gameState)
+	{
+		this.timestamp = timestamp;
+		this.timestampMs = timestampMs;
+		this.simpleWorldFrame = simpleWorldFrame;
+		this.refereeMsg = refereeMsg;
+		this.gameState = gameState;
+	}
+	
+	
 	/**
 	 * Create WF from swf
 	 * 
@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+package edu.tigers.sumatra.wp.data;
+
+import edu.tigers.sumatra.ball.BallState;
+import edu.tigers.sumatra.bot.RobotInfo;
+import edu.tigers.sumatra.bot.State;
+import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.ETeamColor;
+import edu.tigers.sumatra.math.pose.Pose;
+import edu.tigers.sumatra.math.vector.IVector2;
+import edu.tigers.sumatra.math.vector.IVector3;
+import edu.tigers.sumatra.math.vector.Vector2f;
+import edu.tigers.sumatra.math.vector.Vector3f;
+import edu.tigers.sumatra.persistence.codec.CodecInput;
+import edu.tigers.sumatra.persistence.codec.CodecOutput;
+import edu.tigers.sumatra.persistence.codec.FixedPoint;
+import edu.tigers.sumatra.persistence.codec.IFrameCodec;
+import edu.tigers.sumatra.referee.data.GameState;
+import edu.tigers.sumatra.referee.data.RefereeMsg;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * Binary codec for recorded {@link WorldFrameWrapper}s.
+ * <p>
+ * Timestamps, bot states and ball states are stored as delta to the previous frame. Positions have a resolution of
+ * 1µm, angles, bot velocities [m/s, rad/s] and the quality a resolution of 1e-6, ball velocities and accelerations
+ * a resolution of 1µm/s(^2).
+ * The referee message, the game state and the kicked ball are only stored when they changed, robot infos only if they
+ * are not a {@link RobotInfo#isStub() stub}. They are stored as objects by the Berkeley binding, as well as bots and
+ * balls with states that can not be represented with fixed point numbers.
+ * </p>
+ */
+public class WorldFrameWrapperCodec implements IFrameCodec<WorldFrameWrapper>
+{
+	private static final int VERSION = 1;
+
+	private static final double POS_SCALE = 1e3;
+	private static final double ANGLE_SCALE = 1e6;
+	private static final double BOT_VEL_SCALE = 1e6;
+	private static final double BALL_VEL_SCALE = 1e3;
+	private static final double QUALITY_SCALE = 1e6;
+
+	private static final int OBJECT_UNCHANGED = 0;
+	private static final int OBJECT_NONE = 1;
+	private static final int OBJECT_CHANGED = 2;
+	private static final int OBJECT_INLINE = 3;
+
+	private static final int FLAG_INLINE = 1;
+	private static final int FLAG_MALFUNCTIONING = 1 << 1;
+	private static final int FLAG_STUB_ROBOT_INFO = 1 << 2;
+	private static final int FLAG_SAME_BALL_CONTACT = 1 << 3;
+
+
+	@Override
+	public int getVersion()
+	{
+		return VERSION;
+	}
+
+
+	@Override
+	public long getTimestamp(final WorldFrameWrapper frame)
+	{
+		return frame.getTimestamp();
+	}
+
+
+	@Override
+	public void encode(final WorldFrameWrapper frame, final WorldFrameWrapper previous, final CodecOutput out)
+	{
+		SimpleWorldFrame swf = frame.getSimpleWorldFrame();
+		SimpleWorldFrame prevSwf = previous == null ? null : previous.getSimpleWorldFrame();
+
+		out.writeDelta(frame.getTimestamp(), previous == null ? 0 : previous.getTimestamp());
+		out.writeDelta(frame.getUnixTimestamp(), previous == null ? 0 : previous.getUnixTimestamp());
+		writeShared(out, frame.getRefereeMsg(),
+				previous != null && frame.getRefereeMsg() == previous.getRefereeMsg());
+		writeShared(out, frame.getGameState(),
+				previous != null && Objects.equals(frame.getGameState(), previous.getGameState()));
+
+		out.writeDelta(swf.getFrameNumber(), prevSwf == null ? 0 : prevSwf.getFrameNumber());
+		out.writeDelta(swf.getTimestamp(), frame.getTimestamp());
+		KickedBall kickedBall = swf.getKickedBall().orElse(null);
+		writeShared(out, kickedBall, prevSwf != null && kickedBall == prevSwf.getKickedBall().orElse(null));
+		encodeBall(out, swf.getBall(), prevSwf == null ? null : prevSwf.getBall(), swf.getTimestamp());
+
+		out.writeVarInt(swf.getBots().size());
+		for (ITrackedBot bot : swf.getBots().values())
+		{
+			encodeBot(out, bot, prevSwf == null ? null : prevSwf.getBot(bot.getBotId()), swf.getTimestamp());
+		}
+	}
+
+
+	@Override
+	public WorldFrameWrapper decode(final CodecInput in, final WorldFrameWrapper previous)
+	{
+		if (in.getVersion() != VERSION)
+		{
+			throw new IllegalStateException("Unsupported world frame codec version: " + in.getVersion());
+		}
+		SimpleWorldFrame prevSwf = previous == null ? null : previous.getSimpleWorldFrame();
+
+		long timestamp = in.readDelta(previous == null ? 0 : previous.getTimestamp());
+		long timestampMs = in.readDelta(previous == null ? 0 : previous.getUnixTimestamp());
+		RefereeMsg refereeMsg = readShared(in, previous == null ? null : previous.getRefereeMsg());
+		GameState gameState = readShared(in, previous == null ? null : previous.getGameState());
+
+		long frameNumber = in.readDelta(prevSwf == null ? 0 : prevSwf.getFrameNumber());
+		long swfTimestamp = in.readDelta(timestamp);
+		KickedBall kickedBall = readShared(in, prevSwf == null ? null : prevSwf.getKickedBall().orElse(null));
+		ITrackedBall ball = decodeBall(in, prevSwf == null ? null : prevSwf.getBall(), swfTimestamp);
+
+		int numBots = in.readVarInt();
+		// persisted frames always contain a hash map
+		Map<BotID, ITrackedBot> bots = new HashMap<>(numBots * 4 / 3 + 1);
+		for (int i = 0; i < numBots; i++)
+		{
+			ITrackedBot bot = decodeBot(in, prevSwf, swfTimestamp);
+			bots.put(bot.getBotId(), bot);
+		}
+
+		SimpleWorldFrame swf = new SimpleWorldFrame(frameNumber, swfTimestamp, bots, ball, kickedBall);
+		return new WorldFrameWrapper(timestamp, timestampMs, swf, refereeMsg, gameState);
+	}
+
+
+	private void writeShared(final CodecOutput out, final Object value, final boolean unchanged)
+	{
+		if (unchanged)
+		{
+			out.writeByte(OBJECT_UNCHANGED);
+		} else if (value == null)
+		{
+			out.writeByte(OBJECT_NONE);
+		} else
+		{
+			out.writeByte(OBJECT_CHANGED);
+			out.writeObject(value);
+		}
+	}
+
+
+	private <O> O readShared(final CodecInput in, final O previous)
+	{
+		int type = in.readByte();
+		return switch (type)
+		{
+			case OBJECT_UNCHANGED -> previous;
+			case OBJECT_NONE -> null;
+			case OBJECT_CHANGED -> in.readObject();
+			default -> throw new IllegalStateException("Unknown object type: " + type);
+		};
+	}
+
+
+	private void encodeBall(final CodecOutput out, final ITrackedBall ball, final ITrackedBall previous,
+			final long timestamp)
+	{
+		if (!(ball instanceof TrackedBall) || !isRepresentable(ball.getState()))
+		{
+			writeShared(out, ball, false);
+			return;
+		}
+		out.writeByte(OBJECT_INLINE);
+		BallState state = ball.getState();
+		BallState prevState = previous == null ? null : previous.getState();
+		out.writeDelta(ball.getTimestamp(), timestamp);
+		out.writeDelta(ball.getLastVisibleTimestamp(), ball.getTimestamp());
+		writeVector3(out, state.getPos(), prevState == null ? null : prevState.getPos(), POS_SCALE);
+		writeVector3(out, state.getVel(), prevState == null ? null : prevState.getVel(), BALL_VEL_SCALE);
+		writeVector3(out, state.getAcc(), prevState == null ? null : prevState.getAcc(), BALL_VEL_SCALE);
+		writeVector2(out, state.getSpin(), prevState == null ? null : prevState.getSpin(), ANGLE_SCALE);
+	}
+
+
+	private ITrackedBall decodeBall(final CodecInput in, final ITrackedBall previous, final long timestamp)
+	{
+		int type = in.readByte();
+		if (type != OBJECT_INLINE)
+		{
+			return switch (type)
+			{
+				case OBJECT_NONE -> null;
+				case OBJECT_CHANGED -> in.readObject();
+				default -> throw new IllegalStateException("Unknown ball type: " + type);
+			};
+		}
+		BallState prevState = previous == null ? null : previous.getState();
+		long ballTimestamp = in.readDelta(timestamp);
+		long lastVisibleTimestamp = in.readDelta(ballTimestamp);
+		BallState state = BallState.builder()
+				.withPos(readVector3(in, prevState == null ? null : prevState.getPos(), POS_SCALE))
+				.withVel(readVector3(in, prevState == null ? null : prevState.getVel(), BALL_VEL_SCALE))
+				.withAcc(readVector3(in, prevState == null ? null : prevState.getAcc(), BALL_VEL_SCALE))
+				.withSpin(readVector2(in, prevState == null ? null : prevState.getSpin(), ANGLE_SCALE))
+				.build();
+		return TrackedBall.fromBallState(ballTimestamp, state, lastVisibleTimestamp);
+	}
+
+
+	private void encodeBot(final CodecOutput out, final ITrackedBot bot, final ITrackedBot previous,
+			final long timestamp)
+	{
+		out.writeByte(bot.getBotId().getTeamColor().ordinal());
+		out.writeSignedVarLong(bot.getBotId().getNumber());
+		if (!(bot instanceof TrackedBot trackedBot) || !isRepresentable(bot))
+		{
+			out.writeByte(0);
+			out.writeObject(bot);
+			return;
+		}
+
+		RobotInfo robotInfo = bot.getRobotInfo();
+		boolean stubRobotInfo = robotInfo.isStub() && robotInfo.getBotId().equals(bot.getBotId());
+		boolean sameBallContact = previous != null && bot.getBallContact().equals(previous.getBallContact());
+		int flags = FLAG_INLINE;
+		flags |= bot.isMalFunctioning() ? FLAG_MALFUNCTIONING : 0;
+		flags |= stubRobotInfo ? FLAG_STUB_ROBOT_INFO : 0;
+		flags |= sameBallContact ? FLAG_SAME_BALL_CONTACT : 0;
+		out.writeByte(flags);
+
+		out.writeDelta(bot.getTimestamp(), timestamp);
+		out.writeDelta(trackedBot.getTAssembly(),
+				previous instanceof TrackedBot prevBot ? prevBot.getTAssembly() : bot.getTimestamp());
+		State state = bot.getBotState();
+		State prevState = previous == null ? null : previous.getBotState();
+		writeVector2(out, state.getPose().getPos(), prevState == null ? null : prevState.getPose().getPos(), POS_SCALE);
+		out.writeFixedPointDelta(state.getPose().getOrientation(),
+				prevState == null ? 0 : prevState.getPose().getOrientation(), ANGLE_SCALE);
+		writeVector3(out, state.getVel3(), prevState == null ? null : prevState.getVel3(), BOT_VEL_SCALE);
+		out.writeFixedPointDelta(bot.getQuality(), previous == null ? 0 : previous.getQuality(), QUALITY_SCALE);
+
+		if (!sameBallContact)
+		{
+			BallContact ballContact = bot.getBallContact();
+			out.writeDelta(ballContact.getCurrent(), bot.getTimestamp());
+			out.writeDelta(ballContact.getStart(), bot.getTimestamp());
+			out.writeDelta(ballContact.getEnd(), bot.getTimestamp());
+			out.writeDelta(ballContact.getVisionStart(), bot.getTimestamp());
+			out.writeDelta(ballContact.getVisionEnd(), bot.getTimestamp());
+		}
+		if (stubRobotInfo)
+		{
+			out.writeDelta(robotInfo.getTimestamp(), bot.getTimestamp());
+		} else
+		{
+			out.writeObject(robotInfo);
+		}
+	}
+
+
+	private ITrackedBot decodeBot(final CodecInput in, final SimpleWorldFrame prevSwf, final long timestamp)
+	{
+		ETeamColor teamColor = ETeamColor.values()[in.readByte()];
+		BotID botId = BotID.createBotId((int) in.readSignedVarLong(), teamColor);
+		int flags = in.readByte();
+		if ((flags & FLAG_INLINE) == 0)
+		{
+			return in.readObject();
+		}
+
+		ITrackedBot previous = prevSwf == null ? null : prevSwf.getBot(botId);
+		long botTimestamp = in.readDelta(timestamp);
+		long tAssembly = in.readDelta(previous instanceof TrackedBot prevBot ? prevBot.getTAssembly() : botTimestamp);
+		State prevState = previous == null ? null : previous.getBotState();
+		IVector2 pos = readVector2(in, prevState == null ? null : prevState.getPose().getPos(), POS_SCALE);
+		double orientation = in.readFixedPointDelta(prevState == null ? 0 : prevState.getPose().getOrientation(),
+				ANGLE_SCALE);
+		IVector3 vel = readVector3(in, prevState == null ? null : prevState.getVel3(), BOT_VEL_SCALE);
+		double quality = in.readFixedPointDelta(previous == null ? 0 : previous.getQuality(), QUALITY_SCALE);
+
+		BallContact ballContact;
+		if ((flags & FLAG_SAME_BALL_CONTACT) != 0 && previous != null)
+		{
+			ballContact = previous.getBallContact();
+		} else
+		{
+			ballContact = new BallContact(in.readDelta(botTimestamp), in.readDelta(botTimestamp),
+					in.readDelta(botTimestamp), in.readDelta(botTimestamp), in.readDelta(botTimestamp));
+		}
+		RobotInfo robotInfo = (flags & FLAG_STUB_ROBOT_INFO) != 0
+				? RobotInfo.stub(botId, in.readDelta(botTimestamp))
+				: in.readObject();
+
+		return TrackedBot.newBuilder()
+				.withBotId(botId)
+				.withTimestamp(botTimestamp)
+				.withTAssembly(tAssembly)
+				.withState(State.of(Pose.from(pos, orientation), vel))
+				.withLastBallContact(ballContact)
+				.withBotInfo(robotInfo)
+				.withQuality(quality)
+				.withMalFunctioning((flags & FLAG_MALFUNCTIONING) != 0)
+				.build();
+	}
+
+
+	private boolean isRepresentable(final ITrackedBot bot)
+	{
+		State state = bot.getBotState();
+		return isRepresentable(state.getPose().getPos(), POS_SCALE)
+				&& FixedPoint.isRepresentable(state.getPose().getOrientation(), ANGLE_SCALE)
+				&& isRepresentable(state.getVel3(), BOT_VEL_SCALE)
+				&& FixedPoint.isRepresentable(bot.getQuality(), QUALITY_SCALE)
+				&& bot.getRobotInfo() != null;
+	}
+
+
+	private boolean isRepresentable(final BallState state)
+	{
+		return isRepresentable(state.getPos(), POS_SCALE)
+				&& isRepresentable(state.getVel(), BALL_VEL_SCALE)
+				&& isRepresentable(state.getAcc(), BALL_VEL_SCALE)
+				&& isRepresentable(state.getSpin(), ANGLE_SCALE);
+	}
+
+
+	private boolean isRepresentable(final IVector2 vector, final double scale)
+	{
+		return FixedPoint.isRepresentable(vector.x(), scale) && FixedPoint.isRepresentable(vector.y(), scale);
+	}
+
+
+	private boolean isRepresentable(final IVector3 vector, final double scale)
+	{
+		return FixedPoint.isRepresentable(vector.x(), scale)
+				&& FixedPoint.isRepresentable(vector.y(), scale)
+				&& FixedPoint.isRepresentable(vector.z(), scale);
+	}
+
+
+	private void writeVector2(final CodecOutput out, final IVector2 vector, final IVector2 previous, final double scale)
+	{
+		out.writeFixedPointDelta(vector.x(), previous == null ? 0 : previous.x(), scale);
+		out.writeFixedPointDelta(vector.y(), previous == null ? 0 : previous.y(), scale);
+	}
+
+
+	private IVector2 readVector2(final CodecInput in, final IVector2 previous, final double scale)
+	{
+		double x = in.readFixedPointDelta(previous == null ? 0 : previous.x(), scale);
+		double y = in.readFixedPointDelta(previous == null ? 0 : previous.y(), scale);
+		return Vector2f.fromXY(x, y);
+	}
+
+
+	private void writeVector3(final CodecOutput out, final IVector3 vector, final IVector3 previous, final double scale)
+	{
+		out.writeFixedPointDelta(vector.x(), previous == null ? 0 : previous.x(), scale);
+		out.writeFixedPointDelta(vector.y(), previous == null ? 0 : previous.y(), scale);
+		out.writeFixedPointDelta(vector.z(), previous == null ? 0 : previous.z(), scale);
+	}
+
+
+	private IVector3 readVector3(final CodecInput in, final IVector3 previous, final double scale)
+	{
+		double x = in.readFixedPointDelta(previous == null ? 0 : previous.x(), scale);
+		double y = in.readFixedPointDelta(previous == null ? 0 : previous.y(), scale);
+		double z = in.readFixedPointDelta(previous == null ? 0 : previous.z(), scale);
+		return Vector3f.fromXYZ(x, y, z);
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.wp.exporter;
@@ -24,6 +24,7 @@ import edu.tigers.sumatra.math.line.Lines;
 import edu.tigers.sumatra.math.vector.Vector2;
 import edu.tigers.sumatra.model.SumatraModel;
 import edu.tigers.sumatra.network.MulticastUDPTransmitter;
+import edu.tigers.sumatra.thread.EQueueOverflowPolicy;
 import edu.tigers.sumatra.wp.AWorldPredictor;
 import edu.tigers.sumatra.wp.IWorldFrameObserver;
 import edu.tigers.sumatra.wp.data.ITrackedBot;
@@ -41,6 +42,8 @@ public class SSLVisionSender extends AModule implements IWorldFrameObserver
 {
 	private static final double GEOMETRY_BROADCAST_INTERVAL = 3;
 	private static final int LINE_THICKNESS = 10;
+	/** only the latest frames are of interest, older ones are dropped if sending falls behind */
+	private static final int QUEUE_CAPACITY = 10;
 
 	private MulticastUDPTransmitter transmitter;
 	private int frameNumber = 0;
@@ -65,7 +68,8 @@ public class SSLVisionSender extends AModule implements IWorldFrameObserver
 			transmitter.connectToAllInterfaces();
 		}
 
-		SumatraModel.getInstance().getModule(AWorldPredictor.class).addObserver(this);
+		SumatraModel.getInstance().getModule(AWorldPredictor.class)
+				.addAsyncObserver(this, QUEUE_CAPACITY, EQueueOverflowPolicy.DROP_OLDEST);
 	}
 
 
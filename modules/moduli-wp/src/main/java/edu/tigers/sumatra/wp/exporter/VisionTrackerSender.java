@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.wp.exporter;
@@ -7,6 +7,7 @@ package edu.tigers.sumatra.wp.exporter;
 import edu.tigers.moduli.AModule;
 import edu.tigers.sumatra.model.SumatraModel;
 import edu.tigers.sumatra.network.MulticastUDPTransmitter;
+import edu.tigers.sumatra.thread.EQueueOverflowPolicy;
 import edu.tigers.sumatra.wp.AWorldPredictor;
 import edu.tigers.sumatra.wp.IWorldFrameObserver;
 import edu.tigers.sumatra.wp.TrackerPacketGenerator;
@@ -23,6 +24,9 @@ import org.apache.commons.lang.StringUtils;
 @Log4j2
 public class VisionTrackerSender extends AModule implements IWorldFrameObserver
 {
+	/** only the latest frames are of interest, older ones are dropped if sending falls behind */
+	private static final int QUEUE_CAPACITY = 10;
+
 	private MulticastUDPTransmitter transmitter;
 	private TrackerPacketGenerator trackerPacketGenerator;
 
@@ -56,7 +60,8 @@ public class VisionTrackerSender extends AModule implements IWorldFrameObserver
 		String sourceName = getSubnodeConfiguration().getString("source-name", "TIGERs");
 		trackerPacketGenerator = new TrackerPacketGenerator(sourceName);
 
-		SumatraModel.getInstance().getModule(AWorldPredictor.class).addObserver(this);
+		SumatraModel.getInstance().getModule(AWorldPredictor.class)
+				.addAsyncObserver(this, QUEUE_CAPACITY, EQueueOverflowPolicy.DROP_OLDEST);
 	}
 
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.wp.util;
@@ -9,12 +9,12 @@ import edu.tigers.sumatra.bot.EFeatureState;
 import edu.tigers.sumatra.bot.RobotInfo;
 import edu.tigers.sumatra.geometry.Geometry;
 import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.BotIdMap;
 import edu.tigers.sumatra.math.botshape.BotShape;
 import edu.tigers.sumatra.math.pose.Pose;
 import edu.tigers.sumatra.math.vector.IVector2;
 import edu.tigers.sumatra.wp.data.BallContact;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -26,11 +26,11 @@ public class BallContactCalculator
 {
 	private static final double BALL_POSS_TOLERANCE_HAS = 60;
 	private static final double BALL_POSS_TOLERANCE_GET = 20;
-	private final Map<BotID, Boolean> ballContactLastFrame = new HashMap<>();
-	private final Map<BotID, Long> startBallContactMap = new HashMap<>();
-	private final Map<BotID, Long> endBallContactMap = new HashMap<>();
-	private final Map<BotID, Long> visionStartBallContactMap = new HashMap<>();
-	private final Map<BotID, Long> visionEndBallContactMap = new HashMap<>();
+	private final Map<BotID, Boolean> ballContactLastFrame = new BotIdMap<>();
+	private final Map<BotID, Long> startBallContactMap = new BotIdMap<>();
+	private final Map<BotID, Long> endBallContactMap = new BotIdMap<>();
+	private final Map<BotID, Long> visionStartBallContactMap = new BotIdMap<>();
+	private final Map<BotID, Long> visionEndBallContactMap = new BotIdMap<>();
 	private IVector2 ballPos;
 
 
@@ -1,11 +1,12 @@
 /*
- * Copyright (c) 2009 - 2021, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.wp.util;
 
 import com.github.g3force.configurable.ConfigRegistration;
 import com.github.g3force.configurable.Configurable;
+import edu.tigers.sumatra.data.TimestampRingBuffer;
 import edu.tigers.sumatra.geometry.Geometry;
 import edu.tigers.sumatra.geometry.Goal;
 import edu.tigers.sumatra.math.line.Lines;
@@ -15,8 +16,6 @@ import edu.tigers.sumatra.wp.data.BallLeftFieldPosition;
 import edu.tigers.sumatra.wp.data.SimpleWorldFrame;
 import edu.tigers.sumatra.wp.data.TimedPosition;
 
-import java.util.LinkedList;
-
 
 public class BallLeftFieldCalculator
 {
@@ -31,7 +30,14 @@ public class BallLeftFieldCalculator
 		ConfigRegistration.registerClass("wp", BallLeftFieldCalculator.class);
 	}
 
-	private final LinkedList<TimedPosition> ballPosBuffer = new LinkedList<>();
+	/**
+	 * initial capacity, covers the buffered duration of about 0.55s for vision frame rates up to 900Hz.
+	 * The buffer grows, if the configured durations or the frame rate are higher.
+	 */
+	private static final int BALL_POS_BUFFER_CAPACITY = 512;
+
+	private final TimestampRingBuffer<TimedPosition> ballPosBuffer = new TimestampRingBuffer<>(
+			BALL_POS_BUFFER_CAPACITY, bufferDuration());
 	private TimedPosition lastBallLeftFieldPosition = null;
 	private boolean ballInsideField = true;
 	private long chipStartTime;
@@ -39,7 +45,6 @@ public class BallLeftFieldCalculator
 
 	public BallLeftFieldPosition process(final SimpleWorldFrame wFrame)
 	{
-		reduceBallPosBuffer(wFrame.getTimestamp());
 		addToBallPosBuffer(wFrame);
 		removeFirstChippedBallPositions(wFrame);
 		updateDetection(wFrame);
@@ -71,7 +76,7 @@ public class BallLeftFieldCalculator
 
 	private void updateDetection(final SimpleWorldFrame wFrame)
 	{
-		TimedPosition prePos = ballPosBuffer.peekLast();
+		TimedPosition prePos = ballPosBuffer.getOldest().orElse(null);
 		TimedPosition postPos = firstValidBallPos(wFrame.getTimestamp());
 
 		if (lastBallLeftFieldPosition != null
@@ -102,14 +107,9 @@ public class BallLeftFieldCalculator
 
 	private TimedPosition firstValidBallPos(final long timestamp)
 	{
-		for (TimedPosition timedPosition : ballPosBuffer)
-		{
-			if (timedPosition.getAge(timestamp) > maxTimeToDetectChipKick)
-			{
-				return timedPosition;
-			}
-		}
-		return null;
+		// the latest position that is older than maxTimeToDetectChipKick
+		long latestValidTimestamp = timestamp - (long) (maxTimeToDetectChipKick * 1e9) - 1;
+		return ballPosBuffer.getAtOrBefore(latestValidTimestamp).orElse(null);
 	}
 
 
@@ -136,24 +136,18 @@ public class BallLeftFieldCalculator
 	private void addToBallPosBuffer(final SimpleWorldFrame frame)
 	{
 		TimedPosition pos = new TimedPosition(frame.getTimestamp(), frame.getBall().getPos3());
-		ballPosBuffer.offerFirst(pos);
+		// positions that are not older than the new one (after jumping back in a replay) are replaced
+		ballPosBuffer.setMaxDuration(bufferDuration());
+		ballPosBuffer.add(frame.getTimestamp(), pos);
 	}
 
 
-	private void reduceBallPosBuffer(final long currentTimestamp)
+	/**
+	 * @return [s] the duration of ball positions that are needed for the detection
+	 */
+	private static double bufferDuration()
 	{
-		ballPosBuffer.removeIf(t -> t.getTimestamp() >= currentTimestamp);
-		while (!ballPosBuffer.isEmpty())
-		{
-			double age = (currentTimestamp - ballPosBuffer.get(ballPosBuffer.size() - 1).getTimestamp()) / 1e9;
-			if (age > maxTimeToDetectChipKick + minComparisonTimeSpan + 0.2)
-			{
-				ballPosBuffer.remove(ballPosBuffer.size() - 1);
-			} else
-			{
-				break;
-			}
-		}
+		return maxTimeToDetectChipKick + minComparisonTimeSpan + 0.2;
 	}
 
 
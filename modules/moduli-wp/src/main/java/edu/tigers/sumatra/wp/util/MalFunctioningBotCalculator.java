@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2023, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.wp.util;
@@ -12,6 +12,7 @@ import edu.tigers.sumatra.bot.RobotInfo;
 import edu.tigers.sumatra.bot.State;
 import edu.tigers.sumatra.geometry.Geometry;
 import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.BotIdMap;
 import edu.tigers.sumatra.math.line.Lines;
 import edu.tigers.sumatra.math.pose.Pose;
 import edu.tigers.sumatra.math.vector.IVector2;
@@ -19,7 +20,6 @@ import edu.tigers.sumatra.math.vector.IVector3;
 import edu.tigers.sumatra.trajectory.ITrajectory;
 import lombok.extern.log4j.Log4j2;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -44,7 +44,7 @@ public class MalFunctioningBotCalculator
 		ConfigRegistration.registerClass("wp", MalFunctioningBotCalculator.class);
 	}
 
-	private final Map<BotID, LastBotState> lastBotStates = new HashMap<>();
+	private final Map<BotID, LastBotState> lastBotStates = new BotIdMap<>();
 
 
 	public void reset()
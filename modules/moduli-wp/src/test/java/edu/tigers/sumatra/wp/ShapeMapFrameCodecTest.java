@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.wp;
+
+import edu.tigers.sumatra.drawable.DrawableAnnotation;
+import edu.tigers.sumatra.drawable.DrawableArrow;
+import edu.tigers.sumatra.drawable.DrawableCircle;
+import edu.tigers.sumatra.drawable.DrawableLine;
+import edu.tigers.sumatra.drawable.DrawablePoint;
+import edu.tigers.sumatra.drawable.IDrawableShape;
+import edu.tigers.sumatra.drawable.IShapeLayerIdentifier;
+import edu.tigers.sumatra.drawable.ShapeLayerIdentifier;
+import edu.tigers.sumatra.drawable.ShapeMap;
+import edu.tigers.sumatra.drawable.ShapeMapSource;
+import edu.tigers.sumatra.math.vector.Vector2;
+import edu.tigers.sumatra.persistence.codec.CodecInput;
+import edu.tigers.sumatra.persistence.codec.CodecOutput;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+
+public class ShapeMapFrameCodecTest
+{
+	private static final ShapeMapSource SOURCE = ShapeMapSource.of("Skills", ShapeMapSource.of("AI"));
+	private static final ShapeMapSource OTHER_SOURCE = ShapeMapSource.of("Vision");
+	private static final IShapeLayerIdentifier LAYER = ShapeLayerIdentifier.builder()
+			.id("test")
+			.layerName("Test")
+			.category("Category")
+			.orderId(3)
+			.build();
+	private static final IShapeLayerIdentifier OTHER_LAYER = ShapeLayerIdentifier.builder()
+			.id("other")
+			.layerName("Other")
+			.build();
+	private static final double TOLERANCE = 1e-3;
+
+	private final ShapeMapFrameCodec codec = new ShapeMapFrameCodec();
+
+
+	@Test
+	public void testDeltaFrames()
+	{
+		BerkeleyShapeMapFrame previous = null;
+		BerkeleyShapeMapFrame previousDecoded = null;
+		for (int i = 0; i < 50; i++)
+		{
+			BerkeleyShapeMapFrame frame = createFrame(i);
+			BerkeleyShapeMapFrame decoded = roundTrip(frame, previous, previousDecoded);
+			assertFrame(decoded, frame);
+			previous = frame;
+			previousDecoded = decoded;
+		}
+	}
+
+
+	@Test
+	public void testKeyFrame()
+	{
+		BerkeleyShapeMapFrame frame = createFrame(7);
+		assertFrame(roundTrip(frame, null, null), frame);
+	}
+
+
+	@Test
+	public void testDeltaFrameIsSmallerThanKeyFrame()
+	{
+		BerkeleyShapeMapFrame previous = createFrame(10);
+		BerkeleyShapeMapFrame frame = createFrame(11);
+		assertThat(encode(frame, previous).size()).isLessThan(encode(frame, null).size());
+	}
+
+
+	private BerkeleyShapeMapFrame roundTrip(final BerkeleyShapeMapFrame frame, final BerkeleyShapeMapFrame previous,
+			final BerkeleyShapeMapFrame previousDecoded)
+	{
+		CodecOutput out = encode(frame, previous);
+		CodecInput in = new CodecInput(codec.getVersion(), out.toByteArray(), out.getObjects());
+		BerkeleyShapeMapFrame decoded = codec.decode(in, previousDecoded);
+		assertThat(in.isAtEnd()).isTrue();
+		return decoded;
+	}
+
+
+	private CodecOutput encode(final BerkeleyShapeMapFrame frame, final BerkeleyShapeMapFrame previous)
+	{
+		CodecOutput out = new CodecOutput();
+		codec.encode(frame, previous, out);
+		return out;
+	}
+
+
+	private BerkeleyShapeMapFrame createFrame(final int i)
+	{
+		BerkeleyShapeMapFrame frame = new BerkeleyShapeMapFrame(1_000_000_000L + i * 16_000_000L);
+
+		ShapeMap shapeMap = new ShapeMap();
+		List<IDrawableShape> shapes = shapeMap.get(LAYER);
+		shapes.add(new DrawableCircle(Vector2.fromXY(i * 10.1234, -i), 90, Color.RED).setFill(i % 2 == 0));
+		shapes.add(new DrawableLine(Vector2.fromXY(0, 0), Vector2.fromXY(1000, i * 3.3), new Color(1, 2, 3, 4))
+				.setStrokeWidth(i % 5 == 0 ? 20 : 10));
+		shapes.add(new DrawablePoint(Vector2.fromXY(-i, i), Color.RED).withSize(i + 0.5));
+		shapes.add(new DrawableAnnotation(Vector2.fromXY(i, 0), i < 25 ? "STOP" : "RUNNING", Color.WHITE)
+				.withBold(i % 3 == 0)
+				.withCenterHorizontally(true)
+				.withOffset(Vector2.fromXY(0, 150))
+				.withFontHeight(60));
+		shapes.add(new DrawableArrow(Vector2.fromXY(i, i), Vector2.fromXY(100, 0)));
+		if (i % 10 != 0)
+		{
+			shapeMap.get(OTHER_LAYER).add(new DrawablePoint(Vector2.fromXY(i, i)));
+		}
+		frame.putShapeMap(SOURCE, shapeMap);
+
+		ShapeMap otherShapeMap = new ShapeMap();
+		otherShapeMap.get(LAYER).add(new DrawableCircle(Vector2.fromXY(0, i), 21.5));
+		frame.putShapeMap(OTHER_SOURCE, otherShapeMap);
+		return frame;
+	}
+
+
+	private void assertFrame(final BerkeleyShapeMapFrame actual, final BerkeleyShapeMapFrame expected)
+	{
+		assertThat(actual.getTimestamp()).isEqualTo(expected.getTimestamp());
+		assertThat(actual.getShapeMaps()).containsOnlyKeys(expected.getShapeMaps().keySet());
+		expected.getShapeMaps().forEach((source, expectedShapeMap) -> {
+			ShapeMap shapeMap = actual.getShapeMaps().get(source);
+			assertThat(shapeMap.getAllShapeLayersIdentifiers())
+					.containsExactlyInAnyOrderElementsOf(expectedShapeMap.getAllShapeLayersIdentifiers());
+			for (IShapeLayerIdentifier identifier : expectedShapeMap.getAllShapeLayersIdentifiers())
+			{
+				List<IDrawableShape> shapes = shapeMap.get(identifier);
+				List<IDrawableShape> expectedShapes = expectedShapeMap.get(identifier);
+				assertThat(shapes).hasSameSizeAs(expectedShapes);
+				for (int i = 0; i < shapes.size(); i++)
+				{
+					assertShape(shapes.get(i), expectedShapes.get(i));
+				}
+			}
+		});
+	}
+
+
+	private void assertShape(final IDrawableShape actual, final IDrawableShape expected)
+	{
+		assertThat(actual).hasSameClassAs(expected);
+		if (expected instanceof DrawableCircle circle)
+		{
+			DrawableCircle actualCircle = (DrawableCircle) actual;
+			assertThat(actualCircle.getCircle().center().isCloseTo(circle.getCircle().center(), TOLERANCE)).isTrue();
+			assertThat(actualCircle.getCircle().radius()).isCloseTo(circle.getCircle().radius(), within(TOLERANCE));
+			assertThat(actualCircle.isFill()).isEqualTo(circle.isFill());
+			assertThat(actualCircle.getColor()).isEqualTo(circle.getColor());
+			assertThat(actualCircle.getStrokeWidth()).isEqualTo(circle.getStrokeWidth());
+		} else if (expected instanceof DrawableLine line)
+		{
+			DrawableLine actualLine = (DrawableLine) actual;
+			assertThat(actualLine.getLine().getPathStart().isCloseTo(line.getLine().getPathStart(), TOLERANCE))
+					.isTrue();
+			assertThat(actualLine.getLine().getPathEnd().isCloseTo(line.getLine().getPathEnd(), TOLERANCE)).isTrue();
+			assertThat(actualLine.getColor()).isEqualTo(line.getColor());
+			assertThat(actualLine.getStrokeWidth()).isEqualTo(line.getStrokeWidth());
+		} else if (expected instanceof DrawablePoint point)
+		{
+			DrawablePoint actualPoint = (DrawablePoint) actual;
+			assertThat(actualPoint.getPointSize()).isCloseTo(point.getPointSize(), within(TOLERANCE));
+			assertThat(actualPoint.getColor()).isEqualTo(point.getColor());
+		} else if (expected instanceof DrawableAnnotation annotation)
+		{
+			DrawableAnnotation actualAnnotation = (DrawableAnnotation) actual;
+			assertThat(actualAnnotation.getCenter().isCloseTo(annotation.getCenter(), TOLERANCE)).isTrue();
+			assertThat(actualAnnotation.getOffset().isCloseTo(annotation.getOffset(), TOLERANCE)).isTrue();
+			assertThat(actualAnnotation.getText()).isEqualTo(annotation.getText());
+			assertThat(actualAnnotation.getColor()).isEqualTo(annotation.getColor());
+			assertThat(actualAnnotation.getFontHeight()).isEqualTo(annotation.getFontHeight());
+			assertThat(actualAnnotation.isBold()).isEqualTo(annotation.isBold());
+			assertThat(actualAnnotation.isCenterHorizontally()).isEqualTo(annotation.isCenterHorizontally());
+		} else
+		{
+			assertThat(actual).isSameAs(expected);
+		}
+	}
+}
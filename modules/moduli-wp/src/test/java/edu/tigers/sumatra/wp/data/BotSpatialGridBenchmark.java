@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.wp.data;
+
+import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.ETeamColor;
+import edu.tigers.sumatra.math.vector.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Find the touching opponent bots of 16 bots per team on a division A field (12m x 9m plus boundary),
+ * once by comparing all blue and yellow bots and once with a {@link BotSpatialGrid} that is built per frame.
+ * Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3)
+public class BotSpatialGridBenchmark
+{
+	private static final int BOTS_PER_TEAM = 16;
+	private static final double HALF_FIELD_LENGTH = 6000 + 300;
+	private static final double HALF_FIELD_WIDTH = 4500 + 300;
+	private static final double CONTACT_DISTANCE = 2 * 90 * 1.1;
+	private static final int NUM_FRAMES = 100;
+
+	private final List<List<ITrackedBot>> frames = new ArrayList<>();
+
+
+	public static void main(String[] args) throws Exception
+	{
+		org.openjdk.jmh.Main.main(args);
+	}
+
+
+	@Setup
+	public void setup()
+	{
+		Random rnd = new Random(42);
+		for (int i = 0; i < NUM_FRAMES; i++)
+		{
+			List<ITrackedBot> bots = new ArrayList<>();
+			for (ETeamColor color : ETeamColor.yellowBlueValues())
+			{
+				for (int id = 0; id < BOTS_PER_TEAM; id++)
+				{
+					var pos = Vector2.fromXY(
+							(rnd.nextDouble() * 2 - 1) * HALF_FIELD_LENGTH,
+							(rnd.nextDouble() * 2 - 1) * HALF_FIELD_WIDTH);
+					bots.add(TrackedBot.stubBuilder(BotID.createBotId(id, color), 0).withPos(pos).build());
+				}
+			}
+			frames.add(bots);
+		}
+	}
+
+
+	@Benchmark
+	public void allPairs(Blackhole blackhole)
+	{
+		for (List<ITrackedBot> bots : frames)
+		{
+			for (ITrackedBot blueBot : bots)
+			{
+				if (blueBot.getTeamColor() != ETeamColor.BLUE)
+				{
+					continue;
+				}
+				for (ITrackedBot yellowBot : bots)
+				{
+					if (yellowBot.getTeamColor() == ETeamColor.YELLOW
+							&& blueBot.getPos().distanceTo(yellowBot.getPos()) <= CONTACT_DISTANCE)
+					{
+						blackhole.consume(yellowBot);
+					}
+				}
+			}
+		}
+	}
+
+
+	@Benchmark
+	public void spatialGrid(Blackhole blackhole)
+	{
+		for (List<ITrackedBot> bots : frames)
+		{
+			for (BotSpatialGrid.BotPair pair : BotSpatialGrid.of(bots).getPairsWithin(CONTACT_DISTANCE))
+			{
+				if (pair.isOpponents())
+				{
+					blackhole.consume(pair);
+				}
+			}
+		}
+	}
+}
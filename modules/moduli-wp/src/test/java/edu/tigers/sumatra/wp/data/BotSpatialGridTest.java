@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.wp.data;
+
+import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.ETeamColor;
+import edu.tigers.sumatra.math.vector.IVector2;
+import edu.tigers.sumatra.math.vector.Vector2;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class BotSpatialGridTest
+{
+	@Test
+	public void testPairsEqualToAllPairs()
+	{
+		Random rnd = new Random(42);
+		for (int run = 0; run < 50; run++)
+		{
+			List<ITrackedBot> bots = randomBots(rnd, 6000, 4500);
+			if (run % 10 == 0)
+			{
+				// bots far away from the others must not blow up the grid
+				bots.set(0, bot(BotID.createBotId(0, ETeamColor.YELLOW), Vector2.fromXY(1e6, -1e6)));
+			}
+			BotSpatialGrid grid = BotSpatialGrid.of(bots);
+
+			for (double distance : new double[] { 0, 200, 1000, 20000 })
+			{
+				assertThat(grid.getPairsWithin(distance)).isEqualTo(allPairsWithin(grid.getBots(), distance));
+			}
+		}
+	}
+
+
+	@Test
+	public void testBotsWithin()
+	{
+		Random rnd = new Random(42);
+		List<ITrackedBot> bots = randomBots(rnd, 6000, 4500);
+		BotSpatialGrid grid = new BotSpatialGrid(bots, 100);
+
+		for (int i = 0; i < 100; i++)
+		{
+			IVector2 pos = Vector2.fromXY(rnd.nextDouble() * 16000 - 8000, rnd.nextDouble() * 12000 - 6000);
+			double distance = rnd.nextDouble() * 3000;
+			List<ITrackedBot> expected = grid.getBots().stream()
+					.filter(b -> b.getPos().distanceToSqr(pos) <= distance * distance)
+					.toList();
+			assertThat(grid.getBotsWithin(pos, distance)).isEqualTo(expected);
+		}
+	}
+
+
+	@Test
+	public void testFewBots()
+	{
+		BotSpatialGrid empty = BotSpatialGrid.of(Collections.emptyList());
+		assertThat(empty.getPairsWithin(1000)).isEmpty();
+		assertThat(empty.getBotsWithin(Vector2.zero(), 1000)).isEmpty();
+
+		ITrackedBot yellow = bot(BotID.createBotId(3, ETeamColor.YELLOW), Vector2.fromXY(100, 100));
+		ITrackedBot blue = bot(BotID.createBotId(1, ETeamColor.BLUE), Vector2.fromXY(100, 280));
+		BotSpatialGrid grid = BotSpatialGrid.of(List.of(blue, yellow));
+		assertThat(grid.getBots()).containsExactly(yellow, blue);
+		assertThat(grid.getPairsWithin(179)).isEmpty();
+		assertThat(grid.getPairsWithin(180)).containsExactly(new BotSpatialGrid.BotPair(yellow, blue));
+		assertThat(grid.getPairsWithin(180).get(0).isOpponents()).isTrue();
+	}
+
+
+	private static List<BotSpatialGrid.BotPair> allPairsWithin(final List<ITrackedBot> bots, final double distance)
+	{
+		List<BotSpatialGrid.BotPair> pairs = new ArrayList<>();
+		for (int i = 0; i < bots.size(); i++)
+		{
+			for (int j = i + 1; j < bots.size(); j++)
+			{
+				if (bots.get(i).getPos().distanceToSqr(bots.get(j).getPos()) <= distance * distance)
+				{
+					pairs.add(new BotSpatialGrid.BotPair(bots.get(i), bots.get(j)));
+				}
+			}
+		}
+		return pairs;
+	}
+
+
+	private static List<ITrackedBot> randomBots(final Random rnd, final double halfLength, final double halfWidth)
+	{
+		List<ITrackedBot> bots = new ArrayList<>();
+		for (ETeamColor color : ETeamColor.yellowBlueValues())
+		{
+			for (int i = 0; i < 16; i++)
+			{
+				IVector2 pos = Vector2.fromXY(
+						(rnd.nextDouble() * 2 - 1) * halfLength,
+						(rnd.nextDouble() * 2 - 1) * halfWidth);
+				bots.add(bot(BotID.createBotId(i, color), pos));
+			}
+		}
+		Collections.shuffle(bots, rnd);
+		return bots;
+	}
+
+
+	private static ITrackedBot bot(final BotID botID, final IVector2 pos)
+	{
+		return TrackedBot.stubBuilder(botID, 0).withPos(pos).build();
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.wp.data;
+
+import edu.tigers.sumatra.referee.data.EGameState;
+import edu.tigers.sumatra.referee.data.GameState;
+import edu.tigers.sumatra.referee.gameevent.EGameEvent;
+import edu.tigers.sumatra.referee.proto.SslGcRefereeMessage.Referee.Command;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+public class TimelineIndexTest
+{
+	private final TimelineIndex index = new TimelineIndex(List.of(
+			new BerkeleyTimelineEvent(300, Command.STOP, GameState.STOP, List.of(EGameEvent.BOT_CRASH_DRAWN)),
+			new BerkeleyTimelineEvent(100, Command.HALT, GameState.HALT, List.of()),
+			new BerkeleyTimelineEvent(200, Command.FORCE_START, GameState.RUNNING, List.of()),
+			new BerkeleyTimelineEvent(400, Command.FORCE_START, GameState.RUNNING, List.of())
+	));
+
+
+	@Test
+	public void testEventsAreSorted()
+	{
+		assertThat(index.getEvents()).extracting(BerkeleyTimelineEvent::getTimestamp).containsExactly(100L, 200L, 300L,
+				400L);
+	}
+
+
+	@Test
+	public void testGetEventAt()
+	{
+		assertThat(index.getEventAt(50)).isEmpty();
+		assertThat(index.getEventAt(100)).map(BerkeleyTimelineEvent::getTimestamp).contains(100L);
+		assertThat(index.getEventAt(299)).map(BerkeleyTimelineEvent::getTimestamp).contains(200L);
+		assertThat(index.getEventAt(1000)).map(BerkeleyTimelineEvent::getTimestamp).contains(400L);
+	}
+
+
+	@Test
+	public void testFindNext()
+	{
+		assertThat(index.findNext(150, e -> e.getGameState().getState() == EGameState.STOP)).hasValue(300);
+		assertThat(index.findNext(250, e -> e.getGameState().isRunning())).hasValue(250);
+		assertThat(index.findNext(310, e -> e.getGameState().isRunning())).hasValue(400);
+		assertThat(index.findNext(0, e -> e.getCommand() == Command.HALT)).hasValue(100);
+		assertThat(index.findNext(0, e -> e.getGameEvents().contains(EGameEvent.BOT_CRASH_DRAWN))).hasValue(300);
+		assertThat(index.findNext(350, e -> e.getCommand() == Command.HALT)).isEmpty();
+	}
+
+
+	@Test
+	public void testEmpty()
+	{
+		TimelineIndex empty = new TimelineIndex(List.of());
+		assertThat(empty.isEmpty()).isTrue();
+		assertThat(empty.getEventAt(0)).isEmpty();
+		assertThat(empty.findNext(0, e -> true)).isEmpty();
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.wp.data;
+
+import edu.tigers.sumatra.ball.BallState;
+import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.ETeamColor;
+import edu.tigers.sumatra.math.vector.Vector2;
+import edu.tigers.sumatra.math.vector.Vector3;
+import edu.tigers.sumatra.persistence.BerkeleyAccessor;
+import edu.tigers.sumatra.persistence.BerkeleyDb;
+import edu.tigers.sumatra.persistence.IBerkeleyAccessor;
+import edu.tigers.sumatra.referee.data.GameState;
+import edu.tigers.sumatra.referee.data.RefereeMsg;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+
+/**
+ * Store and replay 30s of world frames at 100Hz with 11 bots per team, once with the reflective Berkeley binding and
+ * once with the {@link WorldFrameWrapperCodec}.
+ * The size of the database is logged after each trial.
+ * One operation of {@link #replay} reads one second of frames in order, one operation of {@link #seek} reads
+ * a single frame at a random position.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, warmups = 0)
+@Warmup(iterations = 2)
+public class WorldFrameStorageBenchmark
+{
+	private static final Logger log = LogManager.getLogger(WorldFrameStorageBenchmark.class.getName());
+
+	private static final int NUM_FRAMES = 3000;
+	private static final int FRAMES_PER_SECOND = 100;
+	private static final long FRAME_DT = 1_000_000_000L / FRAMES_PER_SECOND;
+	private static final int BOTS_PER_TEAM = 11;
+
+	@Param({ "dpl", "codec" })
+	private String storage;
+
+	private Path dbPath;
+	private BerkeleyDb db;
+	private final Random rnd = new Random(42);
+	private int replayFrame = 0;
+
+
+	public static void main(String[] args) throws Exception
+	{
+		org.openjdk.jmh.Main.main(args);
+	}
+
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException
+	{
+		dbPath = Files.createTempDirectory("world-frame-storage-benchmark");
+		db = new BerkeleyDb(dbPath);
+		IBerkeleyAccessor<WorldFrameWrapper> accessor = "dpl".equals(storage)
+				? new BerkeleyAccessor<>(WorldFrameWrapper.class, true)
+				: BerkeleyEncodedWorldFrame.createAccessor();
+		db.add(WorldFrameWrapper.class, accessor);
+		db.open();
+
+		RefereeMsg refereeMsg = new RefereeMsg();
+		List<WorldFrameWrapper> frames = new ArrayList<>();
+		for (int i = 0; i < NUM_FRAMES; i++)
+		{
+			frames.add(createFrame(i, refereeMsg));
+		}
+		db.write(WorldFrameWrapper.class, frames);
+	}
+
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		db.close();
+		try (Stream<Path> files = Files.walk(dbPath))
+		{
+			long size = files.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+			log.info("Database size with {}: {} kB ({} bytes per frame)", storage, size / 1024, size / NUM_FRAMES);
+		}
+		db.delete();
+	}
+
+
+	@Benchmark
+	public void replay(Blackhole blackhole)
+	{
+		for (int i = 0; i < FRAMES_PER_SECOND; i++)
+		{
+			blackhole.consume(db.get(WorldFrameWrapper.class, timestamp(replayFrame)));
+			replayFrame = (replayFrame + 1) % NUM_FRAMES;
+		}
+	}
+
+
+	@Benchmark
+	public WorldFrameWrapper seek()
+	{
+		return db.get(WorldFrameWrapper.class, timestamp(rnd.nextInt(NUM_FRAMES)));
+	}
+
+
+	private static long timestamp(final int frame)
+	{
+		return frame * FRAME_DT;
+	}
+
+
+	private WorldFrameWrapper createFrame(final int i, final RefereeMsg refereeMsg)
+	{
+		long timestamp = timestamp(i);
+		double t = i / (double) FRAMES_PER_SECOND;
+		Map<BotID, ITrackedBot> bots = new HashMap<>();
+		for (ETeamColor color : ETeamColor.yellowBlueValues())
+		{
+			for (int n = 0; n < BOTS_PER_TEAM; n++)
+			{
+				BotID botID = BotID.createBotId(n, color);
+				double phase = t * 0.5 + n + color.ordinal();
+				bots.put(botID, TrackedBot.stubBuilder(botID, timestamp)
+						.withPos(Vector2.fromXY(Math.cos(phase) * 4000, Math.sin(phase * 1.3) * 3000))
+						.withVel(Vector2.fromXY(-Math.sin(phase) * 2, Math.cos(phase * 1.3) * 2))
+						.withOrientation(phase)
+						.withAngularVel(0.5)
+						.withQuality(1)
+						.build());
+			}
+		}
+		BallState ballState = BallState.builder()
+				.withPos(Vector3.fromXYZ(Math.sin(t) * 5000, Math.cos(t) * 3000, 0))
+				.withVel(Vector3.fromXYZ(Math.cos(t) * 5000, -Math.sin(t) * 3000, 0))
+				.withAcc(Vector3.fromXYZ(-400, 0, 0))
+				.withSpin(Vector2.fromXY(0, 0))
+				.build();
+		ITrackedBall ball = TrackedBall.fromBallState(timestamp, ballState, timestamp);
+		SimpleWorldFrame swf = new SimpleWorldFrame(i, timestamp, bots, ball, null);
+		return new WorldFrameWrapper(timestamp, 1_700_000_000_000L + i * 10L, swf, refereeMsg, GameState.RUNNING);
+	}
+}
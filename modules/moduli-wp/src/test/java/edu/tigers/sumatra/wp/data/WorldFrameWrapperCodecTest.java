@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.wp.data;
+
+import edu.tigers.sumatra.ball.BallState;
+import edu.tigers.sumatra.ids.BotID;
+import edu.tigers.sumatra.ids.ETeamColor;
+import edu.tigers.sumatra.math.vector.Vector2;
+import edu.tigers.sumatra.math.vector.Vector3;
+import edu.tigers.sumatra.persistence.codec.CodecInput;
+import edu.tigers.sumatra.persistence.codec.CodecOutput;
+import edu.tigers.sumatra.referee.data.GameState;
+import edu.tigers.sumatra.referee.data.RefereeMsg;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+
+public class WorldFrameWrapperCodecTest
+{
+	private static final long FRAME_DT = 16_000_000;
+	private static final double POS_TOLERANCE = 1e-3;
+
+	private final WorldFrameWrapperCodec codec = new WorldFrameWrapperCodec();
+	private final RefereeMsg refereeMsg = new RefereeMsg();
+
+
+	@Test
+	public void testDeltaFrames()
+	{
+		WorldFrameWrapper previous = null;
+		WorldFrameWrapper previousDecoded = null;
+		for (int i = 0; i < 100; i++)
+		{
+			WorldFrameWrapper frame = createFrame(i, i < 50 ? GameState.STOP : GameState.RUNNING);
+			WorldFrameWrapper decoded = roundTrip(frame, previous, previousDecoded);
+			assertFrame(decoded, frame);
+			previous = frame;
+			previousDecoded = decoded;
+		}
+		assertThat(previousDecoded.getGameState()).isEqualTo(GameState.RUNNING);
+		assertThat(previousDecoded.getRefereeMsg()).isSameAs(refereeMsg);
+	}
+
+
+	@Test
+	public void testKeyFrame()
+	{
+		WorldFrameWrapper frame = createFrame(42, GameState.HALT);
+		assertFrame(roundTrip(frame, null, null), frame);
+	}
+
+
+	@Test
+	public void testDeltaFrameIsSmallerThanKeyFrame()
+	{
+		WorldFrameWrapper previous = createFrame(10, GameState.RUNNING);
+		WorldFrameWrapper frame = createFrame(11, GameState.RUNNING);
+		assertThat(encode(frame, previous).size()).isLessThan(encode(frame, null).size());
+	}
+
+
+	@Test
+	public void testUnrepresentableBotIsStoredAsObject()
+	{
+		WorldFrameWrapper frame = createFrame(1, GameState.RUNNING);
+		SimpleWorldFrame swf = frame.getSimpleWorldFrame();
+		BotID botID = BotID.createBotId(7, ETeamColor.BLUE);
+		ITrackedBot bot = TrackedBot.stubBuilder(botID, frame.getTimestamp())
+				.withPos(Vector2.fromXY(Double.NaN, 0))
+				.build();
+		Map<BotID, ITrackedBot> bots = new HashMap<>(swf.getBots());
+		bots.put(botID, bot);
+		frame = new WorldFrameWrapper(frame.getTimestamp(), frame.getUnixTimestamp(),
+				new SimpleWorldFrame(swf.getFrameNumber(), swf.getTimestamp(), bots, swf.getBall(), null),
+				refereeMsg, frame.getGameState());
+
+		WorldFrameWrapper decoded = roundTrip(frame, null, null);
+		assertThat(decoded.getSimpleWorldFrame().getBot(botID)).isSameAs(bot);
+	}
+
+
+	private WorldFrameWrapper roundTrip(final WorldFrameWrapper frame, final WorldFrameWrapper previous,
+			final WorldFrameWrapper previousDecoded)
+	{
+		CodecOutput out = encode(frame, previous);
+		CodecInput in = new CodecInput(codec.getVersion(), out.toByteArray(), out.getObjects());
+		WorldFrameWrapper decoded = codec.decode(in, previousDecoded);
+		assertThat(in.isAtEnd()).isTrue();
+		return decoded;
+	}
+
+
+	private CodecOutput encode(final WorldFrameWrapper frame, final WorldFrameWrapper previous)
+	{
+		CodecOutput out = new CodecOutput();
+		codec.encode(frame, previous, out);
+		return out;
+	}
+
+
+	private WorldFrameWrapper createFrame(final int i, final GameState gameState)
+	{
+		long timestamp = 1_000_000_000L + i * FRAME_DT;
+		Map<BotID, ITrackedBot> bots = new HashMap<>();
+		for (ETeamColor color : ETeamColor.yellowBlueValues())
+		{
+			for (int n = 0; n < 6; n++)
+			{
+				BotID botID = BotID.createBotId(n, color);
+				bots.put(botID, TrackedBot.stubBuilder(botID, timestamp)
+						.withPos(Vector2.fromXY(n * 500 + i * 12.3456, Math.sin(i * 0.1 + n) * 2000))
+						.withVel(Vector2.fromXY(Math.cos(i * 0.1), 0.25 * n))
+						.withOrientation(i * 0.01 - n)
+						.withAngularVel(0.5)
+						.withQuality(0.9)
+						.withMalFunctioning(n == 3)
+						.build());
+			}
+		}
+		BallState ballState = BallState.builder()
+				.withPos(Vector3.fromXYZ(i * 33.3, -i * 7.7, 0))
+				.withVel(Vector3.fromXYZ(2000, -500, 0))
+				.withAcc(Vector3.fromXYZ(-400, 100, 0))
+				.withSpin(Vector2.fromXY(0.1, -0.2))
+				.build();
+		ITrackedBall ball = TrackedBall.fromBallState(timestamp, ballState, timestamp - FRAME_DT);
+		SimpleWorldFrame swf = new SimpleWorldFrame(i, timestamp, bots, ball, null);
+		return new WorldFrameWrapper(timestamp, 1_700_000_000_000L + i * 16, swf, refereeMsg, gameState);
+	}
+
+
+	private void assertFrame(final WorldFrameWrapper actual, final WorldFrameWrapper expected)
+	{
+		assertThat(actual.getTimestamp()).isEqualTo(expected.getTimestamp());
+		assertThat(actual.getUnixTimestamp()).isEqualTo(expected.getUnixTimestamp());
+		assertThat(actual.getGameState()).isEqualTo(expected.getGameState());
+
+		SimpleWorldFrame swf = actual.getSimpleWorldFrame();
+		SimpleWorldFrame expectedSwf = expected.getSimpleWorldFrame();
+		assertThat(swf.getFrameNumber()).isEqualTo(expectedSwf.getFrameNumber());
+		assertThat(swf.getTimestamp()).isEqualTo(expectedSwf.getTimestamp());
+		assertThat(swf.getKickedBall()).isEqualTo(expectedSwf.getKickedBall());
+
+		ITrackedBall ball = swf.getBall();
+		ITrackedBall expectedBall = expectedSwf.getBall();
+		assertThat(ball.getTimestamp()).isEqualTo(expectedBall.getTimestamp());
+		assertThat(ball.getLastVisibleTimestamp()).isEqualTo(expectedBall.getLastVisibleTimestamp());
+		assertThat(ball.getPos3().isCloseTo(expectedBall.getPos3(), POS_TOLERANCE)).isTrue();
+		assertThat(ball.getVel3().isCloseTo(expectedBall.getVel3(), POS_TOLERANCE)).isTrue();
+
+		assertThat(swf.getBots()).containsOnlyKeys(expectedSwf.getBots().keySet());
+		for (ITrackedBot expectedBot : expectedSwf.getBots().values())
+		{
+			ITrackedBot bot = swf.getBot(expectedBot.getBotId());
+			assertThat(bot.getTimestamp()).isEqualTo(expectedBot.getTimestamp());
+			assertThat(bot.getPos().isCloseTo(expectedBot.getPos(), POS_TOLERANCE)).isTrue();
+			assertThat(bot.getOrientation()).isCloseTo(expectedBot.getOrientation(), within(1e-6));
+			assertThat(bot.getVel().isCloseTo(expectedBot.getVel(), 1e-6)).isTrue();
+			assertThat(bot.getAngularVel()).isCloseTo(expectedBot.getAngularVel(), within(1e-6));
+			assertThat(bot.getQuality()).isCloseTo(expectedBot.getQuality(), within(1e-6));
+			assertThat(bot.isMalFunctioning()).isEqualTo(expectedBot.isMalFunctioning());
+			assertThat(bot.getBallContact()).isEqualTo(expectedBot.getBallContact());
+			assertThat(bot.getRobotInfo().isStub()).isTrue();
+			assertThat(bot.getRobotInfo().getTimestamp()).isEqualTo(expectedBot.getRobotInfo().getTimestamp());
+		}
+	}
+}
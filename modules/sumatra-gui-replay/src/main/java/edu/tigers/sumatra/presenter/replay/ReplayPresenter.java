@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.presenter.replay;
@@ -23,6 +23,8 @@ import edu.tigers.sumatra.views.EViewMode;
 import edu.tigers.sumatra.views.ISumatraPresenter;
 import edu.tigers.sumatra.visualizer.VisualizerPresenter;
 import edu.tigers.sumatra.wp.IWorldFrameObserver;
+import edu.tigers.sumatra.wp.data.BerkeleyTimelineEvent;
+import edu.tigers.sumatra.wp.data.TimelineIndex;
 import edu.tigers.sumatra.wp.data.WorldFrameWrapper;
 import lombok.extern.log4j.Log4j2;
 
@@ -31,6 +33,7 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.OptionalLong;
 import java.util.TimeZone;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
@@ -45,6 +48,7 @@ public class ReplayPresenter extends AMainPresenter
 	private static final String LAYOUT_DEFAULT = "default_replay.ly";
 	private static final String KEY_LAYOUT_PROP = ReplayPresenter.class.getName() + ".layout";
 	private static final double REFRESH_FPS = 30;
+	private static final long TIMELINE_RELOAD_INTERVAL = 1_000_000_000L;
 
 	private final List<IReplayPositionObserver> positionObservers = new CopyOnWriteArrayList<>();
 	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
@@ -127,6 +131,7 @@ public class ReplayPresenter extends AMainPresenter
 	public void start(final BerkeleyDb db, long startTime)
 	{
 		this.db = db;
+		db.enablePrefetching();
 		getMainFrame().setTitle(new File(db.getDbPath()).getName());
 		refreshThread = new RefreshThread(startTime);
 		getMainFrame().getPresenters().forEach(ISumatraPresenter::onStart);
@@ -155,6 +160,8 @@ public class ReplayPresenter extends AMainPresenter
 	{
 		if (db != null)
 		{
+			db.getPrefetchStats().forEach((clazz, stats) -> log.info("Replay cache for {}: {}", clazz.getSimpleName(),
+					stats));
 			db.close();
 		}
 	}
@@ -306,6 +313,10 @@ public class ReplayPresenter extends AMainPresenter
 
 		private long lastKey = 0;
 
+		private TimelineIndex timeline = new TimelineIndex(List.of());
+		private long timelineEndTime = 0;
+		private long tLastTimelineReload = System.nanoTime() - TIMELINE_RELOAD_INTERVAL;
+
 		private boolean playing = true;
 		private boolean active = true;
 
@@ -427,7 +438,57 @@ public class ReplayPresenter extends AMainPresenter
 		}
 
 
+		private void updateTimeline()
+		{
+			if (recEndTime == timelineEndTime || System.nanoTime() - tLastTimelineReload < TIMELINE_RELOAD_INTERVAL)
+			{
+				return;
+			}
+			// the recording is still growing (or was just opened), so the timeline may have new events
+			timelineEndTime = recEndTime;
+			tLastTimelineReload = System.nanoTime();
+			timeline = new TimelineIndex(db.getAll(BerkeleyTimelineEvent.class));
+			replayControlPresenter.getViewPanel().setTimelineEvents(recStartTime, timeline.getEvents());
+		}
+
+
 		private void skipFrames()
+		{
+			if (timeline.isEmpty())
+			{
+				// recordings without a timeline
+				skipFramesBySampling();
+				return;
+			}
+			if (skipStoppedGame || skipBallPlacement
+					|| searchCommand != null || searchGameEvent != null || searchGameState != null)
+			{
+				OptionalLong t = timeline.findNext(getCurrentTime(), this::isTargetEvent);
+				if (t.isPresent() && t.getAsLong() < recEndTime)
+				{
+					jumpAbsoluteTime(t.getAsLong());
+				}
+			}
+			searchCommand = null;
+			searchGameEvent = null;
+			searchGameState = null;
+		}
+
+
+		private boolean isTargetEvent(final BerkeleyTimelineEvent event)
+		{
+			boolean hasRefereeMsg = event.getCommand() != null;
+			boolean skipStop = !skipStoppedGame || !hasRefereeMsg || !event.getGameState().isStoppedGame();
+			boolean command = searchCommand == null || !hasRefereeMsg || event.getCommand() == searchCommand;
+			boolean gameEvent = searchGameEvent == null || !hasRefereeMsg
+					|| event.getGameEvents().contains(searchGameEvent);
+			boolean gameState = searchGameState == null || event.getGameState().getState() == searchGameState;
+			boolean skipPlacement = !skipBallPlacement || !event.getGameState().isBallPlacement();
+			return skipStop && command && gameEvent && skipPlacement && gameState;
+		}
+
+
+		private void skipFramesBySampling()
 		{
 			for (long t = getCurrentTime(); t < recEndTime; t += 250_000_000)
 			{
@@ -521,6 +582,7 @@ public class ReplayPresenter extends AMainPresenter
 
 		private void update()
 		{
+			updateTimeline();
 			skipFrames();
 			updateReplayTime();
 			notifyPositionChanged(replayCurTime);
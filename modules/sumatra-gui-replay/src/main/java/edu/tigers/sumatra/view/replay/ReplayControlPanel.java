@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009 - 2022, DHBW Mannheim - TIGERs Mannheim
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
  */
 
 package edu.tigers.sumatra.view.replay;
@@ -9,6 +9,7 @@ import edu.tigers.sumatra.referee.gameevent.EGameEvent;
 import edu.tigers.sumatra.referee.proto.SslGcRefereeMessage;
 import edu.tigers.sumatra.util.GlobalShortcuts;
 import edu.tigers.sumatra.util.ImageScaler;
+import edu.tigers.sumatra.wp.data.BerkeleyTimelineEvent;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
@@ -60,6 +61,7 @@ public class ReplayControlPanel extends JPanel implements IReplayPositionObserve
 
 	private final List<IReplayControlPanelObserver> observers = new CopyOnWriteArrayList<>();
 	private final JSlider slider;
+	private final ReplayTimelinePanel timelinePanel;
 
 
 	private final JLabel timeStepLabel = new JLabel();
@@ -85,6 +87,8 @@ public class ReplayControlPanel extends JPanel implements IReplayPositionObserve
 		slider.addMouseListener(sliderListener);
 		slider.setPreferredSize(new Dimension(2000, slider.getPreferredSize().height));
 
+		timelinePanel = new ReplayTimelinePanel(time -> observers.forEach(o -> o.onChangeAbsoluteTime(time)));
+
 		JSlider speedSlider = createSpeedSlider();
 
 		btnPlay = createActionButton(
@@ -182,9 +186,14 @@ public class ReplayControlPanel extends JPanel implements IReplayPositionObserve
 		replayMenu.add(new SkipStopAction());
 		replayMenu.add(new SkipBallPlacementAction());
 
+		JPanel sliderPanel = new JPanel();
+		sliderPanel.setLayout(new BoxLayout(sliderPanel, BoxLayout.PAGE_AXIS));
+		sliderPanel.add(slider);
+		sliderPanel.add(timelinePanel);
+
 		JPanel topPanel = new JPanel();
 		topPanel.setLayout(new BoxLayout(topPanel, BoxLayout.LINE_AXIS));
-		topPanel.add(slider);
+		topPanel.add(sliderPanel);
 		final JPanel timeStepPanel = createTimeStepPanel();
 		topPanel.add(timeStepPanel);
 		add(topPanel, BorderLayout.CENTER);
@@ -282,6 +291,17 @@ public class ReplayControlPanel extends JPanel implements IReplayPositionObserve
 	public void setTimeMax(final long timeMax)
 	{
 		slider.setMaximum((int) (timeMax / SLIDER_SCALE));
+		timelinePanel.setTimeMax(timeMax);
+	}
+
+
+	/**
+	 * @param recStartTime the timestamp of the start of the recording
+	 * @param events       the events of the recording, sorted by timestamp
+	 */
+	public void setTimelineEvents(final long recStartTime, final List<BerkeleyTimelineEvent> events)
+	{
+		timelinePanel.setEvents(recStartTime, events);
 	}
 
 
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2009 - 2024, DHBW Mannheim - TIGERs Mannheim
+ */
+
+package edu.tigers.sumatra.view.replay;
+
+import edu.tigers.sumatra.referee.data.GameState;
+import edu.tigers.sumatra.wp.data.BerkeleyTimelineEvent;
+
+import javax.swing.JPanel;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.Serial;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+
+/**
+ * A bar below the replay slider that shows the game states, referee commands and game events of the recording.
+ * Clicking on the bar jumps to the respective time.
+ */
+public class ReplayTimelinePanel extends JPanel
+{
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private static final int HEIGHT = 12;
+	private static final int GAME_EVENT_MARKER_HEIGHT = 4;
+	private static final Color COLOR_RUNNING = new Color(60, 170, 60);
+	private static final Color COLOR_STOPPED = new Color(230, 150, 40);
+	private static final Color COLOR_HALTED = new Color(200, 50, 50);
+	private static final Color COLOR_PREPARE = new Color(230, 210, 60);
+	private static final Color COLOR_GAME_EVENT = Color.BLACK;
+
+	private final transient LongConsumer timeSelectedConsumer;
+	private transient volatile List<BerkeleyTimelineEvent> events = List.of();
+	private volatile long recStartTime = 0;
+	private volatile long timeMax = 1;
+
+
+	/**
+	 * @param timeSelectedConsumer called with the time relative to the start of the recording, when clicked
+	 */
+	public ReplayTimelinePanel(final LongConsumer timeSelectedConsumer)
+	{
+		this.timeSelectedConsumer = timeSelectedConsumer;
+		setPreferredSize(new Dimension(2000, HEIGHT));
+		setMinimumSize(new Dimension(0, HEIGHT));
+		setMaximumSize(new Dimension(Integer.MAX_VALUE, HEIGHT));
+		setToolTipText("");
+		addMouseListener(new MouseAdapter()
+		{
+			@Override
+			public void mouseClicked(final MouseEvent e)
+			{
+				timeSelectedConsumer.accept(toTime(e.getX()));
+			}
+		});
+	}
+
+
+	/**
+	 * @param recStartTime the timestamp of the start of the recording
+	 * @param events       the timeline events, sorted by timestamp
+	 */
+	public void setEvents(final long recStartTime, final List<BerkeleyTimelineEvent> events)
+	{
+		this.recStartTime = recStartTime;
+		this.events = events;
+		repaint();
+	}
+
+
+	/**
+	 * @param timeMax the duration of the recording
+	 */
+	public void setTimeMax(final long timeMax)
+	{
+		this.timeMax = Math.max(1, timeMax);
+		repaint();
+	}
+
+
+	@Override
+	protected void paintComponent(final Graphics g)
+	{
+		super.paintComponent(g);
+
+		List<BerkeleyTimelineEvent> currentEvents = events;
+		for (int i = 0; i < currentEvents.size(); i++)
+		{
+			BerkeleyTimelineEvent event = currentEvents.get(i);
+			long tEnd = i + 1 < currentEvents.size() ? currentEvents.get(i + 1).getTimestamp() : recStartTime + timeMax;
+			int x0 = toX(event.getTimestamp());
+			int x1 = toX(tEnd);
+			g.setColor(getColor(event.getGameState()));
+			g.fillRect(x0, 0, Math.max(1, x1 - x0), getHeight());
+
+			if (i > 0 && hasNewGameEvent(currentEvents.get(i - 1), event))
+			{
+				g.setColor(COLOR_GAME_EVENT);
+				g.fillRect(x0, 0, 2, GAME_EVENT_MARKER_HEIGHT);
+			}
+		}
+	}
+
+
+	@Override
+	public String getToolTipText(final MouseEvent event)
+	{
+		long time = recStartTime + toTime(event.getX());
+		BerkeleyTimelineEvent current = null;
+		for (BerkeleyTimelineEvent e : events)
+		{
+			if (e.getTimestamp() > time)
+			{
+				break;
+			}
+			current = e;
+		}
+		if (current == null)
+		{
+			return null;
+		}
+		return String.format("%s (%s) %s", current.getGameState(), current.getCommand(), current.getGameEvents());
+	}
+
+
+	private boolean hasNewGameEvent(final BerkeleyTimelineEvent previous, final BerkeleyTimelineEvent event)
+	{
+		return event.getGameEvents() != null && !event.getGameEvents().isEmpty()
+				&& !event.getGameEvents().equals(previous.getGameEvents());
+	}
+
+
+	private Color getColor(final GameState gameState)
+	{
+		if (gameState == null)
+		{
+			return getBackground();
+		}
+		if (gameState.isRunning())
+		{
+			return COLOR_RUNNING;
+		}
+		if (gameState.isIdleGame())
+		{
+			return COLOR_HALTED;
+		}
+		if (gameState.isStoppedGame())
+		{
+			return COLOR_STOPPED;
+		}
+		return COLOR_PREPARE;
+	}
+
+
+	private int toX(final long timestamp)
+	{
+		return (int) ((timestamp - recStartTime) * getWidth() / (double) timeMax);
+	}
+
+
+	private long toTime(final int x)
+	{
+		return (long) (x * (double) timeMax / Math.max(1, getWidth()));
+	}
+}
@@ -7,6 +7,7 @@ package edu.tigers.sumatra.visualizer.field;
 import edu.tigers.sumatra.clock.FpsCounter;
 import edu.tigers.sumatra.drawable.DrawableFieldBackground;
 import edu.tigers.sumatra.drawable.EFieldTurn;
+import edu.tigers.sumatra.drawable.ShapeLayerSubscriptions;
 import edu.tigers.sumatra.drawable.ShapeMap;
 import edu.tigers.sumatra.drawable.ShapeMapSource;
 import edu.tigers.sumatra.math.vector.IVector2;
@@ -122,7 +123,14 @@ public class VisualizerFieldPresenter implements ISumatraPresenter, IWorldFrameO
 
 	public void setShapeLayerVisibility(final String layerId, final boolean visible)
 	{
-		shapeVisibilityMap.put(layerId, visible);
+		boolean wasVisible = Boolean.TRUE.equals(shapeVisibilityMap.put(layerId, visible));
+		if (visible && !wasVisible)
+		{
+			ShapeLayerSubscriptions.subscribe(layerId);
+		} else if (!visible && wasVisible)
+		{
+			ShapeLayerSubscriptions.unsubscribe(layerId);
+		}
 	}
 
 